@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db.datasource;
+
+import com.redhat.rhn.frontend.dto.PackageDto;
+
+import com.suse.manager.benchmark.BenchmarkFixtures;
+import com.suse.manager.benchmark.InMemoryResultSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of JDBC rows to {@link Row} maps and to DTO beans in {@link CachedStatement}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CachedStatementBenchmark {
+
+    private static final List<String> COLUMNS = List.of("id", "org_id", "name", "version", "release", "epoch",
+            "arch_label", "checksum", "checksum_type", "summary", "description", "build_time", "package_size",
+            "payload_size", "installed_size", "path", "copyright", "vendor", "package_group_name", "build_host",
+            "source_rpm", "header_start", "header_end");
+
+    @Param({"100", "5000"})
+    private int rows;
+
+    private InMemoryResultSet resultSet;
+    private CachedStatement statement;
+    private SelectMode mapMode;
+    private SelectMode dtoMode;
+
+    /**
+     * Prepares the in-memory result set and the modes.
+     */
+    @Setup
+    public void setup() {
+        List<Object[]> data = new ArrayList<>(rows);
+        for (PackageDto pkg : BenchmarkFixtures.packageDtos(rows)) {
+            data.add(new Object[] {pkg.getId(), pkg.getOrgId(), pkg.getName(), pkg.getVersion(),
+                    pkg.getRelease(), pkg.getEpoch(), pkg.getArchLabel(), pkg.getChecksum(), pkg.getChecksumType(),
+                    pkg.getSummary(), pkg.getDescription(), pkg.getBuildTime(), pkg.getPackageSize(),
+                    pkg.getPayloadSize(), pkg.getInstalledSize(), pkg.getPath(), pkg.getCopyright(),
+                    pkg.getVendor(), pkg.getPackageGroupName(), pkg.getBuildHost(), pkg.getSourceRpm(),
+                    pkg.getHeaderStart(), pkg.getHeaderEnd()});
+        }
+        resultSet = new InMemoryResultSet(COLUMNS, data);
+
+        String sql = "SELECT " + String.join(", ", COLUMNS) + " FROM rhnPackage";
+        mapMode = new GeneratedSelectMode("benchmark_map", null, sql, List.of());
+        dtoMode = new GeneratedSelectMode("benchmark_dto", null, sql, List.of());
+        dtoMode.setClassString(PackageDto.class.getName());
+        statement = new CachedStatement(null, new BenchmarkQuery(sql));
+    }
+
+    /**
+     * Maps rows to generic maps, as done by modes without a class.
+     * @return the mapped rows
+     */
+    @Benchmark
+    public DataResult<Object> mapToRow() {
+        return statement.processResultSet(resultSet.open(), mapMode, null);
+    }
+
+    /**
+     * Maps rows to DTO beans through their setters.
+     * @return the mapped rows
+     */
+    @Benchmark
+    public DataResult<Object> mapToDto() {
+        return statement.processResultSet(resultSet.open(), dtoMode, null);
+    }
+
+    private static class BenchmarkQuery implements ParsedQuery {
+
+        private final String sql;
+
+        BenchmarkQuery(String sqlIn) {
+            this.sql = sqlIn;
+        }
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+
+        @Override
+        public String getAlias() {
+            return "";
+        }
+
+        @Override
+        public String getSqlStatement() {
+            return sql;
+        }
+
+        @Override
+        public String getElaboratorJoinColumn() {
+            return "id";
+        }
+
+        @Override
+        public List<String> getParameterList() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isMultiple() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.security.acl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing and evaluation of ACL strings in {@link Acl#evalAcl(Map, String)}, using a handler
+ * that only reads the context so the cost of the handler itself is negligible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AclBenchmark {
+
+    /** A single statement */
+    private static final String SIMPLE_ACL = "user_role(org_admin)";
+
+    /** Typical navigation ACL with alternatives and negation, as found in the sitenav files */
+    private static final String COMPLEX_ACL = "not system_feature(ftr_kickstart); user_role(org_admin) or " +
+            "user_role(config_admin) or user_role(channel_admin); system_feature(ftr_package_updates, " +
+            "ftr_package_remove)";
+
+    private Acl acl;
+    private Map<String, Object> context;
+
+    /**
+     * Registers the handler and builds the context.
+     */
+    @Setup
+    public void setup() {
+        acl = new Acl();
+        acl.registerHandler(new ContextHandler());
+        context = new HashMap<>();
+        context.put("roles", Set.of("org_admin", "config_admin"));
+        context.put("features", Set.of("ftr_package_updates", "ftr_package_remove"));
+    }
+
+    /**
+     * Evaluates a single statement.
+     * @return the result
+     */
+    @Benchmark
+    public boolean evalSimple() {
+        return acl.evalAcl(context, SIMPLE_ACL);
+    }
+
+    /**
+     * Evaluates a multi-expression ACL.
+     * @return the result
+     */
+    @Benchmark
+    public boolean evalComplex() {
+        return acl.evalAcl(context, COMPLEX_ACL);
+    }
+
+    /**
+     * Handler answering from sets stored in the context.
+     */
+    public static class ContextHandler implements AclHandler {
+
+        /**
+         * @param ctx the context
+         * @param params the roles to check
+         * @return true if any of the roles is in the context
+         */
+        public boolean aclUserRole(Object ctx, String[] params) {
+            return containsAny(ctx, "roles", params);
+        }
+
+        /**
+         * @param ctx the context
+         * @param params the features to check
+         * @return true if any of the features is in the context
+         */
+        public boolean aclSystemFeature(Object ctx, String[] params) {
+            return containsAny(ctx, "features", params);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static boolean containsAny(Object ctx, String key, String[] params) {
+            Set<String> values = (Set<String>) ((Map<String, Object>) ctx).get(key);
+            for (String param : params) {
+                if (values.contains(param)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
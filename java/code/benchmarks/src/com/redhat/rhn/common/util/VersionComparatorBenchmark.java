@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.util;
+
+import com.suse.manager.benchmark.BenchmarkFixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RpmVersionComparator} and {@link DebVersionComparator} on realistic version strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionComparatorBenchmark {
+
+    private static final int VERSIONS = 1000;
+
+    private final RpmVersionComparator rpmComparator = new RpmVersionComparator();
+    private final DebVersionComparator debComparator = new DebVersionComparator();
+
+    private List<String> rpmVersions;
+    private List<String> debVersions;
+
+    /**
+     * Generates the version strings.
+     */
+    @Setup
+    public void setup() {
+        rpmVersions = BenchmarkFixtures.rpmVersions(VERSIONS);
+        debVersions = BenchmarkFixtures.debVersions(VERSIONS);
+    }
+
+    /**
+     * Compares each RPM version with its neighbour.
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void compareRpm(Blackhole bh) {
+        for (int i = 1; i < rpmVersions.size(); i++) {
+            bh.consume(rpmComparator.compare(rpmVersions.get(i - 1), rpmVersions.get(i)));
+        }
+    }
+
+    /**
+     * Compares each Debian version with its neighbour.
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void compareDeb(Blackhole bh) {
+        for (int i = 1; i < debVersions.size(); i++) {
+            bh.consume(debComparator.compare(debVersions.get(i - 1), debVersions.get(i)));
+        }
+    }
+
+    /**
+     * Sorts all RPM versions, as done when looking up the latest package.
+     * @return the sorted versions
+     */
+    @Benchmark
+    public List<String> sortRpm() {
+        List<String> sorted = new ArrayList<>(rpmVersions);
+        sorted.sort(rpmComparator);
+        return sorted;
+    }
+
+    /**
+     * Sorts all Debian versions, as done when looking up the latest package.
+     * @return the sorted versions
+     */
+    @Benchmark
+    public List<String> sortDeb() {
+        List<String> sorted = new ArrayList<>(debVersions);
+        sorted.sort(debComparator);
+        return sorted;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.domain.rhnset;
+
+import com.redhat.rhn.common.db.NamedPreparedStatement;
+import com.redhat.rhn.common.db.datasource.DataResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the save time of a {@link RhnSet} against its size: one statement per element, a JDBC batch as
+ * done by {@link RhnSetFactory#save(RhnSet)}, and a single INSERT ... SELECT as done by
+ * {@link RhnSetFactory#addFromQuery}. The database is not involved: every execution of a statement only
+ * waits for a fixed, simulated round trip, so the results compare the number of round trips and the
+ * client side work of binding the elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RhnSetSaveBenchmark {
+
+    private static final String SQL = "INSERT INTO rhnSet (user_id, label, element) " +
+            "VALUES (:user_id, :label, :el_one) ON CONFLICT DO NOTHING";
+    private static final String SELECT_SQL = "INSERT INTO rhnSet (user_id, label, element) " +
+            "SELECT DISTINCT :user_id, :label, SGM.server_id FROM rhnServerGroupMembers SGM " +
+            "WHERE SGM.server_group_id IN (1) ON CONFLICT DO NOTHING";
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Param({"100", "1000", "5000", "20000"})
+    private int elements;
+
+    private PreparedStatement statement;
+    private Map<String, List<Integer>> parameterMap;
+    private Map<String, List<Integer>> selectParameterMap;
+    private List<Map<String, Object>> rows;
+
+    /**
+     * Prepares the statement stand-in and the element parameters.
+     */
+    @Setup
+    public void setup() {
+        parameterMap = new HashMap<>();
+        NamedPreparedStatement.replaceBindParams(SQL, parameterMap);
+        selectParameterMap = new HashMap<>();
+        NamedPreparedStatement.replaceBindParams(SELECT_SQL, selectParameterMap);
+        statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "execute":
+                            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                            return false;
+                        case "executeBatch":
+                            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                            return new int[0];
+                        default:
+                            return null;
+                    }
+                });
+
+        rows = new ArrayList<>(elements);
+        for (long i = 0; i < elements; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("user_id", 1L);
+            row.put("label", "system_list");
+            row.put("el_one", 1000L + i);
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Inserts the elements with one statement execution each.
+     * @return the number of executions
+     */
+    @Benchmark
+    public int oneByOne() {
+        int executions = 0;
+        for (Map<String, Object> row : rows) {
+            NamedPreparedStatement.execute(statement, parameterMap, row);
+            executions++;
+        }
+        return executions;
+    }
+
+    /**
+     * Inserts the elements in a single JDBC batch.
+     * @return the number of update counts
+     */
+    @Benchmark
+    public int batched() {
+        return NamedPreparedStatement.executeBatch(statement, parameterMap, new DataResult<>(rows)).length;
+    }
+
+    /**
+     * Inserts the elements with a single INSERT ... SELECT, which selects them in the database.
+     * @return the number of executions
+     */
+    @Benchmark
+    public int fromQuery() {
+        NamedPreparedStatement.execute(statement, selectParameterMap, rows.get(0));
+        return 1;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.manager.content;
+
+import com.redhat.rhn.domain.channel.ChannelFamily;
+import com.redhat.rhn.domain.channel.PublicChannelFamily;
+import com.redhat.rhn.domain.product.SUSEProduct;
+import com.redhat.rhn.domain.product.SUSEProductExtension;
+import com.redhat.rhn.domain.product.SUSEProductSCCRepository;
+import com.redhat.rhn.domain.product.Tuple2;
+import com.redhat.rhn.domain.scc.SCCRepository;
+
+import com.suse.manager.benchmark.BenchmarkFixtures;
+import com.suse.salt.netapi.parser.JsonParser;
+import com.suse.scc.client.SCCClientUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the computation of the available channels over the recorded SCC product tree used by the
+ * {@link ContentSyncManager} tests. Every database query is modelled as the same fixed wait: the index pays
+ * for the three queries of {@link ProductAvailabilityIndex#load()}, the per level walk reproduces the previous
+ * implementation with its two load queries, one extension query per product and authentication checks against
+ * a list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductAvailabilityBenchmark {
+
+    private static final String PRODUCT_TREE = "/com/redhat/rhn/manager/content/test/product_tree.json";
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private List<SUSEProductSCCRepository> productRepos;
+    private List<SUSEProductExtension> extensions;
+    private List<Long> repoIdsWithAuth;
+
+    /**
+     * Builds the products, repositories and extensions of the recorded product tree.
+     */
+    @Setup
+    public void setup() {
+        List<ProductTreeEntry> tree = JsonParser.GSON.fromJson(BenchmarkFixtures.readResource(PRODUCT_TREE),
+                SCCClientUtils.toListType(ProductTreeEntry.class));
+
+        ChannelFamily family = new ChannelFamily();
+        family.setLabel("SLE-M-T");
+        family.setPublicChannelFamily(new PublicChannelFamily());
+
+        Map<Long, SUSEProduct> products = new HashMap<>();
+        Map<Long, SCCRepository> repositories = new HashMap<>();
+        Set<SUSEProductExtension> extensionSet = new LinkedHashSet<>();
+        productRepos = new ArrayList<>(tree.size());
+        repoIdsWithAuth = new ArrayList<>();
+        for (ProductTreeEntry entry : tree) {
+            SUSEProduct product = products.computeIfAbsent(entry.getProductId(), id -> product(id, family));
+            SUSEProduct root = products.computeIfAbsent(entry.getRootProductId(), id -> product(id, family));
+            SCCRepository repository = repositories.computeIfAbsent(entry.getRepositoryId(), id -> {
+                SCCRepository repo = new SCCRepository();
+                repo.setId(id);
+                // leave every third repository without credentials
+                if (id % 3 != 0) {
+                    repoIdsWithAuth.add(id);
+                }
+                return repo;
+            });
+
+            SUSEProductSCCRepository productRepo = new SUSEProductSCCRepository();
+            productRepo.setProduct(product);
+            productRepo.setRootProduct(root);
+            productRepo.setRepository(repository);
+            productRepo.setChannelLabel(entry.getChannelLabel());
+            productRepo.setParentChannelLabel(entry.getParentChannelLabel().orElse(null));
+            productRepo.setChannelName(entry.getChannelName());
+            productRepo.setMandatory(entry.isMandatory());
+            productRepos.add(productRepo);
+
+            entry.getParentProductId().ifPresent(parentId -> extensionSet.add(new SUSEProductExtension(
+                    products.computeIfAbsent(parentId, id -> product(id, family)), product, root,
+                    entry.isRecommended())));
+        }
+        extensions = new ArrayList<>(extensionSet);
+    }
+
+    private static SUSEProduct product(long id, ChannelFamily family) {
+        SUSEProduct product = new SUSEProduct();
+        product.setId(id);
+        product.setProductId(id);
+        product.setName("product-" + id);
+        product.setVersion("1");
+        product.setFriendlyName("Product " + id);
+        product.setChannelFamily(family);
+        return product;
+    }
+
+    /**
+     * Loads the index and walks the tree of every root product.
+     * @return the available repositories
+     */
+    @Benchmark
+    public List<SUSEProductSCCRepository> index() {
+        // stands for allProductRepos(), findAllSUSEProductExtensions() and lookupRepositoryIdsWithAuth()
+        roundTrip(3);
+        return new ProductAvailabilityIndex(productRepos, extensions, repoIdsWithAuth).getAvailableChannels();
+    }
+
+    /**
+     * Walks the tree of every root product looking the extensions up one level at a time.
+     * @return the available repositories
+     */
+    @Benchmark
+    public List<SUSEProductSCCRepository> perLevel() {
+        // stands for allProductRepos() and lookupRepositoryIdsWithAuth()
+        roundTrip(2);
+        Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProductSCCRepository>> entriesByProducts = productRepos.stream()
+                .collect(Collectors.groupingBy(e -> new Tuple2<>(e.getRootProduct(), e.getProduct())));
+        Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProduct>> extensionsByBase = extensions.stream()
+                .collect(Collectors.groupingBy(e -> new Tuple2<>(e.getRootProduct(), e.getBaseProduct()),
+                        Collectors.mapping(SUSEProductExtension::getExtensionProduct, Collectors.toList())));
+        List<SUSEProductSCCRepository> result = new ArrayList<>();
+        productRepos.stream()
+                .filter(SUSEProductSCCRepository::isRoot)
+                .map(SUSEProductSCCRepository::getProduct)
+                .distinct()
+                .forEach(root -> walk(root, root, entriesByProducts, extensionsByBase, result));
+        return result;
+    }
+
+    private void walk(SUSEProduct root, SUSEProduct product,
+            Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProductSCCRepository>> entriesByProducts,
+            Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProduct>> extensionsByBase,
+            List<SUSEProductSCCRepository> result) {
+        List<SUSEProductSCCRepository> entries = entriesByProducts.getOrDefault(new Tuple2<>(root, product),
+                Collections.emptyList());
+        boolean isAccessible = entries.stream()
+                .filter(SUSEProductSCCRepository::isMandatory)
+                .allMatch(e -> e.getProduct().getChannelFamily().isPublic() &&
+                        repoIdsWithAuth.contains(e.getRepository().getId()));
+        if (isAccessible) {
+            entries.stream()
+                    .filter(e -> e.isMandatory() || repoIdsWithAuth.contains(e.getRepository().getId()))
+                    .forEach(result::add);
+            // stands for SUSEProductFactory.findAllExtensionProductsForRootOf()
+            roundTrip(1);
+            extensionsByBase.getOrDefault(new Tuple2<>(root, product), Collections.emptyList())
+                    .forEach(next -> walk(root, next, entriesByProducts, extensionsByBase, result));
+        }
+    }
+
+    private static void roundTrip(int queries) {
+        for (int i = 0; i < queries; i++) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        }
+    }
+}
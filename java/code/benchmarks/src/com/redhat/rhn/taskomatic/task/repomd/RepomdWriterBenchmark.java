@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.repomd;
+
+import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.conf.ConfigDefaults;
+import com.redhat.rhn.domain.channel.Channel;
+import com.redhat.rhn.frontend.dto.Bug;
+import com.redhat.rhn.frontend.dto.CVE;
+import com.redhat.rhn.frontend.dto.ErrataOverview;
+import com.redhat.rhn.frontend.dto.PackageCapabilityDto;
+import com.redhat.rhn.frontend.dto.PackageDto;
+
+import com.suse.manager.benchmark.BenchmarkFixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the XML serialization of primary.xml and updateinfo.xml. Database lookups are replaced by
+ * in-memory fixtures, so only the rendering cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepomdWriterBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private List<PackageDto> packages;
+    private List<PackageCapabilityDto> capabilities;
+    private List<ErrataOverview> errata;
+    private List<Bug> bugs;
+    private List<CVE> cves;
+    private Channel channel;
+
+    /**
+     * Generates packages, capabilities and errata.
+     */
+    @Setup
+    public void setup() {
+        packages = BenchmarkFixtures.packageDtos(size);
+        capabilities = BenchmarkFixtures.capabilities(10);
+        errata = BenchmarkFixtures.errata(size);
+        bugs = BenchmarkFixtures.bugs(3);
+        cves = BenchmarkFixtures.cves(2);
+        channel = new Channel();
+        channel.setId(1L);
+        channel.setLabel("sle-module-basesystem15-sp5-updates-x86_64");
+        channel.setName("SLE-Module-Basesystem15-SP5-Updates for x86_64");
+        channel.setUpdateTag("SLE-Module-Basesystem15-SP5-Updates");
+    }
+
+    /**
+     * Renders the primary.xml entries of all packages.
+     */
+    @Benchmark
+    public void primaryXml() {
+        PrimaryXmlWriter writer = new PrimaryXmlWriter(Writer.nullWriter()) {
+            @Override
+            protected Collection<PackageCapabilityDto> lookupCapabilities(Long pkgId, String query) {
+                return capabilities;
+            }
+
+            @Override
+            protected void storePrimaryXml(Long pkgId, String xml) {
+                // nothing to store
+            }
+        };
+        for (PackageDto pkg : packages) {
+            writer.addPackage(pkg);
+        }
+    }
+
+    /**
+     * Renders the updateinfo.xml entries of all errata, each with two packages.
+     * @throws SAXException if the rendering fails
+     */
+    @Benchmark
+    public void updateInfoXml() throws SAXException {
+        Config.get().setString(ConfigDefaults.UPDATEINFO_FRAGMENT_CACHE_MB, "0");
+        renderUpdateInfo();
+    }
+
+    /**
+     * Writes the updateinfo.xml entries of all errata from the fragments rendered in previous runs.
+     * @throws SAXException if the rendering fails
+     */
+    @Benchmark
+    public void updateInfoXmlCached() throws SAXException {
+        Config.get().setString(ConfigDefaults.UPDATEINFO_FRAGMENT_CACHE_MB, "64");
+        renderUpdateInfo();
+    }
+
+    private void renderUpdateInfo() throws SAXException {
+        UpdateInfoWriter writer = new UpdateInfoWriter(Writer.nullWriter());
+        writer.begin(channel);
+        for (ErrataOverview erratum : errata) {
+            int index = (int) (erratum.getId() % (packages.size() - 1));
+            writer.addErratum(erratum, channel, channel.getUpdateTag(), packages.subList(index, index + 2),
+                    erratum.getId() % 10 == 0 ? List.of("reboot_suggested") : List.of(), bugs, cves);
+        }
+        writer.end();
+    }
+}
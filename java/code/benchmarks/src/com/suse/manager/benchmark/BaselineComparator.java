@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and fails when a benchmark got slower
+ * than the allowed threshold. When the baseline is empty, the results are recorded as the baseline instead.
+ * Benchmarks missing from the baseline are reported, but do not fail the comparison.
+ *
+ * Usage: BaselineComparator &lt;baseline.json&gt; &lt;results.json&gt; [threshold percent]
+ */
+public class BaselineComparator {
+
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    private BaselineComparator() { }
+
+    /**
+     * Entry point
+     * @param args baseline file, result file and optional threshold in percent
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <results.json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> results = read(Path.of(args[1]));
+        if (baseline.isEmpty()) {
+            Files.copy(Path.of(args[1]), Path.of(args[0]), StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("The baseline %s was empty, recorded %d benchmark(s) as the new baseline%n",
+                    args[0], results.size());
+            return;
+        }
+
+        int regressions = 0;
+        int unchecked = 0;
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                unchecked++;
+                System.out.printf("NEW      %s: %.3f %s%n", entry.getKey(), current.value, current.unit);
+                continue;
+            }
+            double change = current.changeFrom(previous);
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-8s %s: %.3f -> %.3f %s (%+.1f%%)%n", regression ? "SLOWER" : "OK",
+                    entry.getKey(), previous.value, current.value, current.unit, change);
+        }
+        baseline.keySet().stream()
+                .filter(key -> !results.containsKey(key))
+                .forEach(key -> System.out.printf("MISSING  %s%n", key));
+
+        if (unchecked > 0) {
+            System.out.printf("%d benchmark(s) have no baseline and were not checked, " +
+                    "record them with the benchmark-baseline target%n", unchecked);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                JsonObject result = element.getAsJsonObject();
+                JsonObject metric = result.getAsJsonObject("primaryMetric");
+                scores.put(key(result), new Score(result.get("mode").getAsString(),
+                        metric.get("score").getAsDouble(), metric.get("scoreUnit").getAsString()));
+            }
+        }
+        return scores;
+    }
+
+    private static String key(JsonObject result) {
+        StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+        if (result.has("params")) {
+            Map<String, String> params = new TreeMap<>();
+            result.getAsJsonObject("params").entrySet()
+                    .forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+            key.append(params);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Primary score of a benchmark
+     */
+    private static class Score {
+
+        private final String mode;
+        private final double value;
+        private final String unit;
+
+        Score(String modeIn, double valueIn, String unitIn) {
+            this.mode = modeIn;
+            this.value = valueIn;
+            this.unit = unitIn;
+        }
+
+        /**
+         * @param previous the baseline score
+         * @return how much slower this score is in percent, negative when faster
+         */
+        double changeFrom(Score previous) {
+            double change = (value - previous.value) / previous.value * 100.0;
+            // throughput is better when higher, every other mode measures time
+            return "thrpt".equals(mode) ? -change : change;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.benchmark;
+
+import com.redhat.rhn.domain.errata.AdvisoryStatus;
+import com.redhat.rhn.domain.rhnpackage.PackageArch;
+import com.redhat.rhn.domain.rhnpackage.PackageEvr;
+import com.redhat.rhn.domain.rhnpackage.PackageName;
+import com.redhat.rhn.domain.rhnpackage.PackageType;
+import com.redhat.rhn.domain.server.InstalledPackage;
+import com.redhat.rhn.frontend.dto.Bug;
+import com.redhat.rhn.frontend.dto.CVE;
+import com.redhat.rhn.frontend.dto.ErrataOverview;
+import com.redhat.rhn.frontend.dto.PackageCapabilityDto;
+import com.redhat.rhn.frontend.dto.PackageDto;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory data used by the benchmarks. All generators are seeded so that
+ * two runs of the same benchmark always work on identical data.
+ */
+public class BenchmarkFixtures {
+
+    /** Seed used by every generator */
+    public static final long SEED = 42L;
+
+    private static final String[] ARCHS = {"x86_64", "noarch", "aarch64", "s390x", "ppc64le"};
+    private static final String[] RPM_SUFFIXES = {"", "~rc1", "+git20240101", "a", ".post1", "^20231201"};
+    private static final String[] DEB_SUFFIXES = {"", "~beta1", "+dfsg", "ubuntu1", "+deb12u1", "build2"};
+    private static final String[] ADVISORY_TYPES = {"Bug Fix Advisory", "Product Enhancement Advisory",
+            "Security Advisory"};
+
+    private BenchmarkFixtures() { }
+
+    /**
+     * Generates RPM version strings covering numeric, alphabetic, tilde and caret segments.
+     * @param count number of versions
+     * @return the versions
+     */
+    public static List<String> rpmVersions(int count) {
+        Random random = new Random(SEED);
+        List<String> versions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            versions.add(random.nextInt(20) + "." + random.nextInt(50) + "." + random.nextInt(200) +
+                    RPM_SUFFIXES[random.nextInt(RPM_SUFFIXES.length)]);
+        }
+        return versions;
+    }
+
+    /**
+     * Generates Debian version strings with optional epoch and revision.
+     * @param count number of versions
+     * @return the versions
+     */
+    public static List<String> debVersions(int count) {
+        Random random = new Random(SEED);
+        List<String> versions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String epoch = random.nextInt(4) == 0 ? random.nextInt(3) + ":" : "";
+            versions.add(epoch + random.nextInt(10) + "." + random.nextInt(30) +
+                    DEB_SUFFIXES[random.nextInt(DEB_SUFFIXES.length)] + "-" + random.nextInt(9) +
+                    DEB_SUFFIXES[random.nextInt(DEB_SUFFIXES.length)]);
+        }
+        return versions;
+    }
+
+    /**
+     * Generates package DTOs as returned by the repository metadata queries.
+     * @param count number of packages
+     * @return the packages
+     */
+    public static List<PackageDto> packageDtos(int count) {
+        Random random = new Random(SEED);
+        List<PackageDto> packages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PackageDto pkg = new PackageDto();
+            String name = "package-" + i;
+            String version = random.nextInt(10) + "." + random.nextInt(100);
+            String release = "150500." + random.nextInt(20) + "." + random.nextInt(5);
+            String arch = ARCHS[random.nextInt(ARCHS.length)];
+            pkg.setId((long) i + 1);
+            pkg.setOrgId(1L);
+            pkg.setName(name);
+            pkg.setVersion(version);
+            pkg.setRelease(release);
+            pkg.setEpoch(random.nextBoolean() ? null : "1");
+            pkg.setArchLabel(arch);
+            pkg.setChecksum(String.format("%064x", random.nextLong() & Long.MAX_VALUE));
+            pkg.setChecksumType("sha256");
+            pkg.setSummary("Summary of " + name);
+            pkg.setDescription("A somewhat longer description of " + name + " which spans a few words <&>.");
+            pkg.setBuildTime(new Date(1700000000000L + random.nextInt(100000000)));
+            pkg.setPackageSize((long) random.nextInt(10000000));
+            pkg.setPayloadSize((long) random.nextInt(20000000));
+            pkg.setInstalledSize((long) random.nextInt(40000000));
+            pkg.setPath("packages/1/abc/" + name + "/" + version + "-" + release + "/" + arch + "/" +
+                    name + "-" + version + "-" + release + "." + arch + ".rpm");
+            pkg.setCopyright("GPL-2.0-only");
+            pkg.setVendor("SUSE LLC <https://www.suse.com/>");
+            pkg.setPackageGroupName("System/Base");
+            pkg.setBuildHost("build" + random.nextInt(100) + ".suse.de");
+            pkg.setSourceRpm(name + "-" + version + "-" + release + ".src.rpm");
+            pkg.setHeaderStart(4504L);
+            pkg.setHeaderEnd(4504L + random.nextInt(50000));
+            packages.add(pkg);
+        }
+        return packages;
+    }
+
+    /**
+     * Generates package capabilities, half of them versioned.
+     * @param count number of capabilities
+     * @return the capabilities
+     */
+    public static List<PackageCapabilityDto> capabilities(int count) {
+        Random random = new Random(SEED);
+        List<PackageCapabilityDto> capabilities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PackageCapabilityDto capability = new PackageCapabilityDto();
+            capability.setId((long) i);
+            capability.setName(i % 3 == 0 ? "/usr/bin/tool" + i : "libfoo" + i + ".so.1()(64bit)");
+            capability.setVersion(i % 2 == 0 ? null : random.nextInt(3) + ":1." + i + "-" + random.nextInt(9));
+            capability.setSense(i % 2 == 0 ? 0L : 12L);
+            capabilities.add(capability);
+        }
+        return capabilities;
+    }
+
+    /**
+     * Generates errata overviews as returned by the updateinfo queries.
+     * @param count number of errata
+     * @return the errata
+     */
+    public static List<ErrataOverview> errata(int count) {
+        Random random = new Random(SEED);
+        List<ErrataOverview> errata = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ErrataOverview erratum = new ErrataOverview();
+            erratum.setId((long) i + 1);
+            erratum.setAdvisoryName("SUSE-SLE-Module-Basesystem-15-SP5-2024-" + (1000 + i));
+            erratum.setAdvisorySynopsis("Recommended update for package-" + i);
+            erratum.setAdvisoryType(ADVISORY_TYPES[random.nextInt(ADVISORY_TYPES.length)]);
+            erratum.setAdvisoryStatus(AdvisoryStatus.FINAL);
+            erratum.setAdvisoryRel((long) random.nextInt(5) + 1);
+            erratum.setErrataFrom("maint-coord@suse.de");
+            erratum.setIssueDate(new Date(1700000000000L + i * 1000L));
+            erratum.setUpdateDate(new Date(1700000000000L + i * 2000L));
+            erratum.setRights("Copyright 2024 SUSE LLC");
+            erratum.setDescription("This update for package-" + i + " fixes the following issues:\n" +
+                    "- Fixed a crash when <input> is empty (bsc#" + (1200000 + i) + ")");
+            errata.add(erratum);
+        }
+        return errata;
+    }
+
+    /**
+     * Generates bugs references.
+     * @param count number of bugs
+     * @return the bugs
+     */
+    public static List<Bug> bugs(int count) {
+        List<Bug> bugs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Bug bug = new Bug();
+            bug.setBugId(1200000L + i);
+            bug.setSummary("Bug " + i + " summary");
+            bug.setHref("https://bugzilla.suse.com/show_bug.cgi?id=" + (1200000 + i));
+            bugs.add(bug);
+        }
+        return bugs;
+    }
+
+    /**
+     * Generates CVE references.
+     * @param count number of CVEs
+     * @return the CVEs
+     */
+    public static List<CVE> cves(int count) {
+        List<CVE> cves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CVE cve = new CVE();
+            cve.setId((long) i);
+            cve.setName("CVE-2024-" + (10000 + i));
+            cves.add(cve);
+        }
+        return cves;
+    }
+
+    /**
+     * Generates the installed packages of a system as they would be loaded by Hibernate.
+     * @param count number of packages
+     * @return the installed packages
+     */
+    public static List<InstalledPackage> installedPackages(int count) {
+        Random random = new Random(SEED);
+        List<InstalledPackage> packages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PackageName name = new PackageName();
+            name.setName("package-" + i);
+            PackageArch arch = new PackageArch();
+            arch.setLabel(ARCHS[random.nextInt(ARCHS.length)]);
+
+            InstalledPackage pkg = new InstalledPackage();
+            pkg.setName(name);
+            pkg.setArch(arch);
+            pkg.setEvr(new PackageEvr(null, random.nextInt(10) + "." + random.nextInt(100),
+                    "150500." + random.nextInt(20), PackageType.RPM));
+            packages.add(pkg);
+        }
+        return packages;
+    }
+
+    /**
+     * Generates the JSON of a Salt pkg.info_installed return, in the format used by the package
+     * profile update state.
+     * @param count number of packages
+     * @param changed number of packages whose version differs from {@link #installedPackages(int)}
+     * @return the JSON object, keyed by package name
+     */
+    public static JsonObject saltPackageInfo(int count, int changed) {
+        List<InstalledPackage> installed = installedPackages(count);
+        JsonObject result = new JsonObject();
+        for (int i = 0; i < installed.size(); i++) {
+            InstalledPackage pkg = installed.get(i);
+            JsonObject info = new JsonObject();
+            info.addProperty("version", pkg.getEvr().getVersion());
+            info.addProperty("release", i < changed ? pkg.getEvr().getRelease() + ".1" :
+                    pkg.getEvr().getRelease());
+            info.addProperty("arch", pkg.getArch().getLabel());
+            info.addProperty("install_date_time_t", 1700000000L + i);
+            JsonArray infos = new JsonArray();
+            infos.add(info);
+            result.add(pkg.getName().getName(), infos);
+        }
+        return result;
+    }
+
+    /**
+     * Reads a classpath resource, typically one of the unit test data files.
+     * @param path absolute classpath location
+     * @return the resource content
+     */
+    public static String readResource(String path) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Resource not found: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, forward-only {@link ResultSet} over rows kept in memory. Only the methods used by the
+ * datasource layer to map rows are implemented, any other call fails with
+ * {@link UnsupportedOperationException}.
+ */
+public class InMemoryResultSet {
+
+    private final List<String> columns;
+    private final List<Object[]> rows;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+
+    private int current = -1;
+
+    /**
+     * Constructor
+     * @param columnsIn the column names, in result order
+     * @param rowsIn the row values, in the same order as the columns
+     */
+    public InMemoryResultSet(List<String> columnsIn, List<Object[]> rowsIn) {
+        this.columns = columnsIn;
+        this.rows = rowsIn;
+        for (int i = 0; i < columnsIn.size(); i++) {
+            columnIndex.put(columnsIn.get(i).toLowerCase(), i);
+        }
+    }
+
+    /**
+     * Creates a fresh result set positioned before the first row.
+     * @return the result set
+     */
+    public ResultSet open() {
+        current = -1;
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columns.size();
+                        case "getColumnName":
+                        case "getColumnLabel":
+                            return columns.get((Integer) args[0] - 1);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            current++;
+                            return current < rows.size();
+                        case "getMetaData":
+                            return metaData;
+                        case "getObject":
+                            return value(args[0]);
+                        case "getTimestamp":
+                            Object date = value(args[0]);
+                            return date == null ? null : new Timestamp(((Date) date).getTime());
+                        case "getLong":
+                            Object number = value(args[0]);
+                            return number == null ? 0L : ((Number) number).longValue();
+                        case "getString":
+                            Object text = value(args[0]);
+                            return text == null ? null : text.toString();
+                        case "wasNull":
+                            return false;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private Object value(Object column) {
+        int index = column instanceof Integer ? (Integer) column - 1 :
+                columnIndex.get(column.toString().toLowerCase());
+        return rows.get(current)[index];
+    }
+}
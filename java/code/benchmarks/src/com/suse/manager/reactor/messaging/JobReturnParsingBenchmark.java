@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.messaging;
+
+import com.suse.manager.benchmark.BenchmarkFixtures;
+import com.suse.manager.webui.utils.salt.custom.PkgProfileUpdateSlsResult;
+import com.suse.salt.netapi.datatypes.Event;
+import com.suse.salt.netapi.event.JobReturnEvent;
+import com.suse.salt.netapi.parser.JsonParser;
+import com.suse.utils.Json;
+
+import com.google.gson.JsonElement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Gson parsing done for a Salt job return before {@link JobReturnEventMessageAction} can
+ * act on it: event envelope, job return data and the typed state result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobReturnParsingBenchmark {
+
+    private static final String TEST_DATA = "/com/suse/manager/reactor/messaging/test/";
+
+    @Param({"packages.profileupdate.json", "packages.profileupdate.ubuntu.json"})
+    private String returnFile;
+
+    private String eventData;
+
+    /**
+     * Loads the recorded job return.
+     */
+    @Setup
+    public void setup() {
+        eventData = BenchmarkFixtures.readResource(TEST_DATA + returnFile);
+    }
+
+    /**
+     * Parses the event envelope and the job return, as the event stream does.
+     * @return the job return event
+     */
+    @Benchmark
+    public Optional<JobReturnEvent> parseEvent() {
+        Event event = JsonParser.EVENTS.parse(eventData);
+        return JobReturnEvent.parse(event);
+    }
+
+    /**
+     * Parses the whole event down to the package profile update result.
+     * @return the typed result
+     */
+    @Benchmark
+    public PkgProfileUpdateSlsResult parseProfileUpdate() {
+        Event event = JsonParser.EVENTS.parse(eventData);
+        JsonElement result = JobReturnEvent.parse(event)
+                .map(jobReturn -> jobReturn.getData().getResult(JsonElement.class))
+                .orElseThrow();
+        return Json.GSON.fromJson(result, PkgProfileUpdateSlsResult.class);
+    }
+}
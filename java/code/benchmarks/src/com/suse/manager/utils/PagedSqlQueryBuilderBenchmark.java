@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.utils;
+
+import com.redhat.rhn.frontend.listview.PageControl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the React table filters into SQL conditions in {@link PagedSqlQueryBuilder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagedSqlQueryBuilderBenchmark {
+
+    private Optional<PageControl> textFilter;
+    private Optional<PageControl> numberFilter;
+    private Optional<PageControl> dateFilter;
+    private Optional<PageControl> booleanFilter;
+
+    /**
+     * Builds one page control per filter type.
+     */
+    @Setup
+    public void setup() {
+        textFilter = pageControl("server_name", "!web-frontend");
+        numberFilter = pageControl("total_errata_count", ">= 12");
+        dateFilter = pageControl("created", "< 2024-01-31");
+        booleanFilter = pageControl("requires_reboot", "= true");
+    }
+
+    private static Optional<PageControl> pageControl(String column, String data) {
+        PageControl pc = new PageControl(1, 25);
+        pc.setFilter(true);
+        pc.setFilterColumn(column);
+        pc.setFilterData(data);
+        return Optional.of(pc);
+    }
+
+    /**
+     * @return the parsed text filter
+     */
+    @Benchmark
+    public PagedSqlQueryBuilder.FilterWithValue parseText() {
+        return PagedSqlQueryBuilder.parseFilterAsText(textFilter);
+    }
+
+    /**
+     * @return the parsed number filter
+     */
+    @Benchmark
+    public PagedSqlQueryBuilder.FilterWithValue parseNumber() {
+        return PagedSqlQueryBuilder.parseFilterAsNumber(numberFilter);
+    }
+
+    /**
+     * @return the parsed date filter
+     */
+    @Benchmark
+    public PagedSqlQueryBuilder.FilterWithValue parseDate() {
+        return PagedSqlQueryBuilder.parseFilterAsDate(dateFilter);
+    }
+
+    /**
+     * @return the parsed boolean filter
+     */
+    @Benchmark
+    public PagedSqlQueryBuilder.FilterWithValue parseBoolean() {
+        return PagedSqlQueryBuilder.parseFilterAsBoolean(booleanFilter);
+    }
+}
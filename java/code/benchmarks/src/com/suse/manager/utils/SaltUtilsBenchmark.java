@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.utils;
+
+import com.redhat.rhn.domain.server.InstalledPackage;
+
+import com.suse.manager.benchmark.BenchmarkFixtures;
+import com.suse.salt.netapi.calls.modules.Pkg;
+import com.suse.utils.Json;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SaltUtils#packageToKey} and the installed package delta computed on every package
+ * profile update: keys of the packages known to the server are matched against the keys of the packages
+ * reported by Salt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaltUtilsBenchmark {
+
+    @Param({"2000"})
+    private int packages;
+
+    @Param({"0", "100"})
+    private int changed;
+
+    private List<InstalledPackage> installed;
+    private Map<String, List<Pkg.Info>> reported;
+
+    /**
+     * Builds the installed and reported packages.
+     */
+    @Setup
+    public void setup() {
+        installed = BenchmarkFixtures.installedPackages(packages);
+        reported = Json.GSON.fromJson(BenchmarkFixtures.saltPackageInfo(packages, changed),
+                new TypeToken<Map<String, List<Pkg.Info>>>() { }.getType());
+    }
+
+    /**
+     * Computes the keys of all the installed packages.
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void installedPackageKeys(Blackhole bh) {
+        for (InstalledPackage pkg : installed) {
+            bh.consume(SaltUtils.packageToKey(pkg));
+        }
+    }
+
+    /**
+     * Computes the keys of all the packages reported by Salt.
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void saltPackageKeys(Blackhole bh) {
+        for (Map.Entry<String, List<Pkg.Info>> entry : reported.entrySet()) {
+            for (Pkg.Info info : entry.getValue()) {
+                bh.consume(SaltUtils.packageToKey(entry.getKey(), info));
+            }
+        }
+    }
+
+    /**
+     * Computes the packages to remove and to add, as the package profile update does.
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void packageDelta(Blackhole bh) {
+        Map<String, InstalledPackage> oldPackages = new HashMap<>();
+        for (InstalledPackage pkg : installed) {
+            oldPackages.put(SaltUtils.packageToKey(pkg), pkg);
+        }
+        Map<String, Pkg.Info> newPackages = new HashMap<>();
+        for (Map.Entry<String, List<Pkg.Info>> entry : reported.entrySet()) {
+            for (Pkg.Info info : entry.getValue()) {
+                newPackages.put(SaltUtils.packageToKey(entry.getKey(), info), info);
+            }
+        }
+        oldPackages.keySet().stream().filter(key -> !newPackages.containsKey(key)).forEach(bh::consume);
+        newPackages.keySet().stream().filter(key -> !oldPackages.containsKey(key)).forEach(bh::consume);
+    }
+}
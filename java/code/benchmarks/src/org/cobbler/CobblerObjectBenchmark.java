@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package org.cobbler;
+
+import org.cobbler.test.MockConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the update of a Cobbler profile the way the kickstart profile sync does it, with and without buffered
+ * changes, against the in-process {@link MockConnection} stand-in. Most of the values are already set, as on every
+ * sync run after the first one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CobblerObjectBenchmark {
+
+    private static final int PROFILES = 200;
+
+    @Param({"false", "true"})
+    private boolean buffered;
+
+    private MockConnection connection;
+    private List<String> names;
+
+    /**
+     * Creates the profiles on the stand-in server.
+     */
+    @Setup
+    public void setup() {
+        connection = new MockConnection("http://localhost", "token");
+        Distro distro = new Distro.Builder<String>()
+                .setName("benchmark-distro")
+                .setKernel("kernel")
+                .setInitrd("initrd")
+                .setArch("x86_64")
+                .build(connection);
+        names = new ArrayList<>();
+        for (int i = 0; i < PROFILES; i++) {
+            String name = "benchmark-profile-" + i;
+            Profile.create(connection, name, distro);
+            names.add(name);
+        }
+    }
+
+    /**
+     * Removes the profiles and distro from the stand-in server.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockConnection.clear();
+    }
+
+    /**
+     * Looks up and updates every profile.
+     * @return the number of XML-RPC calls made
+     */
+    @Benchmark
+    public int updateProfiles() {
+        MockConnection.resetInvocations();
+        for (String name : names) {
+            Profile profile = Profile.lookupByName(connection, name);
+            if (buffered) {
+                profile.bufferChanges();
+            }
+            Map<String, Object> meta = profile.getKsMeta().orElseGet(HashMap::new);
+            meta.put("org", "1");
+            profile.setKsMeta(Optional.of(meta));
+            profile.setVirtType(Optional.of("kvm"));
+            profile.setVirtBridge(Optional.of("xenb0"));
+            profile.setVirtCpus(Optional.of(1));
+            profile.setVirtRam(Optional.of(512));
+            profile.setEnableMenu(true);
+            profile.save();
+        }
+        return MockConnection.getInvocationCount("modify_profile");
+    }
+}
@@ -71,6 +71,11 @@ public class ConfigDefaults {
     public static final String ERRATA_CACHE_COMPUTE_THRESHOLD
     = "errata_cache_compute_threshold";
 
+    /**
+     * Maximum number of servers whose errata cache is recomputed together in one transaction.
+     */
+    public static final String ERRATA_CACHE_SERVER_BATCH_SIZE = "java.errata_cache_server_batch_size";
+
     public static final String DOWNLOAD_URL_LIFETIME = "java.download_url_lifetime";
 
     public static final String NON_EXPIRABLE_PACKAGE_URLS =
@@ -215,6 +220,11 @@ public class ConfigDefaults {
      */
     private static final String TASKOMATIC_CHANNEL_REPODATA_WORKERS = "java.taskomatic_channel_repodata_workers";
 
+    /**
+     * Maximum size in megabytes of the rendered updateinfo.xml advisory fragments kept in memory between runs.
+     */
+    public static final String UPDATEINFO_FRAGMENT_CACHE_MB = "java.updateinfo_fragment_cache_mb";
+
     /**
      * HTTP proxy defaults
      */
@@ -234,6 +244,9 @@ public class ConfigDefaults {
     public static final String PRODUCT_TREE_TAG = "java.product_tree_tag";
 
     public static final String MESSAGE_QUEUE_THREAD_POOL_SIZE = "java.message_queue_thread_pool_size";
+    public static final String MESSAGE_QUEUE_PARALLELISM = "java.message_queue_parallelism";
+    public static final String MESSAGE_QUEUE_CAPACITY = "java.message_queue_capacity";
+    public static final String MESSAGE_QUEUE_OVERFLOW = "java.message_queue_overflow";
 
     /**
      * Token lifetime in seconds
@@ -333,6 +346,18 @@ public class ConfigDefaults {
      */
     public static final String SALT_EVENTS_PER_COMMIT = "java.salt_events_per_commit";
 
+    /**
+     * Maximum number of starting minions registered together, collecting their data with one Salt call per batch.
+     * Raising this to any value above 1 will decrease reliability, as the start events are acknowledged before
+     * the registration completes, but can improve performance when many minions are onboarded at once.
+     */
+    public static final String MINION_REGISTRATION_BATCH_SIZE = "java.minion_registration_batch_size";
+
+    /**
+     * Maximum time, in milliseconds, a starting minion waits for others to fill its registration batch.
+     */
+    public static final String MINION_REGISTRATION_BATCH_DELAY = "java.minion_registration_batch_delay";
+
     /**
      * Single Sign-On associated config option name in rhn.conf
      */
@@ -891,6 +916,15 @@ public class ConfigDefaults {
         return Config.get().getInt(TASKOMATIC_CHANNEL_REPODATA_WORKERS, 1);
     }
 
+    /**
+     * Maximum size of the rendered updateinfo.xml advisory fragments kept in memory between runs.
+     * A value of 0 disables the cache.
+     * @return the updateinfo fragment cache size in bytes
+     */
+    public long getUpdateInfoFragmentCacheBytes() {
+        return Math.max(0, Config.get().getInt(UPDATEINFO_FRAGMENT_CACHE_MB, 64)) * 1024L * 1024L;
+    }
+
     /**
      * Gets the proxy host.
      * @return the proxy host
@@ -1078,6 +1112,32 @@ public class ConfigDefaults {
         return Config.get().getInt(SALT_EVENTS_PER_COMMIT, 1);
     }
 
+    /**
+     * Maximum number of starting minions registered together.
+     * A value of 1 registers every minion on its own as soon as its start event is processed.
+     * @return the registration batch size
+     */
+    public int getMinionRegistrationBatchSize() {
+        return Config.get().getInt(MINION_REGISTRATION_BATCH_SIZE, 1);
+    }
+
+    /**
+     * Maximum time, in milliseconds, a starting minion waits for others to fill its registration batch.
+     * @return the registration batch delay
+     */
+    public int getMinionRegistrationBatchDelay() {
+        return Config.get().getInt(MINION_REGISTRATION_BATCH_DELAY, 1000);
+    }
+
+    /**
+     * Maximum number of servers whose errata cache is recomputed together in one transaction.
+     * A value of 1 recomputes the cache of every server on its own.
+     * @return the errata cache server batch size
+     */
+    public int getErrataCacheServerBatchSize() {
+        return Math.max(1, Config.get().getInt(ERRATA_CACHE_SERVER_BATCH_SIZE, 100));
+    }
+
 
     /**
      * Returns the notifications type disabled.
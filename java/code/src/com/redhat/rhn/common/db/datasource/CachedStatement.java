@@ -23,6 +23,8 @@ import com.redhat.rhn.common.translation.SqlExceptionTranslator;
 import com.redhat.rhn.common.util.MethodUtil;
 import com.redhat.rhn.common.util.StringUtil;
 
+import com.suse.manager.metrics.DatabaseMetrics;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.HibernateException;
@@ -530,6 +532,7 @@ public class CachedStatement implements Serializable {
         }
 
         PreparedStatement ps = null;
+        long start = System.nanoTime();
         try {
             ps = prepareStatement(connection, sql, mode);
             boolean returnType = NamedPreparedStatement.execute(ps, parameterMap,
@@ -544,6 +547,8 @@ public class CachedStatement implements Serializable {
         }
         finally {
             HibernateHelper.cleanupDB(ps);
+            DatabaseMetrics.observeQuery(name, mode instanceof SelectMode ? DatabaseMetrics.SELECT :
+                    DatabaseMetrics.UPDATE, start);
         }
     }
 
@@ -594,6 +599,7 @@ public class CachedStatement implements Serializable {
             this.sqlStatement =
                     NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
             CallableStatement cs = null;
+            long start = System.nanoTime();
             try {
                 cs = connection.prepareCall(this.sqlStatement);
                 NamedPreparedStatement.execute(cs, qMap, inParams, outParams);
@@ -614,11 +620,20 @@ public class CachedStatement implements Serializable {
             }
             finally {
                 HibernateHelper.cleanupDB(cs);
+                DatabaseMetrics.observeQuery(name, DatabaseMetrics.CALLABLE, start);
             }
         });
     }
 
-    private DataResult<Object> processResultSet(ResultSet rs, SelectMode mode,
+    /**
+     * Maps the rows of a result set to the objects declared by the given mode.
+     * Package visible so that the row mapping can be benchmarked in isolation.
+     * @param rs the result set to map, closed when done
+     * @param mode the mode defining the class of the result objects
+     * @param currentResults the driving query results when elaborating, null otherwise
+     * @return the mapped results
+     */
+    DataResult<Object> processResultSet(ResultSet rs, SelectMode mode,
             List<Object> currentResults) {
 
         Map<Object, Integer> pointers = null;
@@ -997,12 +1012,14 @@ public class CachedStatement implements Serializable {
         }
 
         PreparedStatement ps = null;
+        long start = System.nanoTime();
         try {
             ps = prepareStatement(connection, sql, null);
             return NamedPreparedStatement.executeBatch(ps, parameterMap, batch);
         }
         finally {
             HibernateHelper.cleanupDB(ps);
+            DatabaseMetrics.observeQuery(name, DatabaseMetrics.BATCH, start);
         }
     }
 }
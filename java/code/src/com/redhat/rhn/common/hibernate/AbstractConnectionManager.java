@@ -19,6 +19,8 @@ import static org.hibernate.resource.transaction.spi.TransactionStatus.ROLLED_BA
 
 import com.redhat.rhn.common.finder.FinderFactory;
 
+import com.suse.manager.metrics.PrometheusExporter;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.HibernateException;
@@ -36,8 +38,6 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 
-import io.prometheus.client.hibernate.HibernateStatisticsCollector;
-
 
 /**
  * Manages the lifecycle of Hibernate SessionFactory and associated
@@ -165,7 +165,8 @@ abstract class AbstractConnectionManager implements ConnectionManager {
 
         createSessionFactory();
         if (unitLabelValue != null) {
-            new HibernateStatisticsCollector(sessionFactory, unitLabelValue).register();
+            PrometheusExporter.INSTANCE.registerHibernateStatistics(sessionFactory, unitLabelValue);
+            PrometheusExporter.INSTANCE.registerDatabaseMetrics(unitLabelValue);
         }
     }
 
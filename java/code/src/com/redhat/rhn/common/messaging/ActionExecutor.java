@@ -31,6 +31,7 @@ class ActionExecutor implements Runnable {
 
     private EventMessage msg;
     private List<MessageAction> actionHandlers = new ArrayList<>();
+    private final long publishedAt = System.nanoTime();
 
     /**
      * Constructor
@@ -84,6 +85,20 @@ class ActionExecutor implements Runnable {
         return actionHandlers.stream().allMatch(MessageAction::canRunConcurrently);
     }
 
+    /**
+     * @return the type of the dispatched message
+     */
+    Class<? extends EventMessage> getEventType() {
+        return msg.getClass();
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} when this executor was created, i.e. when the message was published
+     */
+    long getPublishedAt() {
+        return publishedAt;
+    }
+
     @Override
     public String toString() {
         return "ActionExecutor[message=" + msg.getClass().getSimpleName() + "]";
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.messaging;
+
+import com.suse.manager.metrics.MessageQueueMetrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue of the messages of one event type, handing them to an executor with a limited parallelism.
+ *
+ * No lock is taken: the number of running messages is tracked with a counter and the lane is drained
+ * both by the publishing thread and by every message that finishes, so a message is never left waiting
+ * while a slot is free.
+ */
+class EventLane {
+
+    /**
+     * What to do with a message published while the lane is full.
+     */
+    enum Overflow {
+        /**
+         * Block the publisher until there is room, for {@value #BLOCK_TIMEOUT_SECONDS} seconds at most.
+         * Message actions publishing from a message queue thread are never blocked.
+         */
+        BLOCK,
+        /** Drop the message and log it */
+        DROP
+    }
+
+    private static final Logger LOG = LogManager.getLogger(EventLane.class);
+    private static final long BLOCK_TIMEOUT_SECONDS = 30;
+
+    /* Set while a message action runs, its thread may be the one the lane is waiting for */
+    private static final ThreadLocal<Boolean> IN_QUEUE_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final String name;
+    private final BlockingQueue<ActionExecutor> queue;
+    private final int parallelism;
+    private final Overflow overflow;
+    private final Executor target;
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * Constructor
+     * @param nameIn the event type name, used in logs and metrics
+     * @param capacityIn the maximum number of waiting messages, 0 or less for no limit
+     * @param parallelismIn the maximum number of messages running at the same time
+     * @param overflowIn the policy to apply when the lane is full
+     * @param targetIn the executor running the messages
+     */
+    EventLane(String nameIn, int capacityIn, int parallelismIn, Overflow overflowIn, Executor targetIn) {
+        name = nameIn;
+        queue = capacityIn > 0 ? new LinkedBlockingQueue<>(capacityIn) : new LinkedBlockingQueue<>();
+        parallelism = Math.max(1, parallelismIn);
+        overflow = overflowIn;
+        target = targetIn;
+    }
+
+    /**
+     * Queues a message and dispatches it as soon as a slot is free.
+     * @param executor the message to run
+     * @return false if the message was dropped
+     * @throws InterruptedException if interrupted while waiting for room in the lane
+     */
+    boolean offer(ActionExecutor executor) throws InterruptedException {
+        boolean queued;
+        if (overflow == Overflow.BLOCK && !IN_QUEUE_THREAD.get()) {
+            queued = queue.offer(executor, BLOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        else {
+            queued = queue.offer(executor);
+        }
+        if (!queued) {
+            LOG.warn("Message queue for {} is full, dropping {}", name, executor);
+            MessageQueueMetrics.observeDropped(name);
+            return false;
+        }
+        MessageQueueMetrics.setQueueDepth(name, queue.size());
+        drain();
+        return true;
+    }
+
+    /**
+     * @return the number of messages waiting to be dispatched
+     */
+    int size() {
+        return queue.size();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = running.get();
+            if (current >= parallelism) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            ActionExecutor next = queue.poll();
+            if (next == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            MessageQueueMetrics.setQueueDepth(name, queue.size());
+            try {
+                target.execute(() -> runAndDrain(next));
+            }
+            catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                LOG.error("Message queue is shut down, discarding {}", next);
+                return;
+            }
+        }
+    }
+
+    private void runAndDrain(ActionExecutor executor) {
+        MessageQueueMetrics.observeWait(name, executor.getPublishedAt());
+        long start = System.nanoTime();
+        IN_QUEUE_THREAD.set(true);
+        try {
+            executor.run();
+        }
+        finally {
+            IN_QUEUE_THREAD.remove();
+            MessageQueueMetrics.observeExecution(name, start);
+            running.decrementAndGet();
+            drain();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventLane[event=" + name + ", parallelism=" + parallelism + "]";
+    }
+}
@@ -17,40 +17,133 @@ package com.redhat.rhn.common.messaging;
 import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
-import com.redhat.rhn.frontend.events.TraceBackAction;
-import com.redhat.rhn.frontend.events.TraceBackEvent;
 
 import com.suse.manager.metrics.PrometheusExporter;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Polls the EventQueue for events and executes them
+ * Dispatches published messages to a lane per event type.
  *
+ * Messages whose actions can run concurrently are executed in the message queue thread pool, with at most
+ * <code>java.message_queue_parallelism</code> messages of the same type at once. All other messages are
+ * executed one at a time by the dispatcher thread, as they always were. Lanes are unbounded unless
+ * <code>java.message_queue_capacity</code> limits the waiting messages; when such a lane is full the publisher
+ * either waits for a while or the message is dropped, depending on <code>java.message_queue_overflow</code>.
+ * Message actions publishing into a full lane never wait. Parallelism, capacity
+ * and overflow can be overridden for one event type by appending an underscore and its simple class name
+ * to the key, e.g. <code>java.message_queue_parallelism_UpdateErrataCacheEvent</code>.
  */
-public class MessageDispatcher implements Runnable {
+public class MessageDispatcher {
 
     private static Logger log = LogManager.getLogger(MessageDispatcher.class);
+    private static final int DEFAULT_CAPACITY = 0;
+
     private boolean isStopped = false;
 
     /* Thread pool for concurrent execution of message actions */
-    private ExecutorService threadPool = new MessageQueueThreadPool(
+    private final ExecutorService threadPool = new MessageQueueThreadPool(
             Config.get().getInt(ConfigDefaults.MESSAGE_QUEUE_THREAD_POOL_SIZE));
 
+    /* Single thread executing the actions which cannot run concurrently */
+    private final ExecutorService dispatcherThread = new MessageQueueThreadPool(1, "RHN Message Dispatcher");
+
+    private final Map<Class<? extends EventMessage>, EventLane> concurrentLanes = new ConcurrentHashMap<>();
+    private final Map<Class<? extends EventMessage>, EventLane> serialLanes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     */
+    public MessageDispatcher() {
+        // register the executor service for exporting metrics
+        PrometheusExporter.INSTANCE.registerThreadPool((ThreadPoolExecutor) this.threadPool, "message_queue");
+    }
+
+    /**
+     * Queues an executor in the lane of its event type.
+     * @param executor the executor
+     * @return false if the message was dropped
+     * @throws InterruptedException if interrupted while waiting for room in a full lane
+     */
+    boolean dispatch(ActionExecutor executor) throws InterruptedException {
+        EventLane lane;
+        if (executor.canRunConcurrently()) {
+            log.info("Executing in thread pool: {}", executor);
+            lane = concurrentLanes.computeIfAbsent(executor.getEventType(),
+                    type -> newLane(type, laneSetting(ConfigDefaults.MESSAGE_QUEUE_PARALLELISM, type,
+                            ((ThreadPoolExecutor) threadPool).getMaximumPoolSize()), threadPool));
+        }
+        else {
+            lane = serialLanes.computeIfAbsent(executor.getEventType(),
+                    type -> newLane(type, 1, this::executeInDispatcherThread));
+        }
+        return lane.offer(executor);
+    }
+
+    /**
+     * Returns the number of messages that have not started yet: the messages waiting in the lanes and the
+     * ones already handed to the thread pool or to the dispatcher thread, but still in their queue.
+     * @return the number of waiting messages
+     */
+    int getWaitingCount() {
+        return concurrentLanes.values().stream().mapToInt(EventLane::size).sum() +
+                serialLanes.values().stream().mapToInt(EventLane::size).sum() +
+                ((ThreadPoolExecutor) threadPool).getQueue().size() +
+                ((ThreadPoolExecutor) dispatcherThread).getQueue().size();
+    }
+
+    private EventLane newLane(Class<? extends EventMessage> type, int parallelism,
+            Executor target) {
+        int capacity = laneSetting(ConfigDefaults.MESSAGE_QUEUE_CAPACITY, type, DEFAULT_CAPACITY);
+        String overflow = Config.get().getString(ConfigDefaults.MESSAGE_QUEUE_OVERFLOW + "_" + type.getSimpleName(),
+                Config.get().getString(ConfigDefaults.MESSAGE_QUEUE_OVERFLOW, EventLane.Overflow.BLOCK.name()));
+        EventLane.Overflow policy = EventLane.Overflow.BLOCK;
+        try {
+            policy = EventLane.Overflow.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e) {
+            log.warn("Unknown message queue overflow policy {}, blocking publishers instead", overflow);
+        }
+        EventLane lane = new EventLane(type.getSimpleName(), capacity, parallelism, policy, target);
+        log.debug("Created {}", lane);
+        return lane;
+    }
+
+    private static int laneSetting(String key, Class<? extends EventMessage> type, int defaultValue) {
+        return Config.get().getInt(key + "_" + type.getSimpleName(), Config.get().getInt(key, defaultValue));
+    }
+
+    private void executeInDispatcherThread(Runnable task) {
+        dispatcherThread.execute(() -> {
+            try {
+                task.run();
+            }
+            finally {
+                HibernateFactory.closeSession();
+            }
+        });
+    }
+
     /**
      * Signals the dispatcher to stop
      */
     public synchronized void stop() {
-        // Gracefully shut down the thread pool
+        // Gracefully shut down the thread pools
+        dispatcherThread.shutdown();
         threadPool.shutdown();
         log.info("Awaiting termination of threads (for 1 minute)");
         try {
-            final boolean done = threadPool.awaitTermination(1, TimeUnit.MINUTES);
+            final boolean done = dispatcherThread.awaitTermination(1, TimeUnit.MINUTES) &&
+                    threadPool.awaitTermination(1, TimeUnit.MINUTES);
             log.info("Thread pool shut down: {}", done);
         }
         catch (InterruptedException e) {
@@ -67,61 +160,4 @@ public class MessageDispatcher implements Runnable {
     public synchronized boolean isStopped() {
         return isStopped;
     }
-
-    /**
-     * Main run loop where events are popped off the queue
-     * and executed. Events are wrapped inside of a Runnable instance
-     */
-    @Override
-    public void run() {
-
-        // register the executor service for exporting metrics
-        PrometheusExporter.INSTANCE.registerThreadPool((ThreadPoolExecutor) this.threadPool, "message_queue");
-
-
-        while (!isStopped) {
-            try {
-                ActionExecutor actionHandler = MessageQueue.popEventMessage();
-                if (actionHandler == null) {
-                    continue;
-                }
-                else if (actionHandler.canRunConcurrently()) {
-                    log.info("Executing in thread pool: {}", actionHandler);
-                    threadPool.execute(actionHandler);
-                }
-                else {
-                    actionHandler.run();
-                }
-            }
-            catch (InterruptedException e) {
-                log.error("Error occurred in the MessageQueue", e);
-                return;
-            }
-            catch (Throwable t) {
-                // better log this puppy to let folks know we have a problem
-                // but keep the queue running.
-                log.error("Error occurred with an event in the MessageQueue", t);
-
-                try {
-                    // ok let's email the admins of what's going on.
-                    // WARNING! DO NOT PUBLISH THE EVENT TO THE QUEUE!
-                    TraceBackEvent evt = new TraceBackEvent();
-                    evt.setUser(null);
-                    evt.setRequest(null);
-                    evt.setException(t);
-
-                    TraceBackAction tba = new TraceBackAction();
-                    tba.execute(evt);
-                }
-                catch (Throwable t1) {
-                    log.error("Error sending traceback email, logging for posterity.", t1);
-                }
-            }
-            finally {
-                HibernateFactory.closeSession();
-            }
-
-        }
-    }
-
 }
@@ -45,8 +45,18 @@ public class MessageQueueThreadPool extends ThreadPoolExecutor {
      * @param size the number of threads to create, i.e. pool size
      */
     public MessageQueueThreadPool(int size) {
+        this(size, "message-queue-thread-%d");
+    }
+
+    /**
+     * Constructor for creating a thread pool with custom thread names.
+     *
+     * @param size the number of threads to create, i.e. pool size
+     * @param namingPattern the pattern of the thread names, see {@link BasicThreadFactory.Builder#namingPattern}
+     */
+    public MessageQueueThreadPool(int size, String namingPattern) {
         super(size, size, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
-        setThreadFactory(new BasicThreadFactory.Builder().namingPattern("message-queue-thread-%d").build());
+        setThreadFactory(new BasicThreadFactory.Builder().namingPattern(namingPattern).build());
         log.info("Started message queue thread pool (size: {})", size);
     }
 
@@ -15,10 +15,13 @@
 
 package com.redhat.rhn.common.messaging.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.messaging.EventMessage;
+import com.redhat.rhn.common.messaging.MessageAction;
 import com.redhat.rhn.common.messaging.MessageQueue;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.testing.RhnBaseTestCase;
@@ -29,6 +32,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class MessageQueueTest extends RhnBaseTestCase {
 
     private static Logger logger = LogManager.getLogger(MessageQueueTest.class);
@@ -194,6 +201,87 @@ public class MessageQueueTest extends RhnBaseTestCase {
         logger.debug("testThreadKiller - end");
     }
 
+    @Test
+    public void testParallelismPerEventType() throws Exception {
+        Config.get().setString("java.message_queue_parallelism_ConcurrentEventMessage", "2");
+        ConcurrentAction action = new ConcurrentAction(new CountDownLatch(0));
+        MessageQueue.registerAction(action, ConcurrentEventMessage.class);
+        try {
+            for (int i = 0; i < 10; i++) {
+                MessageQueue.publish(new ConcurrentEventMessage());
+            }
+            assertTrue(action.awaitExecuted(10));
+            assertTrue(action.maxRunning.get() <= 2);
+        }
+        finally {
+            MessageQueue.deRegisterAction(action, ConcurrentEventMessage.class);
+            Config.get().remove("java.message_queue_parallelism_ConcurrentEventMessage");
+        }
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        Config.get().setString("java.message_queue_parallelism_ConcurrentEventMessage", "1");
+        Config.get().setString("java.message_queue_capacity_ConcurrentEventMessage", "1");
+        Config.get().setString("java.message_queue_overflow_ConcurrentEventMessage", "drop");
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentAction action = new ConcurrentAction(release);
+        MessageQueue.registerAction(action, ConcurrentEventMessage.class);
+        try {
+            // the first message runs, the second waits and the third does not fit
+            for (int i = 0; i < 3; i++) {
+                MessageQueue.publish(new ConcurrentEventMessage());
+            }
+            // the message taken by a pool thread is not counted any more
+            assertTrue(action.awaitRunning(1));
+            assertEquals(1, MessageQueue.getMessageCount());
+            release.countDown();
+            assertTrue(action.awaitExecuted(2));
+            Thread.sleep(500);
+            assertEquals(2, action.executed.get());
+        }
+        finally {
+            release.countDown();
+            MessageQueue.deRegisterAction(action, ConcurrentEventMessage.class);
+            Config.get().remove("java.message_queue_parallelism_ConcurrentEventMessage");
+            Config.get().remove("java.message_queue_capacity_ConcurrentEventMessage");
+            Config.get().remove("java.message_queue_overflow_ConcurrentEventMessage");
+        }
+    }
+
+    @Test
+    public void testActionPublishingIntoFullLaneDoesNotBlock() throws Exception {
+        Config.get().setString("java.message_queue_parallelism_ConcurrentEventMessage", "1");
+        Config.get().setString("java.message_queue_capacity_ConcurrentEventMessage", "1");
+        Config.get().setString("java.message_queue_overflow_ConcurrentEventMessage", "block");
+        ConcurrentAction action = new ConcurrentAction(new CountDownLatch(0)) {
+            private final AtomicInteger published = new AtomicInteger();
+
+            @Override
+            public void execute(EventMessage msg) {
+                // the only slot of the lane is taken by this message: the second message does not fit
+                if (published.getAndIncrement() == 0) {
+                    MessageQueue.publish(new ConcurrentEventMessage());
+                    MessageQueue.publish(new ConcurrentEventMessage());
+                }
+                super.execute(msg);
+            }
+        };
+        MessageQueue.registerAction(action, ConcurrentEventMessage.class);
+        try {
+            MessageQueue.publish(new ConcurrentEventMessage());
+            assertTrue(action.awaitExecuted(2));
+            Thread.sleep(500);
+            assertEquals(2, action.executed.get());
+        }
+        finally {
+            MessageQueue.deRegisterAction(action, ConcurrentEventMessage.class);
+            Config.get().remove("java.message_queue_parallelism_ConcurrentEventMessage");
+            Config.get().remove("java.message_queue_capacity_ConcurrentEventMessage");
+            Config.get().remove("java.message_queue_overflow_ConcurrentEventMessage");
+        }
+    }
+
     private void verifyMessageEvent(TestEventMessage me, boolean matchingValue)
             throws InterruptedException {
         MessageQueue.publish(me);
@@ -296,6 +384,75 @@ public class MessageQueueTest extends RhnBaseTestCase {
             }
         }
     }
-}
 
+    /**
+     * Event handled by {@link ConcurrentAction}.
+     */
+    public static class ConcurrentEventMessage implements EventMessage {
 
+        @Override
+        public String toText() {
+            return "This is a concurrent test";
+        }
+
+        @Override
+        public Long getUserId() {
+            return null;
+        }
+    }
+
+    /**
+     * Action running in the thread pool which records how many of its messages run at once.
+     */
+    public static class ConcurrentAction implements MessageAction {
+
+        private final CountDownLatch release;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger executed = new AtomicInteger();
+
+        ConcurrentAction(CountDownLatch releaseIn) {
+            release = releaseIn;
+        }
+
+        @Override
+        public void execute(EventMessage msg) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                running.decrementAndGet();
+                executed.incrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean canRunConcurrently() {
+            return true;
+        }
+
+        @Override
+        public boolean needsTransactionHandling() {
+            return false;
+        }
+
+        boolean awaitRunning(int count) throws InterruptedException {
+            for (int i = 0; i < 100 && running.get() < count; i++) {
+                Thread.sleep(100);
+            }
+            return running.get() >= count;
+        }
+
+        boolean awaitExecuted(int count) throws InterruptedException {
+            for (int i = 0; i < 100 && executed.get() < count; i++) {
+                Thread.sleep(100);
+            }
+            return executed.get() >= count;
+        }
+    }
+}
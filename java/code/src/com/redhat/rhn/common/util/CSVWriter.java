@@ -20,21 +20,34 @@ import com.redhat.rhn.common.localization.LocalizationService;
 import com.redhat.rhn.frontend.dto.BaseDto;
 
 import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.MethodUtils;
 import org.apache.commons.beanutils.NestedNullException;
+import org.apache.commons.lang3.StringUtils;
 
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CSVWriter - util class for writing objects into CSV
  */
 public class CSVWriter extends BufferedWriter implements ExportWriter {
+
+    // property getters of the exported DTO classes, looked up once per class instead of once per cell
+    private static final Map<Class<?>, Map<String, Method>> GETTERS = new ConcurrentHashMap<>();
+
     private List<String> columns;
     private Writer contents;
     private String headerText;
@@ -106,8 +119,17 @@ public class CSVWriter extends BufferedWriter implements ExportWriter {
      */
     @Override
     public void write(List<?> listIn) {
+        write(listIn.iterator());
+    }
+
+    /**
+     * Write the rows as they are iterated, without needing all of them in memory.
+     * Same as {@link #write(List)} otherwise.
+     * @param rowsIn the Strings, Maps or Dtos to write
+     */
+    public void write(Iterator<?> rowsIn) {
         try {
-            this.writeList(listIn);
+            this.writeList(rowsIn);
         }
         catch (IOException e) {
             throw new RhnRuntimeException("IOException caught trying to write the list: " + e);
@@ -156,11 +178,10 @@ public class CSVWriter extends BufferedWriter implements ExportWriter {
 
     /**
      * Write a List to the stream
-     * @param values you want to write
+     * @param itr the values you want to write
      * @throws IOException if there is error
      */
-    private void writeList(List<?> values) throws IOException {
-        Iterator<?> itr = values.iterator();
+    private void writeList(Iterator<?> itr) throws IOException {
 
         // Write out the column headers
         writeColumns();
@@ -197,6 +218,9 @@ public class CSVWriter extends BufferedWriter implements ExportWriter {
             return rowmap.get(columnKey);
         }
         else if (row instanceof BaseDto) {
+            if (StringUtils.containsNone(columnKey, '.', '[', '(')) {
+                return getSimpleProperty(row, columnKey);
+            }
             String ovalue;
             try {
                 ovalue = BeanUtils.getProperty(row, columnKey);
@@ -221,6 +245,44 @@ public class CSVWriter extends BufferedWriter implements ExportWriter {
         }
         return null;
     }
+
+    /**
+     * Same as BeanUtils.getProperty() for a simple property, but with the getter looked up only once per class.
+     */
+    private static String getSimpleProperty(Object row, String columnKey) {
+        Method getter = GETTERS.computeIfAbsent(row.getClass(), CSVWriter::findGetters).get(columnKey);
+        if (getter == null) {
+            throw new IllegalArgumentException("Can't call method in DTO class: " +
+                    row.getClass().getName() + "." + "get" + columnKey + "(), no such getter");
+        }
+        try {
+            return ConvertUtils.convert(getter.invoke(row));
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Can't access method in DTO: get" +
+                    columnKey + "(), IllegalAccessException:" + e);
+        }
+        catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Can't access method in DTO: get" +
+                    columnKey + "(),  InvocationTargetException:" + e);
+        }
+    }
+
+    private static Map<String, Method> findGetters(Class<?> clazz) {
+        try {
+            Map<String, Method> getters = new HashMap<>();
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+                Method getter = MethodUtils.getAccessibleMethod(clazz, descriptor.getReadMethod());
+                if (getter != null) {
+                    getters.put(descriptor.getName(), getter);
+                }
+            }
+            return getters;
+        }
+        catch (IntrospectionException e) {
+            throw new IllegalArgumentException("Can't introspect DTO class: " + clazz.getName(), e);
+        }
+    }
     /**
      * Write a string to the Writer
      * {@inheritDoc}
@@ -16,6 +16,7 @@
 package com.redhat.rhn.common.util.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.common.util.CSVWriter;
@@ -117,6 +118,30 @@ public class CSVWriterTest {
                 endsWith("f1 - 9,f2 - 9,f3 - 9\n"));
     }
 
+    @Test
+    public void testIteratorOfDtos() {
+        CSVWriter writer = new CSVWriter(new StringWriter());
+        writer.setColumns(List.of("id", "fieldOne", "fieldTwo"));
+
+        List<TestCsvDto> values = new LinkedList<>();
+        for (int i = 0; i < 2; i++) {
+            TestCsvDto dto = new TestCsvDto();
+            dto.setFieldOne("f1, " + i);
+            dto.setId((long) i);
+            values.add(dto);
+        }
+
+        writer.write(values.iterator());
+        assertEquals("**id**,**fieldOne**,**fieldTwo**\n0,\"f1, 0\",\n1,\"f1, 1\",\n", writer.getContents());
+    }
+
+    @Test
+    public void testUnknownDtoColumn() {
+        CSVWriter writer = new CSVWriter(new StringWriter());
+        writer.setColumns(List.of("fieldOne", "noSuchField"));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(List.of(new TestCsvDto())));
+    }
+
     public static List<Map<String, String>> getTestListOfMaps() {
         List<Map<String, String>> values = new LinkedList<>();
 
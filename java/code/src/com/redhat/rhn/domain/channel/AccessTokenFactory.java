@@ -14,7 +14,10 @@
  */
 package com.redhat.rhn.domain.channel;
 
+import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
+import com.redhat.rhn.common.db.datasource.Row;
+import com.redhat.rhn.common.db.datasource.SelectMode;
 import com.redhat.rhn.common.db.datasource.WriteMode;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.server.MinionServer;
@@ -37,10 +40,14 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -159,20 +166,7 @@ public class AccessTokenFactory extends HibernateFactory {
         });
 
         Map<Boolean, List<AccessToken>> collect = all.stream()
-                .collect(Collectors.partitioningBy(token -> {
-            Instant expiration = token.getExpiration().toInstant();
-
-            Instant now = Instant.now();
-
-            // using 10% of the tokens lifetime as buffer to
-            // regenerate tokens before they expire
-            Duration buffer = Duration.ofMillis(
-                    (long) ((token.getExpiration().getTime() -
-                            token.getStart().getTime()) * 0.1)
-            );
-
-            return now.plus(buffer).isAfter(expiration);
-        }));
+                .collect(Collectors.partitioningBy(AccessTokenFactory::isExpiring));
         List<AccessToken> update = collect.get(true);
         List<AccessToken> noUpdate = collect.get(false);
 
@@ -213,6 +207,84 @@ public class AccessTokenFactory extends HibernateFactory {
         return !unneededTokens.isEmpty() || !update.isEmpty() || !newTokens.isEmpty();
     }
 
+    /**
+     * Refreshes the AccessTokens of many minions at once, like {@link #refreshTokens(MinionServer)} does for
+     * a single one. The tokens to generate are signed in parallel by the given executor, while all the
+     * Hibernate objects are only accessed by the calling thread.
+     *
+     * @param minions the minions to refresh the tokens for
+     * @param signer the executor signing the new tokens
+     * @return the minions whose tokens changed
+     */
+    public static Set<MinionServer> refreshTokens(List<MinionServer> minions, ExecutorService signer) {
+        Set<MinionServer> changed = new LinkedHashSet<>();
+        List<TokenRequest> requests = new ArrayList<>();
+        for (MinionServer minion : minions) {
+            List<AccessToken> unneededTokens = unneededTokens(minion, Collections.emptySet());
+            minion.getAccessTokens().removeAll(unneededTokens);
+            unneededTokens.forEach(token -> {
+                token.setMinion(null);
+                token.setValid(false);
+                save(token);
+                changed.add(minion);
+            });
+
+            Set<Channel> tokenChannels = new HashSet<>();
+            for (AccessToken token : minion.getAccessTokens()) {
+                tokenChannels.addAll(token.getChannels());
+                if (isExpiring(token)) {
+                    requests.add(new TokenRequest(minion, new HashSet<>(token.getChannels()), token));
+                }
+            }
+            minion.getChannels().stream()
+                    .filter(channel -> !tokenChannels.contains(channel))
+                    .forEach(channel -> requests.add(new TokenRequest(minion, new HashSet<>(Set.of(channel)), null)));
+        }
+
+        List<Future<String>> signed = requests.stream()
+                .map(request -> signer.submit(request.getBuilder()::getToken))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < requests.size(); i++) {
+            TokenRequest request = requests.get(i);
+            MinionServer minion = request.getMinion();
+            try {
+                AccessToken newToken = newToken(minion, request.getChannels(), request.getBuilder(),
+                        signed.get(i).get());
+                save(newToken);
+                minion.getAccessTokens().add(newToken);
+                request.getReplaced().ifPresent(token -> {
+                    token.setMinion(null);
+                    token.setValid(false);
+                    save(token);
+                    minion.getAccessTokens().remove(token);
+                });
+                changed.add(minion);
+            }
+            catch (ExecutionException e) {
+                LOG.error("Could not generate token for minion: {}", minion.getId(), e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while signing access tokens", e);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Lists the ids of the minions having AccessTokens to refresh: tokens that are close to or already
+     * expired, tokens giving access to channels the minion is not subscribed to, or subscribed channels
+     * without a token.
+     * @return the minion server ids
+     */
+    public static List<Long> listMinionIdsWithTokensToRefresh() {
+        SelectMode m = ModeFactory.getMode(TaskConstants.MODE_NAME,
+                TaskConstants.TASK_QUERY_TOKEN_REFRESH_CANDIDATES);
+        DataResult<Row> rows = m.execute();
+        return rows.stream().map(row -> (Long) row.get("id")).collect(Collectors.toList());
+    }
+
     /**
      * Deletes unassigned expired AccessTokens.
      */
@@ -255,21 +327,8 @@ public class AccessTokenFactory extends HibernateFactory {
     public static Optional<AccessToken> generate(MinionServer minion,
             Set<Channel> channels) {
         try {
-            DownloadTokenBuilder tokenBuilder = new DownloadTokenBuilder(minion.getOrg().getId());
-            tokenBuilder.useServerSecret();
-            tokenBuilder.onlyChannels(channels.stream().map(Channel::getLabel)
-                    .collect(Collectors.toSet()));
-            String tokenString = tokenBuilder.getToken();
-
-            AccessToken newToken = new AccessToken();
-            newToken.setStart(Date.from(tokenBuilder.getIssuedAt()));
-            newToken.setToken(tokenString);
-            newToken.setMinion(minion);
-            Instant expiration = tokenBuilder.getIssuedAt()
-                    .plus(tokenBuilder.getExpirationTimeMinutesInTheFuture(),
-                            ChronoUnit.MINUTES);
-            newToken.setExpiration(Date.from(expiration));
-            newToken.setChannels(channels);
+            DownloadTokenBuilder tokenBuilder = tokenBuilder(minion.getOrg().getId(), channels);
+            AccessToken newToken = newToken(minion, channels, tokenBuilder, tokenBuilder.getToken());
             save(newToken);
             return Optional.of(newToken);
         }
@@ -289,32 +348,93 @@ public class AccessTokenFactory extends HibernateFactory {
      * the old token will not be unlinked.
      */
     public static AccessToken regenerate(AccessToken token) throws JoseException {
-        DownloadTokenBuilder tokenBuilder = new DownloadTokenBuilder(token.getMinion().getOrg().getId());
+        DownloadTokenBuilder tokenBuilder = tokenBuilder(token.getMinion().getOrg().getId(), token.getChannels());
+
+        //Link new token
+        // We need to copy the collection here because hibernate does not like to share.
+        AccessToken newToken = newToken(token.getMinion(), new HashSet<>(token.getChannels()), tokenBuilder,
+                tokenBuilder.getToken());
+
+        AccessTokenFactory.save(newToken);
+
+        // Unlink the old token
+        token.setMinion(null);
+        token.setValid(false);
+        AccessTokenFactory.save(token);
+
+        return newToken;
+    }
+
+    /**
+     * Checks if a token is close to or already expired, using 10% of the tokens lifetime as buffer
+     * to regenerate tokens before they expire.
+     */
+    private static boolean isExpiring(AccessToken token) {
+        Instant expiration = token.getExpiration().toInstant();
+
+        Instant now = Instant.now();
+
+        Duration buffer = Duration.ofMillis(
+                (long) ((token.getExpiration().getTime() -
+                        token.getStart().getTime()) * 0.1)
+        );
+
+        return now.plus(buffer).isAfter(expiration);
+    }
+
+    private static DownloadTokenBuilder tokenBuilder(long orgId, Set<Channel> channels) {
+        DownloadTokenBuilder tokenBuilder = new DownloadTokenBuilder(orgId);
         tokenBuilder.useServerSecret();
-        tokenBuilder.onlyChannels(token.getChannels().stream().map(Channel::getLabel)
+        tokenBuilder.onlyChannels(channels.stream().map(Channel::getLabel)
                 .collect(Collectors.toSet()));
-        String tokenString = tokenBuilder.getToken();
+        return tokenBuilder;
+    }
 
-        //Link new token
+    private static AccessToken newToken(MinionServer minion, Set<Channel> channels,
+            DownloadTokenBuilder tokenBuilder, String tokenString) {
         AccessToken newToken = new AccessToken();
         newToken.setStart(Date.from(tokenBuilder.getIssuedAt()));
         newToken.setToken(tokenString);
-        newToken.setMinion(token.getMinion());
+        newToken.setMinion(minion);
         Instant expiration = tokenBuilder.getIssuedAt()
                 .plus(tokenBuilder.getExpirationTimeMinutesInTheFuture(),
                         ChronoUnit.MINUTES);
         newToken.setExpiration(Date.from(expiration));
-        // We need to copy the collection here because hibernate does not like to share.
-        newToken.setChannels(new HashSet<>(token.getChannels()));
+        newToken.setChannels(channels);
+        return newToken;
+    }
 
-        AccessTokenFactory.save(newToken);
+    /**
+     * A token to sign for a minion, possibly replacing an expiring one.
+     */
+    private static class TokenRequest {
+        private final MinionServer minion;
+        private final Set<Channel> channels;
+        private final AccessToken replaced;
+        private final DownloadTokenBuilder builder;
+
+        TokenRequest(MinionServer minionIn, Set<Channel> channelsIn, AccessToken replacedIn) {
+            minion = minionIn;
+            channels = channelsIn;
+            replaced = replacedIn;
+            builder = tokenBuilder(minionIn.getOrg().getId(), channelsIn);
+        }
 
-        // Unlink the old token
-        token.setMinion(null);
-        token.setValid(false);
-        AccessTokenFactory.save(token);
+        MinionServer getMinion() {
+            return minion;
+        }
 
-        return newToken;
+        Set<Channel> getChannels() {
+            return channels;
+        }
+
+        Optional<AccessToken> getReplaced() {
+            return Optional.ofNullable(replaced);
+        }
+
+        DownloadTokenBuilder getBuilder() {
+            return builder;
+        }
     }
 
     @Override
@@ -1181,14 +1181,14 @@ public class ChannelFactory extends HibernateFactory {
      * @param cid channel id we're cloning into
      */
     public static void addErrataToChannel(Set<Long> eids, Long cid) {
+        if (eids.isEmpty()) {
+            return;
+        }
         WriteMode m = ModeFactory.getWriteMode(CHANNEL_QUERIES,
-                "add_cloned_erratum_to_channel");
+                "add_cloned_errata_to_channel");
         Map<String, Object> params = new HashMap<>();
         params.put("cid", cid);
-        for (Long eid : eids) {
-            params.put("eid", eid);
-            m.executeUpdate(params);
-        }
+        m.executeUpdate(params, new ArrayList<>(eids));
     }
 
     /**
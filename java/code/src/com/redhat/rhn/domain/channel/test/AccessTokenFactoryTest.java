@@ -17,9 +17,11 @@ package com.redhat.rhn.domain.channel.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.channel.AccessToken;
 import com.redhat.rhn.domain.channel.AccessTokenFactory;
 import com.redhat.rhn.domain.channel.Channel;
@@ -41,6 +43,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 public class AccessTokenFactoryTest extends BaseTestCaseWithUser {
@@ -222,6 +226,52 @@ public class AccessTokenFactoryTest extends BaseTestCaseWithUser {
         assertTrue(AccessTokenFactory.refreshTokens(testMinionServer));
     }
 
+    @Test
+    public void testRefreshMany() throws Exception {
+        MinionServer minion1 = MinionServerFactoryTest.createTestMinionServer(user);
+        MinionServer minion2 = MinionServerFactoryTest.createTestMinionServer(user);
+        Channel base = ChannelFactoryTest.createBaseChannel(user);
+        Channel child = ChannelFactoryTest.createTestChannel(user);
+        child.setParentChannel(base);
+        minion1.getChannels().add(base);
+        minion1.getChannels().add(child);
+        minion2.getChannels().add(base);
+        HibernateFactory.getSession().flush();
+
+        List<Long> candidates = AccessTokenFactory.listMinionIdsWithTokensToRefresh();
+        assertTrue(candidates.containsAll(List.of(minion1.getId(), minion2.getId())));
+
+        ExecutorService signer = Executors.newFixedThreadPool(2);
+        try {
+            Set<MinionServer> changed = AccessTokenFactory.refreshTokens(List.of(minion1, minion2), signer);
+            assertEquals(Set.of(minion1, minion2), changed);
+            assertEquals(2, minion1.getAccessTokens().size());
+            assertEquals(1, minion2.getAccessTokens().size());
+            HibernateFactory.getSession().flush();
+
+            candidates = AccessTokenFactory.listMinionIdsWithTokensToRefresh();
+            assertFalse(candidates.contains(minion1.getId()));
+            assertFalse(candidates.contains(minion2.getId()));
+            assertTrue(AccessTokenFactory.refreshTokens(List.of(minion1, minion2), signer).isEmpty());
+
+            // an expiring token gets replaced
+            AccessToken expiring = minion2.getAccessTokens().iterator().next();
+            expiring.setStart(Date.from(Instant.now().minus(Duration.ofDays(3))));
+            expiring.setExpiration(Date.from(Instant.now().plus(Duration.ofHours(1))));
+            HibernateFactory.getSession().flush();
+            assertTrue(AccessTokenFactory.listMinionIdsWithTokensToRefresh().contains(minion2.getId()));
+
+            assertEquals(Set.of(minion2), AccessTokenFactory.refreshTokens(List.of(minion1, minion2), signer));
+            assertEquals(1, minion2.getAccessTokens().size());
+            assertFalse(minion2.getAccessTokens().contains(expiring));
+            assertFalse(expiring.getValid());
+            assertNull(expiring.getMinion());
+        }
+        finally {
+            signer.shutdownNow();
+        }
+    }
+
     @Test
     public void testRefreshSame() throws Exception {
         MinionServer testMinionServer = MinionServerFactoryTest.createTestMinionServer(user);
@@ -56,6 +56,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +74,8 @@ import java.util.stream.Collectors;
 public class ErrataFactory extends HibernateFactory {
 
     private static final String ERRATA_QUERIES = "Errata_queries";
+    // maximum number of values bound to a single "in" query parameter
+    private static final int IN_CLAUSE_LIMIT = 1000;
     private static ErrataFactory singleton = new ErrataFactory();
     private static Logger log = LogManager.getLogger(ErrataFactory.class);
 
@@ -1024,6 +1028,53 @@ public class ErrataFactory extends HibernateFactory {
         return ret;
     }
 
+    /**
+     * Get all advisories made of a three characters clone prefix, like "CL-", followed by one of the given
+     * suffixes. Useful when cloning many errata at once.
+     * @param suffixes the suffixes of the advisories
+     * @return Set of existing advisories
+     */
+    public static Set<String> listAdvisoriesBySuffix(Collection<String> suffixes) {
+        return listBySuffix("Errata.listAdvisoriesBySuffix", suffixes);
+    }
+
+    /**
+     * Get all advisory names made of a three characters clone prefix, like "CL-", followed by one of the given
+     * suffixes. Useful when cloning many errata at once.
+     * @param suffixes the suffixes of the advisory names
+     * @return Set of existing advisory names
+     */
+    public static Set<String> listAdvisoryNamesBySuffix(Collection<String> suffixes) {
+        return listBySuffix("Errata.listAdvisoryNamesBySuffix", suffixes);
+    }
+
+    private static Set<String> listBySuffix(String queryName, Collection<String> suffixes) {
+        List<String> suffixList = new ArrayList<>(suffixes);
+        Set<String> ret = new HashSet<>();
+        for (int i = 0; i < suffixList.size(); i += IN_CLAUSE_LIMIT) {
+            ret.addAll(getSession().createNamedQuery(queryName, String.class)
+                    .setParameterList("suffixes", suffixList.subList(i,
+                            Math.min(i + IN_CLAUSE_LIMIT, suffixList.size())))
+                    .getResultList());
+        }
+        return ret;
+    }
+
+    /**
+     * Get ErrataOverviews by errata ids
+     * @param eids errata ids
+     * @return the ErrataOverview objects
+     */
+    public static List<ErrataOverview> listOverviewsByIds(Collection<Long> eids) {
+        if (eids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SelectMode mode = ModeFactory.getMode(ERRATA_QUERIES, "overviews_by_ids");
+        DataResult<ErrataOverview> results = mode.execute(new ArrayList<>(eids));
+        results.elaborate();
+        return results;
+    }
+
     /**
      * Get ErrataOverview by errata id
      * @param eid errata id
@@ -1108,5 +1159,50 @@ public class ErrataFactory extends HibernateFactory {
         return clone;
     }
 
+    /**
+     * Clone errata in the db. Does the same as {@link #cloneErratum(Long, String, String, Long)} for each
+     * erratum, but with one statement per table for all the errata instead of one per erratum and table.
+     * @param clones the advisory and the advisory name of the clone, by id of the erratum to clone from
+     * @param orgId org id to clone into
+     * @return the ids of the cloned errata, by id of the erratum they were cloned from
+     */
+    public static Map<Long, Long> cloneErrata(Map<Long, Tuple2<String, String>> clones, Long orgId) {
+        Map<Long, Long> cloneIds = new LinkedHashMap<>();
+        if (clones.isEmpty()) {
+            return cloneIds;
+        }
+
+        SelectMode idMode = ModeFactory.getMode(ERRATA_QUERIES, "next_errata_ids");
+        DataResult<Map<String, Object>> ids = idMode.execute(Map.of("count", clones.size()));
+        Iterator<Map<String, Object>> idIterator = ids.iterator();
+
+        DataResult<Map<String, Object>> errataParams = new DataResult<>(new ArrayList<>(clones.size()));
+        DataResult<Map<String, Object>> originalParams = new DataResult<>(new ArrayList<>(clones.size()));
+        clones.forEach((originalId, names) -> {
+            Long cloneId = ((Number) idIterator.next().get("id")).longValue();
+            cloneIds.put(originalId, cloneId);
+
+            Map<String, Object> params = new HashMap<>();
+            params.put("clone_id", cloneId);
+            params.put("original_id", originalId);
+            originalParams.add(params);
+
+            params = new HashMap<>(params);
+            params.put("advisory", names.getA());
+            params.put("name", names.getB());
+            params.put("org_id", orgId);
+            errataParams.add(params);
+        });
+        ModeFactory.getWriteMode(ERRATA_QUERIES, "clone_erratum_as").executeBatchUpdates(errataParams);
+        ModeFactory.getWriteMode(ERRATA_QUERIES, "set_original").executeBatchUpdates(originalParams);
+
+        // the child tables are filled from the originals mapped in rhnErrataCloned
+        List<Long> cloneIdList = new ArrayList<>(cloneIds.values());
+        for (String modeName : List.of("bulk_clone_bugs", "bulk_clone_keywords", "bulk_clone_packages",
+                "bulk_clone_cves", "bulk_clone_files")) {
+            ModeFactory.getWriteMode(ERRATA_QUERIES, modeName).executeUpdate(new HashMap<>(), cloneIdList);
+        }
+        return cloneIds;
+    }
 }
 
@@ -333,6 +333,82 @@ public class ErrataFactoryTest extends BaseTestCaseWithUser {
         assertEquals(clone.getOriginal(), testErrata);
     }
 
+    @Test
+    public void testCloneErrataFasterBulk() throws Exception {
+        Long orgId = UserTestUtils.createOrg("testOrgCloneErrataBulk");
+        Org org = OrgFactory.lookupById(orgId);
+        Errata first = createTestErrata(null);
+        Errata second = createTestErrata(null);
+        HibernateFactory.getSession().flush();
+
+        Map<Long, Long> cloneIds = ErrataHelper.cloneErrataFaster(List.of(first.getId(), second.getId()), org);
+
+        assertEquals(Set.of(first.getId(), second.getId()), cloneIds.keySet());
+        for (Errata original : List.of(first, second)) {
+            Errata clone = ErrataFactory.lookupById(cloneIds.get(original.getId()));
+            assertEquals("CL-" + original.getAdvisory(), clone.getAdvisory());
+            assertEquals("CL-" + original.getAdvisoryName(), clone.getAdvisoryName());
+            assertEquals(org, clone.getOrg());
+            assertEquals(original, ((ClonedErrata) clone).getOriginal());
+            assertEquals(original.getPackages(), clone.getPackages());
+            assertEquals(original.getKeywords().stream().map(k -> k.getKeyword()).collect(Collectors.toSet()),
+                    clone.getKeywords().stream().map(k -> k.getKeyword()).collect(Collectors.toSet()));
+            assertEquals(original.getFiles().size(), clone.getFiles().size());
+            assertEquals(List.of(clone), ErrataFactory.lookupByOriginal(org, original));
+        }
+    }
+
+    @Test
+    public void testCloneErrataFasterBulkSuffixCollisions() throws Exception {
+        Long orgId = UserTestUtils.createOrg("testOrgCloneErrataBulkCollisions");
+        Org org = OrgFactory.lookupById(orgId);
+        String suffix = "BA-" + TestUtils.randomString();
+        // both originals map to the same suffix once the Red Hat prefix is stripped
+        Errata redHat = createTestErrata(null, Optional.of("RH" + suffix));
+        Errata plain = createTestErrata(null, Optional.of(suffix));
+        // and the first prefix is already taken by an existing erratum
+        createTestErrata(orgId, Optional.of("CL-" + suffix));
+        HibernateFactory.getSession().flush();
+
+        Map<Long, Long> cloneIds = ErrataHelper.cloneErrataFaster(List.of(redHat.getId(), plain.getId()), org);
+
+        assertEquals(2, cloneIds.size());
+        Errata redHatClone = ErrataFactory.lookupById(cloneIds.get(redHat.getId()));
+        Errata plainClone = ErrataFactory.lookupById(cloneIds.get(plain.getId()));
+        // which original gets which prefix depends on the batch order, but no two may get the same one
+        assertEquals(Set.of("CM-" + suffix, "CN-" + suffix),
+                Set.of(redHatClone.getAdvisory(), plainClone.getAdvisory()));
+        assertEquals(redHatClone.getAdvisory(), redHatClone.getAdvisoryName());
+        assertEquals(plainClone.getAdvisory(), plainClone.getAdvisoryName());
+        assertEquals(redHat, ((ClonedErrata) redHatClone).getOriginal());
+        assertEquals(plain, ((ClonedErrata) plainClone).getOriginal());
+    }
+
+    @Test
+    public void testCloneErrataFasterBulkFromClones() throws Exception {
+        Long orgId = UserTestUtils.createOrg("testOrgCloneErrataBulkFromClones");
+        Org org = OrgFactory.lookupById(orgId);
+        Errata original = createTestErrata(null);
+        Long firstCloneId = ErrataHelper.cloneErrataFaster(original.getId(), org);
+        Errata firstClone = ErrataFactory.lookupById(firstCloneId);
+        assertEquals("CL-" + original.getAdvisory(), firstClone.getAdvisory());
+
+        // cloning a clone strips its prefix and picks the next free one
+        Map<Long, Long> cloneIds = ErrataHelper.cloneErrataFaster(List.of(firstCloneId), org);
+
+        Errata secondClone = ErrataFactory.lookupById(cloneIds.get(firstCloneId));
+        assertEquals("CM-" + original.getAdvisory(), secondClone.getAdvisory());
+        assertEquals("CM-" + original.getAdvisoryName(), secondClone.getAdvisoryName());
+        assertEquals(firstClone, ((ClonedErrata) secondClone).getOriginal());
+        assertEquals(original.getPackages(), secondClone.getPackages());
+    }
+
+    @Test
+    public void testCloneErrataEmpty() {
+        assertTrue(ErrataFactory.cloneErrata(Map.of(), user.getOrg().getId()).isEmpty());
+        assertTrue(ErrataHelper.cloneErrataFaster(List.of(), user.getOrg()).isEmpty());
+    }
+
     @Test
     public void testListErrataChannelPackages() {
         try {
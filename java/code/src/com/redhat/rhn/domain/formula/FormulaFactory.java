@@ -39,17 +39,11 @@ import org.apache.commons.collections.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.SafeConstructor;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -77,11 +71,10 @@ public class FormulaFactory {
     private static String metadataDirManager = "/usr/share/susemanager/formulas/metadata/";
     private static final String METADATA_DIR_STANDALONE_SALT = "/usr/share/salt-formulas/metadata/";
     private static final String METADATA_DIR_CUSTOM = "/srv/formula_metadata/";
-    private static final String LAYOUT_FILE = "form.yml";
-    private static final String METADATA_FILE = "metadata.yml";
-    private static final String PILLAR_EXAMPLE_FILE = "pillar.example";
     private static final String ORDER_PILLAR_CATEGORY = "formula_order";
 
+    private static volatile FormulaRegistry registry = newRegistry();
+
     private static SystemEntitlementManager systemEntitlementManager = GlobalInstanceHolder.SYSTEM_ENTITLEMENT_MANAGER;
 
     private FormulaFactory() { }
@@ -93,6 +86,12 @@ public class FormulaFactory {
     public static void setMetadataDirOfficial(String metadataDirPath) {
         FormulaFactory.metadataDirManager =
                 metadataDirPath.endsWith(File.separator) ? metadataDirPath : metadataDirPath + File.separator;
+        registry = newRegistry();
+    }
+
+    private static FormulaRegistry newRegistry() {
+        return new FormulaRegistry(List.of(new File(METADATA_DIR_STANDALONE_SALT), new File(metadataDirManager),
+                new File(METADATA_DIR_CUSTOM)));
     }
 
     /**
@@ -122,31 +121,7 @@ public class FormulaFactory {
      * @return the names of all currently installed formulas.
      */
     public static List<String> listFormulaNames() {
-        File standaloneDir = new File(METADATA_DIR_STANDALONE_SALT);
-        File managerDir = new File(metadataDirManager);
-        File customDir = new File(METADATA_DIR_CUSTOM);
-        List<File> files = new LinkedList<>();
-        files.addAll(getFormulasFiles(standaloneDir));
-        files.addAll(getFormulasFiles(managerDir));
-        files.addAll(getFormulasFiles(customDir));
-        List<String> formulasList = new LinkedList<>();
-
-        for (File f : files) {
-            if (f.isDirectory() && new File(f, LAYOUT_FILE).isFile() && !formulasList.contains(f.getName())) {
-                formulasList.add(f.getName());
-            }
-        }
-        return FormulaFactory.orderFormulas(formulasList);
-    }
-
-    private static List<File> getFormulasFiles(File formulasFolder) {
-        return Optional.ofNullable(formulasFolder.listFiles())
-                .map(Arrays::asList)
-                .orElseGet(() -> {
-                    LOG.error("Unable to read formulas from folder '{}'. Check if it exists and have the " +
-                            "correct permissions (755).", formulasFolder.getAbsolutePath());
-                    return Collections.emptyList();
-                });
+        return registry.listFormulaNames(FormulaFactory::orderFormulas);
     }
 
     /**
@@ -328,27 +303,10 @@ public class FormulaFactory {
      */
     @SuppressWarnings("unchecked")
     public static Optional<Map<String, Object>> getFormulaLayoutByName(String name) {
-        String layoutFilePath = name + File.separator + LAYOUT_FILE;
-        File layoutFileStandalone = new File(METADATA_DIR_STANDALONE_SALT + layoutFilePath);
-        File layoutFileManager = new File(metadataDirManager + layoutFilePath);
-        File layoutFileCustom = new File(METADATA_DIR_CUSTOM + layoutFilePath);
-
-        Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
         try {
-            if (layoutFileStandalone.exists()) {
-                return Optional.of((Map<String, Object>) yaml.load(new FileInputStream(layoutFileStandalone)));
-            }
-            else if (layoutFileManager.exists()) {
-                return Optional.of((Map<String, Object>) yaml.load(new FileInputStream(layoutFileManager)));
-            }
-            else if (layoutFileCustom.exists()) {
-                return Optional.of((Map<String, Object>) yaml.load(new FileInputStream(layoutFileCustom)));
-            }
-            else {
-                return Optional.empty();
-            }
+            return registry.getLayout(name).map(layout -> (Map<String, Object>) layout);
         }
-        catch (FileNotFoundException | YAMLException e) {
+        catch (IOException | YAMLException e) {
             LOG.error("Error loading layout for formula '{}'", name, e);
             return Optional.empty();
         }
@@ -613,25 +571,10 @@ public class FormulaFactory {
      */
     @SuppressWarnings("unchecked")
     public static Map<String, Object> getMetadata(String name) {
-        String metadataFilePath = name + File.separator + METADATA_FILE;
-        File metadataFileStandalone = new File(METADATA_DIR_STANDALONE_SALT + metadataFilePath);
-        File metadataFileManager = new File(metadataDirManager + metadataFilePath);
-        File metadataFileCustom = new File(METADATA_DIR_CUSTOM + metadataFilePath);
-
-        Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
         try {
-            if (metadataFileStandalone.isFile()) {
-                return (Map<String, Object>) yaml.load(new FileInputStream(metadataFileStandalone));
-            }
-            else if (metadataFileManager.isFile()) {
-                return (Map<String, Object>) yaml.load(new FileInputStream(metadataFileManager));
-            }
-            else if (metadataFileCustom.isFile()) {
-                return (Map<String, Object>) yaml.load(new FileInputStream(metadataFileCustom));
-            }
-            else {
-                return Collections.emptyMap();
-            }
+            return registry.getMetadata(name)
+                    .map(metadata -> (Map<String, Object>) metadata)
+                    .orElse(Collections.emptyMap());
         }
         catch (YAMLException e) {
             LOG.error("Unable to parse metadata file: {} ", name, e);
@@ -666,25 +609,10 @@ public class FormulaFactory {
      */
     @SuppressWarnings("unchecked")
     public static Map<String, Object> getPillarExample(String name) {
-        String pillarExamplePath = name + File.separator + PILLAR_EXAMPLE_FILE;
-        File pillarExampleFileStandalone = new File(METADATA_DIR_STANDALONE_SALT + pillarExamplePath);
-        File pillarExampleFileManager = new File(metadataDirManager + pillarExamplePath);
-        File pillarExampleFileCustom = new File(METADATA_DIR_CUSTOM + pillarExamplePath);
-
-        Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
         try {
-            if (pillarExampleFileStandalone.isFile()) {
-                return (Map<String, Object>) yaml.load(new FileInputStream(pillarExampleFileStandalone));
-            }
-            else if (pillarExampleFileManager.isFile()) {
-                return (Map<String, Object>) yaml.load(new FileInputStream(pillarExampleFileManager));
-            }
-            else if (pillarExampleFileCustom.isFile()) {
-                return (Map<String, Object>) yaml.load(new FileInputStream(pillarExampleFileCustom));
-            }
-            else {
-                return Collections.emptyMap();
-            }
+            return registry.getPillarExample(name)
+                    .map(pillarExample -> (Map<String, Object>) pillarExample)
+                    .orElse(Collections.emptyMap());
         }
         catch (IOException e) {
             return Collections.emptyMap();
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.domain.formula;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory registry of the installed formulas.
+ *
+ * Layouts, metadata and pillar examples are parsed once and kept until the modification time or the size of
+ * their file changes. The ordered list of formula names is kept until a metadata directory, a formula directory
+ * or a metadata file changes. Callers always get their own copy of the parsed data, so they are free to modify it.
+ */
+class FormulaRegistry {
+
+    static final String LAYOUT_FILE = "form.yml";
+    static final String METADATA_FILE = "metadata.yml";
+    static final String PILLAR_EXAMPLE_FILE = "pillar.example";
+
+    private static final Logger LOG = LogManager.getLogger(FormulaRegistry.class);
+
+    private final List<File> metadataDirs;
+    private final Map<File, ParsedFile> parsedFiles = new ConcurrentHashMap<>();
+    private List<Object> formulaNamesSignature = Collections.emptyList();
+    private List<String> formulaNames = Collections.emptyList();
+
+    /**
+     * Constructor
+     * @param metadataDirsIn the directories containing the formula metadata, by decreasing precedence
+     */
+    FormulaRegistry(List<File> metadataDirsIn) {
+        metadataDirs = metadataDirsIn;
+    }
+
+    /**
+     * Returns the names of all the installed formulas, ordered by the given function. The ordering is only
+     * computed again when the installed formulas or their metadata changed.
+     * @param order the function ordering the formula names
+     * @return the ordered names of the installed formulas
+     */
+    synchronized List<String> listFormulaNames(UnaryOperator<List<String>> order) {
+        List<Object> signature = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (File dir : metadataDirs) {
+            signature.add(dir.getPath());
+            signature.add(dir.lastModified());
+            for (File f : listFiles(dir)) {
+                signature.add(f.getName());
+                signature.add(f.lastModified());
+                if (f.isDirectory() && new File(f, LAYOUT_FILE).isFile() && !names.contains(f.getName())) {
+                    names.add(f.getName());
+                }
+            }
+        }
+        for (String name : names) {
+            findFile(name, METADATA_FILE).ifPresent(metadata -> {
+                signature.add(metadata.getPath());
+                signature.add(metadata.lastModified());
+                signature.add(metadata.length());
+            });
+        }
+
+        if (!signature.equals(formulaNamesSignature)) {
+            formulaNames = Collections.unmodifiableList(new ArrayList<>(order.apply(names)));
+            formulaNamesSignature = signature;
+        }
+        return new ArrayList<>(formulaNames);
+    }
+
+    /**
+     * Returns the layout of a formula.
+     * @param name the name of the formula
+     * @return the parsed layout, empty if the formula has no layout
+     * @throws IOException if the layout file cannot be read
+     */
+    Optional<Object> getLayout(String name) throws IOException {
+        return parse(name, LAYOUT_FILE);
+    }
+
+    /**
+     * Returns the metadata of a formula.
+     * @param name the name of the formula
+     * @return the parsed metadata, empty if the formula has no metadata
+     * @throws IOException if the metadata file cannot be read
+     */
+    Optional<Object> getMetadata(String name) throws IOException {
+        return parse(name, METADATA_FILE);
+    }
+
+    /**
+     * Returns the pillar example of a formula.
+     * @param name the name of the formula
+     * @return the parsed pillar example, empty if the formula has no pillar example
+     * @throws IOException if the pillar example file cannot be read
+     */
+    Optional<Object> getPillarExample(String name) throws IOException {
+        return parse(name, PILLAR_EXAMPLE_FILE);
+    }
+
+    private Optional<Object> parse(String name, String fileName) throws IOException {
+        Optional<File> file = findFile(name, fileName);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(copy(parse(file.get())));
+    }
+
+    private Object parse(File file) throws IOException {
+        long lastModified = file.lastModified();
+        long length = file.length();
+        ParsedFile parsed = parsedFiles.get(file);
+        if (parsed == null || parsed.lastModified != lastModified || parsed.length != length) {
+            try (InputStream in = new FileInputStream(file)) {
+                parsed = new ParsedFile(lastModified, length, new Yaml(new SafeConstructor(new LoaderOptions()))
+                        .load(in));
+            }
+            parsedFiles.put(file, parsed);
+        }
+        return parsed.content;
+    }
+
+    private Optional<File> findFile(String name, String fileName) {
+        return metadataDirs.stream()
+                .map(dir -> new File(dir, name + File.separator + fileName))
+                .filter(File::isFile)
+                .findFirst();
+    }
+
+    private static List<File> listFiles(File formulasFolder) {
+        return Optional.ofNullable(formulasFolder.listFiles())
+                .map(Arrays::asList)
+                .orElseGet(() -> {
+                    LOG.error("Unable to read formulas from folder '{}'. Check if it exists and have the " +
+                            "correct permissions (755).", formulasFolder.getAbsolutePath());
+                    return Collections.emptyList();
+                });
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> copy.put(key, copy(item)));
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            ((List<?>) value).forEach(item -> copy.add(copy(item)));
+            return copy;
+        }
+        if (value instanceof Set) {
+            Set<Object> copy = new LinkedHashSet<>();
+            ((Set<?>) value).forEach(item -> copy.add(copy(item)));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * The content of a file along with the attributes telling whether it changed.
+     */
+    private static class ParsedFile {
+        private final long lastModified;
+        private final long length;
+        private final Object content;
+
+        ParsedFile(long lastModifiedIn, long lengthIn, Object contentIn) {
+            lastModified = lastModifiedIn;
+            length = lengthIn;
+            content = contentIn;
+        }
+    }
+}
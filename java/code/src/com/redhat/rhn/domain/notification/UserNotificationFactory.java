@@ -178,8 +178,11 @@ public class UserNotificationFactory extends HibernateFactory {
                         .sendEmail(receipients, subject, message.replaceAll("<[^>]*>", ""));
             }
         }
-        // Update Notification WebSocket Sessions right now
-        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS);
+        // Update the Notification WebSocket Sessions of the notified users once the notification is committed
+        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS, users.stream()
+                .filter(user -> !user.isDisabled())
+                .map(User::getId)
+                .collect(Collectors.toSet()));
     }
 
     /**
@@ -206,9 +209,6 @@ public class UserNotificationFactory extends HibernateFactory {
                     allUsers.filter(user -> !Collections.disjoint(user.getRoles(), rolesIn)).collect(Collectors.toSet())
             );
         }
-
-        // Update Notification WebSocket Sessions right now
-        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS);
     }
 
     /**
@@ -283,6 +283,36 @@ public class UserNotificationFactory extends HibernateFactory {
         return getSession().createQuery(count).getSingleResult();
     }
 
+    /**
+     * Get the highest {@link UserNotification} id, to detect new notifications with a single query
+     *
+     * @return the highest id or 0 if there are no notifications
+     */
+    public static long latestUserNotificationId() {
+        CriteriaBuilder builder = getSession().getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<UserNotification> root = criteria.from(UserNotification.class);
+        criteria.select(builder.max(root.<Long>get("id")));
+
+        return Optional.ofNullable(getSession().createQuery(criteria).getSingleResult()).orElse(0L);
+    }
+
+    /**
+     * List the ids of the users having a {@link UserNotification} newer than the given id
+     *
+     * @param userNotificationIdIn the id of the last known notification
+     * @return the user ids
+     */
+    public static List<Long> listUserIdsNotifiedAfter(long userNotificationIdIn) {
+        CriteriaBuilder builder = getSession().getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<UserNotification> root = criteria.from(UserNotification.class);
+        criteria.select(root.<Long>get("userId")).distinct(true);
+        criteria.where(builder.greaterThan(root.<Long>get("id"), userNotificationIdIn));
+
+        return getSession().createQuery(criteria).getResultList();
+    }
+
     /**
      * Lookup for a single {@link UserNotification} by its id
      *
@@ -25,6 +25,8 @@ import com.redhat.rhn.common.hibernate.HibernateFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -113,14 +115,8 @@ public class RhnSetFactory extends HibernateFactory {
      */
     public static void save(RhnSet set) {
         RhnSetImpl simpl = (RhnSetImpl) set;
-        // The updates really need to be batched
         if (simpl.isSynced() && !simpl.getElements().isEmpty()) {
-            WriteMode deleteEl3 = writeMode("delete_from_set_el3");
-            WriteMode deleteEl2 = writeMode("delete_from_set_el2");
-            WriteMode deleteEl1 = writeMode("delete_from_set_el1");
-            for (RhnSetElement current : simpl.getRemoved()) {
-                executeMode(current, deleteEl3, deleteEl2, deleteEl1);
-            }
+            executeBatches(simpl.getRemoved(), "delete_from_set_el3", "delete_from_set_el2", "delete_from_set_el1");
         }
         else {
             removeByLabel(simpl.getUserId(), simpl.getLabel());
@@ -133,20 +129,14 @@ public class RhnSetFactory extends HibernateFactory {
         else {
             added = simpl.getAdded();
         }
-        WriteMode insertEl3 = ModeFactory.getWriteMode(CATALOG, "add_to_set_el3");
-        WriteMode insertEl2 = ModeFactory.getWriteMode(CATALOG, "add_to_set_el2");
-        WriteMode insertEl1 = ModeFactory.getWriteMode(CATALOG, "add_to_set_el1");
-
-        for (RhnSetElement current : added) {
-            try {
-                executeMode(current, insertEl3, insertEl2, insertEl1);
-            }
-            catch (ConstraintViolationException | WrappedSQLException e) {
-                // a concurrent transaction has already inserted this row
-                // and COMMITted. This is tolerable and can happen because
-                // the default transaction isolation level is READ
-                // COMMITTED, thus this exception can be safely ignored
-            }
+        try {
+            executeBatches(added, "add_to_set_el3", "add_to_set_el2", "add_to_set_el1");
+        }
+        catch (ConstraintViolationException | WrappedSQLException e) {
+            // a concurrent transaction has already inserted these rows
+            // and COMMITted. This is tolerable and can happen because
+            // the default transaction isolation level is READ
+            // COMMITTED, thus this exception can be safely ignored
         }
         if (!added.isEmpty()) {
             simpl.getCleanup().cleanup(simpl);
@@ -168,27 +158,64 @@ public class RhnSetFactory extends HibernateFactory {
         return ModeFactory.getWriteMode(CATALOG, modeName);
     }
 
-    private static void executeMode(RhnSetElement elem,
-            WriteMode el3, WriteMode el2, WriteMode el1) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("user_id", elem.getUserId());
-        params.put("label", elem.getLabel());
-        params.put("el_one", elem.getElement());
-
-        if (elem.getElementThree() == null && elem.getElementTwo() == null) {
-            el1.executeUpdate(params);
-        }
-        else if (elem.getElementThree() == null) {
-            params.put("el_two", elem.getElementTwo());
-            el2.executeUpdate(params);
+    /**
+     * Runs the given modes for the elements, in one JDBC batch per mode instead of one statement per element.
+     */
+    private static void executeBatches(Collection<RhnSetElement> elements,
+            String el3Mode, String el2Mode, String el1Mode) {
+        List<Map<String, Object>> el3 = new ArrayList<>();
+        List<Map<String, Object>> el2 = new ArrayList<>();
+        List<Map<String, Object>> el1 = new ArrayList<>();
+        for (RhnSetElement elem : elements) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("user_id", elem.getUserId());
+            params.put("label", elem.getLabel());
+            params.put("el_one", elem.getElement());
+
+            if (elem.getElementThree() == null && elem.getElementTwo() == null) {
+                el1.add(params);
+            }
+            else if (elem.getElementThree() == null) {
+                params.put("el_two", elem.getElementTwo());
+                el2.add(params);
+            }
+            else {
+                params.put("el_three", elem.getElementThree());
+                params.put("el_two", elem.getElementTwo());
+                el3.add(params);
+            }
         }
-        else {
-            params.put("el_three", elem.getElementThree());
-            params.put("el_two", elem.getElementTwo());
-            el3.executeUpdate(params);
+        executeBatch(el3Mode, el3);
+        executeBatch(el2Mode, el2);
+        executeBatch(el1Mode, el1);
+    }
+
+    private static void executeBatch(String modeName, List<Map<String, Object>> batch) {
+        if (!batch.isEmpty()) {
+            writeMode(modeName).executeBatchUpdates(new DataResult<>(batch));
         }
     }
 
+    /**
+     * Adds the elements selected by a query to a set in the database with a single statement, without
+     * loading them first.
+     * The mode has to insert the rows into rhnSet, with the user_id and label parameters as the user id and
+     * label of the set, and ignore conflicts with the existing elements. Its in clause is filled with the
+     * given values.
+     * Copies of the set already loaded in memory are not updated.
+     * @param userId The userid associated with the set.
+     * @param label The set's label.
+     * @param modeName the name of the write mode in the Set_queries catalog
+     * @param inClause the values of the in clause of the mode
+     * @return the number of added elements
+     */
+    public static int addFromQuery(Long userId, String label, String modeName, List<Long> inClause) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", userId);
+        params.put("label", label);
+        return writeMode(modeName).executeUpdate(params, inClause);
+    }
+
     /**
      * Removes a set by label and userid.
      * @param userId The userid associated with the set.
@@ -150,11 +150,28 @@ public class SCCCachingFactory extends HibernateFactory {
         sub.setType(jsonSub.getType());
         sub.setSystemLimit(jsonSub.getSystemLimit().longValue());
 
+        linkSubscriptionProducts(sub, jsonSub.getProductIds(), productsBySccId);
+        sub.setModified(new Date());
+        singleton.saveObject(sub);
+        return sub;
+    }
+
+    /**
+     * Links a cached subscription to the local products matching the product ids received from SCC,
+     * removing the links to products not part of the subscription anymore.
+     * @param sub the cached subscription
+     * @param currentProductIds the SCC product ids of the subscription
+     * @param productsBySccId the local products by SCC product id
+     * @return true if the links have been changed
+     */
+    public static boolean linkSubscriptionProducts(SCCSubscription sub, List<Long> currentProductIds,
+            Map<Long, SUSEProduct> productsBySccId) {
         Set<SUSEProduct> products = sub.getProducts();
-        List<Long> currentProductIds = jsonSub.getProductIds();
+        boolean changed = false;
         for (Long pid : currentProductIds) {
             if (productsBySccId.containsKey(pid) && !products.contains(productsBySccId.get(pid))) {
                 products.add(productsBySccId.get(pid));
+                changed = true;
             }
         }
         Set<SUSEProduct> toRemove = new HashSet<>();
@@ -163,11 +180,9 @@ public class SCCCachingFactory extends HibernateFactory {
                 toRemove.add(p);
             }
         }
-        products.removeAll(toRemove);
+        changed |= products.removeAll(toRemove);
         sub.setProducts(products);
-        sub.setModified(new Date());
-        singleton.saveObject(sub);
-        return sub;
+        return changed;
     }
 
     /**
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.domain.server;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.List;
+
+/**
+ * Class containing the data needed to connect to a minion with salt-ssh.
+ */
+public class MinionSSHConnection {
+
+    private final String minionId;
+    private final String contactMethod;
+    private final Integer sshPushPort;
+    private final List<String> proxyPath;
+
+    /**
+     * Constructor for MinionSSHConnection
+     *
+     * @param minionIdIn the minion Id
+     * @param contactMethodIn the label of the contact method
+     * @param sshPushPortIn the ssh port of the minion, or null for the default one
+     * @param proxyPathIn the proxy hostnames, with the optional ssh port, the last one being connected
+     * directly to the minion
+     */
+    public MinionSSHConnection(String minionIdIn, String contactMethodIn, Integer sshPushPortIn,
+            List<String> proxyPathIn) {
+        this.minionId = minionIdIn;
+        this.contactMethod = contactMethodIn;
+        this.sshPushPort = sshPushPortIn;
+        this.proxyPath = List.copyOf(proxyPathIn);
+    }
+
+    /**
+     * Getter for the minion Id
+     * @return the minion Id
+     */
+    public String getMinionId() {
+        return minionId;
+    }
+
+    /**
+     * Getter for the contact method
+     * @return the label of the contact method
+     */
+    public String getContactMethod() {
+        return contactMethod;
+    }
+
+    /**
+     * Getter for the ssh port
+     * @return the ssh port of the minion, or null for the default one
+     */
+    public Integer getSSHPushPort() {
+        return sshPushPort;
+    }
+
+    /**
+     * Getter for the proxy path
+     * @return the proxy hostnames, the last one being connected directly to the minion
+     */
+    public List<String> getProxyPath() {
+        return proxyPath;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof MinionSSHConnection)) {
+            return false;
+        }
+        MinionSSHConnection that = (MinionSSHConnection) other;
+        return new EqualsBuilder()
+                .append(minionId, that.minionId)
+                .append(contactMethod, that.contactMethod)
+                .append(sshPushPort, that.sshPushPort)
+                .append(proxyPath, that.proxyPath)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+                .append(minionId)
+                .append(contactMethod)
+                .append(sshPushPort)
+                .append(proxyPath)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "MinionSSHConnection [minionId=" + minionId + ", contactMethod=" + contactMethod +
+                ", sshPushPort=" + sshPushPort + ", proxyPath=" + proxyPath + "]";
+    }
+}
@@ -35,7 +35,12 @@ import org.hibernate.criterion.Restrictions;
 import org.hibernate.query.Query;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -188,6 +193,43 @@ public class MinionServerFactory extends HibernateFactory {
                 .list();
     }
 
+    /**
+     * Checks if there is any SSH minion, without loading them.
+     * @return true if at least one minion uses an SSH contact method
+     */
+    public static boolean existsSSHMinion() {
+        return !HibernateFactory.getSession().getNamedQuery("MinionServer.listSSHMinionsIdsAndContactMethods")
+                .setMaxResults(1)
+                .list()
+                .isEmpty();
+    }
+
+    /**
+     * Lists the data needed to connect to the given minions with salt-ssh, with one query and without
+     * loading the minions.
+     * @param minionIds the minion ids
+     * @return the connection data of the minions found, in minion id order
+     */
+    public static List<MinionSSHConnection> listSSHConnections(Collection<String> minionIds) {
+        List<Object[]> rows = findByIds(new ArrayList<>(minionIds), "MinionServer.listSSHConnectionsByMinionIds",
+                "minionIds");
+
+        Map<String, Object[]> firstRows = new LinkedHashMap<>();
+        Map<String, List<String>> proxyPaths = new HashMap<>();
+        for (Object[] row : rows) {
+            String minionId = (String) row[0];
+            firstRows.putIfAbsent(minionId, row);
+            List<String> proxyPath = proxyPaths.computeIfAbsent(minionId, k -> new ArrayList<>());
+            if (row[3] != null) {
+                proxyPath.add(row[3] + Optional.ofNullable(row[4]).map(p -> ":" + p).orElse(""));
+            }
+        }
+        return firstRows.entrySet().stream()
+                .map(e -> new MinionSSHConnection(e.getKey(), (String) e.getValue()[1], (Integer) e.getValue()[2],
+                        proxyPaths.get(e.getKey())))
+                .collect(toList());
+    }
+
    /**
     * Find all the serverActions that involve a traditional client, given an Action Id.
     *
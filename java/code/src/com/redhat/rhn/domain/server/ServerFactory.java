@@ -90,6 +90,7 @@ import javax.persistence.criteria.Root;
 public class ServerFactory extends HibernateFactory {
 
     private static final String SYSTEM_QUERIES = "System_queries";
+    private static final int IN_CLAUSE_LIMIT = 1000;
     private static Logger log = LogManager.getLogger(ServerFactory.class);
 
     public static final ServerFactory SINGLETON = new ServerFactory();
@@ -733,6 +734,29 @@ public class ServerFactory extends HibernateFactory {
         return HibernateFactory.getSession().get(Server.class, id);
     }
 
+    /**
+     * lookup the foreign_entitled Systems with any of the specified digital server ids
+     *
+     * @param ids the digital server ids
+     * @return the servers by digital server id
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Server> lookupForeignSystemsByDigitalServerIds(Collection<String> ids) {
+        List<String> idList = new ArrayList<>(ids);
+        Map<String, Server> servers = new HashMap<>();
+        for (int i = 0; i < idList.size(); i += IN_CLAUSE_LIMIT) {
+            Criteria criteria = getSession().createCriteria(Server.class);
+            criteria.add(Restrictions.in("digitalServerId",
+                    idList.subList(i, Math.min(i + IN_CLAUSE_LIMIT, idList.size()))));
+            for (Server server : (List<Server>) criteria.list()) {
+                if (server.hasEntitlement(EntitlementManager.getByName("foreign_entitled"))) {
+                    servers.putIfAbsent(server.getDigitalServerId(), server);
+                }
+            }
+        }
+        return servers;
+    }
+
     /**
      * lookup System with specified digital server id which are foreign_entitled
      *
@@ -1490,6 +1514,24 @@ public class ServerFactory extends HibernateFactory {
         return Optional.ofNullable((Server) criteria.uniqueResult());
     }
 
+    /**
+     * Find the servers having any of the given machine ids
+     * @param machineIds the machine ids
+     * @return the servers by machine id
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Server> findByMachineIds(Collection<String> machineIds) {
+        List<String> idList = new ArrayList<>(machineIds);
+        Map<String, Server> servers = new HashMap<>();
+        for (int i = 0; i < idList.size(); i += IN_CLAUSE_LIMIT) {
+            Criteria criteria = getSession().createCriteria(Server.class);
+            criteria.add(Restrictions.in("machineId",
+                    idList.subList(i, Math.min(i + IN_CLAUSE_LIMIT, idList.size()))));
+            ((List<Server>) criteria.list()).forEach(server -> servers.put(server.getMachineId(), server));
+        }
+        return servers;
+    }
+
     /**
      * Find {@link Capability} by name
      * @param name the name of the capability
@@ -22,8 +22,11 @@ import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -34,6 +37,7 @@ import java.util.Set;
  */
 public class VirtualInstanceFactory extends HibernateFactory {
 
+    private static final int IN_CLAUSE_LIMIT = 1000;
     private static VirtualInstanceFactory instance = new VirtualInstanceFactory();
 
     /**
@@ -357,6 +361,23 @@ public class VirtualInstanceFactory extends HibernateFactory {
             .list();
     }
 
+    /**
+     * Returns the VirtualInstances having any of the given uuids, to look up the instances of many VMs at once
+     * @param uuids - uuids of the vms
+     * @return the VirtualInstances by uuid, uuids without any VirtualInstance are left out
+     */
+    public Map<String, List<VirtualInstance>> lookupVirtualInstancesByUuids(Collection<String> uuids) {
+        List<String> uuidList = new ArrayList<>(uuids);
+        Map<String, List<VirtualInstance>> result = new HashMap<>();
+        for (int i = 0; i < uuidList.size(); i += IN_CLAUSE_LIMIT) {
+            getSession().createNamedQuery("VirtualInstance.lookupVirtualInstancesByUuids", VirtualInstance.class)
+                    .setParameterList("uuids", uuidList.subList(i, Math.min(i + IN_CLAUSE_LIMIT, uuidList.size())))
+                    .getResultList()
+                    .forEach(vi -> result.computeIfAbsent(vi.getUuid(), k -> new ArrayList<>()).add(vi));
+        }
+        return result;
+    }
+
     /**
      * Returns a VirtualInstance that is linked to the host system with given id.
      * @param hostId - id of the host system
@@ -17,17 +17,24 @@ package com.redhat.rhn.domain.server.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.action.Action;
 import com.redhat.rhn.domain.action.ActionFactory;
 import com.redhat.rhn.domain.action.server.ServerAction;
 import com.redhat.rhn.domain.action.test.ActionFactoryTest;
+import com.redhat.rhn.domain.server.MinionSSHConnection;
 import com.redhat.rhn.domain.server.MinionServer;
 import com.redhat.rhn.domain.server.MinionServerFactory;
 import com.redhat.rhn.domain.server.MinionSummary;
+import com.redhat.rhn.domain.server.ProxyInfo;
+import com.redhat.rhn.domain.server.Server;
 import com.redhat.rhn.domain.server.ServerConstants;
 import com.redhat.rhn.domain.server.ServerFactory;
+import com.redhat.rhn.domain.server.ServerPath;
+import com.redhat.rhn.domain.server.ServerPathId;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.testing.BaseTestCaseWithUser;
+import com.redhat.rhn.testing.ServerTestUtils;
 
 import org.junit.jupiter.api.Test;
 
@@ -100,6 +107,38 @@ public class MinionServerFactoryTest extends BaseTestCaseWithUser {
                 .map(m -> minionServer2.getContactMethod().getLabel())
                 .findFirst().orElse(null));
     }
+    /**
+     * Test for {@link MinionServerFactory#listSSHConnections(java.util.Collection)}.
+     */
+    @Test
+    public void testListSSHConnections() throws Exception {
+        Server proxy = ServerTestUtils.createTestSystem(user);
+        ProxyInfo info = new ProxyInfo();
+        info.setServer(proxy);
+        info.setSshPort(8022);
+        proxy.setProxyInfo(info);
+        ServerFactory.save(proxy);
+
+        MinionServer minionServer1 = createTestMinionServer(user);
+        minionServer1.setContactMethod(ServerFactory.findContactMethodByLabel("ssh-push-tunnel"));
+        minionServer1.setSSHPushPort(2222);
+        minionServer1.getServerPaths().add(
+                new ServerPath(new ServerPathId(minionServer1, proxy), 0L, "proxy.example.com"));
+        MinionServer minionServer2 = createTestMinionServer(user);
+        minionServer2.setContactMethod(ServerFactory.findContactMethodByLabel("ssh-push"));
+        HibernateFactory.getSession().flush();
+
+        List<MinionSSHConnection> connections = MinionServerFactory.listSSHConnections(
+                List.of(minionServer1.getMinionId(), minionServer2.getMinionId(), "unknown-minion"));
+
+        assertEquals(2, connections.size());
+        assertTrue(connections.contains(new MinionSSHConnection(minionServer1.getMinionId(), "ssh-push-tunnel",
+                2222, List.of("proxy.example.com:8022"))));
+        assertTrue(connections.contains(new MinionSSHConnection(minionServer2.getMinionId(), "ssh-push",
+                null, List.of())));
+        assertTrue(MinionServerFactory.existsSSHMinion());
+    }
+
     @Test
     public void testListMinionsByActions() throws Exception {
         MinionServer minion1 = createTestMinionServer(user);
@@ -39,7 +39,9 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -59,6 +61,7 @@ public class VirtualHostManagerFactory extends HibernateFactory {
     public static final String KUBECONFIG_PATH_BASE = "/srv/susemanager/virt_host_mgr";
     public static final String KUBERNETES = "Kubernetes";
 
+    private static final int IN_CLAUSE_LIMIT = 1000;
     private static VirtualHostManagerFactory instance;
     private static final Logger LOG = LogManager.getLogger(VirtualHostManagerFactory.class);
 
@@ -481,4 +484,23 @@ public class VirtualHostManagerFactory extends HibernateFactory {
         return Optional.ofNullable(result);
     }
 
+    /**
+     * Lookup the {@link VirtualHostManagerNodeInfo}s having any of the given identifiers.
+     * @param identifiers the node identifiers
+     * @return the node infos by identifier
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, VirtualHostManagerNodeInfo> lookupNodeInfosByIdentifiers(Collection<String> identifiers) {
+        List<String> identifierList = new ArrayList<>(identifiers);
+        Map<String, VirtualHostManagerNodeInfo> result = new HashMap<>();
+        for (int i = 0; i < identifierList.size(); i += IN_CLAUSE_LIMIT) {
+            List<VirtualHostManagerNodeInfo> nodes = getSession()
+                    .createCriteria(VirtualHostManagerNodeInfo.class)
+                    .add(Restrictions.in("identifier",
+                            identifierList.subList(i, Math.min(i + IN_CLAUSE_LIMIT, identifierList.size()))))
+                    .list();
+            nodes.forEach(node -> result.put(node.getIdentifier(), node));
+        }
+        return result;
+    }
 }
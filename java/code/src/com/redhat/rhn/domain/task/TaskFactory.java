@@ -22,6 +22,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -147,6 +148,27 @@ public class TaskFactory extends HibernateFactory {
         session.createQuery(criteriaDelete).executeUpdate();
     }
 
+    /**
+     * Delete tasks matching a name and any of the given data, ignoring priority and organization.
+     *
+     * @param name the tasks name
+     * @param data the tasks data
+     */
+    public static void deleteByNameData(String name, Collection<Long> data) {
+        if (data.isEmpty()) {
+            return;
+        }
+        Session session = HibernateFactory.getSession();
+        CriteriaBuilder builder = session.getCriteriaBuilder();
+        CriteriaDelete<Task> criteriaDelete = builder.createCriteriaDelete(Task.class);
+        Root<Task> root = criteriaDelete.from(Task.class);
+        criteriaDelete.where(builder.and(
+                builder.equal(root.get("name"), name),
+                root.get("data").in(data)
+        ));
+        session.createQuery(criteriaDelete).executeUpdate();
+    }
+
     /**
      * Gets the list of "update errata cache for channel" tasks.
      * @param org The org containing the tasks
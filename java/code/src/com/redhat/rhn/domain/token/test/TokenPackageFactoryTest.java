@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.domain.rhnpackage.PackageArch;
 import com.redhat.rhn.domain.rhnpackage.PackageName;
+import com.redhat.rhn.domain.rhnpackage.test.PackageNameTest;
 import com.redhat.rhn.domain.token.ActivationKey;
 import com.redhat.rhn.domain.token.Token;
 import com.redhat.rhn.domain.token.TokenPackage;
@@ -45,15 +46,15 @@ public class TokenPackageFactoryTest extends BaseTestCaseWithUser {
 
         TokenPackage pkg1 = TokenPackageTest.createTestPackage(user, key);
         assertNotNull(pkg1);
-        pkg1.getPackageName().setName("cName");
+        pkg1.setPackageName(PackageNameTest.createTestPackageName("cName"));
 
         TokenPackage pkg2 = TokenPackageTest.createTestPackage(user, key);
         assertNotNull(pkg2);
-        pkg2.getPackageName().setName("bName");
+        pkg2.setPackageName(PackageNameTest.createTestPackageName("bName"));
 
         TokenPackage pkg3 = TokenPackageTest.createTestPackage(user, key);
         assertNotNull(pkg3);
-        pkg3.getPackageName().setName("aName");
+        pkg3.setPackageName(PackageNameTest.createTestPackageName("aName"));
 
         TestUtils.flushAndEvict(pkg1);
         TestUtils.flushAndEvict(pkg2);
@@ -27,10 +27,15 @@ import com.redhat.rhn.domain.errata.Errata;
 import com.redhat.rhn.domain.errata.ErrataFactory;
 import com.redhat.rhn.domain.errata.Keyword;
 import com.redhat.rhn.domain.org.Org;
+import com.redhat.rhn.domain.product.Tuple2;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.frontend.dto.ErrataOverview;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -78,6 +83,37 @@ public class ErrataHelper {
         return clone.getId();
     }
 
+    /**
+     * Clones many errata at once directly in the db. Does the same as {@link #cloneErrataFaster(Long, Org)}
+     * for each erratum, but with a fixed number of statements for all of them.
+     * @param eids Ids of the original errata to clone
+     * @param org Org to clone into
+     * @return Ids of the cloned errata, by id of the erratum they were cloned from
+     */
+    public static Map<Long, Long> cloneErrataFaster(Collection<Long> eids, Org org) {
+        List<ErrataOverview> originals = ErrataFactory.listOverviewsByIds(eids);
+
+        Map<Long, String> advisorySuffixes = new LinkedHashMap<>();
+        Map<Long, String> nameSuffixes = new LinkedHashMap<>();
+        for (ErrataOverview original : originals) {
+            advisorySuffixes.put(original.getId(), getSuffix(original.getAdvisory(), original.isCloned()));
+            nameSuffixes.put(original.getId(), getSuffix(original.getAdvisoryName(), original.isCloned()));
+        }
+        Set<String> advisories = ErrataFactory.listAdvisoriesBySuffix(new HashSet<>(advisorySuffixes.values()));
+        Set<String> advisoryNames = ErrataFactory.listAdvisoryNamesBySuffix(new HashSet<>(nameSuffixes.values()));
+
+        Map<Long, Tuple2<String, String>> clones = new LinkedHashMap<>();
+        advisorySuffixes.forEach((eid, advisorySuffix) -> {
+            String nameSuffix = nameSuffixes.get(eid);
+            String prefix = findNextPrefix(advisorySuffix, nameSuffix, advisories, advisoryNames);
+            // the names are taken for the next errata of the same batch
+            advisories.add(prefix + advisorySuffix);
+            advisoryNames.add(prefix + nameSuffix);
+            clones.put(eid, new Tuple2<>(prefix + advisorySuffix, prefix + nameSuffix));
+        });
+        return ErrataFactory.cloneErrata(clones, org.getId());
+    }
+
 
     /**
      * Clones an errata
@@ -172,9 +208,12 @@ public class ErrataHelper {
     }
 
     private static String findNextPrefix(String advisoryLike, String nameLike) {
-        Set<String> advisories = ErrataFactory.listAdvisoriesEndingWith(advisoryLike);
-        Set<String> advisoryNames = ErrataFactory.listAdvisoryNamesEndingWith(nameLike);
+        return findNextPrefix(advisoryLike, nameLike, ErrataFactory.listAdvisoriesEndingWith(advisoryLike),
+                ErrataFactory.listAdvisoryNamesEndingWith(nameLike));
+    }
 
+    private static String findNextPrefix(String advisoryLike, String nameLike, Set<String> advisories,
+            Set<String> advisoryNames) {
         boolean unusedNameFound = false;
         String prefix = DEFAULT_ERRATA_CLONE_PREFIX;
 
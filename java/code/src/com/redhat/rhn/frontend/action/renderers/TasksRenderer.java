@@ -38,7 +38,7 @@ public class TasksRenderer extends BaseFragmentRenderer {
         request.setAttribute(TASKS, Boolean.TRUE);
         request.setAttribute("amountOfMinions",
                 GlobalInstanceHolder.SALT_API.getKeys().getUnacceptedMinions().size());
-        request.setAttribute("requiringReboot", SystemManager.requiringRebootList(user).size());
+        request.setAttribute("requiringReboot", SystemManager.countRequiringReboot(user));
         RendererHelper.setTableStyle(request, null);
     }
 
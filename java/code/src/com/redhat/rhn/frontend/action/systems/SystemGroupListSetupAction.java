@@ -17,7 +17,6 @@ package com.redhat.rhn.frontend.action.systems;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.localization.LocalizationService;
 import com.redhat.rhn.domain.rhnset.RhnSet;
-import com.redhat.rhn.domain.rhnset.RhnSetElement;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.frontend.dto.SystemGroupOverview;
 import com.redhat.rhn.frontend.dto.SystemOverview;
@@ -167,22 +166,9 @@ public class SystemGroupListSetupAction extends RhnAction
             HttpServletRequest request,
             HttpServletResponse response) {
         User user = new RequestContext(request).getCurrentUser();
-        RhnSet systemSet = RhnSetDecl.SYSTEMS.create(user);
         RhnSet groupSet = getSetDecl().get(user);
 
-        for (RhnSetElement rhnSetElementIn : groupSet.getElements()) { //for every group
-            Long sgid = rhnSetElementIn.getElement();
-
-            //for every system in a group
-            for (SystemOverview systemOverviewIn : SystemManager.systemsInGroup(sgid, null)) {
-                Long id = systemOverviewIn.getId();
-                if (!systemSet.contains(id)) {
-                    systemSet.addElement(id);
-                }
-            }
-        }
-
-        RhnSetManager.store(systemSet);
+        RhnSetManager.storeGroupSystemsInSsm(user, new ArrayList<>(groupSet.getElementValues()));
     }
 
     @Override
@@ -14,21 +14,19 @@
  */
 package com.redhat.rhn.frontend.action.systems;
 
-import com.redhat.rhn.domain.rhnset.RhnSet;
 import com.redhat.rhn.domain.server.ManagedServerGroup;
 import com.redhat.rhn.domain.user.User;
-import com.redhat.rhn.frontend.dto.SystemOverview;
 import com.redhat.rhn.frontend.struts.RequestContext;
 import com.redhat.rhn.frontend.struts.RhnAction;
 import com.redhat.rhn.frontend.struts.RhnHelper;
-import com.redhat.rhn.manager.rhnset.RhnSetDecl;
 import com.redhat.rhn.manager.rhnset.RhnSetManager;
-import com.redhat.rhn.manager.system.SystemManager;
 
 import org.apache.struts.action.ActionForm;
 import org.apache.struts.action.ActionForward;
 import org.apache.struts.action.ActionMapping;
 
+import java.util.List;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -49,15 +47,7 @@ public class WorkWithGroupAction extends RhnAction {
         ManagedServerGroup serverGroup = requestContext.lookupAndBindServerGroup();
         User user =  requestContext.getCurrentUser();
 
-        RhnSet systemSet = RhnSetDecl.SYSTEMS.create(user);
-
-        //for every system in a group
-        for (SystemOverview systemOverviewIn : SystemManager.systemsInGroup(serverGroup.getId(), null)) {
-            Long id = systemOverviewIn.getId();
-            systemSet.addElement(id);
-        }
-
-        RhnSetManager.store(systemSet);
+        RhnSetManager.storeGroupSystemsInSsm(user, List.of(serverGroup.getId()));
 
         //response.sendRedirect("/rhn/systems/ssm/ListSystems.do");
         return mapping.findForward(RhnHelper.DEFAULT_FORWARD);
@@ -22,6 +22,8 @@ import static java.util.stream.Stream.concat;
 
 import com.redhat.rhn.common.hibernate.HibernateFactory;
 
+import com.suse.manager.metrics.DatabaseMetrics;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -45,11 +47,13 @@ public abstract class TransactionHelper {
      * @param errorHandler called in case of unexpected Exceptions
      */
     public static void handlingTransaction(Runnable runnable, Consumer<Exception> errorHandler) {
+        long start = System.nanoTime();
         Optional<Exception> applicationException = run(runnable);
 
         boolean commit = !applicationException.isPresent();
 
         Optional<Exception> transactionException = handleTransactions(commit);
+        DatabaseMetrics.observeTransaction(commit && !transactionException.isPresent(), start);
 
         concat(stream(applicationException), stream(transactionException)).findFirst()
                 .ifPresent(e -> handlingTransaction(
@@ -74,7 +78,9 @@ public abstract class TransactionHelper {
 
         try {
             if (commit) {
+                long start = System.nanoTime();
                 HibernateFactory.commitTransaction();
+                DatabaseMetrics.observeCommit(start);
 
                 committed = true;
                 if (log.isDebugEnabled()) {
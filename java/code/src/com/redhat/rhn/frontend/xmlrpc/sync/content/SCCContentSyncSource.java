@@ -65,6 +65,7 @@ public class SCCContentSyncSource implements ContentSyncSource {
                 .map(path -> path.toAbsolutePath().toString())
                 .map(path -> new SCCConfig(url, username, password, uuid, null, path, false))
                 .orElseGet(() -> new SCCConfig(url, username, password, uuid));
+            config.setCacheDir(SCCConfig.DEFAULT_CACHE_DIR);
 
             return new SCCWebClient(config);
         }
@@ -368,7 +368,7 @@ public class ContentSyncManager {
      * @return list of all available products
      */
     private List<MgrSyncProductDto> listProductsImpl() {
-        List<String> installedChannelLabels = getInstalledChannelLabels();
+        Set<String> installedChannelLabels = getInstalledChannelLabels();
 
         List<Tuple2<SUSEProductSCCRepository, MgrSyncStatus>> availableChannels =
                 TimeUtils.logTime(LOG, "getAvailableCHannels", this::getAvailableChannels).stream().map(e -> {
@@ -1286,6 +1286,22 @@ public class ContentSyncManager {
         }
     }
 
+    /**
+     * Link the cached subscriptions to the current local products without storing them again.
+     * @param subscriptions the subscriptions as received from SCC
+     */
+    private void relinkSubscriptionProducts(List<SCCSubscriptionJson> subscriptions) {
+        Map<Long, SCCSubscription> subscriptionsBySccId = SCCCachingFactory.lookupSubscriptions()
+                .stream().collect(Collectors.toMap(SCCSubscription::getSccId, s -> s));
+        Map<Long, SUSEProduct> productsBySccId = SUSEProductFactory.productsByProductIds();
+        for (SCCSubscriptionJson s : subscriptions) {
+            SCCSubscription sub = subscriptionsBySccId.get(s.getId());
+            if (sub != null && SCCCachingFactory.linkSubscriptionProducts(sub, s.getProductIds(), productsBySccId)) {
+                LOG.debug("Relinked products of subscription with sccId: {}", s.getId());
+            }
+        }
+    }
+
     /**
      * Get subscriptions from SCC for a single pair of mirror credentials
      * and update the DB.
@@ -1302,7 +1318,20 @@ public class ContentSyncManager {
         try {
             SCCClient scc = this.getSCCClient(source);
             var subscriptions = scc.listSubscriptions();
-            refreshSubscriptionCache(subscriptions, source);
+            RemoteCredentials c = source.getCredentials().orElse(null);
+            Set<Long> subscriptionIds = subscriptions.stream()
+                    .map(SCCSubscriptionJson::getId)
+                    .collect(Collectors.toSet());
+            // unmodified data only needs to be stored again if the cached rows do not match anymore
+            if (scc.isLastListNotModified() &&
+                    subscriptionIds.equals(new HashSet<>(SCCCachingFactory.listSubscriptionsIdsByCredentials(c)))) {
+                LOG.info("Subscriptions not modified for credentials: {}", c);
+                // products are refreshed just before and may have been added or created again locally
+                relinkSubscriptionProducts(subscriptions);
+            }
+            else {
+                refreshSubscriptionCache(subscriptions, source);
+            }
             refreshOrderItemCache(source);
             generateOEMOrderItems(subscriptions, source);
             return subscriptions;
@@ -1377,6 +1406,20 @@ public class ContentSyncManager {
             SCCCredentials credential = source.getCredentials(SCCCredentials.class).orElse(null);
             var orders = scc.listOrders();
             List<SCCOrderItem> existingOI = SCCCachingFactory.listOrderItemsByCredentials(source);
+            if (scc.isLastListNotModified()) {
+                Set<Long> orderItemIds = orders.stream()
+                        .flatMap(order -> order.getOrderItems().stream())
+                        .map(SCCOrderItemJson::getSccId)
+                        .collect(Collectors.toSet());
+                Set<Long> existingIds = existingOI.stream()
+                        .map(SCCOrderItem::getSccId)
+                        .filter(id -> id >= 0)
+                        .collect(Collectors.toSet());
+                if (orderItemIds.equals(existingIds)) {
+                    LOG.info("Order items not modified for credentials: {}", credential);
+                    return;
+                }
+            }
             for (SCCOrderJson order : orders) {
                 for (SCCOrderItemJson j : order.getOrderItems()) {
                     SCCOrderItem oi = SCCCachingFactory.lookupOrderItemBySccId(j.getSccId()).orElse(new SCCOrderItem());
@@ -1997,113 +2040,36 @@ public class ContentSyncManager {
      */
     public static boolean isProductAvailable(SUSEProduct product, SUSEProduct root) {
         Set<SUSEProductSCCRepository> repos = product.getRepositories();
-        if (repos == null) {
+        if (repos == null || repos.isEmpty()) {
             return false;
         }
-        return !repos.isEmpty() && repos.stream()
+        boolean isISSSlave = IssFactory.getCurrentMaster() != null;
+        return repos.stream()
                 .filter(e -> e.getRootProduct().equals(root))
                 .filter(SUSEProductSCCRepository::isMandatory)
-                .allMatch(ContentSyncManager::isRepoAccessible);
+                .allMatch(repo -> isRepoAccessible(repo, isISSSlave));
     }
 
-    private static boolean isRepoAccessible(SUSEProductSCCRepository repo) {
+    private static boolean isRepoAccessible(SUSEProductSCCRepository repo, boolean isISSSlave) {
         boolean isPublic = repo.getProduct().getChannelFamily().isPublic();
-        boolean isAvailable = ChannelFactory.lookupByLabel(repo.getChannelLabel()) != null;
-        boolean isISSSlave = IssFactory.getCurrentMaster() != null;
-        boolean isMirrorable = false;
-        if (!isISSSlave) {
-            isMirrorable = repo.getRepository().isAccessible();
-        }
+        // For ISS slaves the repository is never mirrored from SCC directly
+        boolean isMirrorable = !isISSSlave && repo.getRepository().isAccessible();
+        // only look the channel up when nothing else makes the repository accessible
+        boolean isAvailable = isPublic && !isISSSlave && !isMirrorable &&
+                ChannelFactory.lookupByLabel(repo.getChannelLabel()) != null;
         LOG.debug("{} - {} isPublic: {} isMirrorable: {} isISSSlave: {} isAvailable: {}",
                 repo.getProduct().getFriendlyName(),
                 repo.getChannelLabel(), isPublic, isMirrorable, isISSSlave, isAvailable);
         return  isPublic && (isMirrorable || isISSSlave || isAvailable);
     }
 
-    /**
-     * Find all available repositories for product and all extensions of product
-     * @param root root product of product
-     * @param product product to get available repositories from
-     * @return stream of available repositories of product
-     */
-    private Stream<SUSEProductSCCRepository> getAvailableRepositories(SUSEProduct root, SUSEProduct product) {
-        List<SUSEProductSCCRepository> allEntries = SUSEProductFactory.allProductRepos();
-        List<Long> repoIdsWithAuth = SCCCachingFactory.lookupRepositoryIdsWithAuth();
-
-        Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProductSCCRepository>> entriesByProducts = allEntries.stream()
-                .collect(Collectors.groupingBy(e -> new Tuple2<>(e.getRootProduct(), e.getProduct())));
-        return getAvailableRepositories(root, product, entriesByProducts, repoIdsWithAuth);
-    }
-
-    /**
-     * Find all available repositories for product and all extensions of product
-     * @param root root product of product
-     * @param product product to get available repositories from
-     * @param allEntries lookup map for repositories by product and root product
-     * @param repoIdsWithAuth lookup list for all authenticated repositories by id
-     * @return stream of available repositories of product
-     */
-    private Stream<SUSEProductSCCRepository> getAvailableRepositories(
-        SUSEProduct root,
-        SUSEProduct product,
-        Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProductSCCRepository>> allEntries,
-        List<Long> repoIdsWithAuth
-    ) {
-
-        List<SUSEProductSCCRepository> entries =
-                Optional.ofNullable(allEntries.get(new Tuple2<>(root, product)))
-                        .orElseGet(Collections::emptyList);
-        boolean isAccessible = entries.stream()
-                .filter(SUSEProductSCCRepository::isMandatory)
-                .allMatch(entry -> {
-                    boolean isPublic = entry.getProduct().getChannelFamily().isPublic();
-                    boolean hasAuth = repoIdsWithAuth.contains(entry.getRepository().getId());
-                    LOG.debug("{} - {} isPublic: {} hasAuth: {}", product.getFriendlyName(),
-                            entry.getChannelLabel(), isPublic, hasAuth);
-                    return  isPublic &&
-                            // isMirrorable
-                            hasAuth;
-                });
-
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("{}: {} {}", product.getFriendlyName(), isAccessible, entries.stream()
-                        .map(SUSEProductSCCRepository::getChannelLabel)
-                        .collect(Collectors.joining(",")));
-            }
-
-        if (isAccessible) {
-            return Stream.concat(
-                    entries.stream().filter(e ->
-                            e.isMandatory() || repoIdsWithAuth.contains(e.getRepository().getId())
-                    ),
-                    SUSEProductFactory.findAllExtensionProductsForRootOf(product, root).stream()
-                            .flatMap(nextProduct ->
-                                    getAvailableRepositories(root, nextProduct, allEntries, repoIdsWithAuth))
-            );
-        }
-        else {
-            return Stream.empty();
-        }
-    }
-
     /**
      * Get a list of all actually available channels based on available channel families
      * as well as some other criteria.
      * @return list of available channels
      */
     public List<SUSEProductSCCRepository> getAvailableChannels() {
-        List<SUSEProductSCCRepository> allEntries = SUSEProductFactory.allProductRepos();
-        List<Long> repoIdsWithAuth = SCCCachingFactory.lookupRepositoryIdsWithAuth();
-
-        Map<Tuple2<SUSEProduct, SUSEProduct>, List<SUSEProductSCCRepository>> entriesByProducts = allEntries.stream()
-                .collect(Collectors.groupingBy(e -> new Tuple2<>(e.getRootProduct(), e.getProduct())));
-
-        return allEntries.stream()
-                .filter(SUSEProductSCCRepository::isRoot)
-                .map(SUSEProductSCCRepository::getProduct)
-                .distinct()
-                .flatMap(p -> getAvailableRepositories(p, p, entriesByProducts, repoIdsWithAuth))
-                .collect(Collectors.toList());
+        return ProductAvailabilityIndex.load().getAvailableChannels();
     }
 
     /**
@@ -2238,7 +2204,8 @@ public class ContentSyncManager {
                 productrepo -> {
                     SUSEProduct product = productrepo.getProduct();
 
-                    if (getAvailableRepositories(productrepo.getRootProduct(), product)
+                    if (ProductAvailabilityIndex.load()
+                            .getAvailableRepositories(productrepo.getRootProduct(), product).stream()
                             .noneMatch(e -> e.getChannelLabel().equals(label))) {
                         throw new ContentSyncException("Channel is not available: " + label);
                     }
@@ -2436,9 +2403,9 @@ public class ContentSyncManager {
      *
      * @return the installed channel labels
      */
-    private List<String> getInstalledChannelLabels() {
+    private Set<String> getInstalledChannelLabels() {
         List<Channel> installedChannels = ChannelFactory.listVendorChannels();
-        List<String> installedChannelLabels = new ArrayList<>();
+        Set<String> installedChannelLabels = new HashSet<>();
         for (Channel c : installedChannels) {
             installedChannelLabels.add(c.getLabel());
         }
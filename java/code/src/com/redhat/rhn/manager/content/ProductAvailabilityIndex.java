@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.manager.content;
+
+import com.redhat.rhn.domain.product.SUSEProduct;
+import com.redhat.rhn.domain.product.SUSEProductExtension;
+import com.redhat.rhn.domain.product.SUSEProductFactory;
+import com.redhat.rhn.domain.product.SUSEProductSCCRepository;
+import com.redhat.rhn.domain.product.Tuple2;
+import com.redhat.rhn.domain.scc.SCCCachingFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the product tree used to compute which repositories can be mirrored.
+ *
+ * The product repositories, the extension graph and the ids of the repositories with authentication
+ * are loaded once and kept in hash based lookups, so walking the tree of a root product does not need
+ * any further database query.
+ */
+public class ProductAvailabilityIndex {
+
+    private static final Logger LOG = LogManager.getLogger(ProductAvailabilityIndex.class);
+
+    private final List<SUSEProduct> roots;
+    private final Map<Tuple2<Long, Long>, List<SUSEProductSCCRepository>> reposByRootAndProduct = new HashMap<>();
+    private final Map<Tuple2<Long, Long>, List<SUSEProduct>> extensionsByRootAndBase = new HashMap<>();
+    private final Set<Long> repoIdsWithAuth;
+
+    /**
+     * Builds the index from already loaded data.
+     * @param productReposIn all product repositories
+     * @param extensionsIn all product extensions
+     * @param repoIdsWithAuthIn ids of the repositories having an authentication
+     */
+    public ProductAvailabilityIndex(Collection<SUSEProductSCCRepository> productReposIn,
+            Collection<SUSEProductExtension> extensionsIn, Collection<Long> repoIdsWithAuthIn) {
+        Set<SUSEProduct> rootProducts = new LinkedHashSet<>();
+        for (SUSEProductSCCRepository entry : productReposIn) {
+            reposByRootAndProduct.computeIfAbsent(
+                    new Tuple2<>(entry.getRootProduct().getId(), entry.getProduct().getId()),
+                    k -> new ArrayList<>()).add(entry);
+            if (entry.isRoot()) {
+                rootProducts.add(entry.getProduct());
+            }
+        }
+        for (SUSEProductExtension extension : extensionsIn) {
+            extensionsByRootAndBase.computeIfAbsent(
+                    new Tuple2<>(extension.getRootProduct().getId(), extension.getBaseProduct().getId()),
+                    k -> new ArrayList<>()).add(extension.getExtensionProduct());
+        }
+        roots = new ArrayList<>(rootProducts);
+        repoIdsWithAuth = new HashSet<>(repoIdsWithAuthIn);
+    }
+
+    /**
+     * Loads the index from the database.
+     * @return the index of the current product tree
+     */
+    public static ProductAvailabilityIndex load() {
+        return new ProductAvailabilityIndex(SUSEProductFactory.allProductRepos(),
+                SUSEProductFactory.findAllSUSEProductExtensions(),
+                SCCCachingFactory.lookupRepositoryIdsWithAuth());
+    }
+
+    /**
+     * Get all the repositories available for all the root products and their extensions.
+     * @return list of available repositories
+     */
+    public List<SUSEProductSCCRepository> getAvailableChannels() {
+        List<SUSEProductSCCRepository> result = new ArrayList<>();
+        roots.forEach(root -> collectAvailableRepositories(root, root, result));
+        return result;
+    }
+
+    /**
+     * Find all available repositories for product and all extensions of product
+     * @param root root product of product
+     * @param product product to get available repositories from
+     * @return list of available repositories of product
+     */
+    public List<SUSEProductSCCRepository> getAvailableRepositories(SUSEProduct root, SUSEProduct product) {
+        List<SUSEProductSCCRepository> result = new ArrayList<>();
+        collectAvailableRepositories(root, product, result);
+        return result;
+    }
+
+    private void collectAvailableRepositories(SUSEProduct root, SUSEProduct product,
+            List<SUSEProductSCCRepository> result) {
+        List<SUSEProductSCCRepository> entries = reposByRootAndProduct.getOrDefault(
+                new Tuple2<>(root.getId(), product.getId()), Collections.emptyList());
+        boolean isAccessible = entries.stream()
+                .filter(SUSEProductSCCRepository::isMandatory)
+                .allMatch(entry -> {
+                    boolean isPublic = entry.getProduct().getChannelFamily().isPublic();
+                    boolean hasAuth = hasAuth(entry);
+                    LOG.debug("{} - {} isPublic: {} hasAuth: {}", product.getFriendlyName(),
+                            entry.getChannelLabel(), isPublic, hasAuth);
+                    return isPublic &&
+                            // isMirrorable
+                            hasAuth;
+                });
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{}: {} {}", product.getFriendlyName(), isAccessible, entries.stream()
+                    .map(SUSEProductSCCRepository::getChannelLabel)
+                    .collect(Collectors.joining(",")));
+        }
+
+        if (isAccessible) {
+            entries.stream()
+                    .filter(e -> e.isMandatory() || hasAuth(e))
+                    .forEach(result::add);
+            extensionsByRootAndBase.getOrDefault(new Tuple2<>(root.getId(), product.getId()),
+                    Collections.emptyList())
+                    .forEach(next -> collectAvailableRepositories(root, next, result));
+        }
+    }
+
+    private boolean hasAuth(SUSEProductSCCRepository entry) {
+        return repoIdsWithAuth.contains(entry.getRepository().getId());
+    }
+}
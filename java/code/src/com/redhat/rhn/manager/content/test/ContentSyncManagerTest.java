@@ -18,6 +18,7 @@ package com.redhat.rhn.manager.content.test;
 import static com.redhat.rhn.domain.channel.test.ChannelFactoryTest.createTestClonedChannel;
 import static com.redhat.rhn.testing.RhnBaseTestCase.assertContains;
 import static com.redhat.rhn.testing.RhnBaseTestCase.assertNotEmpty;
+import static org.jmock.Expectations.returnValue;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -119,6 +120,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -210,6 +212,73 @@ public class ContentSyncManagerTest extends JMockBaseTestCaseWithUser {
         assertNull(two);
     }
 
+    @Test
+    public void testSubscriptionProductsRelinkedWhenNotModified() throws Exception {
+        long productId = 12345;
+        long newProductId = 12346;
+        assertNull(SUSEProductFactory.lookupByProductId(productId));
+        assertNull(SUSEProductFactory.lookupByProductId(newProductId));
+
+        SCCProductJson p1 = new SCCProductJson(productId, TestUtils.randomString(), TestUtils.randomString(),
+                TestUtils.randomString(), TestUtils.randomString(), "i686", TestUtils.randomString(),
+                TestUtils.randomString(), ReleaseStage.released, "", false, "", "", Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), null, false);
+        SCCProductJson p2 = new SCCProductJson(newProductId, TestUtils.randomString(), TestUtils.randomString(),
+                TestUtils.randomString(), TestUtils.randomString(), "i686", TestUtils.randomString(),
+                TestUtils.randomString(), ReleaseStage.released, "", false, "", "", Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), null, false);
+
+        SCCCredentials cred = CredentialsFactory.createSCCCredentials("hans", "pw1");
+        CredentialsFactory.storeCredentials(cred);
+        SCCSubscriptionJson s1 = new SCCSubscriptionJson();
+        s1.setName("SLES");
+        s1.setProductClasses(Arrays.asList("7261"));
+        s1.setProductIds(Arrays.asList(productId, newProductId));
+        s1.setId(1L);
+        s1.setRegcode("abcdef");
+        s1.setType("full");
+        s1.setSystemLimit(5);
+        List<SCCSubscriptionJson> subscriptions = List.of(s1);
+
+        // only the first product is known when the subscription gets cached
+        ContentSyncManager csm = new ContentSyncManager();
+        csm.setSumaProductTreeJson(Optional.of(new File("/usr/share/susemanager/scc/product_tree.json")));
+        csm.updateSUSEProducts(List.of(p1));
+        csm.refreshSubscriptionCache(subscriptions, new SCCContentSyncSource(cred));
+        HibernateFactory.getSession().flush();
+        assertEquals(Set.of(SUSEProductFactory.lookupByProductId(productId)),
+                SCCCachingFactory.lookupSubscriptionBySccId(1L).getProducts());
+
+        // the second product is added locally while SCC reports the subscriptions as not modified
+        csm.updateSUSEProducts(List.of(p1, p2));
+        HibernateFactory.getSession().flush();
+        s1.setName("SLES changed");
+
+        SCCClient sccClient = mock(SCCClient.class);
+        checking(expectations -> {
+            expectations.allowing(sccClient).listSubscriptions();
+            expectations.will(returnValue(subscriptions));
+            expectations.allowing(sccClient).listOrders();
+            expectations.will(returnValue(Collections.emptyList()));
+            expectations.allowing(sccClient).isLastListNotModified();
+            expectations.will(returnValue(true));
+        });
+        ContentSyncManager notModifiedCsm = new ContentSyncManager() {
+            @Override
+            protected SCCClient getSCCClient(ContentSyncSource source) {
+                return sccClient;
+            }
+        };
+        notModifiedCsm.updateSubscriptions(new SCCContentSyncSource(cred));
+        HibernateFactory.getSession().flush();
+        HibernateFactory.getSession().clear();
+
+        com.redhat.rhn.domain.scc.SCCSubscription cached = SCCCachingFactory.lookupSubscriptionBySccId(1L);
+        assertEquals("SLES", cached.getName());
+        assertEquals(Set.of(SUSEProductFactory.lookupByProductId(productId),
+                SUSEProductFactory.lookupByProductId(newProductId)), cached.getProducts());
+    }
+
     @Test
     public void testListSubscriptionsCaching() throws Exception {
         File subJson = new File(TestUtils.findTestData(
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.manager.content.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.domain.channel.ChannelFamily;
+import com.redhat.rhn.domain.channel.PublicChannelFamily;
+import com.redhat.rhn.domain.product.SUSEProduct;
+import com.redhat.rhn.domain.product.SUSEProductExtension;
+import com.redhat.rhn.domain.product.SUSEProductSCCRepository;
+import com.redhat.rhn.domain.scc.SCCRepository;
+import com.redhat.rhn.manager.content.ProductAvailabilityIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for {@link ProductAvailabilityIndex}.
+ */
+public class ProductAvailabilityIndexTest {
+
+    private final List<SUSEProductSCCRepository> productRepos = new ArrayList<>();
+    private final List<SUSEProductExtension> extensions = new ArrayList<>();
+    private final List<Long> repoIdsWithAuth = new ArrayList<>();
+
+    private ChannelFamily publicFamily;
+    private ChannelFamily privateFamily;
+    private SUSEProduct sles;
+    private SUSEProduct module;
+    private SUSEProduct subModule;
+    private SUSEProduct unauthorized;
+    private SUSEProduct unauthorizedChild;
+    private SUSEProduct privateRoot;
+
+    /**
+     * Builds a small product tree:
+     * sles -> module -> subModule, sles -> unauthorized -> unauthorizedChild and a separate privateRoot.
+     */
+    @BeforeEach
+    public void setUp() {
+        publicFamily = new ChannelFamily();
+        publicFamily.setLabel("public-family");
+        publicFamily.setPublicChannelFamily(new PublicChannelFamily());
+        privateFamily = new ChannelFamily();
+        privateFamily.setLabel("private-family");
+
+        sles = product(1, "sles", publicFamily);
+        module = product(2, "module", publicFamily);
+        subModule = product(3, "submodule", publicFamily);
+        unauthorized = product(4, "unauthorized", publicFamily);
+        unauthorizedChild = product(5, "unauthorized-child", publicFamily);
+        privateRoot = product(6, "private", privateFamily);
+
+        productRepo(10, sles, sles, "sles-pool", null, true, true);
+        productRepo(11, sles, sles, "sles-updates", "sles-pool", true, true);
+        productRepo(12, sles, sles, "sles-debuginfo", "sles-pool", false, false);
+        productRepo(13, sles, sles, "sles-source", "sles-pool", false, true);
+        productRepo(20, sles, module, "module-pool", "sles-pool", true, true);
+        productRepo(30, sles, subModule, "submodule-pool", "sles-pool", true, true);
+        productRepo(40, sles, unauthorized, "unauthorized-pool", "sles-pool", true, false);
+        productRepo(50, sles, unauthorizedChild, "unauthorized-child-pool", "sles-pool", true, true);
+        productRepo(60, privateRoot, privateRoot, "private-pool", null, true, true);
+
+        extensions.add(new SUSEProductExtension(sles, module, sles, false));
+        extensions.add(new SUSEProductExtension(module, subModule, sles, false));
+        extensions.add(new SUSEProductExtension(sles, unauthorized, sles, false));
+        extensions.add(new SUSEProductExtension(unauthorized, unauthorizedChild, sles, false));
+    }
+
+    /**
+     * Test the available channels of all roots.
+     */
+    @Test
+    public void testGetAvailableChannels() {
+        ProductAvailabilityIndex index = new ProductAvailabilityIndex(productRepos, extensions, repoIdsWithAuth);
+
+        assertEquals(
+                List.of("sles-pool", "sles-updates", "sles-source", "module-pool", "submodule-pool"),
+                labels(index.getAvailableChannels()));
+    }
+
+    /**
+     * Test the available repositories of an extension subtree.
+     */
+    @Test
+    public void testGetAvailableRepositories() {
+        ProductAvailabilityIndex index = new ProductAvailabilityIndex(productRepos, extensions, repoIdsWithAuth);
+
+        assertEquals(List.of("module-pool", "submodule-pool"),
+                labels(index.getAvailableRepositories(sles, module)));
+        assertTrue(index.getAvailableRepositories(sles, unauthorized).isEmpty());
+        assertTrue(index.getAvailableRepositories(privateRoot, privateRoot).isEmpty());
+        // optional repositories are only available with an authentication
+        assertEquals(Set.of("sles-pool", "sles-updates", "sles-source", "module-pool", "submodule-pool"),
+                Set.copyOf(labels(index.getAvailableRepositories(sles, sles))));
+    }
+
+    private static List<String> labels(List<SUSEProductSCCRepository> repos) {
+        return repos.stream().map(SUSEProductSCCRepository::getChannelLabel).collect(Collectors.toList());
+    }
+
+    private static SUSEProduct product(long id, String name, ChannelFamily family) {
+        SUSEProduct product = new SUSEProduct();
+        product.setId(id);
+        product.setProductId(id);
+        product.setName(name);
+        product.setVersion("15");
+        product.setFriendlyName(name);
+        product.setChannelFamily(family);
+        return product;
+    }
+
+    private void productRepo(long id, SUSEProduct root, SUSEProduct product, String label, String parentLabel,
+            boolean mandatory, boolean withAuth) {
+        SCCRepository repository = new SCCRepository();
+        repository.setId(id);
+        repository.setName(label);
+        if (withAuth) {
+            repoIdsWithAuth.add(id);
+        }
+        SUSEProductSCCRepository productRepo = new SUSEProductSCCRepository();
+        productRepo.setId(id);
+        productRepo.setRootProduct(root);
+        productRepo.setProduct(product);
+        productRepo.setRepository(repository);
+        productRepo.setChannelLabel(label);
+        productRepo.setParentChannelLabel(parentLabel);
+        productRepo.setChannelName(label);
+        productRepo.setMandatory(mandatory);
+        productRepos.add(productRepo);
+    }
+}
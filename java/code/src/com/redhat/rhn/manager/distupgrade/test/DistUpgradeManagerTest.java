@@ -47,7 +47,7 @@ import com.redhat.rhn.domain.product.SUSEProductSet;
 import com.redhat.rhn.domain.product.SUSEProductUpgrade;
 import com.redhat.rhn.domain.product.test.SUSEProductTestUtils;
 import com.redhat.rhn.domain.rhnpackage.Package;
-import com.redhat.rhn.domain.rhnpackage.PackageName;
+import com.redhat.rhn.domain.rhnpackage.test.PackageNameTest;
 import com.redhat.rhn.domain.rhnpackage.test.PackageTest;
 import com.redhat.rhn.domain.scc.SCCRepository;
 import com.redhat.rhn.domain.server.InstalledProduct;
@@ -57,7 +57,6 @@ import com.redhat.rhn.frontend.dto.EssentialChannelDto;
 import com.redhat.rhn.manager.action.ActionManager;
 import com.redhat.rhn.manager.distupgrade.DistUpgradeException;
 import com.redhat.rhn.manager.distupgrade.DistUpgradeManager;
-import com.redhat.rhn.manager.rhnpackage.PackageManager;
 import com.redhat.rhn.manager.system.test.SystemManagerTest;
 import com.redhat.rhn.taskomatic.TaskomaticApi;
 import com.redhat.rhn.testing.BaseTestCaseWithUser;
@@ -513,17 +512,8 @@ public class DistUpgradeManagerTest extends BaseTestCaseWithUser {
 
         // Install the zypp-plugin-spacewalk package
         Package zyppPlugin = PackageTest.createTestPackage(user.getOrg());
-        PackageName name = PackageManager.lookupPackageName("zypp-plugin-spacewalk");
-        if (name == null) {
-            name = zyppPlugin.getPackageName();
-            name.setName("zypp-plugin-spacewalk");
-            TestUtils.saveAndFlush(name);
-        }
-        else {
-            // Handle the case that the package name exists in the DB
-            zyppPlugin.setPackageName(name);
-            TestUtils.saveAndFlush(zyppPlugin);
-        }
+        zyppPlugin.setPackageName(PackageNameTest.createTestPackageName("zypp-plugin-spacewalk"));
+        TestUtils.saveAndFlush(zyppPlugin);
         ErrataTestUtils.createTestInstalledPackage(zyppPlugin, server);
 
         // Store a dist upgrade action for this server
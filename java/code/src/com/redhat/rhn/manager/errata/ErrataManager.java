@@ -101,6 +101,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -1197,6 +1198,87 @@ public class ErrataManager extends BaseManager {
         return ret;
     }
 
+    /**
+     * Finds the packages contained in a list of errata that apply to a channel
+     * @param channelId the channel to look in
+     * @param errataIds the errata to look for
+     * @return the packages of each erratum, errata without packages in the channel are missing
+     */
+    public static Map<Long, List<PackageDto>> lookupPacksFromErrataForChannel(Long channelId,
+            List<Long> errataIds) {
+        SelectMode m = ModeFactory.getMode(ERRATA_QUERIES, "find_packages_for_errata_list_and_channel");
+        List<Map<String, Object>> rows = m.execute(Map.of("cid", channelId), errataIds);
+        Map<Long, List<PackageDto>> ret = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            PackageDto pkg = new PackageDto();
+            pkg.setId(((Number) row.get("id")).longValue());
+            pkg.setName((String) row.get("name"));
+            pkg.setArchLabel((String) row.get("arch_label"));
+            pkg.setVersion((String) row.get("version"));
+            pkg.setRelease((String) row.get("release"));
+            pkg.setEpoch((String) row.get("epoch"));
+            pkg.setChecksum((String) row.get("checksum"));
+            pkg.setChecksumType((String) row.get("checksum_type"));
+            pkg.setSourceRpm((String) row.get("source_rpm"));
+            pkg.setPath((String) row.get("path"));
+            ret.computeIfAbsent(((Number) row.get("errata_id")).longValue(), id -> new ArrayList<>()).add(pkg);
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the bugs associated with a list of errata
+     * @param errataIds the errata to look for
+     * @return the bugs of each erratum, errata without bugs are missing
+     */
+    public static Map<Long, List<Bug>> lookupBugsForErrata(List<Long> errataIds) {
+        SelectMode m = ModeFactory.getMode(ERRATA_QUERIES, "find_bugs_for_errata");
+        List<Map<String, Object>> rows = m.execute(errataIds);
+        Map<Long, List<Bug>> ret = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Bug bug = new Bug();
+            bug.setErrataId(((Number) row.get("errata_id")).longValue());
+            bug.setBugId(((Number) row.get("bug_id")).longValue());
+            bug.setHref((String) row.get("href"));
+            bug.setSummary((String) row.get("summary"));
+            ret.computeIfAbsent(bug.getErrataId(), id -> new ArrayList<>()).add(bug);
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the cves associated with a list of errata
+     * @param errataIds the errata to look for
+     * @return the cves of each erratum, errata without cves are missing
+     */
+    public static Map<Long, List<CVE>> lookupCvesForErrata(List<Long> errataIds) {
+        SelectMode m = ModeFactory.getMode(ERRATA_QUERIES, "find_cves_for_errata");
+        List<Map<String, Object>> rows = m.execute(errataIds);
+        Map<Long, List<CVE>> ret = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            CVE cve = new CVE();
+            cve.setName((String) row.get("name"));
+            ret.computeIfAbsent(((Number) row.get("errata_id")).longValue(), id -> new ArrayList<>()).add(cve);
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the keywords associated with a list of errata
+     * @param errataIds the errata to look for
+     * @return the keywords of each erratum, errata without keywords are missing
+     */
+    public static Map<Long, List<String>> lookupKeywordsForErrata(List<Long> errataIds) {
+        SelectMode m = ModeFactory.getMode(ERRATA_QUERIES, "find_keywords_for_errata");
+        List<Map<String, Object>> rows = m.execute(errataIds);
+        Map<Long, List<String>> ret = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            ret.computeIfAbsent(((Number) row.get("errata_id")).longValue(), id -> new ArrayList<>())
+                    .add((String) row.get("keyword"));
+        }
+        return ret;
+    }
+
     /**
      * Lists the packages contained in an errata associated to a channel
      * @param customChan the channel to look in
@@ -1400,26 +1482,27 @@ public class ErrataManager extends BaseManager {
             }
         }
 
+        Set<Long> toCreate = new LinkedHashSet<>();
         for (ErrataOverview erratum : toClone) {
             if (!eidToClone.containsKey(erratum.getId())) {
                 // no owned clones yet, lets make our own
-                // hibernate was too slow, had to rewrite in mode queries
-                Long cloneId = ErrataHelper.cloneErrataFaster(erratum.getId(), user
-                        .getOrg());
-                eids.add(cloneId);
+                toCreate.add(erratum.getId());
             }
             else {
                 // we have one already, reuse it
                 eids.add(eidToClone.get(erratum.getId()).getId());
             }
         }
+        // hibernate was too slow, had to rewrite in mode queries. All the missing clones are
+        // created at once, with one statement per table
+        if (!toCreate.isEmpty()) {
+            eids.addAll(ErrataHelper.cloneErrataFaster(toCreate, user.getOrg()).values());
+        }
 
         ChannelFactory.addErrataToChannel(eids, toCid);
 
         // for things like errata email and auto errata updates
-        for (Long eid : eids) {
-            ErrataManager.addErrataChannelNotifications(eid, toCid);
-        }
+        ErrataManager.addErrataChannelNotifications(eids, toCid);
         return eids;
     }
 
@@ -1530,6 +1613,27 @@ public class ErrataManager extends BaseManager {
         m.executeUpdate(params);
     }
 
+    /**
+     * Send errata notifications for many errata of a channel at once
+     * @param eids the errata IDs to send notifications about
+     * @param cid the channel ID with which to decide which systems
+     *       and users to send errata for
+     */
+    public static void addErrataChannelNotifications(Collection<Long> eids, Long cid) {
+        if (eids.isEmpty()) {
+            return;
+        }
+        List<Long> errataIds = new ArrayList<>(eids);
+        Map<String, Object> params = new HashMap<>();
+        params.put("cid", cid);
+        WriteMode m = ModeFactory.getWriteMode(ERRATA_QUERIES,
+                "clear_errata_channel_notifications");
+        m.executeUpdate(params, errataIds);
+        params.put("datetime", new java.sql.Date(new java.util.Date().getTime()));
+        m = ModeFactory.getWriteMode(ERRATA_QUERIES, "insert_errata_notifications");
+        m.executeUpdate(params, errataIds);
+    }
+
     /**
      * Delete all errata notifications for an errata in specified channel
      * @param errataId the errata ID to clear notifications for
@@ -2174,6 +2278,7 @@ public class ErrataManager extends BaseManager {
         ChannelFactory.lock(channel);
 
         HibernateFactory.doWithoutAutoFlushing(() -> {
+            Set<Long> toCreate = new LinkedHashSet<>();
             for (Long eid : list) {
                 Errata errata = ErrataFactory.lookupById(eid);
                 // we merge custom errata directly (non Redhat and cloned)
@@ -2183,9 +2288,7 @@ public class ErrataManager extends BaseManager {
                 else {
                     List<Errata> clones = ErrataFactory.lookupErrataByOriginal(user.getOrg(), errata);
                     if (clones.isEmpty()) {
-                        log.debug("Cloning errata");
-                        var clonedId = ErrataHelper.cloneErrataFaster(eid, user.getOrg());
-                        ErrataCacheManager.addErrataRefreshing(cids, clonedId);
+                        toCreate.add(eid);
                     }
                     else {
                         log.debug("Re-publishing clone");
@@ -2195,6 +2298,12 @@ public class ErrataManager extends BaseManager {
                     }
                 }
             }
+            if (!toCreate.isEmpty()) {
+                log.debug("Cloning {} errata", toCreate.size());
+                for (Long clonedId : ErrataHelper.cloneErrataFaster(toCreate, user.getOrg()).values()) {
+                    ErrataCacheManager.addErrataRefreshing(cids, clonedId);
+                }
+            }
         });
 
         // Trigger channel repodata re-generation
@@ -2222,4 +2331,20 @@ public class ErrataManager extends BaseManager {
         WriteMode m = ModeFactory.getWriteMode(ERRATA_QUERIES, "delete_invalid_erratas_from_set");
         m.executeUpdate(params);
     }
+
+    /**
+     * Remove from the RhnSets of many servers the erratas that are not needed anymore.
+     *
+     * @param serverIds the server ids
+     * @see #updateErrataSet(Long)
+     */
+    public static void updateErrataSets(List<Long> serverIds) {
+        List<Map<String, Object>> params = serverIds.stream()
+                .map(sid -> Map.<String, Object>of(
+                        "label", RhnSetDecl.generateCustomSetName(RhnSetDecl.ERRATA, sid),
+                        "server_id", sid))
+                .collect(toList());
+        WriteMode m = ModeFactory.getWriteMode(ERRATA_QUERIES, "delete_invalid_erratas_from_set");
+        m.executeUpdates(params);
+    }
 }
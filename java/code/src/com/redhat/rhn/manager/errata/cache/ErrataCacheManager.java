@@ -154,6 +154,25 @@ public class ErrataCacheManager extends HibernateFactory {
         return m.executeUpdate(params);
     }
 
+    /**
+     * Regenerate the entries in rhnServerNeededCache for many servers at once.
+     * Every chunk of servers is computed with a single set-based statement, instead of one
+     * stored procedure call per server.
+     * @param sids the server ids
+     */
+    public static void updateNeededCacheForServers(List<Long> sids) {
+        if (sids.isEmpty()) {
+            return;
+        }
+        int deleted = ModeFactory.getWriteMode("ErrataCache_queries", "delete_needed_cache_for_servers")
+                .executeUpdate(new HashMap<>(), sids);
+        int inserted = ModeFactory.getWriteMode("ErrataCache_queries", "insert_needed_cache_for_servers")
+                .executeUpdate(new HashMap<>(), sids);
+        if (log.isDebugEnabled()) {
+            log.debug("Needed cache for {} servers: {} deleted, {} inserted", sids.size(), deleted, inserted);
+        }
+    }
+
     /**
      * Inserts record into NeededErrata cache table
      * @param sid Server Id
@@ -35,6 +35,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * UpdateErrataCacheCommand
@@ -81,10 +82,12 @@ public class UpdateErrataCacheCommand extends BaseTransactionCommand {
             log.debug("allservers returned [{}]", dr.size());
         }
 
-        for (Row item : dr) {
-            Long sid = (Long) item.get("id");
-            log.debug("Working on server [{}]", sid);
-            processServer(sid);
+        List<Long> sids = dr.stream().map(item -> (Long) item.get("id")).collect(Collectors.toList());
+        int batchSize = ConfigDefaults.get().getErrataCacheServerBatchSize();
+        for (int i = 0; i < sids.size(); i += batchSize) {
+            List<Long> batch = sids.subList(i, Math.min(i + batchSize, sids.size()));
+            log.debug("Working on servers [{}]", batch);
+            processServers(batch);
             handleTransaction();
         }
 
@@ -117,6 +120,18 @@ public class UpdateErrataCacheCommand extends BaseTransactionCommand {
         log.info("Finished errata cache for server [{}]", serverId);
     }
 
+    /**
+     * Updates the errata cache for the given servers at once. Any exception is passed on to the caller,
+     * which can fall back to {@link #updateErrataCacheForServer(Long, boolean)} for each server.
+     * @param serverIds Server ids which need to get updated.
+     */
+    public void updateErrataCacheForServers(List<Long> serverIds) {
+        log.info("Updating errata cache for {} servers", serverIds.size());
+        processServers(serverIds);
+        serverIds.forEach(SystemManager::updateSystemOverview);
+        log.info("Finished errata cache for {} servers", serverIds.size());
+    }
+
     /**
      * Updates the errata cache for the given image.
      * @param imageId Image id which needs to get updated.
@@ -196,6 +211,11 @@ public class UpdateErrataCacheCommand extends BaseTransactionCommand {
         ErrataManager.updateErrataSet(serverId);
     }
 
+    private void processServers(List<Long> serverIds) {
+        ErrataCacheManager.updateNeededCacheForServers(serverIds);
+        ErrataManager.updateErrataSets(serverIds);
+    }
+
     private void processImage(Long imageId) {
         CallableMode m = ModeFactory.getCallableMode(
                 "ErrataCache_queries", "update_image_needed_cache");
@@ -23,6 +23,7 @@ import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
 import com.redhat.rhn.common.db.datasource.WriteMode;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
+import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.domain.errata.Errata;
 import com.redhat.rhn.domain.errata.test.ErrataFactoryTest;
 import com.redhat.rhn.domain.org.Org;
@@ -40,6 +41,9 @@ import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.domain.user.UserFactory;
 import com.redhat.rhn.frontend.dto.ErrataCacheDto;
 import com.redhat.rhn.manager.errata.cache.ErrataCacheManager;
+import com.redhat.rhn.manager.system.SystemManager;
+import com.redhat.rhn.testing.ChannelTestUtils;
+import com.redhat.rhn.testing.PackageTestUtils;
 import com.redhat.rhn.testing.RhnBaseTestCase;
 import com.redhat.rhn.testing.TestUtils;
 import com.redhat.rhn.testing.UserTestUtils;
@@ -49,7 +53,10 @@ import org.junit.jupiter.api.Test;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * ErrataFactoryTest
@@ -348,4 +355,44 @@ public class ErrataCacheManagerTest extends RhnBaseTestCase {
         assertFalse(dr.isEmpty());
         assertTrue(dr.size() >= 1);
     }
+
+    @Test
+    public void testUpdateNeededCacheForServers() throws Exception {
+        User user = UserTestUtils.findNewUser("testUser", "testOrg" + this.getClass().getSimpleName(), true);
+        List<Package> pkgs = PackageTestUtils.createSubsequentPackages(user.getOrg());
+
+        // the newest package is only available in the first channel, through an erratum
+        Channel channelA = ChannelTestUtils.createBaseChannel(user);
+        channelA.getPackages().addAll(pkgs);
+        Errata errata = ErrataFactoryTest.createTestErrata(user.getOrg().getId());
+        errata.addPackage(pkgs.get(2));
+        channelA.addErrata(errata);
+        Channel channelB = ChannelTestUtils.createBaseChannel(user);
+        channelB.getPackages().add(pkgs.get(1));
+
+        List<Server> servers = List.of(ServerFactoryTest.createTestServer(user),
+                ServerFactoryTest.createTestServer(user), ServerFactoryTest.createTestServer(user));
+        SystemManager.subscribeServerToChannel(user, servers.get(0), channelA);
+        SystemManager.subscribeServerToChannel(user, servers.get(1), channelA);
+        SystemManager.subscribeServerToChannel(user, servers.get(2), channelB);
+        servers.forEach(server -> PackageTestUtils.installPackageOnServer(pkgs.get(0), server));
+        HibernateFactory.getSession().flush();
+
+        List<Long> sids = servers.stream().map(Server::getId).collect(Collectors.toList());
+        sids.forEach(ServerFactory::updateServerNeededCache);
+        Set<ErrataCacheDto> expected = neededCache(sids);
+        assertEquals(5, expected.size());
+
+        sids.forEach(ErrataCacheManager::deleteNeededCache);
+        assertTrue(neededCache(sids).isEmpty());
+
+        ErrataCacheManager.updateNeededCacheForServers(sids);
+        assertEquals(expected, neededCache(sids));
+    }
+
+    private Set<ErrataCacheDto> neededCache(List<Long> sids) {
+        return sids.stream()
+                .flatMap(sid -> ErrataCacheManager.packagesNeedingUpdates(sid).stream())
+                .collect(Collectors.toSet());
+    }
 }
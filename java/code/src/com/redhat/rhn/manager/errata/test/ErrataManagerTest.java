@@ -49,8 +49,8 @@ import com.redhat.rhn.domain.org.Org;
 import com.redhat.rhn.domain.org.OrgFactory;
 import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.PackageEvr;
-import com.redhat.rhn.domain.rhnpackage.PackageName;
 import com.redhat.rhn.domain.rhnpackage.test.PackageEvrFactoryTest;
+import com.redhat.rhn.domain.rhnpackage.test.PackageNameTest;
 import com.redhat.rhn.domain.rhnpackage.test.PackageTest;
 import com.redhat.rhn.domain.rhnset.RhnSet;
 import com.redhat.rhn.domain.server.Server;
@@ -58,13 +58,14 @@ import com.redhat.rhn.domain.server.test.MinionServerFactoryTest;
 import com.redhat.rhn.domain.session.WebSession;
 import com.redhat.rhn.domain.session.WebSessionFactory;
 import com.redhat.rhn.domain.user.User;
+import com.redhat.rhn.frontend.dto.CVE;
 import com.redhat.rhn.frontend.dto.ErrataOverview;
+import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.frontend.listview.PageControl;
 import com.redhat.rhn.frontend.xmlrpc.system.test.SystemHandlerTest;
 import com.redhat.rhn.manager.errata.ErrataManager;
 import com.redhat.rhn.manager.errata.cache.ErrataCacheManager;
 import com.redhat.rhn.manager.errata.cache.test.ErrataCacheManagerTest;
-import com.redhat.rhn.manager.rhnpackage.PackageManager;
 import com.redhat.rhn.manager.rhnset.RhnSetDecl;
 import com.redhat.rhn.manager.rhnset.RhnSetManager;
 import com.redhat.rhn.taskomatic.TaskomaticApi;
@@ -96,6 +97,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Tests {@link ErrataManager}.
@@ -773,17 +775,8 @@ public class ErrataManagerTest extends JMockBaseTestCaseWithUser {
 
         // add zypper as installed package
         Package zypperPkg = PackageTest.createTestPackage(user.getOrg());
-        PackageName name = PackageManager.lookupPackageName("zypper");
-        if (name == null) {
-            name = zypperPkg.getPackageName();
-            name.setName("zypper");
-            TestUtils.saveAndFlush(name);
-        }
-        else {
-            // Handle the case that the package name exists in the DB
-            zypperPkg.setPackageName(name);
-            TestUtils.saveAndFlush(zypperPkg);
-        }
+        zypperPkg.setPackageName(PackageNameTest.createTestPackageName("zypper"));
+        TestUtils.saveAndFlush(zypperPkg);
         createTestInstalledPackage(zypperPkg, server1);
         createTestInstalledPackage(zypperPkg, server2);
 
@@ -1311,17 +1304,8 @@ public class ErrataManagerTest extends JMockBaseTestCaseWithUser {
 
         // add zypper as installed package
         Package zypperPkg = PackageTest.createTestPackage(user.getOrg());
-        PackageName name = PackageManager.lookupPackageName("zypper");
-        if (name == null) {
-            name = zypperPkg.getPackageName();
-            name.setName("zypper");
-            TestUtils.saveAndFlush(name);
-        }
-        else {
-            // Handle the case that the package name exists in the DB
-            zypperPkg.setPackageName(name);
-            TestUtils.saveAndFlush(zypperPkg);
-        }
+        zypperPkg.setPackageName(PackageNameTest.createTestPackageName("zypper"));
+        TestUtils.saveAndFlush(zypperPkg);
         createTestInstalledPackage(zypperPkg, server1);
         createTestInstalledPackage(zypperPkg, server2);
 
@@ -1665,6 +1649,80 @@ public class ErrataManagerTest extends JMockBaseTestCaseWithUser {
         assertFalse(chan.getPackages().contains(errataPackage));
     }
 
+    /**
+     * Tests that the lookups of a list of errata return the same rows as the lookups of single errata.
+     *
+     * @throws Exception if anything goes wrong
+     */
+    @Test
+    public void testErrataListLookupsMatchErratumLookups() throws Exception {
+        Channel channel = ChannelTestUtils.createBaseChannel(user);
+        List<Long> errataIds = new ArrayList<>();
+        for (long i = 0; i < 3; i++) {
+            Errata errata = ErrataTestUtils.createTestErrata(user,
+                    Set.of(ErrataTestUtils.createTestCve("CVE-" + TestUtils.randomString())));
+            errata.addBug(createTestBug(42L + i, "test bug " + i));
+            if (i == 0) {
+                errata.addKeyword("reboot_suggested");
+            }
+            errata.getPackages().forEach(channel::addPackage);
+            // packages which are not part of the channel are never returned
+            errata.addPackage(PackageTest.createTestPackage(user.getOrg()));
+            ErrataFactory.save(errata);
+            errataIds.add(errata.getId());
+        }
+        // an erratum without any detail is missing from the results
+        Errata empty = new Errata();
+        empty.setAdvisory("EMPTY-" + TestUtils.randomString());
+        empty.setAdvisoryName(empty.getAdvisory());
+        empty.setAdvisoryRel(1L);
+        empty.setAdvisoryType(ErrataFactory.ERRATA_TYPE_BUG);
+        empty.setProduct("Red Hat Linux");
+        empty.setSynopsis("Errata without details");
+        empty.setAdvisoryStatus(AdvisoryStatus.FINAL);
+        empty.setSolution("Nothing to solve");
+        empty.setIssueDate(new Date());
+        empty.setUpdateDate(empty.getIssueDate());
+        ErrataFactory.save(empty);
+        errataIds.add(empty.getId());
+        HibernateFactory.getSession().flush();
+
+        Map<Long, List<PackageDto>> packages = ErrataManager.lookupPacksFromErrataForChannel(channel.getId(),
+                errataIds);
+        Map<Long, List<com.redhat.rhn.frontend.dto.Bug>> bugs = ErrataManager.lookupBugsForErrata(errataIds);
+        Map<Long, List<CVE>> cves = ErrataManager.lookupCvesForErrata(errataIds);
+        Map<Long, List<String>> keywords = ErrataManager.lookupKeywordsForErrata(errataIds);
+
+        for (Long errataId : errataIds) {
+            assertEquals(packageRows(ErrataManager.lookupPacksFromErrataForChannel(channel.getId(), errataId)),
+                    packageRows(packages.getOrDefault(errataId, List.of())));
+            assertEquals(bugRows(ErrataManager.lookupBugsForErratum(errataId)),
+                    bugRows(bugs.getOrDefault(errataId, List.of())));
+            assertEquals(sorted(ErrataManager.lookupCvesForErratum(errataId).stream().map(CVE::getName)),
+                    sorted(cves.getOrDefault(errataId, List.of()).stream().map(CVE::getName)));
+            assertEquals(sorted(ErrataManager.lookupKeywordsForErratum(errataId).stream()),
+                    sorted(keywords.getOrDefault(errataId, List.of()).stream()));
+        }
+        assertEquals(1, packages.get(errataIds.get(0)).size());
+        assertEquals(List.of("keyword", "reboot_suggested"), sorted(keywords.get(errataIds.get(0)).stream()));
+        assertFalse(packages.containsKey(empty.getId()));
+        assertFalse(bugs.containsKey(empty.getId()));
+    }
+
+    private static List<String> packageRows(List<PackageDto> packages) {
+        return sorted(packages.stream().map(p -> Arrays.asList(p.getId(), p.getName(), p.getVersion(),
+                p.getRelease(), p.getEpoch(), p.getArchLabel(), p.getChecksumType(), p.getChecksum(),
+                p.getSourceRpm(), p.getPath()).toString()));
+    }
+
+    private static List<String> bugRows(List<com.redhat.rhn.frontend.dto.Bug> bugs) {
+        return sorted(bugs.stream().map(b -> Arrays.asList(b.getBugId(), b.getHref(), b.getSummary()).toString()));
+    }
+
+    private static List<String> sorted(Stream<String> values) {
+        return values.sorted().collect(Collectors.toList());
+    }
+
     /**
      * Test that the advisory status gets populated when listing all errata
      * @throws Exception
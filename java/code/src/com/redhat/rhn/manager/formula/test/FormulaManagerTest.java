@@ -362,6 +362,39 @@ public class FormulaManagerTest extends JMockBaseTestCaseWithUser {
         assertEquals(apacheExporter.getPort(), Integer.valueOf(9117));
     }
 
+    /**
+     * Test that the formula metadata is cached, but read again once changed
+     * @throws Exception - if anything goes wrong
+     */
+    @Test
+    public void testFormulaMetadataReloadedOnChange() throws Exception {
+        Path first = createFormula("cachetest-a", "description: first\nafter:\n  - cachetest-b\n");
+        createFormula("cachetest-b", "description: second\n");
+
+        List<String> names = FormulaFactory.listFormulaNames();
+        assertTrue(names.indexOf("cachetest-b") < names.indexOf("cachetest-a"));
+
+        Map<String, Object> metadata = FormulaFactory.getMetadata("cachetest-a");
+        assertEquals("first", metadata.get("description"));
+        metadata.put("description", "changed by the caller");
+        assertEquals("first", FormulaFactory.getMetadata("cachetest-a").get("description"));
+
+        Path metadataFile = first.resolve("metadata.yml");
+        Files.writeString(metadataFile, "description: first formula\n");
+        metadataFile.toFile().setLastModified(System.currentTimeMillis() + 2000);
+        assertEquals("first formula", FormulaFactory.getMetadata("cachetest-a").get("description"));
+
+        names = FormulaFactory.listFormulaNames();
+        assertTrue(names.indexOf("cachetest-a") < names.indexOf("cachetest-b"));
+    }
+
+    private Path createFormula(String name, String metadata) throws IOException {
+        Path formulaDir = Files.createDirectories(metadataDir.resolve(name));
+        Files.createFile(formulaDir.resolve("form.yml"));
+        Files.writeString(formulaDir.resolve("metadata.yml"), metadata);
+        return formulaDir;
+    }
+
     // Copy the pillar.example file to a temp dir used as metadata directory (in FormulaFactory)
     private void createMetadataFiles() {
         try {
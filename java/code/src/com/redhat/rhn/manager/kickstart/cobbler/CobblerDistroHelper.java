@@ -110,6 +110,7 @@ public class CobblerDistroHelper {
      public void updateDistroFromTree(Distro distro, KickstartableTree tree) {
         Map<String, Object> ksmeta = createKsMetadataFromTree(tree);
 
+        distro.bufferChanges();
         distro.setName(CobblerCommand.makeCobblerName(tree));
         distro.setInitrd(tree.getInitrdPath());
         distro.setKernel(tree.getKernelPath());
@@ -131,6 +132,7 @@ public class CobblerDistroHelper {
     public void updateXenDistroFromTree(Distro distro, KickstartableTree tree) {
         Map<String, Object> ksmeta = createKsMetadataFromTree(tree);
 
+        distro.bufferChanges();
         distro.setKernel(tree.getKernelXenPath());
         distro.setInitrd(tree.getInitrdXenPath());
         distro.setBreed(tree.getInstallType().getCobblerBreed());
@@ -92,6 +92,7 @@ public class CobblerProfileCreateCommand extends CobblerProfileCommand {
 
         Profile prof = Profile.create(con, CobblerCommand.makeCobblerName(this.ksData),
                 distro);
+        prof.bufferChanges();
 
         Map<String, Object> meta = new HashMap<>();
         meta.put("org", ksData.getOrg().getId().toString());
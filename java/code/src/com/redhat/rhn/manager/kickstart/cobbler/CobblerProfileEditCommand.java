@@ -86,6 +86,7 @@ public class CobblerProfileEditCommand extends CobblerProfileCommand {
         }
 
         Profile prof = Profile.lookupById(getCobblerConnection(), ksData.getCobblerId());
+        prof.bufferChanges();
         validateUrl(prof);
         if (prof != null) {
             String cobName = makeCobblerName(ksData);
@@ -313,8 +313,7 @@ public class PackageManagerTest extends BaseTestCaseWithUser {
 
         PackageName pn = PackageFactory.lookupOrCreatePackageByName(packageName);
         if (pn == null) {
-            pn = PackageNameTest.createTestPackageName();
-            pn.setName(packageName);
+            pn = PackageNameTest.createTestPackageName(packageName);
         }
 
         Long existingId = ChannelManager.getLatestPackageEqual(c.getId(), packageName);
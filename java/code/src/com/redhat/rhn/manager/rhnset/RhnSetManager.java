@@ -17,11 +17,14 @@ package com.redhat.rhn.manager.rhnset;
 import com.redhat.rhn.domain.rhnset.RhnSet;
 import com.redhat.rhn.domain.rhnset.RhnSetFactory;
 import com.redhat.rhn.domain.rhnset.SetCleanup;
+import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.frontend.action.SetLabels;
 import com.redhat.rhn.manager.BaseManager;
 
 import com.suse.manager.webui.websocket.Notification;
 
+import java.util.List;
+
 /**
  * RhnSetManager
  * offers management methods for RhnSet objects giving you the ability
@@ -89,7 +92,23 @@ public class RhnSetManager extends BaseManager {
         }
         RhnSetFactory.save(set);
         if (set.getLabel().equals(SetLabels.SYSTEM_LIST)) {
-            Notification.spreadUpdate(Notification.SSM_COUNT);
+            Notification.spreadUpdate(Notification.SSM_COUNT, List.of(set.getUserId()));
         }
     }
+
+    /**
+     * Replaces the systems in the SSM with the systems of the given groups, with a single statement
+     * instead of loading them and storing the set.
+     * Only the systems the user can manage in the SSM are added.
+     * @param user the user
+     * @param groupIds the ids of the server groups
+     * @return the number of systems in the SSM
+     */
+    public static int storeGroupSystemsInSsm(User user, List<Long> groupIds) {
+        deleteByLabel(user.getId(), SetLabels.SYSTEM_LIST);
+        int added = RhnSetFactory.addFromQuery(user.getId(), SetLabels.SYSTEM_LIST, "add_group_systems_to_set",
+                groupIds);
+        Notification.spreadUpdate(Notification.SSM_COUNT, List.of(user.getId()));
+        return added;
+    }
 }
@@ -14,24 +14,30 @@
  */
 package com.redhat.rhn.manager.rhnset.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.domain.rhnset.RhnSet;
 import com.redhat.rhn.domain.role.RoleFactory;
+import com.redhat.rhn.domain.server.ManagedServerGroup;
 import com.redhat.rhn.domain.server.Server;
+import com.redhat.rhn.domain.server.ServerFactory;
 import com.redhat.rhn.domain.server.test.ServerFactoryTest;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.domain.user.UserFactory;
 import com.redhat.rhn.manager.rhnset.RhnSetDecl;
 import com.redhat.rhn.manager.rhnset.RhnSetManager;
 import com.redhat.rhn.testing.RhnBaseTestCase;
+import com.redhat.rhn.testing.ServerGroupTestUtils;
 import com.redhat.rhn.testing.UserTestUtils;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 /**
  * RhnSetDeclTest - Simple set of Unit tests that exercise
  * the SQL syntax of the queries used by RhnSetDeclTest.  Not
@@ -65,6 +71,35 @@ public class RhnSetDeclTest extends RhnBaseTestCase {
         testBadAndGoodIds(RhnSetDecl.SYSTEMS_AFFECTED, s.getId());
     }
 
+    @Test
+    public void testStoreGroupSystemsInSsm() throws Exception {
+        user.addPermanentRole(RoleFactory.ORG_ADMIN);
+        UserFactory.save(user);
+        Server inGroup = ServerFactoryTest.createTestServer(user, true);
+        Server inBoth = ServerFactoryTest.createTestServer(user, true);
+        Server notInGroup = ServerFactoryTest.createTestServer(user, true);
+        ManagedServerGroup group = ServerGroupTestUtils.createManaged(user);
+        ManagedServerGroup other = ServerGroupTestUtils.createManaged(user);
+        ServerFactory.addServerToGroup(inGroup, group);
+        ServerFactory.addServerToGroup(inBoth, group);
+        ServerFactory.addServerToGroup(inBoth, other);
+
+        RhnSet ssm = RhnSetDecl.SYSTEMS.get(user);
+        ssm.addElement(notInGroup.getId());
+        RhnSetManager.store(ssm);
+
+        // the previous systems are replaced and a system in both groups is added once
+        assertEquals(2, RhnSetManager.storeGroupSystemsInSsm(user, List.of(group.getId(), other.getId())));
+        ssm = RhnSetDecl.SYSTEMS.get(user);
+        assertEquals(2, ssm.size());
+        assertTrue(ssm.contains(inGroup.getId()));
+        assertTrue(ssm.contains(inBoth.getId()));
+        assertFalse(ssm.contains(notInGroup.getId()));
+
+        assertEquals(1, RhnSetManager.storeGroupSystemsInSsm(user, List.of(other.getId())));
+        assertEquals(1, RhnSetDecl.SYSTEMS.get(user).size());
+    }
+
     private void testBadAndGoodIds(RhnSetDecl declIn, Long goodId) {
         RhnSet set = declIn.get(user);
         Long badId = (long) -1;
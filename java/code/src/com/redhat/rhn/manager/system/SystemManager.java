@@ -161,6 +161,7 @@ import java.security.SecureRandom;
 import java.sql.Date;
 import java.sql.Types;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -179,6 +180,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -199,6 +201,8 @@ public class SystemManager extends BaseManager {
     public static final String CAP_SCRIPT_RUN = "script.run";
     public static final String CAP_SCAP = "scap.xccdf_eval";
     private static final String COUNT = "count";
+    // paging or sorting the systems list again within this delay reuses the count
+    private static final Duration SYSTEM_LIST_COUNT_TTL = Duration.ofSeconds(10);
 
     private final SystemEntitlementManager systemEntitlementManager;
     private SaltApi saltApi;
@@ -341,13 +345,27 @@ public class SystemManager extends BaseManager {
      * @return true if the system requires a reboot i.e: because kernel updates.
      */
     public static boolean requiresReboot(User user, Long sid) {
-        PageControl pc = new PageControl();
-        pc.setPageSize(0);
-        pc.setFilter(true);
-        pc.setFilterColumn("id");
-        pc.setFilterData("=" + sid.toString());
-        DataResult<SystemOverview> systems = systemListNew(user, PagedSqlQueryBuilder::parseFilterAsNumber, pc);
-        return !systems.stream().filter(sys -> sys.getRequiresReboot()).findFirst().isEmpty();
+        SelectMode m = ModeFactory.getMode("System_queries", "system_overview_requires_reboot");
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", user.getId());
+        params.put("sid", sid);
+        DataResult<Row> dr = makeDataResult(params, null, m);
+        return ((Long) dr.get(0).get(COUNT)).intValue() > 0;
+    }
+
+    /**
+     * Returns the number of systems requiring a reboot, visible to user.
+     *
+     * @param user
+     *            Currently logged in user.
+     * @return the number of systems requiring a reboot
+     */
+    public static int countRequiringReboot(User user) {
+        SelectMode m = ModeFactory.getMode("System_queries", "count_system_overview_requiring_reboot");
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", user.getId());
+        DataResult<Row> dr = makeDataResult(params, null, m);
+        return ((Long) dr.get(0).get(COUNT)).intValue();
     }
 
     /**
@@ -913,11 +931,26 @@ public class SystemManager extends BaseManager {
      */
     public static DataResult<SystemOverview> systemListNew(User user,
                       Function<Optional<PageControl>, PagedSqlQueryBuilder.FilterWithValue> parser, PageControl pc) {
+        return systemListNewQuery()
+                .cacheCount(SYSTEM_LIST_COUNT_TTL)
+                .run(Map.of("user_id", user.getId()), pc, parser, SystemOverview.class);
+    }
+
+    /**
+     * Streams all the systems visible to user based on the overview table, fetching them from the database
+     * while the stream is consumed. The stream must be closed.
+     * @param user Currently logged in user.
+     * @return stream of SystemOverviews.
+     */
+    public static Stream<SystemOverview> systemListNewStream(User user) {
+        return systemListNewQuery().stream(Map.of("user_id", user.getId()), null, null, SystemOverview.class);
+    }
+
+    private static PagedSqlQueryBuilder systemListNewQuery() {
         return new PagedSqlQueryBuilder()
                 .select("O.*, (O.enhancement_errata + O.security_errata + O.bug_errata) as totalErrataCount")
                 .from("suseSystemOverview O, rhnUserServerPerms USP")
-                .where("O.id = USP.server_id AND USP.user_id = :user_id")
-                .run(Map.of("user_id", user.getId()), pc, parser, SystemOverview.class);
+                .where("O.id = USP.server_id AND USP.user_id = :user_id");
     }
 
     /**
@@ -29,9 +29,14 @@ import com.suse.manager.webui.websocket.VirtNotifications;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -147,37 +152,52 @@ public class VirtualInstanceManager extends BaseManager {
     public static void updateGuestsVirtualInstances(Server server, VirtualInstanceType type,
             Map<String, String> vms, Map<String, Map<String, String>> optionalVmData) {
         VirtualInstanceFactory vinst = VirtualInstanceFactory.getInstance();
-        List<String> uuidsToRemove = server.getGuests().stream().map(VirtualInstance::getUuid)
-                .collect(Collectors.toList());
-        vms.entrySet().stream().forEach(
-                vmEntry -> {
-                    String name = vmEntry.getKey();
-                    String guid = vmEntry.getValue().replaceAll("-", "");
-
-                    guid = fixUuidIfSwappedUuidExists(guid);
-                    uuidsToRemove.remove(guid);
-                    List<VirtualInstance> virtualInstances =
-                            vinst.lookupVirtualInstanceByUuid(guid);
-
-                    Map<String, String> vmData = optionalVmData.get(name);
-                    VirtualInstanceState st = (vmData != null && vmData.get("vmState") != null) ?
-                            vinst.getState(vmData.get("vmState"))
-                                    .orElse(vinst.getUnknownState()) : vinst.getUnknownState();
-
-                    if (virtualInstances.isEmpty()) {
-                        addGuestVirtualInstance(guid, name, type, st, server, null);
-                    }
-                    else {
-                        virtualInstances.stream().forEach(virtualInstance ->
-                            updateGuestVirtualInstance(virtualInstance, name, st, server,
-                                    virtualInstance.getGuestSystem()));
-                    }
-                });
+        Set<String> uuidsToRemove = server.getGuests().stream().map(VirtualInstance::getUuid)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        // look up the instances of all the guests at once instead of once per guest
+        Set<String> uuids = new HashSet<>(uuidsToRemove);
+        vms.values().forEach(value -> {
+            String guid = value.replace("-", "");
+            uuids.add(guid);
+            swapUuid(guid).ifPresent(uuids::add);
+        });
+        Map<String, List<VirtualInstance>> instancesByUuid = vinst.lookupVirtualInstancesByUuids(uuids);
+
+        Map<String, String> guids = new LinkedHashMap<>();
+        vms.forEach((name, value) -> guids.put(name, fixUuidIfSwappedUuidExists(value.replace("-", ""),
+                instancesByUuid)));
+        Map<String, Server> systemsByMachineId = ServerFactory.findByMachineIds(guids.values().stream()
+                .filter(guid -> !instancesByUuid.containsKey(guid))
+                .collect(Collectors.toSet()));
+
+        guids.forEach((name, guid) -> {
+            uuidsToRemove.remove(guid);
+            List<VirtualInstance> virtualInstances = instancesByUuid.getOrDefault(guid, List.of());
+
+            Map<String, String> vmData = optionalVmData.get(name);
+            VirtualInstanceState st = (vmData != null && vmData.get("vmState") != null) ?
+                    vinst.getState(vmData.get("vmState"))
+                            .orElseGet(vinst::getUnknownState) : vinst.getUnknownState();
+
+            if (virtualInstances.isEmpty()) {
+                Server guest = Optional.ofNullable(systemsByMachineId.get(guid))
+                        .filter(system -> system.getVirtualInstance() == null)
+                        .orElse(null);
+                VirtualInstance virtualInstance = createGuestVirtualInstance(guid, name, type, st, server, guest,
+                        0, 0);
+                instancesByUuid.put(guid, new ArrayList<>(List.of(virtualInstance)));
+            }
+            else {
+                virtualInstances.forEach(virtualInstance ->
+                    updateGuestVirtualInstance(virtualInstance, name, st, server,
+                            virtualInstance.getGuestSystem()));
+            }
+        });
 
         for (String uuid : uuidsToRemove) {
-            List<VirtualInstance> virtualInstances =
-                    vinst.lookupVirtualInstanceByUuid(uuid);
-            virtualInstances.stream().forEach(VirtualInstanceManager::deleteGuestVirtualInstance);
+            instancesByUuid.getOrDefault(uuid, List.of())
+                    .forEach(VirtualInstanceManager::deleteGuestVirtualInstance);
         }
     }
 
@@ -235,45 +255,46 @@ public class VirtualInstanceManager extends BaseManager {
                 .getInstance().lookupVirtualInstanceByUuid(vmGuid);
 
         if (virtualInstances.isEmpty()) {
-            VirtualInstance virtualInstance = new VirtualInstance();
-            virtualInstance.setUuid(vmGuid);
-            virtualInstance.setConfirmed(1L);
-
             // Do we have a System with machineid matching the GUID that has no
             // virtual instance?
-            if (guest == null) {
-                ServerFactory.findByMachineId(vmGuid)
-                    .ifPresent(system -> {
-                        if (system.getVirtualInstance() == null) {
-                            virtualInstance.setGuestSystem(system);
-                        }
-                    });
-            }
-            else {
-                virtualInstance.setGuestSystem(guest);
+            Server guestSystem = guest;
+            if (guestSystem == null) {
+                guestSystem = ServerFactory.findByMachineId(vmGuid)
+                        .filter(system -> system.getVirtualInstance() == null)
+                        .orElse(null);
             }
-
-            virtualInstance.setState(state);
-            virtualInstance.setName(name);
-            virtualInstance.setType(type);
-            virtualInstance.setNumberOfCPUs(vCpus);
-            virtualInstance.setTotalMemory(memory);
-
-            if (host != null) {
-                // will also set the hostSystem for virtualInstance when present
-                host.addGuest(virtualInstance);
-            }
-
-            VirtualInstanceFactory.getInstance()
-                    .saveVirtualInstance(virtualInstance);
-
-            VirtNotifications.spreadRefresh("guest");
+            createGuestVirtualInstance(vmGuid, name, type, state, host, guestSystem, vCpus, memory);
         }
         else {
             log.warn("Preventing creation of a duplicated VirtualInstance for 'uuid': {}", vmGuid);
         }
     }
 
+    private static VirtualInstance createGuestVirtualInstance(String vmGuid, String name,
+            VirtualInstanceType type, VirtualInstanceState state,
+            Server host, Server guest, int vCpus, long memory) {
+        VirtualInstance virtualInstance = new VirtualInstance();
+        virtualInstance.setUuid(vmGuid);
+        virtualInstance.setConfirmed(1L);
+        virtualInstance.setGuestSystem(guest);
+        virtualInstance.setState(state);
+        virtualInstance.setName(name);
+        virtualInstance.setType(type);
+        virtualInstance.setNumberOfCPUs(vCpus);
+        virtualInstance.setTotalMemory(memory);
+
+        if (host != null) {
+            // will also set the hostSystem for virtualInstance when present
+            host.addGuest(virtualInstance);
+        }
+
+        VirtualInstanceFactory.getInstance()
+                .saveVirtualInstance(virtualInstance);
+
+        VirtNotifications.spreadRefresh("guest");
+        return virtualInstance;
+    }
+
     /**
      * Update mapping of given guest VirtualInstance to given (host) Server.
      * This method removes the old VirtualInstance and creates a new one.
@@ -363,16 +384,35 @@ public class VirtualInstanceManager extends BaseManager {
         // The "uuid" might not be following "xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx"
         // format in case of instances that are running on the Public Cloud.
         // In such cases, we don't check if a swapped version exists.
+        return swapUuid(uuid)
+                .filter(swapped -> !VirtualInstanceFactory.getInstance().lookupVirtualInstanceByUuid(swapped).isEmpty())
+                .map(swapped -> {
+                    log.warn("Detected swapped UUID for a virtual instance: Coercing [{}] -> [{}]", uuid, swapped);
+                    return swapped;
+                })
+                .orElse(uuid);
+    }
+
+    /**
+     * Same as {@link #fixUuidIfSwappedUuidExists(String)}, but looks the swapped uuid up in the
+     * already known virtual instances instead of the database.
+     */
+    private static String fixUuidIfSwappedUuidExists(String uuid, Map<String, List<VirtualInstance>> instancesByUuid) {
+        return swapUuid(uuid)
+                .filter(swapped -> !instancesByUuid.getOrDefault(swapped, List.of()).isEmpty())
+                .map(swapped -> {
+                    log.warn("Detected swapped UUID for a virtual instance: Coercing [{}] -> [{}]", uuid, swapped);
+                    return swapped;
+                })
+                .orElse(uuid);
+    }
+
+    private static Optional<String> swapUuid(String uuid) {
         try {
-            String virtUuidSwapped = SaltUtils.uuidToLittleEndian(uuid);
-            if (!VirtualInstanceFactory.getInstance()
-                    .lookupVirtualInstanceByUuid(virtUuidSwapped).isEmpty()) {
-                log.warn("Detected swapped UUID for a virtual instance: Coercing [{}] -> [{}]", uuid, virtUuidSwapped);
-                return virtUuidSwapped;
-            }
+            return Optional.of(SaltUtils.uuidToLittleEndian(uuid));
         }
         catch (IllegalArgumentException e) {
+            return Optional.empty();
         }
-        return uuid;
     }
 }
@@ -1480,6 +1480,35 @@ public class SystemManagerTest extends JMockBaseTestCaseWithUser {
         assertEquals(3, systemOverviews.getTotalSize());
     }
 
+    /**
+     * Tests the reboot checks reading the system overview.
+     */
+    @Test
+    public void testRequiresReboot() throws Exception {
+        UserTestUtils.addUserRole(user, RoleFactory.ORG_ADMIN);
+        Server rebootServer = ServerTestUtils.createTestSystem(user);
+        Server server = ServerTestUtils.createTestSystem(user);
+        HibernateFactory.getSession().flush();
+        // the overview is normally filled asynchronously by taskomatic
+        for (Server s : List.of(rebootServer, server)) {
+            HibernateFactory.getSession().createNativeQuery(
+                    "INSERT INTO suseSystemOverview (id, created, modified, requires_reboot) " +
+                    "VALUES (:sid, now(), now(), :reboot)")
+                    .setParameter("sid", s.getId())
+                    .setParameter("reboot", s.equals(rebootServer))
+                    .executeUpdate();
+        }
+
+        assertTrue(SystemManager.requiresReboot(user, rebootServer.getId()));
+        assertFalse(SystemManager.requiresReboot(user, server.getId()));
+        assertEquals(1, SystemManager.countRequiringReboot(user));
+        assertEquals(1, SystemManager.requiringRebootList(user).getTotalSize());
+
+        User foreignUser = UserTestUtils.findNewUser("testUser", "anotherTestOrg" + this.getClass().getSimpleName());
+        assertFalse(SystemManager.requiresReboot(foreignUser, rebootServer.getId()));
+        assertEquals(0, SystemManager.countRequiringReboot(foreignUser));
+    }
+
     /**
      * Tests that listing empty system profile doesn't contain traditional system.
      */
@@ -71,6 +71,25 @@ public class TaskManager {
         return m.execute(params);
     }
 
+    /**
+     *  Get the next page of the channel package list for a channel, ordered by package id.
+     *  Unlike an offset, the last seen package id keeps the cost of a page independent of its position.
+     * @param channel channel info
+     * @param lastPackageId id of the last package of the previous page, 0 for the first page
+     * @param pageSize how many elements to fetch
+     * @return the iterator
+     */
+    public static DataResult<PackageDto> getChannelPackageDtosAfter(Channel channel, long lastPackageId,
+                                                                   int pageSize) {
+        SelectMode m = ModeFactory.getMode(TaskConstants.MODE_NAME,
+                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CHANNEL_PACKAGES_KEYSET_BATCH);
+        Map<String, Object> params = new HashMap<>();
+        params.put("channel_id", channel.getId());
+        params.put("last_id", lastPackageId);
+        params.put("limit", pageSize);
+        return m.execute(params);
+    }
+
     /**
      * Get capabilities of a certain type for a package
      * @param packageId the package's id
@@ -23,6 +23,7 @@ import com.redhat.rhn.domain.channel.test.ChannelFactoryTest;
 import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.PackageExtraTagsKeys;
 import com.redhat.rhn.domain.rhnpackage.PackageFactory;
+import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.manager.rhnpackage.test.PackageManagerTest;
 import com.redhat.rhn.manager.task.TaskManager;
 import com.redhat.rhn.testing.ErrataTestUtils;
@@ -30,8 +31,11 @@ import com.redhat.rhn.testing.JMockBaseTestCaseWithUser;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class TaskManagerTest extends JMockBaseTestCaseWithUser {
 
@@ -77,4 +81,30 @@ public class TaskManagerTest extends JMockBaseTestCaseWithUser {
         assertEquals(tagsByPkg.get(pkg2.getId()).get("Tag3"), "value3");
     }
 
+    @Test
+    public void testGetChannelPackageDtosAfter() throws Exception {
+        Channel channel = ChannelFactoryTest.createBaseChannel(user);
+        for (int i = 0; i < 5; i++) {
+            PackageManagerTest.addPackageToChannel("pkg_" + i, channel);
+        }
+        HibernateFactory.getSession().flush();
+
+        List<Long> allIds = TaskManager.getChannelPackageDtos(channel).stream()
+                .map(PackageDto::getId)
+                .collect(Collectors.toList());
+
+        List<Long> pagedIds = new ArrayList<>();
+        long lastId = 0;
+        List<PackageDto> page;
+        do {
+            page = TaskManager.getChannelPackageDtosAfter(channel, lastId, 2);
+            page.forEach(pkg -> pagedIds.add(pkg.getId()));
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 2);
+
+        assertEquals(5, allIds.size());
+        assertEquals(allIds, pagedIds);
+    }
 }
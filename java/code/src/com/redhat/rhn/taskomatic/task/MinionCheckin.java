@@ -15,7 +15,9 @@
 package com.redhat.rhn.taskomatic.task;
 
 import com.redhat.rhn.GlobalInstanceHolder;
+import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.taskomatic.task.checkin.CheckinCandidatesResolver;
+import com.redhat.rhn.taskomatic.task.checkin.MinionCheckinScheduler;
 import com.redhat.rhn.taskomatic.task.checkin.SystemSummary;
 
 import com.suse.manager.webui.services.iface.SaltApi;
@@ -23,6 +25,7 @@ import com.suse.salt.netapi.datatypes.target.MinionList;
 
 import org.quartz.JobExecutionContext;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,11 +35,23 @@ import java.util.stream.Collectors;
  */
 public class MinionCheckin extends RhnJavaJob {
 
-    private SaltApi saltApi = GlobalInstanceHolder.SALT_API;
+    private static final String CONFIG_NAMESPACE = "minion_checkin";
+
+    // Maximum number of minions pinged at once
+    private static final int BATCH_SIZE = Config.get().getInt("taskomatic." + CONFIG_NAMESPACE + ".batch_size", 100);
+
+    // Time over which the candidates are pinged (seconds), shorter than the hourly schedule of the job
+    private static final int WINDOW = Config.get().getInt("taskomatic." + CONFIG_NAMESPACE + ".window", 2700);
+
+    // Shared by the job runs, so that minions still pending from the previous run are not pinged twice
+    private static final MinionCheckinScheduler DEFAULT_SCHEDULER = new MinionCheckinScheduler(
+            minionIds -> GlobalInstanceHolder.SALT_API.checkIn(new MinionList(minionIds)), BATCH_SIZE);
+
+    private MinionCheckinScheduler scheduler = DEFAULT_SCHEDULER;
 
     @Override
     public String getConfigNamespace() {
-        return "minion_checkin";
+        return CONFIG_NAMESPACE;
     }
 
     /**
@@ -51,7 +66,8 @@ public class MinionCheckin extends RhnJavaJob {
 
         List<String> minionIds = this.findCheckinCandidatesIds();
         if (!minionIds.isEmpty()) {
-            this.saltApi.checkIn(new MinionList(minionIds));
+            // spread the pings over the window instead of pinging all the minions at once
+            this.scheduler.schedule(minionIds, Duration.ofSeconds(WINDOW));
         }
     }
 
@@ -75,6 +91,7 @@ public class MinionCheckin extends RhnJavaJob {
      * @param saltApiIn the systemQuery instance
      */
     public void setSaltApi(SaltApi saltApiIn) {
-        this.saltApi = saltApiIn;
+        this.scheduler = new MinionCheckinScheduler(
+                minionIds -> saltApiIn.checkIn(new MinionList(minionIds)), BATCH_SIZE);
     }
 }
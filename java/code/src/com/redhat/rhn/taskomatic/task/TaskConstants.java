@@ -46,6 +46,9 @@ public class TaskConstants {
     public static final String TASK_QUERY_TOKEN_CLEANUP =
         "taskomatic_token_cleanup";
 
+    public static final String TASK_QUERY_TOKEN_REFRESH_CANDIDATES =
+        "taskomatic_token_refresh_candidates";
+
     public static final String TASK_QUERY_PACKAGE_CHANGELOG_CLEANUP =
         "taskomatic_package_changelog_cleanup";
 
@@ -135,6 +138,9 @@ public class TaskConstants {
     public static final String TASK_QUERY_REPOMD_GENERATOR_CHANNEL_PACKAGES_BATCH =
         "repomdgenerator_channel_package_batch";
 
+    public static final String TASK_QUERY_REPOMD_GENERATOR_CHANNEL_PACKAGES_KEYSET_BATCH =
+        "repomdgenerator_channel_package_keyset_batch";
+
     public static final String TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES =
         "repomdgenerator_capability_files";
 
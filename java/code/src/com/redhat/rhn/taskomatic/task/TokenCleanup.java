@@ -17,6 +17,7 @@ package com.redhat.rhn.taskomatic.task;
 import com.redhat.rhn.GlobalInstanceHolder;
 import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.common.conf.ConfigDefaults;
+import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.channel.AccessTokenFactory;
 import com.redhat.rhn.domain.server.MinionServer;
 import com.redhat.rhn.domain.server.MinionServerFactory;
@@ -24,12 +25,15 @@ import com.redhat.rhn.domain.server.MinionServerFactory;
 import com.suse.manager.webui.services.iface.SaltApi;
 import com.suse.manager.webui.services.pillar.MinionPillarManager;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.hibernate.Session;
 import org.quartz.JobExecutionContext;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 
 /**
@@ -37,6 +41,9 @@ import java.util.stream.Stream;
  */
 public class TokenCleanup extends RhnJavaJob {
 
+    /** Number of minions refreshed and written to the database together */
+    private static final int BATCH_SIZE = 500;
+
     private final SaltApi saltApi = GlobalInstanceHolder.SALT_API;
 
     @Override
@@ -52,25 +59,46 @@ public class TokenCleanup extends RhnJavaJob {
         if (log.isDebugEnabled()) {
             log.debug("start token cleanup");
         }
+        ExecutorService signer = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("token-signer-%d")
+                        .daemon(true)
+                        .build());
+        Session session = HibernateFactory.getSession();
         try {
-            Stream<MinionServer> changedMinions = MinionServerFactory.listMinions().stream().flatMap(minionServer -> {
+            List<Long> candidates = AccessTokenFactory.listMinionIdsWithTokensToRefresh();
+            if (log.isDebugEnabled()) {
+                log.debug("{} minions have access tokens to refresh", candidates.size());
+            }
+
+            List<String> changedMinionIds = new ArrayList<>();
+            session.setJdbcBatchSize(BATCH_SIZE);
+            // every batch is committed on its own, a failing batch is rolled back without affecting the others
+            HibernateFactory.commitTransaction();
+            for (int i = 0; i < candidates.size(); i += BATCH_SIZE) {
+                List<Long> batch = candidates.subList(i, Math.min(i + BATCH_SIZE, candidates.size()));
                 try {
-                    if (AccessTokenFactory.refreshTokens(minionServer, Collections.emptySet())) {
+                    HibernateFactory.getSession();
+                    List<MinionServer> minions = MinionServerFactory.findMinionsByServerIds(batch);
+                    List<String> changed = new ArrayList<>();
+                    for (MinionServer minion : AccessTokenFactory.refreshTokens(minions, signer)) {
                         // TODO schedule state.apply channels to refresh channels on minion ?
-                        MinionPillarManager.INSTANCE.generatePillar(minionServer, false, Collections.emptySet());
-                        return Stream.of(minionServer);
-                    }
-                    else {
-                        return Stream.empty();
+                        MinionPillarManager.INSTANCE.generatePillar(minion, false,
+                                MinionPillarManager.PillarSubset.GENERAL);
+                        changed.add(minion.getMinionId());
                     }
+                    HibernateFactory.commitTransaction();
+                    changedMinionIds.addAll(changed);
                 }
                 catch (Exception e) {
-                    log.error("error refreshing access tokens for minion {}", minionServer.getMinionId(), e);
-                    return Stream.empty();
+                    log.error("error refreshing access tokens for minions {}", batch, e);
+                    HibernateFactory.rollbackTransaction();
                 }
-            });
+                finally {
+                    session.clear();
+                }
+            }
 
-            List<String> changedMinionIds = changedMinions.map(MinionServer::getMinionId).collect(Collectors.toList());
             if (Config.get().getBoolean(ConfigDefaults.TOKEN_REFRESH_AUTO_DEPLOY)) {
                 saltApi.deployChannels(changedMinionIds);
             }
@@ -85,5 +113,9 @@ public class TokenCleanup extends RhnJavaJob {
         catch (Exception e) {
             log.error("error while token cleanup", e);
         }
+        finally {
+            session.setJdbcBatchSize(null);
+            signer.shutdownNow();
+        }
     }
 }
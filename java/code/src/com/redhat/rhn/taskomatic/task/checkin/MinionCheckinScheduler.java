@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.checkin;
+
+import com.suse.manager.metrics.MinionCheckinMetrics;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads the check-in of minions evenly over a time window instead of pinging all of them at once.
+ *
+ * Minions are queued and pinged in small batches at the rate of a token bucket: the bucket gains tokens at the
+ * rate needed to ping the whole backlog within the window and holds at most one batch worth of tokens, so the
+ * first batch is pinged right away and the following ones as tokens come in.
+ */
+public class MinionCheckinScheduler {
+
+    private static final Logger LOG = LogManager.getLogger(MinionCheckinScheduler.class);
+
+    // How often the tokens are refilled and the allowed minions pinged (milliseconds)
+    private static final long TICK_MILLIS = 1000;
+
+    private final Consumer<List<String>> pinger;
+    private final int batchSize;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier clock;
+
+    private final Set<String> pending = new LinkedHashSet<>();
+    // minions per millisecond
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * Constructor pinging the minions from its own thread.
+     *
+     * @param pingerIn the function pinging a batch of minions, expected to not wait for the minions to answer
+     * @param batchSizeIn the maximum number of minions pinged at once
+     */
+    public MinionCheckinScheduler(Consumer<List<String>> pingerIn, int batchSizeIn) {
+        this(pingerIn, batchSizeIn, Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                .namingPattern("minion-checkin-%d")
+                .daemon(true)
+                .build()), System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param pingerIn the function pinging a batch of minions, expected to not wait for the minions to answer
+     * @param batchSizeIn the maximum number of minions pinged at once
+     * @param executorIn the executor calling {@link #tick()} while minions are pending
+     * @param clockIn the current time in milliseconds
+     */
+    public MinionCheckinScheduler(Consumer<List<String>> pingerIn, int batchSizeIn,
+            ScheduledExecutorService executorIn, LongSupplier clockIn) {
+        this.pinger = pingerIn;
+        this.batchSize = Math.max(1, batchSizeIn);
+        this.executor = executorIn;
+        this.clock = clockIn;
+        this.tokens = this.batchSize;
+        this.lastRefill = clockIn.getAsLong();
+    }
+
+    /**
+     * Queues minions for a check-in within the given window. Minions still pending from a previous call are not
+     * queued twice, and the rate is adjusted so that the whole backlog is pinged within the window.
+     *
+     * @param minionIds the ids of the minions to ping
+     * @param window the time within which all the pending minions should be pinged
+     */
+    public synchronized void schedule(Collection<String> minionIds, Duration window) {
+        refill();
+        pending.addAll(minionIds);
+        rate = pending.size() / (double) Math.max(TICK_MILLIS, window.toMillis());
+        LOG.debug("{} minions pending check-in, pinging {} per second", pending.size(), rate * 1000);
+        dispatch();
+        if (!pending.isEmpty() && ticker == null) {
+            ticker = executor.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Pings the minions allowed by the tokens gained since the last call. Called periodically while minions are
+     * pending.
+     */
+    public synchronized void tick() {
+        refill();
+        dispatch();
+        if (pending.isEmpty() && ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    /**
+     * @return the number of minions waiting to be pinged
+     */
+    public synchronized int getBacklog() {
+        return pending.size();
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        tokens = Math.min(batchSize, tokens + (now - lastRefill) * rate);
+        lastRefill = now;
+    }
+
+    private void dispatch() {
+        while (tokens >= 1 && !pending.isEmpty()) {
+            int size = (int) Math.min(tokens, Math.min(batchSize, pending.size()));
+            List<String> batch = new ArrayList<>(size);
+            Iterator<String> it = pending.iterator();
+            while (batch.size() < size) {
+                batch.add(it.next());
+                it.remove();
+            }
+            tokens -= size;
+            try {
+                pinger.accept(batch);
+                MinionCheckinMetrics.observePings(batch.size());
+            }
+            catch (RuntimeException e) {
+                // keep pinging the other minions, these ones get another chance at the next check-in run
+                LOG.error("Unable to ping {} minions for check-in", batch.size(), e);
+                MinionCheckinMetrics.observeFailedPings(batch.size());
+            }
+        }
+        MinionCheckinMetrics.setBacklog(pending.size());
+    }
+}
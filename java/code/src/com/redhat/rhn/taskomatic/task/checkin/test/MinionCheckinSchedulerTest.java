@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.checkin.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.redhat.rhn.taskomatic.task.checkin.MinionCheckinScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Tests for {@link MinionCheckinScheduler}.
+ */
+public class MinionCheckinSchedulerTest {
+
+    private ScheduledExecutorService executor;
+    private long now;
+    private List<List<String>> batches;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        now = 0;
+        batches = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<String> minions(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "minion" + i).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests the pings are spread over the window in batches
+     */
+    @Test
+    public void testSpreadOverWindow() {
+        MinionCheckinScheduler scheduler = new MinionCheckinScheduler(batches::add, 3, executor, () -> now);
+
+        // 10 minions in 10 seconds: the first batch is sent at once, then one minion per second
+        scheduler.schedule(minions(10), Duration.ofSeconds(10));
+        assertEquals(List.of(minions(3)), batches);
+        assertEquals(7, scheduler.getBacklog());
+
+        now += 2000;
+        scheduler.tick();
+        assertEquals(List.of("minion3", "minion4"), batches.get(1));
+
+        // no more than one batch at once, even after a long pause
+        now += 60000;
+        scheduler.tick();
+        assertEquals(List.of("minion5", "minion6", "minion7"), batches.get(2));
+        assertEquals(2, scheduler.getBacklog());
+
+        now += 2000;
+        scheduler.tick();
+        assertEquals(4, batches.size());
+        assertEquals(0, scheduler.getBacklog());
+        assertEquals(minions(10), batches.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests minions still pending are not queued twice
+     */
+    @Test
+    public void testPendingMinionsQueuedOnce() {
+        MinionCheckinScheduler scheduler = new MinionCheckinScheduler(batches::add, 2, executor, () -> now);
+
+        scheduler.schedule(minions(4), Duration.ofSeconds(4));
+        scheduler.schedule(minions(6).subList(2, 6), Duration.ofSeconds(4));
+        assertEquals(4, scheduler.getBacklog());
+
+        now += 4000;
+        scheduler.tick();
+        scheduler.tick();
+        assertEquals(List.of(minions(2), List.of("minion2", "minion3")), batches);
+    }
+
+    /**
+     * Tests a failing ping does not stop the other batches
+     */
+    @Test
+    public void testFailedPing() {
+        MinionCheckinScheduler scheduler = new MinionCheckinScheduler(batch -> {
+            batches.add(batch);
+            if (batches.size() == 1) {
+                throw new IllegalStateException("salt-api unavailable");
+            }
+        }, 1, executor, () -> now);
+
+        scheduler.schedule(minions(2), Duration.ofSeconds(2));
+        now += 1000;
+        scheduler.tick();
+        assertEquals(List.of(List.of("minion0"), List.of("minion1")), batches);
+        assertEquals(0, scheduler.getBacklog());
+    }
+}
@@ -15,6 +15,7 @@
 package com.redhat.rhn.taskomatic.task.errata;
 
 import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.domain.task.Task;
 import com.redhat.rhn.domain.task.TaskFactory;
 import com.redhat.rhn.taskomatic.task.threaded.QueueDriver;
@@ -26,11 +27,13 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
- * Driver for the threaded errata cache update queue
+ * Driver for the threaded errata cache update queue. Server tasks are handed out in batches,
+ * all other tasks one by one.
  */
-public class ErrataCacheDriver implements QueueDriver<Task> {
+public class ErrataCacheDriver implements QueueDriver<List<Task>> {
 
     private Logger logger = null;
 
@@ -46,12 +49,15 @@ public class ErrataCacheDriver implements QueueDriver<Task> {
      * {@inheritDoc}
      */
     @Override
-    public List<Task> getCandidates() {
-        List<Task> tasks = TaskFactory.getTaskListByNameLike(ErrataCacheWorker.BY_CHANNEL);
-        tasks.addAll(consolidateTasks(
-                TaskFactory.getTaskListByNameLike(ErrataCacheWorker.FOR_SERVER)));
-        tasks.addAll(consolidateTasks(
-                TaskFactory.getTaskListByNameLike(ErrataCacheWorker.FOR_IMAGE)));
+    public List<List<Task>> getCandidates() {
+        List<List<Task>> tasks = TaskFactory.getTaskListByNameLike(ErrataCacheWorker.BY_CHANNEL).stream()
+                .map(List::of)
+                .collect(Collectors.toList());
+        tasks.addAll(partition(consolidateTasks(TaskFactory.getTaskListByNameLike(ErrataCacheWorker.FOR_SERVER)),
+                ConfigDefaults.get().getErrataCacheServerBatchSize()));
+        consolidateTasks(TaskFactory.getTaskListByNameLike(ErrataCacheWorker.FOR_IMAGE)).stream()
+                .map(List::of)
+                .forEach(tasks::add);
         return tasks;
     }
 
@@ -83,8 +89,8 @@ public class ErrataCacheDriver implements QueueDriver<Task> {
      * {@inheritDoc}
      */
     @Override
-    public QueueWorker makeWorker(Task task) {
-        return new ErrataCacheWorker(task, logger);
+    public QueueWorker makeWorker(List<Task> tasks) {
+        return new ErrataCacheWorker(tasks, logger);
     }
 
     /**
@@ -113,6 +119,21 @@ public class ErrataCacheDriver implements QueueDriver<Task> {
         return consolidated;
     }
 
+    /**
+     * Split a list of tasks into batches of at most the given size.
+     *
+     * @param tasks list of {@link Task} objects
+     * @param size the maximum batch size
+     * @return list of batches
+     */
+    private List<List<Task>> partition(List<Task> tasks, int size) {
+        List<List<Task>> batches = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i += size) {
+            batches.add(tasks.subList(i, Math.min(i + size, tasks.size())));
+        }
+        return batches;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,8 +23,11 @@ import com.redhat.rhn.taskomatic.task.threaded.TaskQueue;
 
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
- * Performs errata cache recalc for a given server or channel
+ * Performs errata cache recalc for a given batch of servers, a channel or an image
  */
 public class ErrataCacheWorker implements QueueWorker {
 
@@ -32,17 +35,19 @@ public class ErrataCacheWorker implements QueueWorker {
     public static final String FOR_SERVER = "update_server_errata_cache";
     public static final String FOR_IMAGE  = "update_image_errata_cache";
 
+    private List<Task> tasks;
     private Task task;
     private Logger logger;
     private TaskQueue parentQueue;
 
     /**
      * Constructor
-     * @param taskIn the task to work on
+     * @param tasksIn the tasks to work on, all having the same name
      * @param parentLogger logger to use
      */
-    public ErrataCacheWorker(Task taskIn, Logger parentLogger) {
-        task = taskIn;
+    public ErrataCacheWorker(List<Task> tasksIn, Logger parentLogger) {
+        tasks = tasksIn;
+        task = tasksIn.get(0);
         logger = parentLogger;
     }
 
@@ -52,10 +57,13 @@ public class ErrataCacheWorker implements QueueWorker {
     @Override
     public void run() {
         try {
-            removeTask();
+            removeTasks();
             parentQueue.workerStarting();
             UpdateErrataCacheCommand uecc = new UpdateErrataCacheCommand();
-            if (ErrataCacheWorker.FOR_SERVER.equals(task.getName())) {
+            if (ErrataCacheWorker.FOR_SERVER.equals(task.getName()) && tasks.size() > 1) {
+                updateServers(uecc);
+            }
+            else if (ErrataCacheWorker.FOR_SERVER.equals(task.getName())) {
                 Long sid = task.getData();
                 if (logger.isDebugEnabled()) {
                     logger.debug("Updating errata cache for sid [{}]", sid);
@@ -107,9 +115,40 @@ public class ErrataCacheWorker implements QueueWorker {
     }
 
     /**
-     * Remove the task related to this worker from the DB via mode query.
+     * Update the errata cache of all the servers of this worker at once. Should that fail, every server
+     * is updated on its own, so that a single problematic server does not hold back the others.
+     * @param uecc the command to use
+     */
+    private void updateServers(UpdateErrataCacheCommand uecc) {
+        List<Long> sids = tasks.stream().map(Task::getData).collect(Collectors.toList());
+        try {
+            uecc.updateErrataCacheForServers(sids);
+        }
+        catch (Exception e) {
+            logger.warn("Batch errata cache update failed for {} servers, updating them one by one",
+                    sids.size(), e);
+            HibernateFactory.rollbackTransaction();
+            for (Task t : tasks) {
+                removeTask(t);
+                uecc.updateErrataCacheForServer(t.getData(), true);
+            }
+        }
+    }
+
+    /**
+     * Remove the tasks related to this worker from the DB via mode query.
      */
-    private void removeTask() {
-        TaskFactory.deleteByOrgNameDataPriority(task.getOrg(), task.getName(), task.getData(), task.getPriority());
+    private void removeTasks() {
+        if (tasks.size() == 1) {
+            removeTask(task);
+        }
+        else {
+            List<Long> data = tasks.stream().map(Task::getData).collect(Collectors.toList());
+            TaskFactory.deleteByNameData(task.getName(), data);
+        }
+    }
+
+    private void removeTask(Task t) {
+        TaskFactory.deleteByOrgNameDataPriority(t.getOrg(), t.getName(), t.getData(), t.getPriority());
     }
 }
@@ -16,8 +16,11 @@
 package com.redhat.rhn.taskomatic.task.gatherer;
 
 import com.redhat.rhn.GlobalInstanceHolder;
+import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.server.CPU;
+import com.redhat.rhn.domain.server.CPUArch;
 import com.redhat.rhn.domain.server.Server;
+import com.redhat.rhn.domain.server.ServerArch;
 import com.redhat.rhn.domain.server.ServerFactory;
 import com.redhat.rhn.domain.server.VirtualInstanceFactory;
 import com.redhat.rhn.domain.server.VirtualInstanceType;
@@ -34,9 +37,11 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
 
 import java.security.SecureRandom;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
@@ -51,12 +56,20 @@ import java.util.Set;
 public class VirtualHostManagerProcessor {
 
     private static final Logger LOGGER = LogManager.getLogger(VirtualHostManagerProcessor.class);
+    private static final int JDBC_BATCH_SIZE = 50;
     private final VirtualHostManager virtualHostManager;
     private final Map<String, HostJson> virtualHosts;
     private final Set<Server> serversToDelete;
     private final Set<VirtualHostManagerNodeInfo> nodesToDelete;
     private final SystemEntitlementManager systemEntitlementManager;
 
+    // looked up once for all the hosts of the manager instead of once per host
+    private final Map<String, Server> serversByDigitalId = new HashMap<>();
+    private final Map<String, VirtualHostManagerNodeInfo> nodesByIdentifier = new HashMap<>();
+    private final Map<String, ServerArch> serverArches = new HashMap<>();
+    private final Map<String, CPUArch> cpuArches = new HashMap<>();
+    private final Map<String, VirtualInstanceType> virtualInstanceTypes = new HashMap<>();
+
     /**
      * Instantiates a new virtual host manager processor, will update a virtual
      * host manager with information coming from a HostJson.
@@ -88,10 +101,22 @@ public class VirtualHostManagerProcessor {
         }
         serversToDelete.addAll(virtualHostManager.getServers());
         nodesToDelete.addAll(virtualHostManager.getNodes());
-        virtualHosts.forEach((key, value) -> {
-            LOGGER.debug("Processing host: {}", key);
-            processVirtualHost(key, value);
-        });
+        preloadHosts();
+
+        // large inventories write many rows, send them in JDBC batches
+        Session session = HibernateFactory.getSession();
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(JDBC_BATCH_SIZE);
+        try {
+            virtualHosts.forEach((key, value) -> {
+                LOGGER.debug("Processing host: {}", key);
+                processVirtualHost(key, value);
+            });
+            session.flush();
+        }
+        finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
         serversToDelete.forEach(srv -> {
             LOGGER.debug("Removing link to virtual host: {}", srv.getName());
             virtualHostManager.removeServer(srv);
@@ -102,6 +127,20 @@ public class VirtualHostManagerProcessor {
         });
     }
 
+    private void preloadHosts() {
+        Set<String> digitalIds = new HashSet<>();
+        Set<String> identifiers = new HashSet<>();
+        virtualHosts.values().forEach(host -> {
+            identifiers.add(host.getHostIdentifier());
+            digitalIds.add(buildServerFullDigitalId(host.getHostIdentifier()));
+            if (!StringUtils.isEmpty(host.getFallbackHostIdentifier())) {
+                digitalIds.add(buildServerFullDigitalId(host.getFallbackHostIdentifier()));
+            }
+        });
+        serversByDigitalId.putAll(ServerFactory.lookupForeignSystemsByDigitalServerIds(digitalIds));
+        nodesByIdentifier.putAll(VirtualHostManagerFactory.getInstance().lookupNodeInfosByIdentifiers(identifiers));
+    }
+
     /**
      * Processes Virtual Host:
      * - if there is no Server entry for given hostLabel, create a new Server
@@ -142,16 +181,19 @@ public class VirtualHostManagerProcessor {
 
     private VirtualHostManagerNodeInfo updateAndGetNodeInfo(String hostLabel,
                                                             HostJson host) {
-        return VirtualHostManagerFactory.getInstance()
-                .lookupNodeInfoByIdentifier(host.getHostIdentifier())
-                .map(i -> updateNodeInfo(i, hostLabel, host))
-                .orElse(createNewNodeInfo(hostLabel, host));
+        VirtualHostManagerNodeInfo info = nodesByIdentifier.get(host.getHostIdentifier());
+        if (info == null) {
+            info = createNewNodeInfo(hostLabel, host);
+            nodesByIdentifier.put(info.getIdentifier(), info);
+            return info;
+        }
+        return updateNodeInfo(info, hostLabel, host);
     }
 
     private VirtualHostManagerNodeInfo updateNodeInfo(VirtualHostManagerNodeInfo info,
             String hostLabel, HostJson host) {
         info.setName(hostLabel);
-        info.setNodeArch(ServerFactory.lookupServerArchByName(host.getCpuArch()));
+        info.setNodeArch(lookupServerArch(host.getCpuArch()));
         info.setCpuSockets(host.getTotalCpuSockets());
         info.setCpuCores(host.getTotalCpuCores());
         info.setRam(host.getRamMb());
@@ -187,13 +229,22 @@ public class VirtualHostManagerProcessor {
      * @return - VirtualInstanceType corresponding to source string
      */
     private VirtualInstanceType extractVirtualInstanceType(String candidate) {
-        VirtualInstanceType type =
-                VirtualInstanceFactory.getInstance().getVirtualInstanceType(candidate);
-        if (type == null) { // fallback
-            type = VirtualInstanceFactory.getInstance().getFullyVirtType();
-            LOGGER.warn("Can't find virtual instance type for string '{}'. Defaulting to '{}'", candidate, type);
-        }
-        return type;
+        return virtualInstanceTypes.computeIfAbsent(candidate, c -> {
+            VirtualInstanceType type = VirtualInstanceFactory.getInstance().getVirtualInstanceType(c);
+            if (type == null) { // fallback
+                type = VirtualInstanceFactory.getInstance().getFullyVirtType();
+                LOGGER.warn("Can't find virtual instance type for string '{}'. Defaulting to '{}'", c, type);
+            }
+            return type;
+        });
+    }
+
+    private ServerArch lookupServerArch(String name) {
+        return serverArches.computeIfAbsent(name, ServerFactory::lookupServerArchByName);
+    }
+
+    private CPUArch lookupCPUArch(String name) {
+        return cpuArches.computeIfAbsent(name, ServerFactory::lookupCPUArchByName);
     }
 
     /**
@@ -241,16 +292,17 @@ public class VirtualHostManagerProcessor {
     private Server getServerByHost(String hostIdentifier, String fallback) {
         // First use the hostIdentifier field
         String digitalId = buildServerFullDigitalId(hostIdentifier);
-        Server server = ServerFactory.lookupForeignSystemByDigitalServerId(digitalId);
+        Server server = serversByDigitalId.get(digitalId);
         if (server != null || StringUtils.isEmpty(fallback)) {
             return server;
         }
 
         // Fallback to the old host identifier field
-        server = ServerFactory.lookupForeignSystemByDigitalServerId(buildServerFullDigitalId(fallback));
+        server = serversByDigitalId.remove(buildServerFullDigitalId(fallback));
         // Update to the digital id to use the current host identifier
         if (server != null) {
             server.setDigitalServerId(digitalId);
+            serversByDigitalId.put(digitalId, server);
         }
 
         return server;
@@ -296,6 +348,7 @@ public class VirtualHostManagerProcessor {
         updateServerMiscFields(server, host);
 
         ServerFactory.save(server);
+        serversByDigitalId.put(server.getDigitalServerId(), server);
         return server;
     }
 
@@ -304,7 +357,7 @@ public class VirtualHostManagerProcessor {
         // and update server
         server.setModified(new Date());
         server.setRam(host.getRamMb());
-        server.setServerArch(ServerFactory.lookupServerArchByName(host.getCpuArch()));
+        server.setServerArch(lookupServerArch(host.getCpuArch()));
     }
 
     private void updateServerCpu(Server server, HostJson host) {
@@ -313,7 +366,7 @@ public class VirtualHostManagerProcessor {
             cpu = new CPU();
         }
 
-        cpu.setArch(ServerFactory.lookupCPUArchByName(host.getCpuArch()));
+        cpu.setArch(lookupCPUArch(host.getCpuArch()));
         cpu.setMHz(Long.toString(Math.round(host.getCpuMhz())));
         if (host.getTotalCpuSockets().longValue() > 0L) {
             cpu.setNrsocket(host.getTotalCpuSockets().longValue());
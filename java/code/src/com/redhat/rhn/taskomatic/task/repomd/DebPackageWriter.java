@@ -31,10 +31,12 @@ import org.apache.logging.log4j.Logger;
 import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -47,6 +49,7 @@ public class DebPackageWriter implements Closeable {
     private static Logger log = LogManager.getLogger(DebPackageWriter.class);
     private String filenamePackages = "";
     private String channelLabel = "";
+    private DebPackagesOutputStream packagesStream;
     private BufferedWriter out;
 
     /**
@@ -60,7 +63,8 @@ public class DebPackageWriter implements Closeable {
         channelLabel = channel.getLabel();
         filenamePackages = prefix + "Packages";
         FileUtils.deleteQuietly(new File(filenamePackages));
-        out = new BufferedWriter(new FileWriter(filenamePackages, true));
+        packagesStream = new DebPackagesOutputStream(prefix);
+        out = new BufferedWriter(new OutputStreamWriter(packagesStream, Charset.defaultCharset()));
     }
 
     private String getFilename(PackageDto pkgDto) {
@@ -321,6 +325,22 @@ public class DebPackageWriter implements Closeable {
         return filenamePackages;
     }
 
+    /**
+     * Finish writing the Packages and Packages.gz files, reporting any error.
+     * @throws IOException in case of IO error
+     */
+    public void finish() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Get the checksums of the Packages and Packages.gz files computed while writing them.
+     * @return the checksums, complete once the writer is finished
+     */
+    public List<DebPackagesOutputStream.FileDigest> getFileDigests() {
+        return packagesStream.getFileDigests();
+    }
+
     /**
      * Finish writing the Package file.
      */
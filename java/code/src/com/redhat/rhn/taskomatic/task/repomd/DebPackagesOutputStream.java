@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.repomd;
+
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the Packages file of a Debian repository and its compressed Packages.gz variant in a single pass,
+ * computing the checksums needed by the Release file on the way.
+ */
+public class DebPackagesOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String plainName;
+    private final String compressedName;
+    private final DigestingStream plainStream;
+    private final DigestingStream compressedStream;
+    private final GZIPOutputStream gzipStream;
+    private boolean closed;
+
+    /**
+     * @param prefix path to the repository, including the trailing separator
+     * @throws IOException in case the files can't be created
+     */
+    public DebPackagesOutputStream(String prefix) throws IOException {
+        File plainFile = new File(prefix + "Packages");
+        File compressedFile = new File(prefix + "Packages.gz");
+        plainName = plainFile.getName();
+        compressedName = compressedFile.getName();
+        plainStream = new DigestingStream(new BufferedOutputStream(new FileOutputStream(plainFile), BUFFER_SIZE));
+        compressedStream = new DigestingStream(
+                new BufferedOutputStream(new FileOutputStream(compressedFile), BUFFER_SIZE));
+        gzipStream = new GZIPOutputStream(compressedStream, BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        plainStream.write(b);
+        gzipStream.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        plainStream.write(b, off, len);
+        gzipStream.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        plainStream.flush();
+        gzipStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            gzipStream.close();
+        }
+        finally {
+            plainStream.close();
+        }
+    }
+
+    /**
+     * Get the checksums of the written files, only complete once the stream is closed.
+     * @return the checksums of Packages and Packages.gz, in this order
+     */
+    public List<FileDigest> getFileDigests() {
+        return Arrays.asList(plainStream.toFileDigest(plainName), compressedStream.toFileDigest(compressedName));
+    }
+
+    /**
+     * Size and checksums of a repository metadata file.
+     */
+    public static class FileDigest {
+
+        private final String name;
+        private final long size;
+        private final String md5;
+        private final String sha1;
+        private final String sha256;
+
+        /**
+         * @param nameIn the file name
+         * @param sizeIn the file size
+         * @param md5In the MD5 checksum
+         * @param sha1In the SHA1 checksum
+         * @param sha256In the SHA256 checksum
+         */
+        public FileDigest(String nameIn, long sizeIn, String md5In, String sha1In, String sha256In) {
+            name = nameIn;
+            size = sizeIn;
+            md5 = md5In;
+            sha1 = sha1In;
+            sha256 = sha256In;
+        }
+
+        /**
+         * @return the file name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the file size
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the MD5 checksum
+         */
+        public String getMd5() {
+            return md5;
+        }
+
+        /**
+         * @return the SHA1 checksum
+         */
+        public String getSha1() {
+            return sha1;
+        }
+
+        /**
+         * @return the SHA256 checksum
+         */
+        public String getSha256() {
+            return sha256;
+        }
+    }
+
+    /**
+     * Counts and digests the bytes passing through.
+     */
+    private static class DigestingStream extends FilterOutputStream {
+
+        private final MessageDigest md5;
+        private final MessageDigest sha1;
+        private final MessageDigest sha256;
+        private long size;
+
+        DigestingStream(OutputStream outIn) {
+            super(outIn);
+            try {
+                md5 = MessageDigest.getInstance("MD5");
+                sha1 = MessageDigest.getInstance("SHA-1");
+                sha256 = MessageDigest.getInstance("SHA-256");
+            }
+            catch (NoSuchAlgorithmException e) {
+                throw new RepomdRuntimeException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            md5.update((byte) b);
+            sha1.update((byte) b);
+            sha256.update((byte) b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            md5.update(b, off, len);
+            sha1.update(b, off, len);
+            sha256.update(b, off, len);
+            size += len;
+        }
+
+        FileDigest toFileDigest(String name) {
+            return new FileDigest(name, size, hex(md5), hex(sha1), hex(sha256));
+        }
+
+        private static String hex(MessageDigest digest) {
+            try {
+                // digest() resets the instance, work on a copy so the digest can be queried again
+                return Hex.encodeHexString(((MessageDigest) digest.clone()).digest());
+            }
+            catch (CloneNotSupportedException e) {
+                throw new RepomdRuntimeException(e);
+            }
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -66,9 +67,29 @@ public class DebReleaseWriter {
     }
 
     /**
-     * Generates the Release file.
+     * Generates the Release file, reading the metadata files to compute their checksums.
      */
     public void generateRelease() {
+        List<DebPackagesOutputStream.FileDigest> digests = new ArrayList<>();
+        for (String name : Arrays.asList("Packages", "Packages.gz")) {
+            File file = new File(pathPrefix + name);
+            try {
+                digests.add(new DebPackagesOutputStream.FileDigest(name, file.length(),
+                        checksum(DigestUtils::md5Hex, file), checksum(DigestUtils::sha1Hex, file),
+                        checksum(DigestUtils::sha256Hex, file)));
+            }
+            catch (IOException e) {
+                log.error("Could not compute checksum for {}", file.getName());
+            }
+        }
+        generateRelease(digests);
+    }
+
+    /**
+     * Generates the Release file.
+     * @param digests the checksums of the metadata files, as computed while writing them
+     */
+    public void generateRelease(List<DebPackagesOutputStream.FileDigest> digests) {
         File f = new File(filenameRelease);
         if (f.exists()) {
             f.delete();
@@ -81,18 +102,14 @@ public class DebReleaseWriter {
             writer.println("Date: " + RFC822_DATE_FORMAT.format(ZonedDateTime.now()));
             writer.println("Description: " + Optional.ofNullable(channel.getDescription()).orElse(""));
 
-            List<File> metadataFiles = Arrays.asList("Packages", "Packages.gz")
-                    .stream().map(name -> new File(pathPrefix + name))
-                    .collect(Collectors.toList());
-
             writer.println("MD5Sum:");
-            metadataFiles.forEach(file -> appendSum(writer, DigestUtils::md5Hex, file));
+            digests.forEach(d -> appendSum(writer, d.getMd5(), d));
 
             writer.println("SHA1:");
-            metadataFiles.forEach(file -> appendSum(writer, DigestUtils::sha1Hex, file));
+            digests.forEach(d -> appendSum(writer, d.getSha1(), d));
 
             writer.println("SHA256:");
-            metadataFiles.forEach(file -> appendSum(writer, DigestUtils::sha256Hex, file));
+            digests.forEach(d -> appendSum(writer, d.getSha256(), d));
         }
         catch (IOException e) {
             log.error("Could not generate Release file for channel {}", channel.getLabel(), e);
@@ -111,12 +128,13 @@ public class DebReleaseWriter {
         String apply(InputStream input) throws IOException;
     }
 
-    private void appendSum(PrintWriter writer, ChecksumFunction checksum, File file) {
+    private String checksum(ChecksumFunction checksum, File file) throws IOException {
         try (FileInputStream pkgIn = new FileInputStream(file)) {
-            writer.println(" " + checksum.apply(pkgIn) + " " + file.length() + " " + file.getName());
-        }
-        catch (IOException e) {
-            log.error("Could not compute checksum for {}", file.getName());
+            return checksum.apply(pkgIn);
         }
     }
+
+    private void appendSum(PrintWriter writer, String checksum, DebPackagesOutputStream.FileDigest digest) {
+        writer.println(" " + checksum + " " + digest.getSize() + " " + digest.getName());
+    }
 }
@@ -114,7 +114,7 @@ public class PrimaryXmlWriter extends RepomdWriter {
             tmpHandler.endDocument();
 
             String pkg =  st.toString();
-            PackageManager.updateRepoPrimary(pkgDto.getId(), pkg);
+            storePrimaryXml(pkgDto.getId(), pkg);
             handler.addCharacters(pkg);
 
         }
@@ -264,8 +264,7 @@ public class PrimaryXmlWriter extends RepomdWriter {
      */
     private void addPackageDepData(String query, Long pkgId,
             String dep, SimpleContentHandler localHandler) throws SAXException {
-        Collection<PackageCapabilityDto> capabilities = TaskManager
-                .getPackageCapabilityDtos(pkgId, query);
+        Collection<PackageCapabilityDto> capabilities = lookupCapabilities(pkgId, query);
         localHandler.startElement("rpm:" + dep);
         for (PackageCapabilityDto capability : capabilities) {
             SimpleAttributesImpl attr = new SimpleAttributesImpl();
@@ -303,6 +302,25 @@ public class PrimaryXmlWriter extends RepomdWriter {
         localHandler.endElement("rpm:" + dep);
     }
 
+    /**
+     * Looks up the capabilities of a package
+     * @param pkgId package id
+     * @param query name of the capability query to run
+     * @return the package capabilities
+     */
+    protected Collection<PackageCapabilityDto> lookupCapabilities(Long pkgId, String query) {
+        return TaskManager.getPackageCapabilityDtos(pkgId, query);
+    }
+
+    /**
+     * Stores the generated primary xml snippet of a package for later reuse
+     * @param pkgId package id
+     * @param xml the primary xml snippet
+     */
+    protected void storePrimaryXml(Long pkgId, String xml) {
+        PackageManager.updateRepoPrimary(pkgId, xml);
+    }
+
     /**
      *
      * @param evr package evr info
@@ -349,10 +367,8 @@ public class PrimaryXmlWriter extends RepomdWriter {
     private void addEssentialPackageFiles(long pkgId,
             SimpleContentHandler hndlr) throws SAXException {
         List<String> fullPaths = List.of("/usr/lib.sendmail", "/lib/cpp");
-        Collection<PackageCapabilityDto> files = TaskManager
-                .getPackageCapabilityDtos(
-                        pkgId,
-                        TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES);
+        Collection<PackageCapabilityDto> files = lookupCapabilities(
+                pkgId, TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES);
         for (PackageCapabilityDto file : files) {
             String path = sanitize(pkgId, file.getName());
             if (path.contains("bin/") || path.startsWith("/etc/") || fullPaths.contains(path)) {
@@ -15,6 +15,7 @@
  */
 package com.redhat.rhn.taskomatic.task.repomd;
 
+import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.frontend.dto.Bug;
@@ -24,24 +25,45 @@ import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.manager.channel.ChannelManager;
 import com.redhat.rhn.manager.errata.ErrataManager;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.xml.sax.SAXException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Writer;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * UpdateInfo.xml writer class
  */
 public class UpdateInfoWriter extends RepomdWriter {
 
+    /**
+     * Rendered advisories of the channels generated last, shared between runs.
+     */
+    private static final FragmentCache FRAGMENTS = new FragmentCache();
+
+    private Long fragmentsChannelId;
+    private Map<Long, Fragment> previousFragments = Collections.emptyMap();
+    private Map<Long, Fragment> fragments = new HashMap<>();
+    private long fragmentsSize;
+
     /**
      * Constructor takes in writer.
      * @param writer xml writer object
      */
     public UpdateInfoWriter(Writer writer) {
-        super(writer, true);
+        // advisories are escaped when rendered on their own, see addErratum
+        super(writer, false);
     }
 
     /**
@@ -52,14 +74,29 @@ public class UpdateInfoWriter extends RepomdWriter {
     public String getUpdateInfo(Channel channel) {
         begin(channel);
 
+        String updateTag = findUpdateTag(channel);
         final DataResult<ErrataOverview> errata = ChannelManager.listErrataSimple(channel.getId());
         final int batchSize = 500;
         for (int i = 0; i < errata.size(); i += batchSize) {
             DataResult<ErrataOverview> errataBatch = errata.subList(i, i + batchSize);
             errataBatch.elaborate();
+
+            // load the details of the whole batch at once
+            List<Long> errataIds = errataBatch.stream()
+                    .map(ErrataOverview::getId)
+                    .collect(Collectors.toList());
+            Map<Long, List<PackageDto>> packages = lookupPackages(channel.getId(), errataIds);
+            Map<Long, List<String>> keywords = lookupKeywords(errataIds);
+            Map<Long, List<Bug>> bugs = lookupBugs(errataIds);
+            Map<Long, List<CVE>> cves = lookupCves(errataIds);
+
             for (ErrataOverview erratum : errataBatch) {
                 try {
-                    addErratum(erratum, channel);
+                    addErratum(erratum, channel, updateTag,
+                            packages.getOrDefault(erratum.getId(), Collections.emptyList()),
+                            keywords.getOrDefault(erratum.getId(), Collections.emptyList()),
+                            bugs.getOrDefault(erratum.getId(), Collections.emptyList()),
+                            cves.getOrDefault(erratum.getId(), Collections.emptyList()));
                 }
                 catch (SAXException e) {
                     throw new RepomdRuntimeException(e);
@@ -85,6 +122,8 @@ public class UpdateInfoWriter extends RepomdWriter {
         catch (SAXException e) {
             throw new RepomdRuntimeException(e);
         }
+        // only the advisories still part of the channel are kept
+        FRAGMENTS.put(fragmentsChannelId, fragments, fragmentsSize);
     }
 
     /**
@@ -93,6 +132,10 @@ public class UpdateInfoWriter extends RepomdWriter {
      */
     @Override
     public void begin(Channel channel) {
+        fragmentsChannelId = channel.getId();
+        previousFragments = FRAGMENTS.take(fragmentsChannelId);
+        fragments = new HashMap<>();
+        fragmentsSize = 0;
         try {
             handler.startElement("updates");
         }
@@ -102,74 +145,130 @@ public class UpdateInfoWriter extends RepomdWriter {
     }
 
     /**
-     * Add erratum to repodata for given channel
+     * Add erratum to repodata for given channel, reusing the previous rendering when nothing changed
      * @param erratum erratum to be added
      * @param channel channel info
+     * @param updateTag update tag of the channel or null
+     * @param packages packages of the erratum in the channel
+     * @param keywords keywords of the erratum
+     * @param bugs bugs fixed by the erratum
+     * @param cves CVEs fixed by the erratum
      * @throws SAXException
      */
-    private void addErratum(ErrataOverview erratum, Channel channel) throws SAXException {
+    void addErratum(ErrataOverview erratum, Channel channel, String updateTag, List<PackageDto> packages,
+                    List<String> keywords, List<Bug> bugs, List<CVE> cves) throws SAXException {
+        String digest = digest(erratum, channel, updateTag, packages, keywords, bugs, cves);
+        Fragment fragment = previousFragments.get(erratum.getId());
+        if (fragment == null || !fragment.getDigest().equals(digest)) {
+            ByteArrayOutputStream st = new ByteArrayOutputStream();
+            SimpleContentHandler tmpHandler = getTemporaryHandler(st);
+            tmpHandler.startDocument();
+            addErratum(tmpHandler, erratum, channel, updateTag, packages, keywords, bugs, cves);
+            tmpHandler.endDocument();
+            fragment = new Fragment(digest, st.toString());
+        }
+        fragments.put(erratum.getId(), fragment);
+        fragmentsSize += fragment.getSize();
+        handler.addCharacters(fragment.getXml());
+    }
+
+    private void addErratum(SimpleContentHandler localHandler, ErrataOverview erratum, Channel channel,
+                            String updateTag, List<PackageDto> packages, List<String> keywords, List<Bug> bugs,
+                            List<CVE> cves) throws SAXException {
         SimpleAttributesImpl attr = new SimpleAttributesImpl();
         attr.addAttribute("from", erratum.getErrataFrom());
         attr.addAttribute("status", erratum.getAdvisoryStatus().getMetadataValue());
         attr.addAttribute("type", mapAdvisoryType(erratum.getAdvisoryType()));
         attr.addAttribute("version", Long.toString(erratum.getAdvisoryRel()));
-        handler.startElement("update", attr);
-
-        String id = erratum.getAdvisoryName();
-        String updateTag = findUpdateTag(channel);
-        if (updateTag != null) {
-            if (id.matches("^([C-Z][A-Z]-)*SUSE-(.*)$")) {
-                // SLE12 style where the update tag is not a prefix
-                id = id.replaceFirst("SUSE", "SUSE-" + updateTag);
-            }
-            else {
-                id = updateTag + "-" + id;
-            }
-        }
+        localHandler.startElement("update", attr);
 
-        handler.addElementWithCharacters("id", sanitize(0L, id));
-        handler.addElementWithCharacters("title", sanitize(0L, erratum.getAdvisorySynopsis()));
-        handler.addElementWithCharacters("severity", sanitize(0L, erratum.getSeverity()));
+        localHandler.addElementWithCharacters("id", sanitize(0L, getUpdateId(erratum, updateTag)));
+        localHandler.addElementWithCharacters("title", sanitize(0L, erratum.getAdvisorySynopsis()));
+        localHandler.addElementWithCharacters("severity", sanitize(0L, erratum.getSeverity()));
 
         DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
         attr.clear();
         attr.addAttribute("date", df.format(erratum.getIssueDateObj()));
-        handler.startElement("issued", attr);
-        handler.endElement("issued");
+        localHandler.startElement("issued", attr);
+        localHandler.endElement("issued");
 
         attr.clear();
         attr.addAttribute("date", df.format(erratum.getUpdateDateObj()));
-        handler.startElement("updated", attr);
-        handler.endElement("updated");
+        localHandler.startElement("updated", attr);
+        localHandler.endElement("updated");
 
-        handler.addElementWithCharacters("rights", sanitize(0L, erratum.getRights()));
-        handler.addElementWithCharacters("description", sanitize(0L, erratum.getDescription()));
+        localHandler.addElementWithCharacters("rights", sanitize(0L, erratum.getRights()));
+        localHandler.addElementWithCharacters("description", sanitize(0L, erratum.getDescription()));
 
-        addErratumReferences(erratum);
-        addErratumPkgList(erratum, channel);
+        addErratumReferences(localHandler, bugs, cves);
+        addErratumPkgList(localHandler, channel, packages, keywords);
 
-        handler.endElement("update");
+        localHandler.endElement("update");
+    }
+
+    private static String getUpdateId(ErrataOverview erratum, String updateTag) {
+        String id = erratum.getAdvisoryName();
+        if (updateTag != null) {
+            if (id.matches("^([C-Z][A-Z]-)*SUSE-(.*)$")) {
+                // SLE12 style where the update tag is not a prefix
+                id = id.replaceFirst("SUSE", "SUSE-" + updateTag);
+            }
+            else {
+                id = updateTag + "-" + id;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Digest of everything rendered for an erratum, to tell whether a previous rendering is still valid
+     */
+    private static String digest(ErrataOverview erratum, Channel channel, String updateTag,
+                                 List<PackageDto> packages, List<String> keywords, List<Bug> bugs,
+                                 List<CVE> cves) {
+        List<Object> values = new ArrayList<>(Arrays.asList(channel.getLabel(), channel.getName(), updateTag,
+                erratum.getAdvisoryName(), erratum.getErrataFrom(), erratum.getAdvisoryStatus(),
+                erratum.getAdvisoryType(), erratum.getAdvisoryRel(), erratum.getAdvisorySynopsis(),
+                erratum.getSeverity(), erratum.getIssueDateObj(), erratum.getUpdateDateObj(),
+                erratum.getRights(), erratum.getDescription()));
+        for (PackageDto pkg : packages) {
+            values.addAll(Arrays.asList(pkg.getId(), pkg.getName(), pkg.getVersion(), pkg.getRelease(),
+                    pkg.getEpoch(), pkg.getArchLabel(), pkg.getSourceRpm(), pkg.getPath(), pkg.getChecksumType(),
+                    pkg.getChecksum()));
+        }
+        values.addAll(keywords);
+        for (Bug bug : bugs) {
+            values.addAll(Arrays.asList(bug.getBugId(), bug.getHref(), bug.getSummary()));
+        }
+        for (CVE cve : cves) {
+            values.add(cve.getName());
+        }
+        // the database text can't contain NUL, so it safely separates the values
+        return DigestUtils.sha256Hex(values.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("\0")));
     }
 
     /**
      * Adds packages associated to the errata
-     * @param erratum erratum to be added
+     * @param localHandler handler to write to
      * @param channel channel info
+     * @param packages packages of the erratum in the channel
+     * @param keywords keywords of the erratum
      * @throws SAXException
      */
-    private void addErratumPkgList(ErrataOverview erratum, Channel channel)
-            throws SAXException {
-        handler.startElement("pkglist");
+    private void addErratumPkgList(SimpleContentHandler localHandler, Channel channel, List<PackageDto> packages,
+                                   List<String> keywords) throws SAXException {
+        localHandler.startElement("pkglist");
 
         SimpleAttributesImpl attr = new SimpleAttributesImpl();
         attr.addAttribute("short", channel.getLabel());
-        handler.startElement("collection", attr);
+        localHandler.startElement("collection", attr);
 
-        handler.addElementWithCharacters("name", channel.getName());
+        localHandler.addElementWithCharacters("name", channel.getName());
 
-        for (PackageDto pkg : ErrataManager.lookupPacksFromErrataForChannel(
-                channel.getId(), erratum.getId())) {
+        for (PackageDto pkg : packages) {
             long pkgId = pkg.getId();
             String epoch = pkg.getEpoch();
             if (epoch == null || epoch.isEmpty()) {
@@ -182,41 +281,43 @@ public class UpdateInfoWriter extends RepomdWriter {
             attr.addAttribute("epoch", sanitize(pkgId, epoch));
             attr.addAttribute("arch", sanitize(pkgId, pkg.getArchLabel()));
             attr.addAttribute("src", sanitize(pkgId, pkg.getSourceRpm()));
-            handler.startElement("package", attr);
-            handler.addElementWithCharacters("filename", sanitize(pkgId, pkg.getFile()));
+            localHandler.startElement("package", attr);
+            localHandler.addElementWithCharacters("filename", sanitize(pkgId, pkg.getFile()));
 
-            List<String> keywords = ErrataManager.lookupKeywordsForErratum(erratum.getId());
             if (keywords.contains("reboot_suggested")) {
-                handler.addElementWithCharacters("reboot_suggested", "1");
+                localHandler.addElementWithCharacters("reboot_suggested", "1");
             }
             else if (keywords.contains("restart_suggested")) {
-                handler.addElementWithCharacters("restart_suggested", "1");
+                localHandler.addElementWithCharacters("restart_suggested", "1");
             }
 
             attr.clear();
             attr.addAttribute("type", sanitize(pkgId, pkg.getChecksumType()));
-            handler.startElement("sum", attr);
-            handler.addCharacters(sanitize(pkgId, pkg.getChecksum()));
-            handler.endElement("sum");
+            localHandler.startElement("sum", attr);
+            localHandler.addCharacters(sanitize(pkgId, pkg.getChecksum()));
+            localHandler.endElement("sum");
 
-            handler.endElement("package");
+            localHandler.endElement("package");
         }
 
-        handler.endElement("collection");
+        localHandler.endElement("collection");
 
-        handler.endElement("pkglist");
+        localHandler.endElement("pkglist");
 
     }
 
     /**
      * Adds references info from the errata
-     * @param erratum erratum to be added
+     * @param localHandler handler to write to
+     * @param bugs bugs fixed by the erratum
+     * @param cves CVEs fixed by the erratum
      * @throws SAXException
      */
-    private void addErratumReferences(ErrataOverview erratum) throws SAXException {
-        handler.startElement("references");
+    private void addErratumReferences(SimpleContentHandler localHandler, List<Bug> bugs, List<CVE> cves)
+            throws SAXException {
+        localHandler.startElement("references");
 
-        for (Bug bug : ErrataManager.lookupBugsForErratum(erratum.getId())) {
+        for (Bug bug : bugs) {
             SimpleAttributesImpl attr = new SimpleAttributesImpl();
             if (bug.getHref() != null && !bug.getHref().equals("")) {
                 attr.addAttribute("href", bug.getHref());
@@ -228,14 +329,14 @@ public class UpdateInfoWriter extends RepomdWriter {
             }
             attr.addAttribute("id", Long.toString(bug.getBugId()));
             attr.addAttribute("type", "bugzilla");
-            handler.startElement("reference", attr);
+            localHandler.startElement("reference", attr);
             if (bug.getSummary() != null) {
-                handler.addCharacters(bug.getSummary());
+                localHandler.addCharacters(bug.getSummary());
             }
-            handler.endElement("reference");
+            localHandler.endElement("reference");
         }
 
-        for (CVE cve : ErrataManager.lookupCvesForErratum(erratum.getId())) {
+        for (CVE cve : cves) {
             String cveid = sanitize(0L, cve.getName());
 
             SimpleAttributesImpl attr = new SimpleAttributesImpl();
@@ -243,11 +344,48 @@ public class UpdateInfoWriter extends RepomdWriter {
                     "http://cve.mitre.org/cgi-bin/cvename.cgi?name=" + cveid);
             attr.addAttribute("id", cveid);
             attr.addAttribute("type", "cve");
-            handler.startElement("reference", attr);
-            handler.endElement("reference");
+            localHandler.startElement("reference", attr);
+            localHandler.endElement("reference");
         }
 
-        handler.endElement("references");
+        localHandler.endElement("references");
+    }
+
+    /**
+     * Looks up the packages of a batch of errata which are part of a channel
+     * @param channelId channel id
+     * @param errataIds errata ids
+     * @return the packages by erratum id
+     */
+    protected Map<Long, List<PackageDto>> lookupPackages(Long channelId, List<Long> errataIds) {
+        return ErrataManager.lookupPacksFromErrataForChannel(channelId, errataIds);
+    }
+
+    /**
+     * Looks up the keywords of a batch of errata
+     * @param errataIds errata ids
+     * @return the keywords by erratum id
+     */
+    protected Map<Long, List<String>> lookupKeywords(List<Long> errataIds) {
+        return ErrataManager.lookupKeywordsForErrata(errataIds);
+    }
+
+    /**
+     * Looks up the bugs fixed by a batch of errata
+     * @param errataIds errata ids
+     * @return the bugs by erratum id
+     */
+    protected Map<Long, List<Bug>> lookupBugs(List<Long> errataIds) {
+        return ErrataManager.lookupBugsForErrata(errataIds);
+    }
+
+    /**
+     * Looks up the CVEs fixed by a batch of errata
+     * @param errataIds errata ids
+     * @return the CVEs by erratum id
+     */
+    protected Map<Long, List<CVE>> lookupCves(List<Long> errataIds) {
+        return ErrataManager.lookupCvesForErrata(errataIds);
     }
 
     /**
@@ -290,4 +428,82 @@ public class UpdateInfoWriter extends RepomdWriter {
         }
         return updateTag;
     }
+
+    /**
+     * A rendered advisory with the digest of what it was rendered from.
+     */
+    private static class Fragment {
+
+        private final String digest;
+        private final String xml;
+
+        Fragment(String digestIn, String xmlIn) {
+            digest = digestIn;
+            xml = xmlIn;
+        }
+
+        String getDigest() {
+            return digest;
+        }
+
+        String getXml() {
+            return xml;
+        }
+
+        /**
+         * @return the approximate number of bytes kept in memory
+         */
+        long getSize() {
+            return 2L * (digest.length() + xml.length());
+        }
+    }
+
+    /**
+     * Rendered advisories by channel and erratum id. A channel is only cached as a whole and its fragments are
+     * handed to one generation at a time, so generating other channels never evicts part of them. When the
+     * total size is above java.updateinfo_fragment_cache_mb, the channels generated longest ago are dropped.
+     */
+    private static class FragmentCache {
+
+        private final Map<Long, Map<Long, Fragment>> channels = new LinkedHashMap<>();
+        private final Map<Long, Long> sizes = new HashMap<>();
+        private long size;
+
+        /**
+         * Removes the fragments of a channel from the cache.
+         * @param channelIdIn the channel id
+         * @return the fragments by erratum id, empty if the channel is not cached
+         */
+        synchronized Map<Long, Fragment> take(Long channelIdIn) {
+            Map<Long, Fragment> result = channels.remove(channelIdIn);
+            if (result == null) {
+                return Collections.emptyMap();
+            }
+            size -= sizes.remove(channelIdIn);
+            return result;
+        }
+
+        /**
+         * Stores the fragments of a channel, unless they alone do not fit in the cache.
+         * @param channelIdIn the channel id
+         * @param fragmentsIn the fragments by erratum id
+         * @param sizeIn the size of the fragments in bytes
+         */
+        synchronized void put(Long channelIdIn, Map<Long, Fragment> fragmentsIn, long sizeIn) {
+            long maxSize = ConfigDefaults.get().getUpdateInfoFragmentCacheBytes();
+            take(channelIdIn);
+            if (sizeIn > maxSize) {
+                return;
+            }
+            channels.put(channelIdIn, fragmentsIn);
+            sizes.put(channelIdIn, sizeIn);
+            size += sizeIn;
+            Iterator<Long> eldest = channels.keySet().iterator();
+            while (size > maxSize) {
+                Long evicted = eldest.next();
+                eldest.remove();
+                size -= sizes.remove(evicted);
+            }
+        }
+    }
 }
@@ -30,6 +30,7 @@ import com.redhat.rhn.taskomatic.task.repomd.DebRepositoryWriter;
 import com.redhat.rhn.testing.JMockBaseTestCaseWithUser;
 import com.redhat.rhn.testing.TestUtils;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -99,6 +100,14 @@ public class DebRepositoryWriterTest extends JMockBaseTestCaseWithUser {
             fail(e.getMessage());
         }
 
+        // the checksums computed while writing match the files
+        String releaseContent = FileUtils.readFileToString(channelRepodataDir.resolve("Release").toFile());
+        for (String name : List.of("Packages", "Packages.gz")) {
+            Path file = channelRepodataDir.resolve(name);
+            assertTrue(releaseContent.contains(" " + DigestUtils.sha256Hex(Files.readAllBytes(file)) + " " +
+                    Files.size(file) + " " + name + "\n"));
+        }
+
 //        String releaseContent = FileUtils.readFileToString(channelRepodataDir.resolve("Release").toFile());
 //        System.out.println(releaseContent);
     }
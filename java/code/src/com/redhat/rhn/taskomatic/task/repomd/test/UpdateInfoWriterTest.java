@@ -20,7 +20,10 @@ import static com.redhat.rhn.domain.product.test.SUSEProductTestUtils.createTest
 import static com.redhat.rhn.testing.ErrataTestUtils.createTestChannelFamily;
 import static com.redhat.rhn.testing.ErrataTestUtils.createTestChannelProduct;
 import static com.redhat.rhn.testing.ErrataTestUtils.createTestVendorBaseChannel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.domain.channel.ChannelFamily;
 import com.redhat.rhn.domain.channel.ChannelProduct;
@@ -118,5 +121,33 @@ public class UpdateInfoWriterTest extends BaseTestCaseWithUser {
         ErrataOverview o = new ErrataOverview();
         o.setIssueDate("2021-11-22");
     }
-}
 
+    @Test
+    public void testChangedErratumRenderedAgain() throws Exception {
+        final ChannelFamily channelFamily = createTestChannelFamily();
+        final Channel baseChannel = createTestVendorBaseChannel(channelFamily, createTestChannelProduct());
+
+        Errata errata = createTestErrata(user.getId());
+        errata.setAdvisoryName("SUSE-2016-4321");
+        errata.setSynopsis("first synopsis");
+        baseChannel.addErrata(errata);
+        HibernateFactory.getSession().flush();
+
+        StringWriter buffer = new StringWriter();
+        new UpdateInfoWriter(buffer).getUpdateInfo(baseChannel);
+        assertContains(buffer.toString(), "<title>first synopsis</title>");
+
+        // unchanged errata give the same document
+        StringWriter again = new StringWriter();
+        new UpdateInfoWriter(again).getUpdateInfo(baseChannel);
+        assertEquals(buffer.toString(), again.toString());
+
+        errata.setSynopsis("second synopsis");
+        HibernateFactory.getSession().flush();
+
+        buffer = new StringWriter();
+        new UpdateInfoWriter(buffer).getUpdateInfo(baseChannel);
+        assertContains(buffer.toString(), "<title>second synopsis</title>");
+        assertFalse(buffer.toString().contains("first synopsis"));
+    }
+}
@@ -15,7 +15,10 @@
 package com.redhat.rhn.taskomatic.task.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.domain.server.Server;
 import com.redhat.rhn.domain.server.test.ServerFactoryTest;
 import com.redhat.rhn.domain.task.Task;
@@ -26,6 +29,10 @@ import com.redhat.rhn.testing.BaseTestCaseWithUser;
 import org.apache.logging.log4j.LogManager;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Tests for ErrataCacheDriver class.
  */
@@ -51,11 +58,44 @@ public class ErrataCacheDriverTest extends BaseTestCaseWithUser {
         ErrataCacheDriver driver = new ErrataCacheDriver();
         driver.setLogger(LogManager.getLogger(ErrataCacheDriverTest.class));
         int candidateCount = 0;
-        for (Task task : driver.getCandidates()) {
-            if (task.getData().equals(server.getId())) {
-                candidateCount++;
+        for (List<Task> tasks : driver.getCandidates()) {
+            for (Task task : tasks) {
+                if (task.getData().equals(server.getId())) {
+                    candidateCount++;
+                }
             }
         }
         assertEquals(1, candidateCount);
     }
+
+    /**
+     * Test that server tasks are handed out in batches.
+     *
+     * @throws Exception in case of a problem
+     */
+    @Test
+    public void testGetCandidatesBatchesServers() throws Exception {
+        Config.get().setString(ConfigDefaults.ERRATA_CACHE_SERVER_BATCH_SIZE, "2");
+        try {
+            List<Long> sids = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Server server = ServerFactoryTest.createTestServer(user);
+                ErrataManager.insertErrataCacheTask(server);
+                sids.add(server.getId());
+            }
+
+            ErrataCacheDriver driver = new ErrataCacheDriver();
+            driver.setLogger(LogManager.getLogger(ErrataCacheDriverTest.class));
+            List<List<Task>> batches = driver.getCandidates().stream()
+                    .filter(tasks -> tasks.stream().anyMatch(task -> sids.contains(task.getData())))
+                    .collect(Collectors.toList());
+            assertTrue(batches.stream().allMatch(tasks -> tasks.size() <= 2));
+            assertEquals(3, batches.stream().flatMap(List::stream)
+                    .filter(task -> sids.contains(task.getData()))
+                    .count());
+        }
+        finally {
+            Config.get().remove(ConfigDefaults.ERRATA_CACHE_SERVER_BATCH_SIZE);
+        }
+    }
 }
@@ -53,7 +53,8 @@ public class PackageTestUtils {
     public static List<Package> createSubsequentPackages(Org org) {
         Package pkg1 = PackageTest.createTestPackage(org);
         PackageEvr evr = pkg1.getPackageEvr();
-        evr.setVersion("1.0.0");
+        pkg1.setPackageEvr(PackageEvrFactory.lookupOrCreatePackageEvr(
+                evr.getEpoch(), "1.0.0", evr.getRelease(), pkg1.getPackageType()));
 
         Package pkg2 = PackageTest.createTestPackage(org);
         pkg2.setPackageName(pkg1.getPackageName());
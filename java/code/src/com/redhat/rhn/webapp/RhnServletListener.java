@@ -131,6 +131,8 @@ public class RhnServletListener implements ServletContextListener {
         logStart("Hibernate");
 
         PrometheusExporter.INSTANCE.registerSystemsCollector();
+        PrometheusExporter.INSTANCE.registerWebsocketMetrics();
+        PrometheusExporter.INSTANCE.registerMessageQueueMetrics();
 
         // the following is not safe to run in the testsuite
         // and will be excluded from test runs
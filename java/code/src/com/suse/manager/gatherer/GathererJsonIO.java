@@ -30,6 +30,7 @@ import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.Map;
 
 /**
@@ -77,6 +78,21 @@ public class GathererJsonIO {
                 new TypeToken<Map<String, Map<String, HostJson>>>() { }.getType());
     }
 
+    /**
+     * Read Hosts from virtual-host-gatherer's JSON output while it is streamed,
+     * without holding the whole output in memory.
+     *
+     * @param reader the reader of the JSON output
+     * @return a map from virtual host manager names to
+     * (virtual name, {@link HostJson}) pairs
+     * @throws JsonSyntaxException in case JSON does not have correct syntax
+     */
+    public Map<String, Map<String, HostJson>> readHosts(Reader reader)
+            throws JsonSyntaxException {
+        return  gson.fromJson(reader,
+                new TypeToken<Map<String, Map<String, HostJson>>>() { }.getType());
+    }
+
     /**
      * Write Object to Json
      * @param o an object
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -154,16 +155,12 @@ public class GathererRunner {
             });
             errStreamReader.start();
 
-            InputStreamReader irr = new InputStreamReader(p.getInputStream());
+            InputStreamReader irr = new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8);
             // We need to consume the input stream as it comes to avoid
-            // a deadlock because the buffer size is full.
+            // a deadlock because the buffer size is full: the hosts are parsed
+            // while the output is read, without keeping the whole output in memory.
             BufferedReader br = new BufferedReader(irr);
-            StringBuilder sb = new StringBuilder();
-            String line;
-            while ((line = br.readLine()) != null) {
-                sb.append(line);
-            }
-            hosts = new GathererJsonIO().readHosts(sb.toString());
+            hosts = new GathererJsonIO().readHosts(br);
 
             int exitCode = p.waitFor();
             if (exitCode != 0) {
@@ -34,6 +34,7 @@ import com.suse.manager.model.gatherer.GathererModule;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -160,4 +161,17 @@ public class GathererJsonIOTest  {
         assertNotNull(h.getOptionalVmData());
         assertEquals("running", h.getOptionalVmData().get("SUSE-Manager-Reference").get("vmState"));
     }
+
+    @Test
+    public void testReadGathererOutputFromReader() throws Exception {
+        String json = FileUtils.readStringFromFile(TestUtils.findTestData(GATHEREROUT).getPath());
+        Map<String, Map<String, HostJson>> hosts = new GathererJsonIO().readHosts(new StringReader(json));
+
+        assertEquals(3, hosts.keySet().size());
+        HostJson h = hosts.get("1").get("10.162.186.111");
+        assertEquals("de8-9a-8f-bd-a1-48.d3.cloud.mydomain.de", h.getHostIdentifier());
+        assertEquals("564d6d90-459c-2256-8f39-3cb2bd24b7b0", h.getVms().get("vCenter"));
+        assertEquals("running", hosts.get("9c84c119-cb23-439b-b479-327e81d53988").get("abcdefg.suse.de")
+                .getOptionalVmData().get("SUSE-Manager-Reference").get("vmState"));
+    }
 }
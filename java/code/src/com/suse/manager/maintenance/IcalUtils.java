@@ -128,28 +128,41 @@ public class IcalUtils {
      */
     public Stream<Pair<Instant, Instant>> calculateUpcomingPeriods(Calendar calendar, Optional<String> eventName,
             Instant startDate, int limit) {
+        // we will look a year and month to the future
+        return calculatePeriods(calendar, eventName, startDate, startDate.plus(Duration.ofDays(365 + 31)))
+                .limit(limit);
+    }
+
+    /**
+     * Calculate the maintenance windows overlapping the given range based on calendar and optional filter name
+     * (in case we're dealing with MULTI calendar and want to filter only events we're interested in).
+     *
+     * @param calendar the {@link Calendar}
+     * @param eventName for MULTI calendars: only deal with events with this name, filter out the rest
+     * @param startDate the start of the range
+     * @param endDate the end of the range
+     * @return the maintenance windows sorted by their start
+     */
+    public Stream<Pair<Instant, Instant>> calculatePeriods(Calendar calendar, Optional<String> eventName,
+            Instant startDate, Instant endDate) {
         ComponentList<CalendarComponent> allEvents = calendar.getComponents(Component.VEVENT);
 
         Collection<CalendarComponent> filteredEvents = eventName
                 .map(summary -> filterEventsBySummary(allEvents, summary))
                 .orElse(allEvents);
 
-        // we will look a year and month to the future
-        Period period = new Period(new DateTime(startDate.toEpochMilli()), Duration.ofDays(365 + 31));
+        Period period = new Period(new DateTime(startDate.toEpochMilli()), new DateTime(endDate.toEpochMilli()));
 
         List<PeriodList> periodLists = filteredEvents.stream()
                 .map(c -> c.calculateRecurrenceSet(period))
                 .filter(l -> !l.isEmpty())
                 .collect(toList());
 
-        Stream<Pair<Instant, Instant>> sortedLimited = periodLists.stream()
+        return periodLists.stream()
                 .map(Collection::stream)
                 .reduce(Stream.empty(), Stream::concat)
                 .sorted()
-                .limit(limit)
                 .map(p -> Pair.of(p.getStart().toInstant(), p.getRangeEnd().toInstant()));
-
-        return sortedLimited;
     }
 
     // given collection of events, filter out those with non-matching SUMMARY
@@ -95,6 +95,7 @@ public class MaintenanceManager {
     private ScheduleFactory scheduleFactory;
     private CalendarFactory calendarFactory;
     private IcalUtils icalUtils;
+    private MaintenanceWindowIndex windowIndex;
 
     /**
      * Constructor.
@@ -103,6 +104,7 @@ public class MaintenanceManager {
         scheduleFactory = new ScheduleFactory();
         calendarFactory = new CalendarFactory();
         icalUtils = new IcalUtils();
+        windowIndex = MaintenanceWindowIndex.getInstance();
     }
 
     /**
@@ -351,6 +353,7 @@ public class MaintenanceManager {
             calendar.setUrl(details.get("url"));
         }
         calendarFactory.save(calendar);
+        windowIndex.invalidate(calendar);
         List<RescheduleResult> result = new LinkedList<>();
         for (MaintenanceSchedule schedule: scheduleFactory.listByUserAndCalendar(user, calendar)) {
             RescheduleResult r = manageAffectedScheduledActions(user, schedule, rescheduleStrategy);
@@ -380,6 +383,7 @@ public class MaintenanceManager {
         calendar.setIcal(fetchCalendarData(
                 calendar.getUrlOpt().orElseThrow(() -> new EntityNotExistsException("url"))));
         calendarFactory.save(calendar);
+        windowIndex.invalidate(calendar);
         List<RescheduleResult> result = new LinkedList<>();
         for (MaintenanceSchedule schedule: scheduleFactory.listByUserAndCalendar(user, calendar)) {
             RescheduleResult r = manageAffectedScheduledActions(user, schedule, rescheduleStrategy);
@@ -409,6 +413,7 @@ public class MaintenanceManager {
         List<RescheduleResult> result = new LinkedList<>();
         List<MaintenanceSchedule> schedules = scheduleFactory.listByUserAndCalendar(user, calendar);
         calendarFactory.remove(calendar);
+        windowIndex.invalidate(calendar);
         for (MaintenanceSchedule schedule: schedules) {
             schedule.setCalendar(null);
             List<RescheduleStrategy> strategy = new LinkedList<>();
@@ -518,7 +523,9 @@ public class MaintenanceManager {
         }
 
         MaintenanceSchedule schedule = schedules.iterator().next();
-        return icalUtils.calculateUpcomingMaintenanceWindows(schedule);
+        return of(windowIndex.listUpcomingWindows(schedule, Instant.now(), 10).stream()
+                .map(p -> new MaintenanceWindowData(p.getLeft(), p.getRight()))
+                .collect(toList()));
     }
 
     /**
@@ -678,14 +685,7 @@ public class MaintenanceManager {
      */
     private Set<MaintenanceSchedule> listSystemSchedulesNotMatchingDate(Set<Long> systemIds, Date date) {
         return listSchedulesBySystems(systemIds).stream()
-                .filter(schedule -> {
-                    Collection<CalendarComponent> events = icalUtils.getCalendarEventsAtDate(
-                            date,
-                            schedule.getCalendarOpt().flatMap(c -> icalUtils.parseCalendar(c)),
-                            getScheduleNameForMulti(schedule)
-                    );
-                    return events.isEmpty();
-                })
+                .filter(schedule -> !windowIndex.isInWindow(schedule, date.toInstant()))
                 .collect(toSet());
     }
 
@@ -750,7 +750,7 @@ public class MaintenanceManager {
             })
             .filter(Opt.fold(calendarOpt,
                     () -> (sa -> true),
-                    c -> (sa -> !isActionInMaintenanceWindow(sa.getParentAction(), schedule, calendarOpt))))
+                    c -> (sa -> !isActionInMaintenanceWindow(sa.getParentAction(), schedule))))
             .collect(Collectors.groupingBy(ServerAction::getParentAction,
                     Collectors.mapping(ServerAction::getServer, toList())));
 
@@ -809,12 +809,21 @@ public class MaintenanceManager {
         return false;
     }
 
-    private Collection<CalendarComponent> getCalendarForNow(MaintenanceSchedule ms) {
-        return ms.getCalendarOpt()
-                .map(cal -> icalUtils.getCalendarEventsAtDate(
-                        new Date(), icalUtils.parseCalendar(cal),
-                        getScheduleNameForMulti(ms)))
-                .orElse(Collections.emptyList());
+    /**
+     * Check if provided action is inside of a maintenance window of the schedule, using the
+     * {@link MaintenanceWindowIndex} instead of evaluating the calendar again.
+     *
+     * @param action the action to check
+     * @param schedule the schedule where the action belong to
+     * @return true when the action is inside of a maintenance window, otherwise false
+     */
+    public boolean isActionInMaintenanceWindow(Action action, MaintenanceSchedule schedule) {
+        if (windowIndex.isInWindow(schedule, action.getEarliestAction().toInstant())) {
+            log.debug("Action '{}' inside of maintenance window in '{}'", action, schedule.getName());
+            return true;
+        }
+        log.debug("Action '{}' outside of maintenance window '{}'", action, schedule.getName());
+        return false;
     }
 
     /**
@@ -825,7 +834,7 @@ public class MaintenanceManager {
      */
     public boolean isSystemInMaintenanceMode(Server server) {
         return server.getMaintenanceScheduleOpt()
-                .map(schedule -> !getCalendarForNow(schedule).isEmpty())
+                .map(schedule -> windowIndex.isInWindow(schedule, Instant.now()))
                 .orElse(true);
     }
 
@@ -836,10 +845,11 @@ public class MaintenanceManager {
      * @return List of minions in maintenance mode
      */
     public List<Long> systemIdsMaintenanceMode(List<MinionServer> minions) {
+        Instant now = Instant.now();
         Set<MaintenanceSchedule> schedulesInMaintMode = minions.stream()
                 .flatMap(minion -> minion.getMaintenanceScheduleOpt().stream())
                 .distinct()
-                .filter(sched -> !getCalendarForNow(sched).isEmpty())
+                .filter(sched -> windowIndex.isInWindow(sched, now))
                 .collect(Collectors.toSet());
 
         List<Long> minionsInMaintMode = minions.stream()
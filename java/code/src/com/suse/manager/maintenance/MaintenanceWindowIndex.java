@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.maintenance;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+
+import com.suse.manager.model.maintenance.MaintenanceCalendar;
+import com.suse.manager.model.maintenance.MaintenanceSchedule;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.fortuna.ical4j.model.Calendar;
+
+/**
+ * In-memory index of the maintenance windows of the maintenance calendars.
+ *
+ * Every calendar (and for MULTI schedules every event name) is expanded once into a sorted list of
+ * intervals covering a rolling horizon, so that checking whether a point in time is inside a maintenance
+ * window or listing the upcoming windows are binary searches instead of an iCal evaluation per check.
+ *
+ * Entries are bound to the iCal content they were computed from: a calendar whose data changed is
+ * expanded again on the next lookup, even if it was modified in a transaction that did not go through
+ * {@link #invalidate(MaintenanceCalendar)}. Requests outside of the indexed horizon are answered by
+ * {@link IcalUtils} directly.
+ */
+public class MaintenanceWindowIndex {
+
+    private static final Logger LOG = LogManager.getLogger(MaintenanceWindowIndex.class);
+
+    private static final MaintenanceWindowIndex INSTANCE = new MaintenanceWindowIndex(Clock.systemUTC());
+
+    // upcoming windows are searched a year and a month ahead, like in IcalUtils
+    private static final Duration LOOKAHEAD = Duration.ofDays(365 + 31);
+    // how long an expansion is used before moving the horizon forward
+    private static final Duration REFRESH = Duration.ofDays(1);
+    // actions are often scheduled "now", which is already in the past when they are checked
+    private static final Duration LOOKBEHIND = Duration.ofDays(1);
+    // iCal dates have a precision of one second, and the PeriodRule used by IcalUtils matches the windows
+    // touching the second after the given date, bounds included
+    private static final long SECOND_MILLIS = 1000L;
+
+    private final Clock clock;
+    private final IcalUtils icalUtils = new IcalUtils();
+    private final Map<Long, Map<Optional<String>, Windows>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * THIS IS ONLY PUBLIC FOR TESTING.
+     *
+     * @param clockIn the clock used to place the indexed horizon
+     */
+    public MaintenanceWindowIndex(Clock clockIn) {
+        this.clock = clockIn;
+    }
+
+    /**
+     * @return the shared instance
+     */
+    public static MaintenanceWindowIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Check whether the given point in time is inside a maintenance window of the schedule.
+     * A schedule without a calendar has no maintenance windows.
+     *
+     * @param schedule the schedule
+     * @param time the point in time
+     * @return true if there is a maintenance window at the given time
+     */
+    public boolean isInWindow(MaintenanceSchedule schedule, Instant time) {
+        Optional<MaintenanceCalendar> calendar = schedule.getCalendarOpt();
+        if (calendar.isEmpty()) {
+            return false;
+        }
+        Optional<String> eventName = getScheduleNameForMulti(schedule);
+        Windows windows = lookup(calendar.get(), eventName);
+        if (windows.covers(time, Duration.ZERO)) {
+            return windows.contains(time.toEpochMilli());
+        }
+        LOG.debug("{} is outside of the indexed maintenance windows of calendar {}", time, calendar.get().getId());
+        return !icalUtils.getCalendarEventsAtDate(Date.from(time), icalUtils.parseCalendar(calendar.get()),
+                eventName).isEmpty();
+    }
+
+    /**
+     * List the maintenance windows of the schedule that end after the given date, ordered by start.
+     * Like {@link IcalUtils#calculateUpcomingPeriods}, only a year and a month after the date are considered.
+     *
+     * @param schedule the schedule
+     * @param startDate the start date
+     * @param limit upper limit of maintenance windows to return
+     * @return the list of upcoming maintenance windows as pairs of start and end
+     */
+    public List<Pair<Instant, Instant>> listUpcomingWindows(MaintenanceSchedule schedule, Instant startDate,
+            int limit) {
+        Optional<MaintenanceCalendar> calendar = schedule.getCalendarOpt();
+        if (calendar.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Optional<String> eventName = getScheduleNameForMulti(schedule);
+        Windows windows = lookup(calendar.get(), eventName);
+        if (windows.covers(startDate, LOOKAHEAD)) {
+            return windows.upcoming(startDate.toEpochMilli(), startDate.plus(LOOKAHEAD).toEpochMilli(), limit);
+        }
+        return icalUtils.parseCalendar(calendar.get())
+                .map(c -> icalUtils.calculateUpcomingPeriods(c, eventName, startDate, limit).collect(toList()))
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Drop the expanded windows of a calendar, e.g. after it was changed or removed.
+     *
+     * @param calendar the calendar
+     */
+    public void invalidate(MaintenanceCalendar calendar) {
+        if (calendar.getId() != null) {
+            cache.remove(calendar.getId());
+        }
+    }
+
+    /**
+     * Drop all the expanded windows.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private Windows lookup(MaintenanceCalendar calendar, Optional<String> eventName) {
+        Instant now = clock.instant();
+        if (calendar.getId() == null) {
+            // not persisted yet, nothing to key the entry with
+            return expand(calendar, eventName, now);
+        }
+        Map<Optional<String>, Windows> byEvent = cache.computeIfAbsent(calendar.getId(),
+                id -> new ConcurrentHashMap<>());
+        Windows windows = byEvent.get(eventName);
+        if (windows == null || !windows.isValid(calendar.getIcal(), now)) {
+            windows = expand(calendar, eventName, now);
+            byEvent.put(eventName, windows);
+        }
+        return windows;
+    }
+
+    private Windows expand(MaintenanceCalendar calendar, Optional<String> eventName, Instant now) {
+        Instant from = now.minus(LOOKBEHIND);
+        Instant to = now.plus(REFRESH).plus(LOOKAHEAD);
+        List<Pair<Instant, Instant>> periods = new ArrayList<>();
+        Optional<Calendar> parsed = calendar.getIcal() == null ? empty() : icalUtils.parseCalendar(calendar);
+        parsed.ifPresent(c -> icalUtils.calculatePeriods(c, eventName, from, to).forEach(periods::add));
+        LOG.debug("Expanded calendar {} ({}) into {} maintenance windows", calendar.getId(),
+                eventName.orElse("all events"), periods.size());
+        return new Windows(calendar.getIcal(), now, from, to, periods);
+    }
+
+    private static Optional<String> getScheduleNameForMulti(MaintenanceSchedule schedule) {
+        if (schedule.getScheduleType() == MaintenanceSchedule.ScheduleType.MULTI) {
+            return of(schedule.getName());
+        }
+        return empty();
+    }
+
+    /**
+     * Sorted maintenance windows of a calendar in a time range
+     */
+    private static class Windows {
+
+        private final String ical;
+        private final Instant expandedAt;
+        private final long from;
+        private final long to;
+        private final long[] starts;
+        private final long[] ends;
+        // maxEnds[i] is the latest end of the windows 0..i, windows can overlap
+        private final long[] maxEnds;
+
+        Windows(String icalIn, Instant expandedAtIn, Instant fromIn, Instant toIn,
+                List<Pair<Instant, Instant>> periods) {
+            ical = icalIn;
+            expandedAt = expandedAtIn;
+            from = fromIn.toEpochMilli();
+            to = toIn.toEpochMilli();
+            starts = new long[periods.size()];
+            ends = new long[periods.size()];
+            maxEnds = new long[periods.size()];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < periods.size(); i++) {
+                starts[i] = periods.get(i).getLeft().toEpochMilli();
+                ends[i] = periods.get(i).getRight().toEpochMilli();
+                maxEnd = Math.max(maxEnd, ends[i]);
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        boolean isValid(String icalIn, Instant now) {
+            return Objects.equals(ical, icalIn) && !now.isAfter(expandedAt.plus(REFRESH));
+        }
+
+        boolean covers(Instant time, Duration ahead) {
+            long millis = time.toEpochMilli();
+            return millis >= from && time.plus(ahead).toEpochMilli() + SECOND_MILLIS <= to;
+        }
+
+        boolean contains(long time) {
+            long second = truncate(time);
+            int last = lastStartingUntil(second + SECOND_MILLIS);
+            return last >= 0 && maxEnds[last] >= second;
+        }
+
+        List<Pair<Instant, Instant>> upcoming(long time, long until, int limit) {
+            long second = truncate(time);
+            List<Pair<Instant, Instant>> result = new ArrayList<>();
+            // maxEnds is ascending, skip everything that ended before the given time
+            int low = 0;
+            int high = maxEnds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnds[mid] >= second) {
+                    high = mid;
+                }
+                else {
+                    low = mid + 1;
+                }
+            }
+            for (int i = low; i < starts.length && starts[i] <= truncate(until) && result.size() < limit; i++) {
+                if (ends[i] >= second) {
+                    result.add(Pair.of(Instant.ofEpochMilli(starts[i]), Instant.ofEpochMilli(ends[i])));
+                }
+            }
+            return result;
+        }
+
+        private static long truncate(long time) {
+            return Math.floorDiv(time, SECOND_MILLIS) * SECOND_MILLIS;
+        }
+
+        // index of the last window starting at or before the given time, -1 if there is none
+        private int lastStartingUntil(long time) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= time) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.maintenance.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.common.util.FileUtils;
+import com.redhat.rhn.testing.TestUtils;
+
+import com.suse.manager.maintenance.IcalUtils;
+import com.suse.manager.maintenance.MaintenanceWindowIndex;
+import com.suse.manager.model.maintenance.MaintenanceCalendar;
+import com.suse.manager.model.maintenance.MaintenanceSchedule;
+import com.suse.manager.model.maintenance.MaintenanceSchedule.ScheduleType;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import net.fortuna.ical4j.model.Calendar;
+
+/**
+ * Tests comparing the {@link MaintenanceWindowIndex} with the iCal evaluation done by {@link IcalUtils}
+ */
+public class MaintenanceWindowIndexTest {
+
+    private static final String TESTDATAPATH = "/com/suse/manager/maintenance/test/testdata";
+    private static final String GOOGLE_ICS = "maintenance-windows-google-multizones.ics";
+    private static final String KDE_ICS = "maintenance-windows-kde.ics";
+    private static final String NYC_EVENT = "Maint. windows - NYC - weekdays";
+    private static final Instant NOW = Instant.parse("2020-06-08T00:00:00Z");
+
+    private IcalUtils icalUtils = new IcalUtils();
+    private MaintenanceWindowIndex index;
+    private MaintenanceCalendar calendar;
+    private Optional<Calendar> parsedCalendar;
+
+    /**
+     * {@inheritDoc}
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        index = new MaintenanceWindowIndex(Clock.fixed(NOW, ZoneOffset.UTC));
+        calendar = new MaintenanceCalendar();
+        calendar.setId(1L);
+        calendar.setLabel("multizones");
+        calendar.setIcal(readTestData(GOOGLE_ICS));
+        parsedCalendar = icalUtils.parseCalendar(calendar);
+    }
+
+    /**
+     * Tests the index answers like the iCal evaluation, for both SINGLE and MULTI schedules
+     */
+    @Test
+    public void testIsInWindow() {
+        MaintenanceSchedule single = createSchedule("single", ScheduleType.SINGLE);
+        MaintenanceSchedule multi = createSchedule(NYC_EVENT, ScheduleType.MULTI);
+
+        int inWindow = 0;
+        for (Instant time = NOW; time.isBefore(NOW.plus(Duration.ofDays(7))); time = time.plusSeconds(15 * 60)) {
+            assertEquals(isInWindowIcal(single, time), index.isInWindow(single, time), time.toString());
+            assertEquals(isInWindowIcal(multi, time), index.isInWindow(multi, time), time.toString());
+            inWindow += index.isInWindow(single, time) ? 1 : 0;
+        }
+        assertTrue(inWindow > 0);
+    }
+
+    /**
+     * Tests the window bounds are matched like the iCal evaluation does, at second precision
+     */
+    @Test
+    public void testWindowBounds() {
+        MaintenanceSchedule multi = createSchedule(NYC_EVENT, ScheduleType.MULTI);
+        // NYC windows are from 8:00 to 10:00 New York time
+        Instant start = Instant.parse("2020-06-08T12:00:00Z");
+        Instant end = Instant.parse("2020-06-08T14:00:00Z");
+
+        for (long offset = -3000; offset <= 3000; offset += 250) {
+            Instant aroundStart = start.plusMillis(offset);
+            Instant aroundEnd = end.plusMillis(offset);
+            assertEquals(isInWindowIcal(multi, aroundStart), index.isInWindow(multi, aroundStart),
+                    aroundStart.toString());
+            assertEquals(isInWindowIcal(multi, aroundEnd), index.isInWindow(multi, aroundEnd), aroundEnd.toString());
+        }
+        assertFalse(index.isInWindow(multi, start.minusSeconds(60)));
+        assertTrue(index.isInWindow(multi, start));
+        assertTrue(index.isInWindow(multi, end.minusSeconds(1)));
+        assertFalse(index.isInWindow(multi, end.plusSeconds(60)));
+    }
+
+    /**
+     * Tests times outside of the indexed horizon are still answered correctly
+     */
+    @Test
+    public void testOutsideOfHorizon() {
+        MaintenanceSchedule single = createSchedule("single", ScheduleType.SINGLE);
+        Instant past = Instant.parse("2020-06-01T12:30:00Z");
+        Instant future = NOW.plus(Duration.ofDays(800)).plusSeconds(12 * 3600 + 1800);
+
+        assertEquals(isInWindowIcal(single, past), index.isInWindow(single, past));
+        assertEquals(isInWindowIcal(single, future), index.isInWindow(single, future));
+    }
+
+    /**
+     * Tests listing the upcoming windows
+     */
+    @Test
+    public void testListUpcomingWindows() {
+        MaintenanceSchedule single = createSchedule("single", ScheduleType.SINGLE);
+        MaintenanceSchedule multi = createSchedule(NYC_EVENT, ScheduleType.MULTI);
+        Instant start = Instant.parse("2020-06-09T13:00:00Z");
+
+        assertEquals(upcomingIcal(single, start, 10), index.listUpcomingWindows(single, start, 10));
+        assertEquals(upcomingIcal(multi, start, 3), index.listUpcomingWindows(multi, start, 3));
+        // a window ending exactly at the start date is still listed, like in the iCal evaluation
+        Instant end = Instant.parse("2020-06-09T14:00:00Z");
+        assertEquals(upcomingIcal(multi, end, 3), index.listUpcomingWindows(multi, end, 3));
+        assertEquals(10, index.listUpcomingWindows(single, start, 10).size());
+        // the window currently running is part of the upcoming ones
+        assertEquals(Instant.parse("2020-06-09T12:00:00Z"), index.listUpcomingWindows(multi, start, 1).get(0)
+                .getLeft());
+    }
+
+    /**
+     * Tests changing the calendar data is picked up by the index
+     */
+    @Test
+    public void testCalendarChange() throws Exception {
+        MaintenanceSchedule single = createSchedule("single", ScheduleType.SINGLE);
+        Instant start = Instant.parse("2020-06-09T13:00:00Z");
+        List<Pair<Instant, Instant>> before = index.listUpcomingWindows(single, start, 10);
+
+        calendar.setIcal(readTestData(KDE_ICS));
+        List<Pair<Instant, Instant>> after = index.listUpcomingWindows(single, start, 10);
+        assertEquals(upcomingIcal(single, start, 10), after);
+        assertFalse(before.equals(after));
+
+        index.invalidate(calendar);
+        assertEquals(after, index.listUpcomingWindows(single, start, 10));
+    }
+
+    /**
+     * Tests a schedule without calendar has no maintenance windows
+     */
+    @Test
+    public void testNoCalendar() {
+        MaintenanceSchedule schedule = createSchedule("nocalendar", ScheduleType.SINGLE);
+        schedule.setCalendar(null);
+
+        assertFalse(index.isInWindow(schedule, NOW));
+        assertTrue(index.listUpcomingWindows(schedule, NOW, 10).isEmpty());
+    }
+
+    private MaintenanceSchedule createSchedule(String name, ScheduleType type) {
+        MaintenanceSchedule schedule = new MaintenanceSchedule();
+        schedule.setName(name);
+        schedule.setScheduleType(type);
+        schedule.setCalendar(calendar);
+        return schedule;
+    }
+
+    private boolean isInWindowIcal(MaintenanceSchedule schedule, Instant time) {
+        return !icalUtils.getCalendarEventsAtDate(Date.from(time), parsedCalendar, eventName(schedule)).isEmpty();
+    }
+
+    private List<Pair<Instant, Instant>> upcomingIcal(MaintenanceSchedule schedule, Instant start, int limit) {
+        return icalUtils.calculateUpcomingPeriods(icalUtils.parseCalendar(calendar).get(), eventName(schedule),
+                start, limit).collect(Collectors.toList());
+    }
+
+    private static Optional<String> eventName(MaintenanceSchedule schedule) {
+        return schedule.getScheduleType() == ScheduleType.MULTI ? Optional.of(schedule.getName()) :
+                Optional.empty();
+    }
+
+    private static String readTestData(String name) throws Exception {
+        File file = new File(TestUtils.findTestData(new File(TESTDATAPATH, name).getAbsolutePath()).getPath());
+        return FileUtils.readStringFromFile(file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+/**
+ * Metrics of the action chain executions: how long the planning takes and how many SLS files are
+ * rendered compared to the number of targeted minions.
+ *
+ * Action chains are planned by taskomatic, which is the only process registering these metrics.
+ */
+public class ActionChainMetrics {
+
+    private static final Histogram PLANNING_DURATION = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_action_chain_planning_seconds")
+            .help("Time needed to plan an action chain and write its SLS files")
+            .buckets(0.01, 0.1, 0.5, 1, 5, 10, 30, 60, 300)
+            .create();
+
+    private static final Counter MINIONS = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_action_chain_minions_total")
+            .help("Number of minions targeted by the executed action chains")
+            .create();
+
+    private static final Counter RENDERED_FILES = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_action_chain_rendered_files_total")
+            .help("Number of distinct action chain SLS files rendered")
+            .create();
+
+    private static final Counter FILES = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_action_chain_files_total")
+            .help("Number of action chain SLS files provided to the minions, shared ones included")
+            .create();
+
+    static final PrometheusExporter.Metrics METRICS =
+            new PrometheusExporter.Metrics(PLANNING_DURATION, MINIONS, RENDERED_FILES, FILES);
+
+    private ActionChainMetrics() { }
+
+    /**
+     * Records the planning of an action chain.
+     * @param startNanos the {@link System#nanoTime()} when the planning started
+     * @param minions number of targeted minions
+     * @param renderedFiles number of distinct SLS files rendered
+     * @param files number of SLS files provided to the minions
+     */
+    public static void observePlanning(long startNanos, int minions, int renderedFiles, int files) {
+        if (METRICS.isEnabled()) {
+            PLANNING_DURATION.observe((System.nanoTime() - startNanos) / 1.0E9);
+            MINIONS.inc(minions);
+            RENDERED_FILES.inc(renderedFiles);
+            FILES.inc(files);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import com.mchange.v2.c3p0.C3P0Registry;
+import com.mchange.v2.c3p0.PooledDataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+/**
+ * Collector for the c3p0 connection pools used by Hibernate.
+ */
+public class ConnectionPoolCollector extends Collector {
+
+    private static final Logger LOG = LogManager.getLogger(ConnectionPoolCollector.class);
+
+    private static final List<String> LABELS = List.of("datasource");
+
+    private String prefix;
+
+    /**
+     * Standard constructor.
+     * @param prefixIn prefix for the metric names
+     */
+    public ConnectionPoolCollector(String prefixIn) {
+        this.prefix = prefixIn;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        GaugeMetricFamily connections = gauge("db_pool_connections", "Connections in the pool");
+        GaugeMetricFamily busy = gauge("db_pool_connections_busy", "Connections checked out of the pool");
+        GaugeMetricFamily idle = gauge("db_pool_connections_idle", "Idle connections in the pool");
+        GaugeMetricFamily waiting = gauge("db_pool_threads_awaiting_checkout",
+                "Threads waiting for a connection of the pool");
+        CounterMetricFamily failed = new CounterMetricFamily(prefix + "_db_pool_failed_checkouts",
+                prefix + " - Connection checkouts that failed or timed out", LABELS);
+
+        for (Object source : C3P0Registry.getPooledDataSources()) {
+            PooledDataSource pool = (PooledDataSource) source;
+            List<String> label = List.of(String.valueOf(pool.getDataSourceName()));
+            try {
+                connections.addMetric(label, pool.getNumConnectionsDefaultUser());
+                busy.addMetric(label, pool.getNumBusyConnectionsDefaultUser());
+                idle.addMetric(label, pool.getNumIdleConnectionsDefaultUser());
+                waiting.addMetric(label, pool.getNumThreadsAwaitingCheckoutDefaultUser());
+                failed.addMetric(label, pool.getNumFailedCheckoutsDefaultUser());
+            }
+            catch (SQLException e) {
+                LOG.warn("Unable to read the statistics of connection pool {}", label, e);
+            }
+        }
+
+        List<MetricFamilySamples> out = new ArrayList<>();
+        out.add(connections);
+        out.add(busy);
+        out.add(idle);
+        out.add(waiting);
+        out.add(failed);
+        return out;
+    }
+
+    private GaugeMetricFamily gauge(String name, String help) {
+        return new GaugeMetricFamily(prefix + "_" + name, prefix + " - " + help, LABELS);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import io.prometheus.client.Histogram;
+
+/**
+ * Latency histograms of the datasource queries and of the database transactions.
+ */
+public class DatabaseMetrics {
+
+    /** Query type of statements returning a result set */
+    public static final String SELECT = "select";
+    /** Query type of statements returning an update count */
+    public static final String UPDATE = "update";
+    /** Query type of stored procedure calls */
+    public static final String CALLABLE = "callable";
+    /** Query type of batched statements */
+    public static final String BATCH = "batch";
+
+    private static final double[] BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private static final Histogram QUERY_DURATION = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_datasource_query_duration_seconds")
+            .help("Duration of the datasource queries by query name")
+            .labelNames("query", "type")
+            .buckets(BUCKETS)
+            .create();
+
+    private static final Histogram TRANSACTION_DURATION = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_transaction_duration_seconds")
+            .help("Duration of the transactions handled by TransactionHelper, including commit or rollback")
+            .labelNames("outcome")
+            .buckets(BUCKETS)
+            .create();
+
+    private static final Histogram COMMIT_DURATION = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_transaction_commit_duration_seconds")
+            .help("Duration of the commits handled by TransactionHelper, including the Hibernate session flush")
+            .buckets(BUCKETS)
+            .create();
+
+    static final PrometheusExporter.Metrics METRICS =
+            new PrometheusExporter.Metrics(QUERY_DURATION, TRANSACTION_DURATION, COMMIT_DURATION);
+
+    private DatabaseMetrics() { }
+
+    /**
+     * Records the duration of a datasource query.
+     * @param queryName the name of the query in the datasource XML files
+     * @param type the query type, one of the constants of this class
+     * @param startNanos the {@link System#nanoTime()} when the query started
+     */
+    public static void observeQuery(String queryName, String type, long startNanos) {
+        if (METRICS.isEnabled()) {
+            QUERY_DURATION.labels(String.valueOf(queryName), type).observe(secondsSince(startNanos));
+        }
+    }
+
+    /**
+     * Records the duration of a transaction.
+     * @param committed true if the transaction was committed, false if it was rolled back
+     * @param startNanos the {@link System#nanoTime()} when the transaction started
+     */
+    public static void observeTransaction(boolean committed, long startNanos) {
+        if (METRICS.isEnabled()) {
+            TRANSACTION_DURATION.labels(committed ? "commit" : "rollback").observe(secondsSince(startNanos));
+        }
+    }
+
+    /**
+     * Records the duration of a commit.
+     * @param startNanos the {@link System#nanoTime()} when the commit started
+     */
+    public static void observeCommit(long startNanos) {
+        if (METRICS.isEnabled()) {
+            COMMIT_DURATION.observe(secondsSince(startNanos));
+        }
+    }
+
+    private static double secondsSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1.0E9;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+/**
+ * Metrics of the message queue, labelled by the simple name of the event type.
+ *
+ * Tomcat and taskomatic each run a message queue and register these metrics at startup when Prometheus
+ * monitoring is enabled.
+ */
+public class MessageQueueMetrics {
+
+    private static final double[] BUCKETS = {0.001, 0.01, 0.1, 0.5, 1, 5, 10, 30, 60, 300, 900};
+
+    private static final Gauge QUEUE_DEPTH = Gauge.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_message_queue_depth")
+            .help("Number of messages waiting to be dispatched by event type")
+            .labelNames("event")
+            .create();
+
+    private static final Histogram WAIT_DURATION = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_message_queue_wait_seconds")
+            .help("Time between the publication of a message and the start of its actions by event type")
+            .labelNames("event")
+            .buckets(BUCKETS)
+            .create();
+
+    private static final Histogram EXECUTION_DURATION = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_message_queue_execution_seconds")
+            .help("Duration of the actions run for a message by event type")
+            .labelNames("event")
+            .buckets(BUCKETS)
+            .create();
+
+    private static final Counter DROPPED = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_message_queue_dropped_total")
+            .help("Number of messages dropped because the queue of their event type was full")
+            .labelNames("event")
+            .create();
+
+    static final PrometheusExporter.Metrics METRICS =
+            new PrometheusExporter.Metrics(QUEUE_DEPTH, WAIT_DURATION, EXECUTION_DURATION, DROPPED);
+
+    private MessageQueueMetrics() { }
+
+    /**
+     * Records the number of messages waiting for an event type.
+     * @param event the event type
+     * @param depth number of waiting messages
+     */
+    public static void setQueueDepth(String event, int depth) {
+        if (METRICS.isEnabled()) {
+            QUEUE_DEPTH.labels(event).set(depth);
+        }
+    }
+
+    /**
+     * Records the time a message waited before being dispatched.
+     * @param event the event type
+     * @param publishedNanos the {@link System#nanoTime()} when the message was published
+     */
+    public static void observeWait(String event, long publishedNanos) {
+        if (METRICS.isEnabled()) {
+            WAIT_DURATION.labels(event).observe(secondsSince(publishedNanos));
+        }
+    }
+
+    /**
+     * Records the duration of the actions of a message.
+     * @param event the event type
+     * @param startNanos the {@link System#nanoTime()} when the actions started
+     */
+    public static void observeExecution(String event, long startNanos) {
+        if (METRICS.isEnabled()) {
+            EXECUTION_DURATION.labels(event).observe(secondsSince(startNanos));
+        }
+    }
+
+    /**
+     * Records a dropped message.
+     * @param event the event type
+     */
+    public static void observeDropped(String event) {
+        if (METRICS.isEnabled()) {
+            DROPPED.labels(event).inc();
+        }
+    }
+
+    private static double secondsSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1.0E9;
+    }
+}
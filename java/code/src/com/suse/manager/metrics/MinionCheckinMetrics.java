@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+
+/**
+ * Metrics of the minion check-in pings.
+ *
+ * Only taskomatic, which runs the check-in task, registers these metrics.
+ */
+public class MinionCheckinMetrics {
+
+    private static final Counter PINGS = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_minion_checkin_pings_total")
+            .help("Number of minions pinged for check-in")
+            .create();
+
+    private static final Counter FAILED_PINGS = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_minion_checkin_failed_pings_total")
+            .help("Number of minions whose check-in ping could not be sent")
+            .create();
+
+    private static final Gauge BACKLOG = Gauge.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_minion_checkin_backlog")
+            .help("Number of minions waiting to be pinged for check-in")
+            .create();
+
+    static final PrometheusExporter.Metrics METRICS = new PrometheusExporter.Metrics(PINGS, FAILED_PINGS, BACKLOG);
+
+    private MinionCheckinMetrics() { }
+
+    /**
+     * Records minions pinged for check-in.
+     * @param minions number of minions pinged
+     */
+    public static void observePings(int minions) {
+        if (METRICS.isEnabled()) {
+            PINGS.inc(minions);
+        }
+    }
+
+    /**
+     * Records minions whose check-in ping failed.
+     * @param minions number of minions not pinged
+     */
+    public static void observeFailedPings(int minions) {
+        if (METRICS.isEnabled()) {
+            FAILED_PINGS.inc(minions);
+        }
+    }
+
+    /**
+     * Records the number of minions waiting to be pinged.
+     * @param minions number of pending minions
+     */
+    public static void setBacklog(int minions) {
+        if (METRICS.isEnabled()) {
+            BACKLOG.set(minions);
+        }
+    }
+}
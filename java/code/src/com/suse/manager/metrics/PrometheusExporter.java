@@ -18,13 +18,17 @@ import com.redhat.rhn.common.conf.ConfigDefaults;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
 import org.quartz.Scheduler;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.HTTPServer;
+import io.prometheus.client.hibernate.HibernateStatisticsCollector;
 
 /**
  * Exports Prometheus metrics.
@@ -40,6 +44,10 @@ public enum PrometheusExporter {
     // Listening port for non-Servlet based applications
     private static final int PORT = 9800;
 
+    private HibernateStatisticsCollector hibernateCollector;
+    private SecondLevelCacheCollector secondLevelCacheCollector;
+    private ConnectionPoolCollector connectionPoolCollector;
+
     /**
      * Starts an HTTP server serving metrics. To be used outside of J2EE applications.
      */
@@ -95,4 +103,106 @@ public enum PrometheusExporter {
             new SystemsCollector().register();
         }
     }
+
+    /**
+     * Registers the Hibernate statistics of a session factory, including the hit ratio of each second-level
+     * cache region, enabling their collection.
+     * The statistics of a previously registered session factory are unregistered.
+     * @param sessionFactory the session factory
+     * @param unit the name of the application component, added to the metrics as the `unit` label
+     */
+    public synchronized void registerHibernateStatistics(SessionFactory sessionFactory, String unit) {
+        if (ENABLED) {
+            if (hibernateCollector != null) {
+                CollectorRegistry.defaultRegistry.unregister(hibernateCollector);
+                CollectorRegistry.defaultRegistry.unregister(secondLevelCacheCollector);
+            }
+            sessionFactory.getStatistics().setStatisticsEnabled(true);
+            hibernateCollector = new HibernateStatisticsCollector(sessionFactory, unit).register();
+            secondLevelCacheCollector = new SecondLevelCacheCollector(sessionFactory).register();
+        }
+    }
+
+    /**
+     * Registers the database connection pools and the datasource query and transaction histograms.
+     * @param prefix prefix for the connection pool metric names
+     */
+    public synchronized void registerDatabaseMetrics(String prefix) {
+        if (ENABLED) {
+            if (connectionPoolCollector == null) {
+                connectionPoolCollector = new ConnectionPoolCollector(prefix).register();
+            }
+            DatabaseMetrics.METRICS.register();
+        }
+    }
+
+    /**
+     * Registers the websocket notification metrics.
+     */
+    public void registerWebsocketMetrics() {
+        if (ENABLED) {
+            WebsocketMetrics.METRICS.register();
+        }
+    }
+
+    /**
+     * Registers the minion check-in metrics.
+     */
+    public void registerMinionCheckinMetrics() {
+        if (ENABLED) {
+            MinionCheckinMetrics.METRICS.register();
+        }
+    }
+
+    /**
+     * Registers the message queue metrics.
+     */
+    public void registerMessageQueueMetrics() {
+        if (ENABLED) {
+            MessageQueueMetrics.METRICS.register();
+        }
+    }
+
+    /**
+     * Registers the action chain metrics.
+     */
+    public void registerActionChainMetrics() {
+        if (ENABLED) {
+            ActionChainMetrics.METRICS.register();
+        }
+    }
+
+    /**
+     * Collectors of a metrics class, registered in the default registry at most once. Until then their
+     * observations are dropped, so when Prometheus monitoring is disabled the instrumented code paths only
+     * pay a volatile read.
+     */
+    static final class Metrics {
+
+        private final Collector[] collectors;
+        private volatile boolean enabled = false;
+
+        /**
+         * @param collectorsIn the collectors, not registered yet
+         */
+        Metrics(Collector... collectorsIn) {
+            collectors = collectorsIn;
+        }
+
+        /**
+         * @return true if the collectors are registered and the observations recorded
+         */
+        boolean isEnabled() {
+            return enabled;
+        }
+
+        private synchronized void register() {
+            if (!enabled) {
+                for (Collector collector : collectors) {
+                    collector.register();
+                }
+                enabled = true;
+            }
+        }
+    }
 }
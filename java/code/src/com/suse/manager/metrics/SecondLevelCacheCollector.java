@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+/**
+ * Collector for the Hibernate second-level cache regions, to follow the hit ratio of each region.
+ * Requires the statistics of the session factory to be enabled.
+ */
+public class SecondLevelCacheCollector extends Collector {
+
+    private static final List<String> LABELS = List.of("region");
+
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Standard constructor.
+     * @param sessionFactoryIn the session factory
+     */
+    public SecondLevelCacheCollector(SessionFactory sessionFactoryIn) {
+        this.sessionFactory = sessionFactoryIn;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        String prefix = SystemsCollector.PRODUCT_NAME + "_hibernate_cache_region";
+        CounterMetricFamily hits = new CounterMetricFamily(prefix + "_hits_total",
+                "Second-level cache hits by region", LABELS);
+        CounterMetricFamily misses = new CounterMetricFamily(prefix + "_misses_total",
+                "Second-level cache misses by region", LABELS);
+        CounterMetricFamily puts = new CounterMetricFamily(prefix + "_puts_total",
+                "Second-level cache puts by region", LABELS);
+        GaugeMetricFamily elements = new GaugeMetricFamily(prefix + "_elements",
+                "Elements in memory by second-level cache region", LABELS);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            List<String> label = List.of(region);
+            hits.addMetric(label, regionStatistics.getHitCount());
+            misses.addMetric(label, regionStatistics.getMissCount());
+            puts.addMetric(label, regionStatistics.getPutCount());
+            elements.addMetric(label, regionStatistics.getElementCountInMemory());
+        }
+
+        String queryPrefix = SystemsCollector.PRODUCT_NAME + "_hibernate_query_cache";
+        List<MetricFamilySamples> out = new ArrayList<>();
+        out.add(hits);
+        out.add(misses);
+        out.add(puts);
+        out.add(elements);
+        out.add(new CounterMetricFamily(queryPrefix + "_hits_total", "Query cache hits",
+                statistics.getQueryCacheHitCount()));
+        out.add(new CounterMetricFamily(queryPrefix + "_misses_total", "Query cache misses",
+                statistics.getQueryCacheMissCount()));
+        return out;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+/**
+ * Metrics of the websocket notification fan-out.
+ *
+ * The websockets are served by tomcat, which is the only process registering these metrics.
+ */
+public class WebsocketMetrics {
+
+    private static final Histogram FANOUT_LATENCY = Histogram.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_websocket_notification_latency_seconds")
+            .help("Time between a notification change and the push to the websocket sessions")
+            .buckets(0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30)
+            .create();
+
+    private static final Counter FANOUT_USERS = Counter.build()
+            .name(SystemsCollector.PRODUCT_NAME + "_websocket_notification_users_total")
+            .help("Number of users whose websocket sessions were pushed notification updates")
+            .create();
+
+    static final PrometheusExporter.Metrics METRICS = new PrometheusExporter.Metrics(FANOUT_LATENCY, FANOUT_USERS);
+
+    private WebsocketMetrics() { }
+
+    /**
+     * Records a fan-out of notification updates.
+     * @param users number of users whose sessions were updated
+     * @param startNanos the {@link System#nanoTime()} of the oldest change included in the fan-out
+     */
+    public static void observeFanout(int users, long startNanos) {
+        if (METRICS.isEnabled()) {
+            FANOUT_LATENCY.observe((System.nanoTime() - startNanos) / 1.0E9);
+            FANOUT_USERS.inc(users);
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.suse.manager.reactor;
 import static java.util.stream.Stream.empty;
 import static java.util.stream.Stream.of;
 
+import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.messaging.EventMessage;
 import com.redhat.rhn.common.messaging.MessageQueue;
 import com.redhat.rhn.domain.server.MinionServer;
@@ -47,6 +48,9 @@ import com.suse.manager.reactor.messaging.LibvirtEnginePoolMessageAction;
 import com.suse.manager.reactor.messaging.LibvirtEnginePoolRefreshMessage;
 import com.suse.manager.reactor.messaging.RefreshGeneratedSaltFilesEventMessage;
 import com.suse.manager.reactor.messaging.RefreshGeneratedSaltFilesEventMessageAction;
+import com.suse.manager.reactor.messaging.RegisterMinionBatchEventMessage;
+import com.suse.manager.reactor.messaging.RegisterMinionBatchEventMessageAction;
+import com.suse.manager.reactor.messaging.RegisterMinionBatcher;
 import com.suse.manager.reactor.messaging.RegisterMinionEventMessage;
 import com.suse.manager.reactor.messaging.RegisterMinionEventMessageAction;
 import com.suse.manager.reactor.messaging.RunnableEventMessage;
@@ -102,6 +106,9 @@ public class SaltReactor {
 
     private PGEventListener listener;
 
+    // Groups minion registrations, null when every minion is registered on its own
+    private RegisterMinionBatcher registrationBatcher;
+
     // Indicate that the reactor has been stopped
     private volatile boolean isStopped = false;
 
@@ -133,6 +140,13 @@ public class SaltReactor {
         // Configure message queue to handle minion registrations
         MessageQueue.registerAction(new RegisterMinionEventMessageAction(systemQuery, saltApi, paygMgr, attestationMgr),
                 RegisterMinionEventMessage.class);
+        int registrationBatchSize = ConfigDefaults.get().getMinionRegistrationBatchSize();
+        if (registrationBatchSize > 1) {
+            MessageQueue.registerAction(new RegisterMinionBatchEventMessageAction(saltApi, paygMgr),
+                    RegisterMinionBatchEventMessage.class);
+            registrationBatcher = new RegisterMinionBatcher(registrationBatchSize,
+                    ConfigDefaults.get().getMinionRegistrationBatchDelay(), MessageQueue::publish);
+        }
         MessageQueue.registerAction(new ApplyStatesEventMessageAction(),
                 ApplyStatesEventMessage.class);
         MessageQueue.registerAction(new JobReturnEventMessageAction(saltServerActionService, saltUtils),
@@ -173,6 +187,9 @@ public class SaltReactor {
         if (eventStream != null) {
             eventStream.removeEventListener(listener);
         }
+        if (registrationBatcher != null) {
+            registrationBatcher.shutdown();
+        }
     }
 
     /**
@@ -265,9 +282,12 @@ public class SaltReactor {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Trigger start and registration for minion: {}", minionId);
         }
-        return of(
-            new RegisterMinionEventMessage(minionId, startupGrains)
-        );
+        RegisterMinionEventMessage registration = new RegisterMinionEventMessage(minionId, startupGrains);
+        if (registrationBatcher != null) {
+            registrationBatcher.add(registration);
+            return empty();
+        }
+        return of(registration);
     }
 
     /**
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.messaging;
+
+import com.redhat.rhn.common.messaging.EventMessage;
+
+import java.util.List;
+
+/**
+ * Event for triggering the registration of several salt minions at once.
+ */
+public class RegisterMinionBatchEventMessage implements EventMessage {
+
+    private final List<RegisterMinionEventMessage> registrations;
+
+    /**
+     * Create a new event to trigger the registration of several systems.
+     *
+     * @param registrationsIn the registrations of the single minions
+     */
+    public RegisterMinionBatchEventMessage(List<RegisterMinionEventMessage> registrationsIn) {
+        registrations = registrationsIn;
+    }
+
+    /**
+     * Return the registrations of the single minions.
+     *
+     * @return the registrations
+     */
+    public List<RegisterMinionEventMessage> getRegistrations() {
+        return registrations;
+    }
+
+    /**
+     * Return null here since we don't necessarily have a user.
+     *
+     * @return null since we don't have a user
+     */
+    @Override
+    public Long getUserId() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toText() {
+        return toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RegisterMinionBatchEvent[minions: " + registrations.size() + "]";
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.messaging;
+
+import com.redhat.rhn.common.RhnRuntimeException;
+import com.redhat.rhn.common.messaging.EventMessage;
+import com.redhat.rhn.common.messaging.MessageAction;
+import com.redhat.rhn.common.messaging.MessageQueue;
+import com.redhat.rhn.domain.server.MinionServer;
+import com.redhat.rhn.domain.server.MinionServerFactory;
+
+import com.suse.cloud.CloudPaygManager;
+import com.suse.manager.webui.services.iface.SaltApi;
+import com.suse.manager.webui.utils.salt.custom.MinionStartupGrains;
+import com.suse.manager.webui.utils.salt.custom.SumaUtil.PublicCloudInstanceFlavor;
+import com.suse.manager.webui.utils.salt.custom.SystemInfo;
+import com.suse.utils.Opt;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the data needed to register a batch of minions with one Salt call for all of them, then publishes
+ * a {@link RegisterMinionEventMessage} carrying that data for each minion. The registrations themselves are
+ * run by {@link RegisterMinionEventMessageAction}, each one in its own transaction. When the data cannot be
+ * collected for the whole batch, the minions are handed over without it and collect it on their own.
+ */
+public class RegisterMinionBatchEventMessageAction implements MessageAction {
+
+    private static final Logger LOG = LogManager.getLogger(RegisterMinionBatchEventMessageAction.class);
+
+    private final SaltApi saltApi;
+    private final CloudPaygManager cloudPaygManager;
+    private final Consumer<EventMessage> publisher;
+
+    /**
+     * Constructor publishing the registrations to the {@link MessageQueue}.
+     *
+     * @param saltApiIn saltApi instance for gathering data from the systems
+     * @param paygMgrIn {@link CloudPaygManager} instance
+     */
+    public RegisterMinionBatchEventMessageAction(SaltApi saltApiIn, CloudPaygManager paygMgrIn) {
+        this(saltApiIn, paygMgrIn, MessageQueue::publish);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param saltApiIn saltApi instance for gathering data from the systems
+     * @param paygMgrIn {@link CloudPaygManager} instance
+     * @param publisherIn receives the registrations of the single minions
+     */
+    public RegisterMinionBatchEventMessageAction(SaltApi saltApiIn, CloudPaygManager paygMgrIn,
+                                                 Consumer<EventMessage> publisherIn) {
+        saltApi = saltApiIn;
+        cloudPaygManager = paygMgrIn;
+        publisher = publisherIn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(EventMessage msg) {
+        List<RegisterMinionEventMessage> registrations = ((RegisterMinionBatchEventMessage) msg).getRegistrations();
+        LOG.debug("Collecting registration data of {} minions", registrations.size());
+
+        List<RegisterMinionEventMessage> collected;
+        try {
+            collected = collectRegistrationData(registrations);
+        }
+        catch (RhnRuntimeException e) {
+            // the single registrations collect their data on their own, one failing minion does not stop the others
+            LOG.warn("Unable to collect the registration data of {} minions, registering them one by one",
+                    registrations.size(), e);
+            collected = registrations;
+        }
+        collected.forEach(publisher);
+    }
+
+    private List<RegisterMinionEventMessage> collectRegistrationData(
+            List<RegisterMinionEventMessage> registrations) {
+        List<String> withoutGrains = registrations.stream()
+                .filter(r -> r.getMinionStartupGrains().isEmpty())
+                .map(RegisterMinionEventMessage::getMinionId)
+                .collect(Collectors.toList());
+        Map<String, MinionStartupGrains> startupGrains = saltApi.getGrains(withoutGrains,
+                new TypeToken<MinionStartupGrains>() { }, "machine_id", "saltboot_initrd", "susemanager");
+
+        // Registered minions only get their system info refreshed when they start, collect the full
+        // system info of the new ones only
+        Set<String> registered = MinionServerFactory.lookupByMinionIds(registrations.stream()
+                        .map(RegisterMinionEventMessage::getMinionId)
+                        .collect(Collectors.toSet())).stream()
+                .map(MinionServer::getMinionId)
+                .collect(Collectors.toSet());
+        List<String> newMinions = registrations.stream()
+                .map(RegisterMinionEventMessage::getMinionId)
+                .filter(minionId -> !registered.contains(minionId))
+                .collect(Collectors.toList());
+        Map<String, SystemInfo> systemInfos = saltApi.getSystemInfoFull(newMinions);
+
+        Map<String, PublicCloudInstanceFlavor> flavors = Collections.emptyMap();
+        if (!systemInfos.isEmpty() && cloudPaygManager.isPaygInstance() && !cloudPaygManager.hasSCCCredentials()) {
+            flavors = saltApi.getInstanceFlavors(List.copyOf(systemInfos.keySet()));
+        }
+
+        List<RegisterMinionEventMessage> collected = new ArrayList<>(registrations.size());
+        for (RegisterMinionEventMessage registration : registrations) {
+            String minionId = registration.getMinionId();
+            collected.add(new RegisterMinionEventMessage(minionId,
+                    Opt.or(registration.getMinionStartupGrains(), Optional.ofNullable(startupGrains.get(minionId))),
+                    Optional.ofNullable(systemInfos.get(minionId)),
+                    Optional.ofNullable(flavors.get(minionId))));
+        }
+        return collected;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canRunConcurrently() {
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.messaging;
+
+import com.redhat.rhn.common.messaging.EventMessage;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Groups the registrations of minions starting at about the same time into {@link RegisterMinionBatchEventMessage}s.
+ *
+ * A batch is published as soon as it is full, or when its first registration has waited for the configured delay.
+ * A minion starting again before its batch is published is registered only once.
+ */
+public class RegisterMinionBatcher {
+
+    private static final Logger LOG = LogManager.getLogger(RegisterMinionBatcher.class);
+
+    private final int batchSize;
+    private final long delayMillis;
+    private final Consumer<EventMessage> publisher;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new BasicThreadFactory.Builder().namingPattern("minion-registration-batcher").daemon(true).build());
+
+    private final Map<String, RegisterMinionEventMessage> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Constructor
+     *
+     * @param batchSizeIn the maximum number of minions in a batch
+     * @param delayMillisIn the maximum time a registration waits for its batch to be published
+     * @param publisherIn receives the batches
+     */
+    public RegisterMinionBatcher(int batchSizeIn, long delayMillisIn, Consumer<EventMessage> publisherIn) {
+        batchSize = batchSizeIn;
+        delayMillis = delayMillisIn;
+        publisher = publisherIn;
+    }
+
+    /**
+     * Adds a registration to the current batch.
+     *
+     * @param registration the registration of a starting minion
+     */
+    public void add(RegisterMinionEventMessage registration) {
+        List<RegisterMinionEventMessage> batch = null;
+        synchronized (this) {
+            pending.put(registration.getMinionId(), registration);
+            if (pending.size() >= batchSize) {
+                batch = takePending();
+            }
+            else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        publish(batch);
+    }
+
+    /**
+     * Publishes the current batch, if any.
+     */
+    public void flush() {
+        List<RegisterMinionEventMessage> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        publish(batch);
+    }
+
+    /**
+     * Publishes the current batch and stops the timer.
+     */
+    public void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    private List<RegisterMinionEventMessage> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<RegisterMinionEventMessage> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        return batch;
+    }
+
+    private void publish(List<RegisterMinionEventMessage> batch) {
+        if (batch != null && !batch.isEmpty()) {
+            LOG.debug("Publishing the registration of {} minions", batch.size());
+            publisher.accept(new RegisterMinionBatchEventMessage(batch));
+        }
+    }
+}
@@ -17,6 +17,8 @@ package com.suse.manager.reactor.messaging;
 import com.redhat.rhn.common.messaging.EventMessage;
 
 import com.suse.manager.webui.utils.salt.custom.MinionStartupGrains;
+import com.suse.manager.webui.utils.salt.custom.SumaUtil.PublicCloudInstanceFlavor;
+import com.suse.manager.webui.utils.salt.custom.SystemInfo;
 
 import java.util.Optional;
 /**
@@ -26,6 +28,8 @@ public class RegisterMinionEventMessage implements EventMessage {
 
     private String minionId;
     private Optional<MinionStartupGrains> minionStartupGrains;
+    private Optional<SystemInfo> systemInfo;
+    private Optional<PublicCloudInstanceFlavor> instanceFlavor;
 
     /**
      * Create a new event to trigger system registration.
@@ -34,11 +38,28 @@ public class RegisterMinionEventMessage implements EventMessage {
      * @param minionStartupGrainsIn grains to be passed
      */
     public RegisterMinionEventMessage(String minionIdIn, Optional<MinionStartupGrains> minionStartupGrainsIn) {
+        this(minionIdIn, minionStartupGrainsIn, Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Create a new event to trigger system registration with data already collected from the minion,
+     * see {@link RegisterMinionBatchEventMessageAction}.
+     *
+     * @param minionIdIn minion to register
+     * @param minionStartupGrainsIn grains to be passed
+     * @param systemInfoIn the full system info, requested from the minion if needed and empty
+     * @param instanceFlavorIn the instance flavor, requested from the minion if needed and empty
+     */
+    public RegisterMinionEventMessage(String minionIdIn, Optional<MinionStartupGrains> minionStartupGrainsIn,
+                                      Optional<SystemInfo> systemInfoIn,
+                                      Optional<PublicCloudInstanceFlavor> instanceFlavorIn) {
         if (minionIdIn == null) {
             throw new IllegalArgumentException("minionId cannot be null");
         }
         this.minionId = minionIdIn;
         this.minionStartupGrains = minionStartupGrainsIn;
+        this.systemInfo = systemInfoIn;
+        this.instanceFlavor = instanceFlavorIn;
     }
 
     /**
@@ -70,6 +91,24 @@ public class RegisterMinionEventMessage implements EventMessage {
         return minionStartupGrains;
     }
 
+    /**
+     * Return the full system info if it was already collected
+     *
+     * @return systemInfo
+     */
+    public Optional<SystemInfo> getSystemInfo() {
+        return systemInfo;
+    }
+
+    /**
+     * Return the instance flavor if it was already collected
+     *
+     * @return instanceFlavor
+     */
+    public Optional<PublicCloudInstanceFlavor> getInstanceFlavor() {
+        return instanceFlavor;
+    }
+
     /**
      * {@inheritDoc}
      */
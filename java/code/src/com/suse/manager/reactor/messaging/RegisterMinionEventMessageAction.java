@@ -163,7 +163,8 @@ public class RegisterMinionEventMessageAction implements MessageAction {
         Optional<MinionStartupGrains> startupGrainsOpt = Opt.or(registerMinionEventMessage.getMinionStartupGrains(),
                 () -> saltApi.getGrains(registerMinionEventMessage.getMinionId(),
                         new TypeToken<MinionStartupGrains>() { }, "machine_id", "saltboot_initrd", "susemanager"));
-        registerMinion(registerMinionEventMessage.getMinionId(), false, empty(), empty(), empty(),  startupGrainsOpt);
+        registerMinion(registerMinionEventMessage.getMinionId(), false, empty(), empty(), empty(), startupGrainsOpt,
+                registerMinionEventMessage.getSystemInfo(), registerMinionEventMessage.getInstanceFlavor());
     }
 
     /**
@@ -180,7 +181,8 @@ public class RegisterMinionEventMessageAction implements MessageAction {
         Optional<MinionStartupGrains> startupGrainsOpt = saltApi.getGrains(minionId,
                 new TypeToken<>() {
                 }, "machine_id", "saltboot_initrd", "susemanager");
-        registerMinion(minionId, true, of(sshPushPort), proxyId, activationKeyOverride, startupGrainsOpt);
+        registerMinion(minionId, true, of(sshPushPort), proxyId, activationKeyOverride, startupGrainsOpt,
+                empty(), empty());
     }
 
     /**
@@ -191,9 +193,12 @@ public class RegisterMinionEventMessageAction implements MessageAction {
      * @param activationKeyOverride label of activation key to be applied to the system.
      *                       If left empty, activation key from grains will be used.
      * @param startupGrains Grains needed for initial phase of registration
+     * @param systemInfo full system info if already collected
+     * @param instanceFlavor instance flavor if already collected
      */
     private void registerMinion(String minionId, boolean isSaltSSH, Optional<Integer> sshPort, Optional<Long> proxyId,
-                                Optional<String> activationKeyOverride, Optional<MinionStartupGrains> startupGrains) {
+                                Optional<String> activationKeyOverride, Optional<MinionStartupGrains> startupGrains,
+                                Optional<SystemInfo> systemInfo, Optional<PublicCloudInstanceFlavor> instanceFlavor) {
         Opt.consume(startupGrains,
             ()-> LOG.error("Aborting: needed grains are not found for minion: {}",
                     StringUtil.sanitizeLogInput(minionId)),
@@ -210,7 +215,7 @@ public class RegisterMinionEventMessageAction implements MessageAction {
                 Opt.consume(machineIdOpt,
                     ()-> LOG.error("Aborting: cannot find machine id for minion: {}", minionId),
                     machineId -> registerMinion(minionId, isSaltSSH, sshPort, proxyId, activationKeyOverride,
-                            validReactivationKey, machineId, saltbootInitrd));
+                            validReactivationKey, machineId, saltbootInitrd, systemInfo, instanceFlavor));
             });
     }
 
@@ -243,10 +248,13 @@ public class RegisterMinionEventMessageAction implements MessageAction {
      * @param reActivationKey valid reactivation key
      * @param machineId Machine Id of the minion
      * @param saltbootInitrd saltboot_initrd, to be used for retail minions
+     * @param systemInfo full system info if already collected
+     * @param instanceFlavor instance flavor if already collected
      */
     private void registerMinion(String minionId, boolean isSaltSSH, Optional<Integer> sshPort,
                                 Optional<Long> saltSSHProxyId, Optional<String> actKeyOverride,
-                                Optional<String> reActivationKey, String machineId, boolean saltbootInitrd) {
+                                Optional<String> reActivationKey, String machineId, boolean saltbootInitrd,
+                                Optional<SystemInfo> systemInfo, Optional<PublicCloudInstanceFlavor> instanceFlavor) {
         Opt.consume(reActivationKey,
             //Case A: Registration
             () -> Opt.consume(ServerFactory.findByMachineId(machineId),
@@ -254,7 +262,7 @@ public class RegisterMinionEventMessageAction implements MessageAction {
                         () -> {
                             // Case 1.1 - new registration
                             finalizeMinionRegistration(minionId, machineId, sshPort, saltSSHProxyId, actKeyOverride,
-                                    isSaltSSH, saltbootInitrd);
+                                    isSaltSSH, saltbootInitrd, systemInfo, instanceFlavor);
                         },
                         minionServer -> {
                             // Case 2.1 - update found system with new values
@@ -272,7 +280,7 @@ public class RegisterMinionEventMessageAction implements MessageAction {
                                 () -> {
                                     // traditional client wants migration to salt
                                     finalizeMinionRegistration(minionId, machineId, sshPort, saltSSHProxyId,
-                                            actKeyOverride, isSaltSSH, saltbootInitrd);
+                                            actKeyOverride, isSaltSSH, saltbootInitrd, systemInfo, instanceFlavor);
                                 },
                                 registeredMinion -> {
                                     updateAlreadyRegisteredInfo(minionId, machineId, registeredMinion);
@@ -301,7 +309,7 @@ public class RegisterMinionEventMessageAction implements MessageAction {
             rk -> {
                 reactivateSystem(minionId, machineId, rk);
                 finalizeMinionRegistration(minionId, machineId, sshPort,
-                    saltSSHProxyId, actKeyOverride, isSaltSSH, saltbootInitrd);
+                    saltSSHProxyId, actKeyOverride, isSaltSSH, saltbootInitrd, systemInfo, instanceFlavor);
             }
         );
     }
@@ -474,17 +482,42 @@ public class RegisterMinionEventMessageAction implements MessageAction {
                                            Optional<String> activationKeyOverride,
                                            boolean isSaltSSH,
                                            boolean saltbootInitrd) {
+        finalizeMinionRegistration(minionId, machineId, sshPort, saltSSHProxyId, activationKeyOverride, isSaltSSH,
+                saltbootInitrd, empty(), empty());
+    }
+
+    /**
+     * Complete the minion registration with information from grains
+     * @param minionId the minion id
+     * @param machineId the machine id that we are trying to register
+     * @param sshPort the port to use for ssh only bootstrapping
+     * @param saltSSHProxyId optional proxy id for saltssh in case it is used
+     * @param activationKeyOverride optional label of activation key to be applied to the system
+     * @param isSaltSSH true if a salt-ssh system is bootstrapped
+     * @param saltbootInitrd true if saltboot initrd grain is set
+     * @param collectedSystemInfo full system info if already collected, otherwise it is requested from the minion
+     * @param collectedFlavor instance flavor if already collected, otherwise it is requested when needed
+     */
+    private void finalizeMinionRegistration(String minionId,
+                                            String machineId,
+                                            Optional<Integer> sshPort,
+                                            Optional<Long> saltSSHProxyId,
+                                            Optional<String> activationKeyOverride,
+                                            boolean isSaltSSH,
+                                            boolean saltbootInitrd,
+                                            Optional<SystemInfo> collectedSystemInfo,
+                                            Optional<PublicCloudInstanceFlavor> collectedFlavor) {
         Optional<User> creator = MinionPendingRegistrationService.getCreator(minionId);
         Org org = null;
 
         try {
-            SystemInfo systemInfo = saltApi.getSystemInfoFull(minionId)
+            SystemInfo systemInfo = Opt.or(collectedSystemInfo, () -> saltApi.getSystemInfoFull(minionId))
                 .orElseThrow(() -> new SaltException("Missing systeminfo result. Aborting registration."));
 
             ValueMap grains = systemInfo.getGrains();
             PublicCloudInstanceFlavor instanceFlavor = PublicCloudInstanceFlavor.UNKNOWN;
             if (cloudPaygManager.isPaygInstance() && !cloudPaygManager.hasSCCCredentials()) {
-                instanceFlavor = saltApi.getInstanceFlavor(minionId);
+                instanceFlavor = collectedFlavor.orElseGet(() -> saltApi.getInstanceFlavor(minionId));
                 if (!RegistrationUtils.isAllowedOnPayg(systemQuery, minionId, Collections.emptySet(), grains,
                                                        instanceFlavor)) {
                     Object[] args = {minionId};
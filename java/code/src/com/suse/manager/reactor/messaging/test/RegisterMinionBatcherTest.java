@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.messaging.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.common.messaging.EventMessage;
+
+import com.suse.manager.reactor.messaging.RegisterMinionBatchEventMessage;
+import com.suse.manager.reactor.messaging.RegisterMinionBatcher;
+import com.suse.manager.reactor.messaging.RegisterMinionEventMessage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for {@link RegisterMinionBatcher}.
+ */
+public class RegisterMinionBatcherTest {
+
+    @Test
+    public void testPublishWhenFull() {
+        List<EventMessage> published = new CopyOnWriteArrayList<>();
+        RegisterMinionBatcher batcher = new RegisterMinionBatcher(2, 60_000, published::add);
+        try {
+            batcher.add(new RegisterMinionEventMessage("minion1", Optional.empty()));
+            assertTrue(published.isEmpty());
+            // a minion starting twice is registered once
+            batcher.add(new RegisterMinionEventMessage("minion1", Optional.empty()));
+            assertTrue(published.isEmpty());
+            batcher.add(new RegisterMinionEventMessage("minion2", Optional.empty()));
+
+            assertEquals(1, published.size());
+            assertEquals(List.of("minion1", "minion2"), minionIds(published.get(0)));
+        }
+        finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublishAfterDelay() throws InterruptedException {
+        List<EventMessage> published = new CopyOnWriteArrayList<>();
+        RegisterMinionBatcher batcher = new RegisterMinionBatcher(100, 100, published::add);
+        try {
+            batcher.add(new RegisterMinionEventMessage("minion1", Optional.empty()));
+            for (int i = 0; i < 50 && published.isEmpty(); i++) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, published.size());
+            assertEquals(List.of("minion1"), minionIds(published.get(0)));
+        }
+        finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdownPublishesPending() {
+        List<EventMessage> published = new CopyOnWriteArrayList<>();
+        RegisterMinionBatcher batcher = new RegisterMinionBatcher(100, 60_000, published::add);
+        batcher.add(new RegisterMinionEventMessage("minion1", Optional.empty()));
+        batcher.shutdown();
+        assertEquals(1, published.size());
+    }
+
+    private static List<String> minionIds(EventMessage message) {
+        return ((RegisterMinionBatchEventMessage) message).getRegistrations().stream()
+                .map(RegisterMinionEventMessage::getMinionId)
+                .collect(Collectors.toList());
+    }
+}
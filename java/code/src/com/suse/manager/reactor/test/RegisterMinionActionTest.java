@@ -25,8 +25,10 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.redhat.rhn.common.RhnRuntimeException;
 import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
+import com.redhat.rhn.common.messaging.EventMessage;
 import com.redhat.rhn.domain.action.Action;
 import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.domain.channel.ChannelArch;
@@ -81,6 +83,8 @@ import com.suse.cloud.CloudPaygManager;
 import com.suse.cloud.test.TestCloudPaygManagerBuilder;
 import com.suse.manager.attestation.AttestationManager;
 import com.suse.manager.model.attestation.CoCoEnvironmentType;
+import com.suse.manager.reactor.messaging.RegisterMinionBatchEventMessage;
+import com.suse.manager.reactor.messaging.RegisterMinionBatchEventMessageAction;
 import com.suse.manager.reactor.messaging.RegisterMinionEventMessage;
 import com.suse.manager.reactor.messaging.RegisterMinionEventMessageAction;
 import com.suse.manager.reactor.utils.test.RhelUtilsTest;
@@ -321,6 +325,71 @@ public class RegisterMinionActionTest extends JMockBaseTestCaseWithUser {
                 SLES_ASSERTIONS,
                 DEFAULT_CONTACT_METHOD);
     }
+    /**
+     * Test the registration of a batch of minions: grains and system info are collected with one call for the
+     * whole batch and handed over to the registration of the single minions.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRegisterMinionBatch() throws Exception {
+        CLEANUP.accept(null);
+        SystemInfo systemInfo = getSystemInfo(MINION_ID, null, null).orElseThrow();
+        TaskomaticApi taskomaticMock = mock(TaskomaticApi.class);
+        ActionManager.setTaskomaticApi(taskomaticMock);
+        context().checking(new Expectations() {{
+            oneOf(saltServiceMock).getGrains(with(equal(List.of(MINION_ID))), with(any(TypeToken.class)),
+                    with(any(String[].class)));
+            will(returnValue(singletonMap(MINION_ID, DEFAULT_MINION_START_UP_GRAINS)));
+            oneOf(saltServiceMock).getSystemInfoFull(with(equal(List.of(MINION_ID))));
+            will(returnValue(singletonMap(MINION_ID, systemInfo)));
+            never(saltServiceMock).getSystemInfoFull(MINION_ID);
+            never(saltServiceMock)
+                    .getGrains(with(any(String.class)), with(any(TypeToken.class)), with(any(String[].class)));
+            allowing(saltServiceMock).getProducts(with(any(String.class)));
+            will(returnValue(Optional.empty()));
+            allowing(taskomaticMock).scheduleActionExecution(with(any(Action.class)));
+        }});
+
+        List<EventMessage> published = new ArrayList<>();
+        new RegisterMinionBatchEventMessageAction(saltServiceMock, cloudManager4Test, published::add)
+                .execute(new RegisterMinionBatchEventMessage(
+                        List.of(new RegisterMinionEventMessage(MINION_ID, Optional.empty()))));
+        assertEquals(1, published.size());
+
+        RegisterMinionEventMessageAction action = new RegisterMinionEventMessageAction(saltServiceMock,
+                saltServiceMock, cloudManager4Test, attestationManager);
+        published.forEach(action::execute);
+
+        Optional<MinionServer> optMinion = MinionServerFactory.findByMachineId(MACHINE_ID);
+        assertTrue(optMinion.isPresent());
+        assertEquals(MINION_ID, optMinion.get().getName());
+        assertEquals(EntitlementManager.SALT, optMinion.get().getBaseEntitlement());
+    }
+
+    /**
+     * Test the registration of a batch of minions when the batch call fails: the minions are handed over to the
+     * registration of the single minions without the collected data.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRegisterMinionBatchCallFails() {
+        context().checking(new Expectations() {{
+            oneOf(saltServiceMock).getGrains(with(equal(List.of(MINION_ID))), with(any(TypeToken.class)),
+                    with(any(String[].class)));
+            will(throwException(new RhnRuntimeException("salt-api not reachable")));
+            never(saltServiceMock).getSystemInfoFull(with(any(List.class)));
+            never(saltServiceMock).getInstanceFlavors(with(any(List.class)));
+        }});
+
+        RegisterMinionEventMessage registration = new RegisterMinionEventMessage(MINION_ID, Optional.empty());
+        List<EventMessage> published = new ArrayList<>();
+        new RegisterMinionBatchEventMessageAction(saltServiceMock, cloudManager4Test, published::add)
+                .execute(new RegisterMinionBatchEventMessage(List.of(registration)));
+
+        assertEquals(List.of(registration), published);
+        assertTrue(registration.getSystemInfo().isEmpty());
+    }
+
     public void executeTest(ExpectationsFunction expectations, ActivationKeySupplier keySupplier,
                             Assertions assertions, String contactMethod) throws Exception {
         executeTest(expectations, keySupplier, assertions, CLEANUP, contactMethod);
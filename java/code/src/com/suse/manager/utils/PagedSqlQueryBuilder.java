@@ -27,10 +27,13 @@ import org.hibernate.query.Query;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -55,11 +58,22 @@ public class PagedSqlQueryBuilder {
 
     private static final Logger LOG = LogManager.getLogger(PagedSqlQueryBuilder.class);
 
+    // rows fetched at once from the cursor when streaming
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // the cached counts are dropped when there are more, the entries expire quickly anyway
+    private static final int COUNT_CACHE_MAX_SIZE = 1000;
+    private static final Map<List<Object>, CachedCount> COUNT_CACHE = new ConcurrentHashMap<>();
+
     private String select;
     private String from;
     private String where;
     private String idColumn = "id";
     private String countFrom;
+    private Duration countCacheTtl;
+    private boolean seek;
+    private Object seekSortValue;
+    private Object seekId;
 
     /**
      * Create a query builder with count column named 'id'
@@ -122,6 +136,36 @@ public class PagedSqlQueryBuilder {
         return this;
     }
 
+    /**
+     * Cache the total count of the items for a short time. The counts are cached by query, parameters and
+     * filter, so the parameters need to contain everything restricting the visible items, like the user.
+     * Paging or sorting again with the same filter does not count the items again.
+     *
+     * @param ttl how long a count is reused
+     * @return the current object to ease chaining calls
+     */
+    public PagedSqlQueryBuilder cacheCount(Duration ttl) {
+        this.countCacheTtl = ttl;
+        return this;
+    }
+
+    /**
+     * Use keyset pagination: the page starts after the given item instead of skipping the rows before the
+     * page start. The rows are ordered by the sort column and the id column, both need to be non null and
+     * the values need to have the type of the columns. The page start of the PageControl is ignored.
+     *
+     * @param sortValue the value of the sort column of the last item of the previous page, ignored when the
+     * page control has no sort column
+     * @param id the value of the id column of the last item of the previous page
+     * @return the current object to ease chaining calls
+     */
+    public PagedSqlQueryBuilder seekAfter(Object sortValue, Object id) {
+        this.seek = true;
+        this.seekSortValue = sortValue;
+        this.seekId = id;
+        return this;
+    }
+
     /**
      * Transform the PageControl filter into an SQL text query.
      * Operators:
@@ -293,60 +337,179 @@ public class PagedSqlQueryBuilder {
                                                       Function<Optional<PageControl>, FilterWithValue> filterParser,
                                                       Class<T> clazz, Session session) {
         Optional<PageControl> pageControl = Optional.ofNullable(pc);
-        String whereWithFilter = Optional.ofNullable(where).orElse("");
+        FilterWithValue filter = parseFilter(pageControl, filterParser);
+        Query<Tuple> query = createQuery(pageControl, filter, parameters, session);
 
-        FilterWithValue filter = Optional.ofNullable(filterParser).map(parser -> parser.apply(pageControl)).
-                orElse(FilterWithValue.NO_FILTER);
-        if (!"".equals(filter.getValue())) {
-            whereWithFilter = (where != null) ?
-                    String.format("(%s) AND %s", where, filter.getFilter()) :
-                    filter.getFilter();
+        int firstResult = 0;
+        int pageSize = pageControl.map(PageControl::getPageSize).orElse(0);
+        if (pageControl.isPresent()) {
+            if (!seek) {
+                firstResult = pageControl.map(PageControl::getStart).orElse(1) - 1;
+                query.setFirstResult(firstResult);
+            }
+            if (pageSize > 0) {
+                query.setMaxResults(pc.getPageSize());
+            }
         }
 
-        String sortSql = "";
-        if (pageControl.map(PageControl::getSortColumn).orElse(null) != null) {
-            String sortDirection = pc.isSortDescending() ? "DESC" : "ASC";
-            sortSql = String.format(" ORDER BY %s %s", pc.getSortColumn(), sortDirection);
+        List<T> rows = runQuery(query, clazz);
+
+        DataResult<T> dr = new DataResult<>(rows != null ? rows : List.of());
+        if (!seek && firstResult == 0 && pageSize <= 0) {
+            // all the items have been fetched, their number is the total count
+            return dr;
         }
-        String sql = String.format(
-                "SELECT %s FROM %s WHERE %s%s",
-                select, from, whereWithFilter, sortSql);
 
-        Query<Tuple> query = session.createNativeQuery(sql, Tuple.class);
+        String countSql = String.format("SELECT count(%s) FROM %s WHERE %s", idColumn,
+                countFrom != null ? countFrom : from, whereWithFilter(filter));
+        Optional<Integer> count;
+        if (countCacheTtl != null) {
+            count = cachedCount(countSql, parameters, filter, session);
+        }
+        else {
+            count = count(countSql, parameters, filter, session);
+        }
+        count.ifPresent(dr::setTotalSize);
+        return dr;
+    }
 
-        if (pageControl.isPresent()) {
-            query.setFirstResult(pageControl.map(PageControl::getStart).orElse(1) - 1);
-            if (pageControl.map(PageControl::getPageSize).orElse(0) > 0) {
-                query.setMaxResults(pc.getPageSize());
-            }
+    private Optional<Integer> cachedCount(String countSql, Map<String, Object> parameters, FilterWithValue filter,
+                                          Session session) {
+        List<Object> key = List.of(countSql, new HashMap<>(parameters), filter.getValue());
+        long now = System.currentTimeMillis();
+        CachedCount cached = COUNT_CACHE.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return Optional.of(cached.count);
         }
+        Optional<Integer> count = count(countSql, parameters, filter, session);
+        count.ifPresent(c -> {
+            if (COUNT_CACHE.size() >= COUNT_CACHE_MAX_SIZE) {
+                COUNT_CACHE.values().removeIf(e -> e.expiresAt <= now);
+                if (COUNT_CACHE.size() >= COUNT_CACHE_MAX_SIZE) {
+                    COUNT_CACHE.clear();
+                }
+            }
+            COUNT_CACHE.put(key, new CachedCount(c, now + countCacheTtl.toMillis()));
+        });
+        return count;
+    }
 
-        String countSql = String.format("SELECT count(%s) FROM %s WHERE %s", idColumn,
-                countFrom != null ? countFrom : from, whereWithFilter);
+    private Optional<Integer> count(String countSql, Map<String, Object> parameters, FilterWithValue filter,
+                                    Session session) {
         Query<Tuple> countQuery = session.createNativeQuery(countSql, Tuple.class);
 
         for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-            query.setParameter(entry.getKey(), entry.getValue());
             countQuery.setParameter(entry.getKey(), entry.getValue());
         }
 
         if (!"".equals(filter.getValue())) {
-            query = query.setParameter("filter_value", filter.getValue());
             countQuery = countQuery.setParameter("filter_value", filter.getValue());
         }
 
-        List<T> rows = runQuery(query, clazz);
-
-        DataResult<T> dr = new DataResult<>(rows != null ? rows : List.of());
         try {
-            int count = countQuery.uniqueResult().get(0, Number.class).intValue();
-            dr.setTotalSize(count);
+            return Optional.of(countQuery.uniqueResult().get(0, Number.class).intValue());
         }
         catch (PersistenceException e) {
             // Ignore since it would already be reported in the previous error
             LOG.debug("Failed to get total count", e);
         }
-        return dr;
+        return Optional.empty();
+    }
+
+    /**
+     * Run the query and stream the rows while they are fetched from a database cursor, to process large results
+     * without loading all of them in memory. Unlike {@link #run(Map, PageControl, Function, Class)}, the rows are
+     * not counted.
+     * The stream holds the cursor and must be closed once consumed.
+     *
+     * @param parameters the query parameters
+     * @param pc the page control, only used for sorting and filtering
+     * @param filterParser function converting the PageControl filter into a FilterWithValue
+     * @param clazz the class of the row objects
+     * @param <T> the type of the returned rows
+     *
+     * @return the stream of rows
+     */
+    public <T extends BaseTupleDto> Stream<T> stream(Map<String, Object> parameters, PageControl pc,
+                                                     Function<Optional<PageControl>, FilterWithValue> filterParser,
+                                                     Class<T> clazz) {
+        Optional<PageControl> pageControl = Optional.ofNullable(pc);
+        Query<Tuple> query = createQuery(pageControl, parseFilter(pageControl, filterParser), parameters,
+                HibernateFactory.getSession());
+        query.setFetchSize(STREAM_FETCH_SIZE);
+        try {
+            Constructor<T> ctor = clazz.getConstructor(Tuple.class);
+            return query.stream().map(t -> {
+                try {
+                    return ctor.newInstance(t);
+                }
+                catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+                    throw new IllegalStateException("Failed to create " + clazz.getName() + " from SQL tuple", e);
+                }
+            });
+        }
+        catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot create " + clazz.getName() + " objects from Tuple", e);
+        }
+    }
+
+    private FilterWithValue parseFilter(Optional<PageControl> pageControl,
+                                        Function<Optional<PageControl>, FilterWithValue> filterParser) {
+        return Optional.ofNullable(filterParser).map(parser -> parser.apply(pageControl)).
+                orElse(FilterWithValue.NO_FILTER);
+    }
+
+    private String whereWithFilter(FilterWithValue filter) {
+        String whereWithFilter = Optional.ofNullable(where).orElse("");
+        if (!"".equals(filter.getValue())) {
+            whereWithFilter = (where != null) ?
+                    String.format("(%s) AND %s", where, filter.getFilter()) :
+                    filter.getFilter();
+        }
+        return whereWithFilter;
+    }
+
+    private Query<Tuple> createQuery(Optional<PageControl> pageControl, FilterWithValue filter,
+                                     Map<String, Object> parameters, Session session) {
+        String sortColumn = pageControl.map(PageControl::getSortColumn).orElse(null);
+        boolean descending = sortColumn != null && pageControl.get().isSortDescending();
+        String sortDirection = descending ? "DESC" : "ASC";
+        String whereSql = whereWithFilter(filter);
+        String sortSql = "";
+        if (seek) {
+            String seekFilter;
+            if (sortColumn != null) {
+                seekFilter = String.format("(%s, %s) %s (:seek_sort_value, :seek_id)", sortColumn, idColumn,
+                        descending ? "<" : ">");
+                sortSql = String.format(" ORDER BY %s %s, %s %s", sortColumn, sortDirection, idColumn, sortDirection);
+            }
+            else {
+                seekFilter = String.format("%s > :seek_id", idColumn);
+                sortSql = String.format(" ORDER BY %s ASC", idColumn);
+            }
+            whereSql = whereSql.isEmpty() ? seekFilter : String.format("(%s) AND %s", whereSql, seekFilter);
+        }
+        else if (sortColumn != null) {
+            sortSql = String.format(" ORDER BY %s %s", sortColumn, sortDirection);
+        }
+        String sql = String.format(
+                "SELECT %s FROM %s WHERE %s%s",
+                select, from, whereSql, sortSql);
+
+        Query<Tuple> query = session.createNativeQuery(sql, Tuple.class);
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            query.setParameter(entry.getKey(), entry.getValue());
+        }
+        if (!"".equals(filter.getValue())) {
+            query = query.setParameter("filter_value", filter.getValue());
+        }
+        if (seek) {
+            if (sortColumn != null) {
+                query.setParameter("seek_sort_value", seekSortValue);
+            }
+            query.setParameter("seek_id", seekId);
+        }
+        return query;
     }
 
     private <T> List<T> runQuery(Query<Tuple> query, Class<T> clazz) {
@@ -387,6 +550,17 @@ public class PagedSqlQueryBuilder {
         }
     }
 
+    private static final class CachedCount {
+
+        private final int count;
+        private final long expiresAt;
+
+        private CachedCount(int countIn, long expiresAtIn) {
+            count = countIn;
+            expiresAt = expiresAtIn;
+        }
+    }
+
     /**
      * Represents the parse filter column and value
      */
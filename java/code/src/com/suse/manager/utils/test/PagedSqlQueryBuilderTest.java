@@ -33,6 +33,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -142,6 +143,121 @@ public class PagedSqlQueryBuilderTest extends MockObjectTestCase {
         assertEquals(new TestDto(2L, "two"), results.get(1));
     }
 
+    @Test
+    public void testRunSeek() {
+        PageControl pc = new PageControl(50, 25);
+        pc.setSortColumn("name");
+        pc.setSortDescending(true);
+
+        Map<String, Object> params = Map.of("value", 123);
+        PagedSqlQueryBuilder builder = new PagedSqlQueryBuilder("fake_id");
+
+        NativeQuery<Tuple> mockQuery = mock(NativeQuery.class, "query");
+        NativeQuery<Tuple> mockCountQuery = mock(NativeQuery.class, "countQuery");
+
+        String expectedSql = "SELECT S.id, S.name FROM SomeTable S " +
+                "WHERE (S.value = :value) AND (name, fake_id) < (:seek_sort_value, :seek_id) " +
+                "ORDER BY name DESC, fake_id DESC";
+
+        String expectedCountSql = "SELECT count(fake_id) FROM SomeTable S WHERE S.value = :value";
+
+        context().checking(new Expectations() {{
+            oneOf(sessionMock).createNativeQuery(expectedSql, Tuple.class); will(returnValue(mockQuery));
+            oneOf(sessionMock).createNativeQuery(expectedCountSql, Tuple.class); will(returnValue(mockCountQuery));
+            never(mockQuery).setFirstResult(with(any(Integer.class)));
+            oneOf(mockQuery).setMaxResults(25); will(returnValue(mockQuery));
+            oneOf(mockQuery).setParameter("value", 123); will(returnValue(mockQuery));
+            oneOf(mockQuery).setParameter("seek_sort_value", "three"); will(returnValue(mockQuery));
+            oneOf(mockQuery).setParameter("seek_id", 3L); will(returnValue(mockQuery));
+            oneOf(mockQuery).list(); will(returnValue(List.of(new TestTuple(2L, "two"), new TestTuple(1L, "one"))));
+
+            oneOf(mockCountQuery).setParameter("value", 123); will(returnValue(mockCountQuery));
+            oneOf(mockCountQuery).uniqueResult(); will(returnValue(new TestTuple(List.of(3))));
+        }});
+
+        DataResult<TestDto> results = builder
+                .select("S.id, S.name")
+                .from("SomeTable S")
+                .where("S.value = :value")
+                .seekAfter("three", 3L)
+                .run(params, pc, PagedSqlQueryBuilder::parseFilterAsText, TestDto.class, sessionMock);
+
+        assertEquals(2, results.size());
+        assertEquals(3, results.getTotalSize());
+        assertEquals(new TestDto(2L, "two"), results.get(0));
+    }
+
+    @Test
+    public void testRunCachedCount() {
+        PageControl pc = new PageControl(1, 25);
+        pc.setFilter(true);
+        pc.setFilterColumn("col1");
+        pc.setFilterData("foo");
+
+        Map<String, Object> params = Map.of("user_id", 42L);
+
+        NativeQuery<Tuple> mockQuery = mock(NativeQuery.class, "query");
+        NativeQuery<Tuple> mockCountQuery = mock(NativeQuery.class, "countQuery");
+
+        String expectedSql = "SELECT S.id, S.name FROM CachedCountTable S " +
+                "WHERE (S.user_id = :user_id) AND  col1 ILIKE :filter_value ";
+
+        String expectedCountSql = "SELECT count(S.id) FROM CachedCountTable S " +
+                "WHERE (S.user_id = :user_id) AND  col1 ILIKE :filter_value ";
+
+        context().checking(new Expectations() {{
+            exactly(2).of(sessionMock).createNativeQuery(expectedSql, Tuple.class); will(returnValue(mockQuery));
+            oneOf(sessionMock).createNativeQuery(expectedCountSql, Tuple.class); will(returnValue(mockCountQuery));
+            exactly(2).of(mockQuery).setFirstResult(0); will(returnValue(mockQuery));
+            exactly(2).of(mockQuery).setMaxResults(25); will(returnValue(mockQuery));
+            exactly(2).of(mockQuery).setParameter("user_id", 42L); will(returnValue(mockQuery));
+            exactly(2).of(mockQuery).setParameter("filter_value", "%foo%"); will(returnValue(mockQuery));
+            exactly(2).of(mockQuery).list(); will(returnValue(List.of(new TestTuple(1L, "one"))));
+
+            oneOf(mockCountQuery).setParameter("user_id", 42L); will(returnValue(mockCountQuery));
+            oneOf(mockCountQuery).setParameter("filter_value", "%foo%"); will(returnValue(mockCountQuery));
+            oneOf(mockCountQuery).uniqueResult(); will(returnValue(new TestTuple(List.of(1))));
+        }});
+
+        for (int i = 0; i < 2; i++) {
+            DataResult<TestDto> results = new PagedSqlQueryBuilder("S.id")
+                    .select("S.id, S.name")
+                    .from("CachedCountTable S")
+                    .where("S.user_id = :user_id")
+                    .cacheCount(Duration.ofMinutes(1))
+                    .run(params, pc, PagedSqlQueryBuilder::parseFilterAsText, TestDto.class, sessionMock);
+
+            assertEquals(1, results.size());
+            assertEquals(1, results.getTotalSize());
+        }
+    }
+
+    @Test
+    public void testRunAllRowsNotCounted() {
+        PageControl pc = new PageControl();
+        pc.setPageSize(0);
+
+        NativeQuery<Tuple> mockQuery = mock(NativeQuery.class, "query");
+
+        String expectedSql = "SELECT S.id, S.name FROM SomeTable S WHERE S.value = :value";
+
+        context().checking(new Expectations() {{
+            oneOf(sessionMock).createNativeQuery(expectedSql, Tuple.class); will(returnValue(mockQuery));
+            oneOf(mockQuery).setFirstResult(0); will(returnValue(mockQuery));
+            oneOf(mockQuery).setParameter("value", 123); will(returnValue(mockQuery));
+            oneOf(mockQuery).list(); will(returnValue(List.of(new TestTuple(1L, "one"), new TestTuple(2L, "two"))));
+        }});
+
+        DataResult<TestDto> results = new PagedSqlQueryBuilder("S.id")
+                .select("S.id, S.name")
+                .from("SomeTable S")
+                .where("S.value = :value")
+                .run(Map.of("value", 123), pc, PagedSqlQueryBuilder::parseFilterAsText, TestDto.class, sessionMock);
+
+        assertEquals(2, results.size());
+        assertEquals(2, results.getTotalSize());
+    }
+
     private class TestTuple implements Tuple {
         private Map<String, Object> data;
         private List<Object> values;
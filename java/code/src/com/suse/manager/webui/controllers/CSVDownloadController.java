@@ -29,9 +29,12 @@ import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import spark.Request;
 import spark.Response;
@@ -71,7 +74,7 @@ public class CSVDownloadController {
 
         List<String> columns = Arrays.asList("name", "id", "securityErrata", "bugErrata", "enhancementErrata",
                 "outdatedPackages", "lastCheckin", "entitlementLevel", "channelLabels");
-        return writeCsv(response, virtual, columns, "virtual-systems.csv");
+        return writeCsv(response, virtual.iterator(), columns, "virtual-systems.csv");
     }
 
     /**
@@ -83,29 +86,36 @@ public class CSVDownloadController {
      * @return the json response
      */
     public static String allSystemsCSV(Request request, Response response, User user) {
-        DataResult<SystemOverview> all = SystemManager.systemListNew(user, null, null);
-
         List<String> columns = Arrays.asList("serverName", "id", "securityErrata", "bugErrata", "enhancementErrata",
                 "outdatedPackages", "extraPkgCount", "configFilesWithDifferences", "lastCheckin", "entitlementLevel",
                 "channelLabels", "proxy", "mgrServer", "virtualHost", "virtualGuest", "requiresReboot",
                 "statusType");
-        return writeCsv(response, all, columns, "systems.csv");
+        // the systems are written while they are fetched, there can be a lot of them
+        try (Stream<SystemOverview> all = SystemManager.systemListNewStream(user)) {
+            return writeCsv(response, all.iterator(), columns, "systems.csv");
+        }
     }
 
-    private static String writeCsv(Response response, List<?> data, List<String> columns, String filename) {
-        CSVWriter csvWriterObj = new CSVWriter(new StringWriter());
-        csvWriterObj.setColumns(columns);
+    /**
+     * Writes the rows to the response as they are iterated, without a Content-Length.
+     */
+    private static String writeCsv(Response response, Iterator<?> data, List<String> columns, String filename) {
+        response.header("Content-Disposition", String.format("attachment; filename=\"%s\"", filename));
+        response.type("text/csv");
         try {
+            CSVWriter csvWriterObj = new CSVWriter(new OutputStreamWriter(response.raw().getOutputStream(),
+                    StandardCharsets.UTF_8));
+            csvWriterObj.setColumns(columns);
             csvWriterObj.write(data);
+            // not closed, the response output stream is closed by the servlet container
+            csvWriterObj.flush();
         }
         catch (Exception e) {
             LOG.error("Failed to write CSV", e);
-            Spark.halt(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            if (!response.raw().isCommitted()) {
+                Spark.halt(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
         }
-
-        response.header("Content-Disposition", String.format("attachment; filename=\"%s\"", filename));
-        response.header("Content-Length", Integer.toString(csvWriterObj.getContents().length()));
-        response.type("text/csv");
-        return csvWriterObj.getContents();
+        return "";
     }
 }
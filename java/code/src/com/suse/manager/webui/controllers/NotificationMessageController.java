@@ -163,7 +163,7 @@ public class NotificationMessageController {
 
         UserNotificationFactory.delete(notifications);
 
-        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS);
+        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS, List.of(user.getId()));
 
         Map<String, String> data = new HashMap<>();
         data.put("severity", "success");
@@ -198,7 +198,7 @@ public class NotificationMessageController {
             }
         });
 
-        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS);
+        Notification.spreadUpdate(Notification.USER_NOTIFICATIONS, List.of(user.getId()));
 
         Map<String, String> data = new HashMap<>();
         data.put("severity", "success");
@@ -123,7 +123,7 @@ public class SetController {
             setDecl.clear(user);
             if (setLabel.equals(SetLabels.SYSTEM_LIST)) {
                 LOG.debug("Updating SSM count via websocket");
-                Notification.spreadUpdate(Notification.SSM_COUNT);
+                Notification.spreadUpdate(Notification.SSM_COUNT, List.of(user.getId()));
             }
             return json(response, 0);
         }
@@ -32,21 +32,35 @@ import com.redhat.rhn.domain.config.ConfigRevision;
 import com.suse.manager.webui.utils.YamlHelper;
 import com.suse.utils.Opt;
 
-import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Singleton class, renders salt files corresponding to a configuration channel on the disk.
@@ -54,6 +68,7 @@ import java.util.Optional;
 public class ConfigChannelSaltManager {
 
     private String baseDirPath;
+    private final Map<Path, Lock> channelLocks = new ConcurrentHashMap<>();
     private static ConfigChannelSaltManager instance;
     private static final Logger LOG = LogManager.getLogger(ConfigChannelSaltManager.class);
 
@@ -110,8 +125,10 @@ public class ConfigChannelSaltManager {
      * @param oldChannelLabel - the old label of the channel
      * @throws IOException in case of an IO error
      */
-    public synchronized void generateConfigChannelFiles(ConfigChannel channel,
+    public void generateConfigChannelFiles(ConfigChannel channel,
             Optional<String> oldChannelLabel) {
+        Lock lock = getChannelLock(channel.getOrgId(), channel.getLabel());
+        lock.lock();
         try {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Generating file structure for configuration channel: {} (old channel label: {}).",
@@ -125,6 +142,7 @@ public class ConfigChannelSaltManager {
             removeConfigChannelFiles(channel.getOrgId(), channel.getLabel());
         }
         finally {
+            lock.unlock();
             // channel has been renamed - trash the file structure associated with the old
             // label
             if (Opt.fold(oldChannelLabel,
@@ -140,36 +158,65 @@ public class ConfigChannelSaltManager {
      *
      * @param channel the channel
      */
-    public synchronized void removeConfigChannelFiles(ConfigChannel channel) {
+    public void removeConfigChannelFiles(ConfigChannel channel) {
         removeConfigChannelFiles(channel.getOrgId(), channel.getLabel());
     }
 
+    /**
+     * Gets the lock serializing the disk actions on one configuration channel. Channels with a different
+     * label or organization are not blocked.
+     */
+    private Lock getChannelLock(Long orgId, String channelLabel) {
+        return channelLocks.computeIfAbsent(getChannelRelativePath(orgId, channelLabel), k -> new ReentrantLock());
+    }
+
     /**
      * Perform actual disk actions to reflect the configuration channel state on the disk.
+     * Only the files whose content changed are written, the files not belonging to the channel anymore
+     * are removed.
      *
      * @param channel - the config channel
      * @throws IOException in case of an IO error
      */
     private void doGenerateConfigChannelFiles(ConfigChannel channel) throws IOException {
-        // TODO synchronize at file level not on the class instance
         if (!(channel.isNormalChannel() || channel.isStateChannel())) {
             LOG.debug("Trying to generate salt files for incompatible channel type (channel: {}). Skipping. " +
                     "(Only 'normal' and 'state' configuration channels are supported.)", channel);
             return;
         }
         File channelDir = getChannelDir(channel);
-        if (channelDir.exists()) {
-            FileUtils.cleanDirectory(channelDir);
-        }
 
+        Map<File, byte[]> contents = new HashMap<>();
         for (ConfigFile file : ofNullable(channel.getConfigFiles())
                 .orElse(emptySortedSet())) {
-            generateConfigFile(channelDir, file);
+            ConfigRevision latestRev = file.getLatestConfigRevision();
+            if (!(latestRev.isFile() || latestRev.isSls())) {
+                // we only generate files/sls, no symlinks/directories
+                continue;
+            }
+            File fileOnDisk = new File(channelDir, file.getConfigFileName().getPath());
+            if (latestRev.getConfigContent().isBinary()) {
+                contents.put(fileOnDisk, latestRev.getConfigContent().getContents());
+            }
+            else {
+                contents.put(fileOnDisk,
+                        latestRev.getConfigContent().getContentsString().getBytes(StandardCharsets.UTF_8));
+            }
         }
         if (channel.isNormalChannel()) {
             File stateFile = new File(channelDir, defaultExtension("init.sls"));
-            writeTextFile(configChannelInitSLSContent(channel), channelDir, stateFile);
+            contents.put(stateFile, configChannelInitSLSContent(channel).getBytes(StandardCharsets.UTF_8));
         }
+
+        int removed = removeStaleFiles(channelDir, contents.keySet());
+        int written = 0;
+        for (Map.Entry<File, byte[]> entry : contents.entrySet()) {
+            if (writeFileIfChanged(entry.getValue(), channelDir, entry.getKey())) {
+                written++;
+            }
+        }
+        LOG.debug("Configuration channel {}: {} files written, {} removed, {} unchanged", channel.getLabel(),
+                written, removed, contents.size() - written);
     }
 
     private File getChannelDir(ConfigChannel channel) {
@@ -177,66 +224,86 @@ public class ConfigChannelSaltManager {
     }
 
     /**
-     * Generate file for ConfigFile on the disk
+     * Removes the files of the channel directory which are not expected anymore, and the directories
+     * left empty.
+     *
      * @param channelDir - the channel namespace on the disk
-     * @param file the config file
-     * @throws IOException if there is an error when writing on the disk
+     * @param expected the files expected in the channel directory
+     * @return the number of removed files
+     * @throws IOException if there is an error when deleting from the disk
      */
-    private void generateConfigFile(File channelDir, ConfigFile file) throws IOException {
-        ConfigRevision latestRev = file.getLatestConfigRevision();
-        if (!(latestRev.isFile() || latestRev.isSls())) {
-            // we only generate files/sls, no symlinks/directories
-            return;
+    private int removeStaleFiles(File channelDir, Set<File> expected) throws IOException {
+        if (!channelDir.isDirectory()) {
+            return 0;
         }
-        LOG.trace("Generating configuration file: {}", file.getConfigFileName().getPath());
-        File fileOnDisk = new File(channelDir, file.getConfigFileName().getPath());
-
-        if (latestRev.getConfigContent().isBinary()) {
-            writeBinaryFile(latestRev.getConfigContent().getContents(), channelDir, fileOnDisk);
+        Path channelPath = channelDir.toPath();
+        List<Path> stale;
+        List<Path> dirs;
+        try (Stream<Path> paths = Files.walk(channelPath)) {
+            List<Path> all = paths.collect(Collectors.toList());
+            stale = all.stream()
+                    .filter(path -> !Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+                    .filter(path -> !expected.contains(path.toFile()))
+                    .collect(Collectors.toList());
+            dirs = all.stream()
+                    .filter(path -> !path.equals(channelPath) && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+                    .sorted(Comparator.comparing(Path::getNameCount).reversed())
+                    .collect(Collectors.toList());
         }
-        else {
-            writeTextFile(latestRev.getConfigContent().getContentsString(), channelDir, fileOnDisk);
+        for (Path path : stale) {
+            LOG.trace("Removing configuration file: {}", path);
+            Files.delete(path);
+        }
+        for (Path dir : dirs) {
+            try (Stream<Path> children = Files.list(dir)) {
+                if (children.findAny().isEmpty()) {
+                    Files.delete(dir);
+                }
+            }
         }
+        return stale.size();
     }
 
     /**
-     * Checks that the outFile is inside the channel directory and writes the contents to
-     * it.
-     *
-     * @param content string to be written
-     * @param channelDir the channel directory
-     * @param outFile the output file
-     * @throws IllegalArgumentException if there is an attempt to write file outside channel
-     * directory
-     * @throws IOException if there is an error when writing on the disk
-     */
-    private void writeTextFile(String content, File channelDir, File outFile)
-            throws IOException {
-        assertStateInOrgDir(channelDir, outFile);
-        outFile.getParentFile().mkdirs();
-        FileUtils.writeStringToFile(outFile, content, CharEncoding.UTF_8);
-     }
-
-    /**
-     * Checks that the outFile is inside the channel directory and writes the contents to
-     * it.
+     * Checks that the outFile is inside the channel directory and writes the contents to it, unless it
+     * already has the same content. The file is replaced atomically, so that salt never reads a partially
+     * written file.
      *
-     * @param content byte[] ConfigContent to be written
+     * @param content the content to be written
      * @param channelDir the channel directory
      * @param outFile the output file
+     * @return true if the file was written, false if it was already up to date
      * @throws IllegalArgumentException if there is an attempt to write file outside channel
      * directory
      * @throws IOException if there is an error when writing on the disk
      */
-    private void writeBinaryFile(byte[] content, File channelDir, File outFile)  throws IOException {
+    private boolean writeFileIfChanged(byte[] content, File channelDir, File outFile) throws IOException {
         assertStateInOrgDir(channelDir, outFile);
+        Path outPath = outFile.toPath();
+        if (Files.isRegularFile(outPath, LinkOption.NOFOLLOW_LINKS) && Files.size(outPath) == content.length) {
+            try (InputStream onDisk = Files.newInputStream(outPath)) {
+                if (Arrays.equals(DigestUtils.sha256(onDisk), DigestUtils.sha256(content))) {
+                    return false;
+                }
+            }
+        }
+        LOG.trace("Generating configuration file: {}", outPath);
         outFile.getParentFile().mkdirs();
-        FileUtils.writeByteArrayToFile(outFile, content);
-
+        Path tmpPath = outPath.resolveSibling("." + outPath.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(tmpPath, content);
+            Files.move(tmpPath, outPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(tmpPath);
+        }
+        return true;
     }
 
     private void removeConfigChannelFiles(Long orgId, String channelLabel) {
         LOG.trace("Deleting unused file structure for configuration channel: {}", channelLabel);
+        Lock lock = getChannelLock(orgId, channelLabel);
+        lock.lock();
         try {
             File channelDirectory = Paths.get(baseDirPath).resolve(
                     getChannelRelativePath(orgId, channelLabel)).toFile();
@@ -245,6 +312,9 @@ public class ConfigChannelSaltManager {
         catch (IOException e) {
             LOG.error("Error when deleting salt file structure for channel: {} in org ID: {}", channelLabel, orgId, e);
         }
+        finally {
+            lock.unlock();
+        }
     }
 
     /**
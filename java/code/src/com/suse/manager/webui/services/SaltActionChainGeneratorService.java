@@ -64,6 +64,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -130,6 +131,26 @@ public class SaltActionChainGeneratorService {
     public Map<MinionSummary, Integer> createActionChainSLSFiles(ActionChain actionChain, MinionSummary minion,
                                                                 List<SaltState> states,
                                                                 Optional<String> sshExtraFileRefs) {
+        return createActionChainSLSFiles(actionChain, Collections.singletonList(minion), states, sshExtraFileRefs);
+    }
+
+    /**
+     * Generates the SLS files for an Action Chain for minions sharing the same list of states.
+     * Each chunk is rendered once and then hard linked to the file name of every other minion,
+     * which is still what the minions look up.
+     * @param actionChain the chain
+     * @param minions the minions to execute the chain on, all with the same contact method and
+     *                transactional update support, as these affect the generated states
+     * @param states a list of states
+     * @param sshExtraFileRefs extra files to be added to the state tarball by salt-ssh. Will
+     *                         be stored on the minion to be available for subsequent calls.
+     * @return map containing minions and the corresponding number of generated chunks
+     */
+    public Map<MinionSummary, Integer> createActionChainSLSFiles(ActionChain actionChain,
+                                                                List<MinionSummary> minions,
+                                                                List<SaltState> states,
+                                                                Optional<String> sshExtraFileRefs) {
+        MinionSummary minion = minions.get(0);
         int chunk = 1;
         List<SaltState> fileStates = new LinkedList<>();
         for (int i = 0; i < states.size(); i++) {
@@ -154,7 +175,7 @@ public class SaltActionChainGeneratorService {
                 fileStates.add(stopIfPreviousFailed(prevRequisiteRef(fileStates)));
                 fileStates.add(forceRestartServiceIfNeeded("force_restart_if_needed",
                         prevRequisiteRef(Collections.singletonList(state))));
-                saveChunkSLS(fileStates, minion, actionChain.getId(), chunk);
+                saveChunkSLS(fileStates, minions, actionChain.getId(), chunk);
                 fileStates.clear();
                 chunk++;
                 fileStates.add(checkSaltUpgradeChunk(state));
@@ -181,7 +202,7 @@ public class SaltActionChainGeneratorService {
                     }
                 }
 
-                saveChunkSLS(fileStates, minion, actionChain.getId(), chunk);
+                saveChunkSLS(fileStates, minions, actionChain.getId(), chunk);
 
                 chunk++;
                 fileStates.clear();
@@ -191,10 +212,11 @@ public class SaltActionChainGeneratorService {
             }
         }
         if (!fileStates.isEmpty()) {
-            saveChunkSLS(fileStates, minion, actionChain.getId(), chunk);
+            saveChunkSLS(fileStates, minions, actionChain.getId(), chunk);
         }
 
-        return Collections.singletonMap(minion, chunk);
+        int chunks = chunk;
+        return minions.stream().collect(Collectors.toMap(Function.identity(), m -> chunks));
     }
 
     private SaltState forceRestartServiceIfNeeded(String id, Optional<Pair<String, String>> lastRef) {
@@ -545,21 +567,42 @@ public class SaltActionChainGeneratorService {
                 "_" + minionServer.getMachineId() + "_" + chunk + ".sls");
     }
 
-    private void saveChunkSLS(List<SaltState> states, MinionSummary minion, long actionChainId, int chunk) {
+    private void saveChunkSLS(List<SaltState> states, List<MinionSummary> minions, long actionChainId, int chunk) {
         Path targetDir = createActionChainsDir();
-        Path targetFilePath = Paths.get(targetDir.toString(),
-                getActionChainSLSFileName(actionChainId, minion, chunk));
-
-        try (Writer slsWriter = new FileWriter(targetFilePath.toFile());
-             Writer slsBufWriter = new BufferedWriter(slsWriter)) {
-            com.suse.manager.webui.utils.SaltStateGenerator saltStateGenerator =
-                    new com.suse.manager.webui.utils.SaltStateGenerator(slsBufWriter);
-            saltStateGenerator.generate(states.toArray(new SaltState[states.size()]));
+        Path renderedFilePath = targetDir.resolve(getActionChainSLSFileName(actionChainId, minions.get(0), chunk));
+
+        try {
+            // never write through a link left over from a previous generation
+            Files.deleteIfExists(renderedFilePath);
+            try (Writer slsWriter = new FileWriter(renderedFilePath.toFile());
+                 Writer slsBufWriter = new BufferedWriter(slsWriter)) {
+                com.suse.manager.webui.utils.SaltStateGenerator saltStateGenerator =
+                        new com.suse.manager.webui.utils.SaltStateGenerator(slsBufWriter);
+                saltStateGenerator.generate(states.toArray(new SaltState[states.size()]));
+            }
         }
         catch (IOException e) {
-            LOG.error("Could not write action chain sls {}", targetFilePath, e);
+            LOG.error("Could not write action chain sls {}", renderedFilePath, e);
             throw new RuntimeException(e);
         }
+
+        for (MinionSummary minion : minions.subList(1, minions.size())) {
+            Path targetFilePath = targetDir.resolve(getActionChainSLSFileName(actionChainId, minion, chunk));
+            try {
+                Files.deleteIfExists(targetFilePath);
+                try {
+                    Files.createLink(targetFilePath, renderedFilePath);
+                }
+                catch (IOException | UnsupportedOperationException e) {
+                    LOG.debug("Could not link action chain sls {}, copying it", targetFilePath, e);
+                    Files.copy(renderedFilePath, targetFilePath);
+                }
+            }
+            catch (IOException e) {
+                LOG.error("Could not write action chain sls {}", targetFilePath, e);
+                throw new RuntimeException(e);
+            }
+        }
     }
 
     private Path getTargetDir() {
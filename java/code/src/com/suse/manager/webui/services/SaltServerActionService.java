@@ -129,6 +129,7 @@ import com.redhat.rhn.manager.system.SystemManager;
 import com.redhat.rhn.taskomatic.TaskomaticApi;
 import com.redhat.rhn.taskomatic.TaskomaticApiException;
 
+import com.suse.manager.metrics.ActionChainMetrics;
 import com.suse.manager.reactor.messaging.ApplyStatesEventMessage;
 import com.suse.manager.utils.SaltKeyUtils;
 import com.suse.manager.utils.SaltUtils;
@@ -209,6 +210,7 @@ import java.util.Date;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -875,8 +877,10 @@ public class SaltServerActionService {
                 .getActionChain(actionChainId)
                 .orElseThrow(() -> new RuntimeException("Action chain id=" + actionChainId + " not found in db"));
 
+        long planningStart = System.nanoTime();
+
         // for each minion populate a list of ServerActions with the corresponding Salt call(s)
-        Map<MinionSummary, List<Pair<ServerAction, List<LocalCall<?>>>>> minionCalls = new HashMap<>();
+        Map<MinionSummary, List<Pair<ServerAction, List<LocalCall<?>>>>> minionCalls = new LinkedHashMap<>();
 
         actionChain.getEntries().stream()
                 .sorted(Comparator.comparingInt(ActionChainEntry::getSortOrder))
@@ -897,30 +901,22 @@ public class SaltServerActionService {
                     // TODO how to handle staging jobs?
 
                     // Salt calls for each minion
-                    Map<MinionSummary, List<LocalCall<?>>> callsPerMinion =
-                            actionCalls.values().stream().flatMap(Collection::stream)
-                                .collect(Collectors
-                                        .toMap(Function.identity(),
-                                                m -> actionCalls.entrySet()
-                                                        .stream()
-                                                        .filter(e -> e.getValue().contains(m))
-                                                        .map(Map.Entry::getKey)
-                                                        .collect(Collectors.toList())
-                                ));
+                    Map<MinionSummary, List<LocalCall<?>>> callsPerMinion = new LinkedHashMap<>();
+                    actionCalls.forEach((call, callMinions) -> callMinions.forEach(minion ->
+                            callsPerMinion.computeIfAbsent(minion, m -> new ArrayList<>()).add(call)));
+
+                    Map<Long, ServerAction> serverActions = actionIn.getServerActions().stream()
+                            .collect(Collectors.toMap(sa -> sa.getServer().getId(), Function.identity(),
+                                    (first, second) -> first));
 
                     // append the Salt calls for this action to the list of calls of each minion
                     callsPerMinion.forEach((minion, calls) -> {
                         List<Pair<ServerAction, List<LocalCall<?>>>> currentCalls = minionCalls
-                                .getOrDefault(minion, new ArrayList<>());
-                        Optional<ServerAction> serverAction = actionIn.getServerActions().stream()
-                                .filter(sa -> sa.getServer().getId().equals(minion.getServerId()))
-                                .findFirst();
-                        serverAction.ifPresent(sa -> {
-                            Pair<ServerAction, List<LocalCall<?>>> serverActionCalls =
-                                    new ImmutablePair<>(sa, calls);
-                            currentCalls.add(serverActionCalls);
-                        });
-                        minionCalls.put(minion, currentCalls);
+                                .computeIfAbsent(minion, m -> new ArrayList<>());
+                        ServerAction serverAction = serverActions.get(minion.getServerId());
+                        if (serverAction != null) {
+                            currentCalls.add(new ImmutablePair<>(serverAction, calls));
+                        }
                     });
 
                 });
@@ -933,17 +929,26 @@ public class SaltServerActionService {
         Set<MinionSummary> sshMinionIds = minionPartitions.get(true);
         Set<MinionSummary> regularMinionIds = minionPartitions.get(false);
 
-        // convert local calls to salt state objects
+        // group the minions planned with the same calls, their states and sls files are the same
+        Map<List<Object>, List<MinionSummary>> minionsPerPlan = new LinkedHashMap<>();
+        minionCalls.forEach((minion, serverActionCalls) -> minionsPerPlan
+                .computeIfAbsent(planKey(minion, serverActionCalls), k -> new ArrayList<>())
+                .add(minion));
+
+        // convert local calls to salt state objects, once for each group
         Map<MinionSummary, List<SaltState>> statesPerMinion = new HashMap<>();
-        minionCalls.forEach((minion, serverActionCalls) -> {
-            List<SaltState> states = serverActionCalls.stream()
+        List<Pair<List<MinionSummary>, List<SaltState>>> statesPerPlan = new ArrayList<>();
+        minionsPerPlan.values().forEach(minions -> {
+            MinionSummary minion = minions.get(0);
+            List<SaltState> states = minionCalls.get(minion).stream()
                     .flatMap(saCalls -> {
                         ServerAction sa = saCalls.getKey();
                         List<LocalCall<?>> calls = saCalls.getValue();
                         return convertToState(actionChain.getId(), sa, calls, minion).stream();
                     }).collect(Collectors.toList());
 
-            statesPerMinion.put(minion, states);
+            minions.forEach(m -> statesPerMinion.put(m, states));
+            statesPerPlan.add(new ImmutablePair<>(minions, states));
         });
 
         // Compute the additional sls files to be included in the state tarball for ssh-push minions.
@@ -983,12 +988,22 @@ public class SaltServerActionService {
 
         }
 
-        // render the action chain sls files
-        for (Map.Entry<MinionSummary, List<SaltState>> entry: statesPerMinion.entrySet()) {
-            saltActionChainGeneratorService
-                    .createActionChainSLSFiles(actionChain, entry.getKey(), entry.getValue(),
-                            entry.getKey().isSshPush() ? extraFilerefs : Optional.empty());
+        // render the action chain sls files, once for each group of minions
+        int renderedFiles = 0;
+        int files = 0;
+        for (Pair<List<MinionSummary>, List<SaltState>> plan : statesPerPlan) {
+            List<MinionSummary> minions = plan.getKey();
+            int chunks = saltActionChainGeneratorService
+                    .createActionChainSLSFiles(actionChain, minions, plan.getValue(),
+                            minions.get(0).isSshPush() ? extraFilerefs : Optional.empty())
+                    .get(minions.get(0));
+            renderedFiles += chunks;
+            files += chunks * minions.size();
         }
+        ActionChainMetrics.observePlanning(planningStart, minionCalls.size(), renderedFiles, files);
+        LOG.debug("Planned action chain {} for {} minions in {} ms: {} sls files rendered, {} provided",
+                actionChainId, minionCalls.size(), (System.nanoTime() - planningStart) / 1000000,
+                renderedFiles, files);
 
         // start the execution
         if (!regularMinionIds.isEmpty()) {
@@ -1000,6 +1015,22 @@ public class SaltServerActionService {
         }
     }
 
+    /**
+     * The states generated for a minion depend only on its contact method, its transactional update support
+     * and the calls of the actions, which are shared by all the minions of a call.
+     */
+    private static List<Object> planKey(MinionSummary minion,
+                                        List<Pair<ServerAction, List<LocalCall<?>>>> serverActionCalls) {
+        List<Object> key = new ArrayList<>();
+        key.add(minion.isSshPush());
+        key.add(minion.isTransactionalUpdate());
+        serverActionCalls.forEach(saCalls -> {
+            key.add(saCalls.getKey().getParentAction().getId());
+            key.addAll(saCalls.getValue());
+        });
+        return key;
+    }
+
     private List<SaltState> convertToState(long actionChainId, ServerAction serverAction,
                                            List<LocalCall<?>> calls, MinionSummary minion) {
         String stateId = SaltActionChainGeneratorService.createStateId(actionChainId,
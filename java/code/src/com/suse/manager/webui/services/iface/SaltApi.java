@@ -45,6 +45,7 @@ import com.google.gson.reflect.TypeToken;
 
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -136,6 +137,18 @@ public interface SaltApi {
      */
     Optional<SystemInfo> getSystemInfoFull(String minion);
 
+    /**
+     * Apply util.systeminfo_full state on the specified minions and wait for the results.
+     * Implementations should target all the minions with a single call.
+     * @param minionIds minion ids
+     * @return the SystemInfo results by minion id, minions without a result are left out
+     */
+    default Map<String, SystemInfo> getSystemInfoFull(List<String> minionIds) {
+        Map<String, SystemInfo> results = new HashMap<>();
+        minionIds.forEach(minionId -> getSystemInfoFull(minionId).ifPresent(info -> results.put(minionId, info)));
+        return results;
+    }
+
     /**
      * Call sumautil.instance_flavor.
      * @param minionId of the target minion.
@@ -143,6 +156,18 @@ public interface SaltApi {
      */
     SumaUtil.PublicCloudInstanceFlavor getInstanceFlavor(String minionId);
 
+    /**
+     * Call sumautil.instance_flavor on the specified minions.
+     * Implementations should target all the minions with a single call.
+     * @param minionIds minion ids
+     * @return PublicCloudInstanceFlavor results by minion id
+     */
+    default Map<String, SumaUtil.PublicCloudInstanceFlavor> getInstanceFlavors(List<String> minionIds) {
+        Map<String, SumaUtil.PublicCloudInstanceFlavor> results = new HashMap<>();
+        minionIds.forEach(minionId -> results.put(minionId, getInstanceFlavor(minionId)));
+        return results;
+    }
+
     /**
      * Store the files uploaded by a minion to the SCAP storage directory.
      * @param minion the minion
@@ -269,6 +294,22 @@ public interface SaltApi {
     @Deprecated
     <T> Optional<T> getGrains(String minionId, TypeToken<T> type, String... grainNames);
 
+    /**
+     * Get the specified grains for the given minions.
+     * Implementations should target all the minions with a single call.
+     * @param minionIds ids of the target minions
+     * @param type  class type, result should be parsed into
+     * @param grainNames list of grains names
+     * @param <T> Type result should be parsed into
+     * @return the grains parsed into specified type by minion id, minions without a result are left out
+     */
+    default <T> Map<String, T> getGrains(List<String> minionIds, TypeToken<T> type, String... grainNames) {
+        Map<String, T> results = new HashMap<>();
+        minionIds.forEach(minionId -> getGrains(minionId, type, grainNames)
+                .ifPresent(grains -> results.put(minionId, grains)));
+        return results;
+    }
+
     /**
      * Get the grains for a given minion.
      *
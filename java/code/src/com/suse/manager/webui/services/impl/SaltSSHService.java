@@ -22,6 +22,7 @@ import com.redhat.rhn.GlobalInstanceHolder;
 import com.redhat.rhn.common.CommonConstants;
 import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.common.conf.ConfigDefaults;
+import com.redhat.rhn.domain.server.MinionSSHConnection;
 import com.redhat.rhn.domain.server.MinionServer;
 import com.redhat.rhn.domain.server.MinionServerFactory;
 import com.redhat.rhn.domain.server.MinionSummary;
@@ -62,7 +63,6 @@ import com.suse.salt.netapi.results.Result;
 import com.suse.salt.netapi.results.SSHResult;
 import com.suse.salt.netapi.results.StateApplyResult;
 import com.suse.salt.netapi.utils.Xor;
-import com.suse.utils.Opt;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -90,6 +90,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -157,6 +158,8 @@ public class SaltSSHService {
 
     private SaltActionChainGeneratorService saltActionChainGeneratorService;
 
+    private final Map<String, RosterHost> rosterCache = new ConcurrentHashMap<>();
+
     /**
      * Standard constructor.
      * @param saltClientIn salt client to use for the underlying salt calls
@@ -241,6 +244,7 @@ public class SaltSSHService {
     private Optional<SaltRoster> prepareSaltRoster(MinionList target, Optional<Integer> sshTimeout) {
         SaltRoster roster = new SaltRoster();
         boolean pendingMinion = false;
+        List<String> registeredMinions = new ArrayList<>();
 
         // these values are mostly fixed, which should change when we allow configuring
         // per-minion server
@@ -275,25 +279,24 @@ public class SaltSSHService {
                 });
             }
             else {
-                MinionServerFactory.findByMinionId(mid).ifPresentOrElse(minion -> {
-                    List<String> proxyPath = proxyPathToHostnames(minion.getServerPaths(), Optional.empty());
-                    String contactMethodLabel = minion.getContactMethod().getLabel();
-
-                    roster.addHost(mid, getSSHUser(), Optional.empty(),
-                            Opt.wrapFirstNonNull(minion.getSSHPushPort(), SSH_PUSH_PORT),
-                            remotePortForwarding(proxyPath, contactMethodLabel),
-                            sshProxyCommandOption(proxyPath,
-                                contactMethodLabel,
-                                minion.getMinionId(),
-                                Optional.ofNullable(minion.getSSHPushPort()).orElse(SSH_PUSH_PORT)),
-                            sshTimeout,
-                            minionOpts(mid, contactMethodLabel)
-                    );
-                }, () -> LOG.error("Minion id='{}' not found in the database", mid));
+                registeredMinions.add(mid);
+            }
+        }
+        if (pendingMinion) {
+            List<MinionSSHConnection> connections = MinionServerFactory.listSSHConnections(registeredMinions);
+            connections.forEach(connection -> rosterHost(connection).addTo(roster, sshTimeout));
+            if (connections.size() < registeredMinions.size()) {
+                Set<String> found = connections.stream()
+                        .map(MinionSSHConnection::getMinionId)
+                        .collect(Collectors.toSet());
+                registeredMinions.stream().filter(mid -> !found.contains(mid)).forEach(mid -> {
+                    rosterCache.remove(mid);
+                    LOG.error("Minion id='{}' not found in the database", mid);
+                });
             }
         }
         // we only need a roster when we may contact pending minions which are not yet in DB
-        // otherwise the roster is generated from DB
+        // otherwise the roster is generated from DB by the uyuni roster module
         return pendingMinion ? Optional.of(roster) : Optional.empty();
     }
 
@@ -456,23 +459,41 @@ public class SaltSSHService {
         return Optional.of(Arrays.asList("StrictHostKeyChecking=no", proxyCommand.toString()));
     }
 
-    private boolean addSaltSSHMinionsFromDb(SaltRoster roster) {
-        List<MinionServer> minions = MinionServerFactory.listSSHMinions();
-        minions.forEach(minion -> {
-            List<String> proxyPath = proxyPathToHostnames(minion.getServerPaths(), Optional.empty());
-            roster.addHost(minion.getMinionId(),
-                    getSSHUser(),
-                    Optional.empty(),
-                    Opt.wrapFirstNonNull(minion.getSSHPushPort(), SSH_PUSH_PORT),
-                    remotePortForwarding(proxyPath, minion.getContactMethod().getLabel()),
-                    sshProxyCommandOption(proxyPath,
-                        minion.getContactMethod().getLabel(),
-                        minion.getMinionId(),
-                        Optional.ofNullable(minion.getSSHPushPort()).orElse(SSH_PUSH_PORT)),
-                    getSshPushTimeout(),
-                    minionOpts(minion.getMinionId(), minion.getContactMethod().getLabel()));
-        });
-        return !minions.isEmpty();
+    /**
+     * Returns the roster entry of a registered minion, reusing the cached one as long as the contact method,
+     * the ssh port and the proxy path of the minion did not change.
+     */
+    private RosterHost rosterHost(MinionSSHConnection connection) {
+        return rosterCache.compute(connection.getMinionId(), (mid, cached) ->
+                cached != null && cached.connection.equals(connection) ? cached : new RosterHost(connection));
+    }
+
+    /**
+     * Roster entry of a registered minion, without the call specific timeout.
+     */
+    private final class RosterHost {
+
+        private final MinionSSHConnection connection;
+        private final Optional<Integer> port;
+        private final Optional<String> remotePortForwarding;
+        private final Optional<List<String>> sshOptions;
+        private final Optional<Map<String, Object>> minionOpts;
+
+        private RosterHost(MinionSSHConnection connectionIn) {
+            String contactMethodLabel = connectionIn.getContactMethod();
+            int sshPushPort = Optional.ofNullable(connectionIn.getSSHPushPort()).orElse(SSH_PUSH_PORT);
+            connection = connectionIn;
+            port = Optional.of(sshPushPort);
+            remotePortForwarding = remotePortForwarding(connectionIn.getProxyPath(), contactMethodLabel);
+            sshOptions = sshProxyCommandOption(connectionIn.getProxyPath(), contactMethodLabel,
+                    connectionIn.getMinionId(), sshPushPort);
+            minionOpts = minionOpts(connectionIn.getMinionId(), contactMethodLabel);
+        }
+
+        private void addTo(SaltRoster roster, Optional<Integer> sshTimeout) {
+            roster.addHost(connection.getMinionId(), getSSHUser(), Optional.empty(), port, remotePortForwarding,
+                    sshOptions, sshTimeout, minionOpts);
+        }
     }
 
     /**
@@ -720,9 +741,8 @@ public class SaltSSHService {
      */
     public Optional<CompletionStage<Map<String, Result<Boolean>>>> matchAsyncSSH(
         String target, CompletableFuture<GenericError> cancel) {
-        SaltRoster roster = new SaltRoster();
-        boolean added = addSaltSSHMinionsFromDb(roster);
-        if (!added) {
+        // the roster is generated from DB by the uyuni roster module
+        if (!MinionServerFactory.existsSSHMinion()) {
             return Optional.empty();
         }
         CompletableFuture<Map<String, Result<Boolean>>> f =
@@ -491,6 +491,14 @@ public class SaltService implements SystemQuery, SaltApi {
        return callSync(Grains.item(false, type, grainNames), minionId);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Map<String, T> getGrains(List<String> minionIds, TypeToken<T> type, String... grainNames) {
+        return callSyncAll(Grains.item(false, type, grainNames), minionIds);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -916,6 +924,40 @@ public class SaltService implements SystemQuery, SaltApi {
         return results;
     }
 
+    /**
+     * Executes a call on all the given minions at once, logging the errors.
+     *
+     * @param call the call
+     * @param minionIds the target minions
+     * @param <T> result type of the call
+     * @return the successful results by minion id, minions with errors or not responding in time are left out
+     */
+    private <T> Map<String, T> callSyncAll(LocalCall<T> call, List<String> minionIds) {
+        Map<String, T> results = new HashMap<>();
+        if (minionIds.isEmpty()) {
+            return results;
+        }
+        try {
+            callSync(call, new MinionList(minionIds)).forEach((minionId, result) -> {
+                Optional<T> value = result.fold(
+                        error -> {
+                            LOG.warn("{} failed on minion {}: {}", callToString(call), minionId, error);
+                            return Optional.empty();
+                        },
+                        Optional::of);
+                value.ifPresent(v -> results.put(minionId, v));
+            });
+        }
+        catch (SaltException e) {
+            throw new RhnRuntimeException(e);
+        }
+        if (results.size() < minionIds.size() && LOG.isDebugEnabled()) {
+            LOG.debug("Got no result for {} on {} of {} minions", callToString(call),
+                    minionIds.size() - results.size(), minionIds.size());
+        }
+        return results;
+    }
+
     private <T> Map<String, Result<T>> callSync(LocalCall<T> callIn, Target<?> target)
             throws SaltException {
 
@@ -1098,27 +1140,53 @@ public class SaltService implements SystemQuery, SaltApi {
                .map(result -> Json.GSON.fromJson(result, SystemInfo.class));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, SystemInfo> getSystemInfoFull(List<String> minionIds) {
+        Map<String, SystemInfo> results = new HashMap<>();
+        callSyncAll(new ElementCallJson(State.apply(
+                Collections.singletonList(ApplyStatesEventMessage.SYSTEM_INFO_FULL), Optional.empty())), minionIds)
+                .forEach((minionId, result) -> results.put(minionId, Json.GSON.fromJson(result, SystemInfo.class)));
+        return results;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public PublicCloudInstanceFlavor getInstanceFlavor(String minionId) {
-        LocalCall<String> call = new LocalCall<>("sumautil.instance_flavor",
-                                                 Optional.empty(),
-                                                 Optional.empty(),
-                                                 new TypeToken<>() {  });
-        return callSync(call, minionId)
-            .map(res -> {
-                    try {
-                        return PublicCloudInstanceFlavor.valueOf(res.toUpperCase());
-                    }
-                    catch (IllegalArgumentException e) {
-                        return PublicCloudInstanceFlavor.UNKNOWN;
-                    }
-                })
+        return callSync(instanceFlavorCall(), minionId)
+            .map(SaltService::parseInstanceFlavor)
             .orElse(PublicCloudInstanceFlavor.UNKNOWN);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, PublicCloudInstanceFlavor> getInstanceFlavors(List<String> minionIds) {
+        Map<String, PublicCloudInstanceFlavor> results = new HashMap<>();
+        minionIds.forEach(minionId -> results.put(minionId, PublicCloudInstanceFlavor.UNKNOWN));
+        callSyncAll(instanceFlavorCall(), minionIds)
+                .forEach((minionId, flavor) -> results.put(minionId, parseInstanceFlavor(flavor)));
+        return results;
+    }
+
+    private static LocalCall<String> instanceFlavorCall() {
+        return new LocalCall<>("sumautil.instance_flavor", Optional.empty(), Optional.empty(), new TypeToken<>() { });
+    }
+
+    private static PublicCloudInstanceFlavor parseInstanceFlavor(String flavor) {
+        try {
+            return PublicCloudInstanceFlavor.valueOf(flavor.toUpperCase());
+        }
+        catch (IllegalArgumentException e) {
+            return PublicCloudInstanceFlavor.UNKNOWN;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -121,6 +121,33 @@ public class ConfigChannelSaltManagerFileSystemTest extends BaseTestCaseWithUser
                 generatedFile.getName());
     }
 
+    /**
+     * Tests that regenerating a channel only rewrites the changed files and removes the files
+     * not belonging to the channel anymore.
+     *
+     * @throws Exception - if anything goes wrong
+     */
+    @Test
+    public void testRegenerateChangedFilesOnly() throws Exception {
+        ConfigChannel channel = ConfigChannelSaltManagerTestUtils.createTestChannel(user);
+        ConfigChannelSaltManagerTestUtils.addFileToChannel(channel);
+        manager.generateConfigChannelFiles(channel);
+
+        File generatedFile = getGeneratedFile(channel,
+                channel.getConfigFiles().first().getConfigFileName().getPath());
+        assertTrue(generatedFile.setLastModified(0));
+        File staleFile = getGeneratedFile(channel, "stale/file.conf");
+        FileUtils.writeStringToFile(staleFile, "stale", CharEncoding.UTF_8);
+
+        manager.generateConfigChannelFiles(channel);
+
+        assertEquals(0, generatedFile.lastModified());
+        assertEquals("aoeuäö€üáóéúř", FileUtils.readFileToString(generatedFile, CharEncoding.UTF_8));
+        assertFalse(staleFile.exists());
+        assertFalse(staleFile.getParentFile().exists());
+        assertTrue(getGeneratedFile(channel, "init.sls").exists());
+    }
+
     private File getGeneratedFile(ConfigChannel channel, String filePathInChannel) {
         return Paths.get(tmpSaltRoot.toAbsolutePath().toString(),
                 manager.getOrgNamespace(channel.getOrgId()),
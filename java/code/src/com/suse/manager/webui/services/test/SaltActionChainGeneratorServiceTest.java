@@ -48,6 +48,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
 
@@ -122,6 +123,59 @@ public class SaltActionChainGeneratorServiceTest extends BaseTestCaseWithUser {
                 .toFile().exists());
     }
 
+    @Test
+    public void testCreateActionChainSLSFilesSharedByMinions() throws Exception {
+        String label = TestUtils.randomString();
+        ActionChain actionChain = ActionChainFactory.createActionChain(label, user);
+        MinionSummary minionSummary1 = new MinionSummary(MinionServerFactoryTest.createTestMinionServer(user));
+        MinionSummary minionSummary2 = new MinionSummary(MinionServerFactoryTest.createTestMinionServer(user));
+
+        List<SaltState> states = new ArrayList<>();
+        states.add(new SaltModuleRun(
+                ACTION_STATE_ID_PREFIX + actionChain.getId() + "_action_" + 1,
+                "state.apply",
+                1,
+                singletonMap("mods", "packages"),
+                null
+        ));
+        states.add(new SaltSystemReboot(
+                ACTION_STATE_ID_PREFIX + actionChain.getId() + "_action_" + 2,
+                2,
+                1
+        ));
+        states.add(new SaltModuleRun(
+                ACTION_STATE_ID_PREFIX + actionChain.getId() + "_action_" + 3,
+                "state.apply",
+                3,
+                singletonMap("mods", "channels"),
+                null
+        ));
+
+        Path stateFilesRoot = Files.createTempDirectory("actionchaingentest");
+        SaltActionChainGeneratorService service = new SaltActionChainGeneratorService();
+        service.setSuseManagerStatesFilesRoot(stateFilesRoot);
+        service.setSkipSetOwner(true);
+        Map<MinionSummary, Integer> chunks = service.createActionChainSLSFiles(actionChain,
+                Arrays.asList(minionSummary1, minionSummary2), states, Optional.empty());
+
+        assertEquals(2, chunks.get(minionSummary1));
+        assertEquals(2, chunks.get(minionSummary2));
+        Path slsDir = stateFilesRoot.resolve(ACTIONCHAIN_SLS_FOLDER);
+        for (int chunk = 1; chunk <= 2; chunk++) {
+            Path sls1 = slsDir.resolve(service.getActionChainSLSFileName(actionChain.getId(), minionSummary1, chunk));
+            Path sls2 = slsDir.resolve(service.getActionChainSLSFileName(actionChain.getId(), minionSummary2, chunk));
+            assertEquals(FileUtils.readFileToString(sls1.toFile()), FileUtils.readFileToString(sls2.toFile()));
+        }
+
+        // removing the files of a minion keeps the ones of the other minion
+        service.removeActionChainSLSFilesForMinion(minionSummary1.getMachineId(), Optional.of(actionChain.getId()));
+        assertFalse(slsDir.resolve(service.getActionChainSLSFileName(actionChain.getId(), minionSummary1, 1))
+                .toFile().exists());
+        assertTrue(FileUtils.readFileToString(slsDir
+                .resolve(service.getActionChainSLSFileName(actionChain.getId(), minionSummary2, 1)).toFile())
+                .contains("mgr_actionchain_" + actionChain.getId() + "_action_1_chunk_1"));
+    }
+
     @Test
     public void testCreateActionChainSLSFilesTwoChunks() throws Exception {
         String label = TestUtils.randomString();
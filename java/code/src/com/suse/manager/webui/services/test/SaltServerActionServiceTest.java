@@ -53,9 +53,11 @@ import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.PackageFactory;
 import com.redhat.rhn.domain.rhnpackage.PackageType;
 import com.redhat.rhn.domain.rhnpackage.test.PackageEvrFactoryTest;
+import com.redhat.rhn.domain.rhnpackage.test.PackageNameTest;
 import com.redhat.rhn.domain.server.MinionServer;
 import com.redhat.rhn.domain.server.MinionSummary;
 import com.redhat.rhn.domain.server.Server;
+import com.redhat.rhn.domain.server.ServerConstants;
 import com.redhat.rhn.domain.server.ServerFactory;
 import com.redhat.rhn.domain.server.test.MinionServerFactoryTest;
 import com.redhat.rhn.domain.server.test.ServerFactoryTest;
@@ -431,7 +433,7 @@ public class SaltServerActionServiceTest extends JMockBaseTestCaseWithUser {
         Channel channel = ChannelFactoryTest.createTestChannel(user);
         Package p1 = ErrataTestUtils.createTestPackage(user, channel, "x86_64");
         Package p2 = ErrataTestUtils.createTestPackage(user, channel, "x86_64");
-        p1.getPackageName().setName("test-package-duplicated-name");
+        p1.setPackageName(PackageNameTest.createTestPackageName("test-package-duplicated-name"));
         p2.setPackageName(p1.getPackageName());
         p1.setPackageEvr(PackageEvrFactoryTest.createTestPackageEvr(null, "1.0.0", "X", PackageType.RPM));
         p2.setPackageEvr(PackageEvrFactoryTest.createTestPackageEvr(null, "1.0.1", "X", PackageType.RPM));
@@ -608,7 +610,10 @@ public class SaltServerActionServiceTest extends JMockBaseTestCaseWithUser {
         SaltActionChainGeneratorService generatorService = new SaltActionChainGeneratorService() {
             @Override
             public Map<MinionSummary, Integer> createActionChainSLSFiles(ActionChain actionChain,
-                        MinionSummary minionServer, List<SaltState> states, Optional<String> extraFileRefs) {
+                        List<MinionSummary> minions, List<SaltState> states, Optional<String> extraFileRefs) {
+                // every minion has its own actions, so none of them share their states
+                assertEquals(1, minions.size());
+                MinionSummary minionServer = minions.get(0);
                 assertEquals(3, states.size());
                 SaltModuleRun scriptRun = (SaltModuleRun)states.get(0);
                 SaltSystemReboot reboot = (SaltSystemReboot)states.get(1);
@@ -641,7 +646,7 @@ public class SaltServerActionServiceTest extends JMockBaseTestCaseWithUser {
 
                 assertEquals(true, scriptRun.getKwargs().get("queue"));
                 assertEquals(true, highstate.getKwargs().get("queue"));
-                return null;
+                return Map.of(minionServer, 1);
             }
         };
 
@@ -688,6 +693,62 @@ public class SaltServerActionServiceTest extends JMockBaseTestCaseWithUser {
         saltServerActionService.executeActionChain(actionChain.getId());
     }
 
+    @Test
+    public void testExecuteActionChainGroupsMinions() throws Exception {
+        SaltApi saltApi = new TestSaltApi() {
+            @Override
+            public Map<String, Result<Map<String, String>>> getPendingResume(List<String> minionIds) {
+                // report a running chain, so that salt-ssh is not called: only the planning is tested
+                return minionIds.stream().collect(Collectors.toMap(id -> id,
+                        id -> Result.success(Map.of("ssh_extra_filerefs", "running"))));
+            }
+        };
+        SaltServerActionService service = createSaltServerActionService(new TestSystemQuery(), saltApi);
+        List<Set<Long>> plans = new ArrayList<>();
+        service.setSaltActionChainGeneratorService(new SaltActionChainGeneratorService() {
+            @Override
+            public Map<MinionSummary, Integer> createActionChainSLSFiles(ActionChain actionChain,
+                        List<MinionSummary> minions, List<SaltState> states, Optional<String> extraFileRefs) {
+                plans.add(minions.stream().map(MinionSummary::getServerId).collect(Collectors.toSet()));
+                assertEquals(minions.get(0).isSshPush(), extraFileRefs.isPresent());
+                return minions.stream().collect(Collectors.toMap(m -> m, m -> 1));
+            }
+        });
+        ActionChainFactory.setTaskomaticApi(taskomaticMock);
+
+        MinionServer regular1 = MinionServerFactoryTest.createTestMinionServer(user);
+        MinionServer regular2 = MinionServerFactoryTest.createTestMinionServer(user);
+        MinionServer ssh = MinionServerFactoryTest.createTestMinionServer(user);
+        ssh.setContactMethod(ServerFactory.findContactMethodByLabel(ContactMethodUtil.SSH_PUSH));
+        MinionServer transactional = MinionServerFactoryTest.createTestMinionServer(user);
+        transactional.setOs(ServerConstants.SLEMICRO);
+        MinionServer sshTransactional = MinionServerFactoryTest.createTestMinionServer(user);
+        sshTransactional.setContactMethod(
+                ServerFactory.findContactMethodByLabel(ContactMethodUtil.SSH_PUSH));
+        sshTransactional.setOs(ServerConstants.SLEMICRO);
+        List<MinionServer> minions = List.of(regular1, regular2, ssh, transactional, sshTransactional);
+        minions.forEach(TestUtils::saveAndFlush);
+
+        // a single action for all the minions, so that they all get the same calls
+        ActionChain actionChain = ActionChainFactory.createActionChain(TestUtils.randomString(), user);
+        Date earliestAction = new Date();
+        Action action = ActionManager.scheduleApplyStates(user, List.of(), List.of("certs"), earliestAction);
+        minions.forEach(m -> ActionChainFactory.queueActionChainEntry(action, actionChain, m, 0));
+
+        context().checking(new Expectations() { {
+            allowing(taskomaticMock).scheduleActionChainExecution(with(any(ActionChain.class)));
+        } });
+
+        ActionChainFactory.schedule(actionChain, earliestAction);
+
+        service.executeActionChain(actionChain.getId());
+
+        // only the minions with the same contact method and transactional update support share their states
+        assertEquals(Set.of(Set.of(regular1.getId(), regular2.getId()), Set.of(ssh.getId()),
+                Set.of(transactional.getId()), Set.of(sshTransactional.getId())), new HashSet<>(plans));
+        assertEquals(4, plans.size());
+    }
+
     @Test
     public void testSubscribeChannels() throws Exception {
         Channel base = ChannelFactoryTest.createBaseChannel(user);
@@ -29,9 +29,12 @@ import com.google.gson.reflect.TypeToken;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Transaction;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -46,6 +49,8 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import javax.websocket.EndpointConfig;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
@@ -75,6 +80,14 @@ public class Notification {
     private static Set<Session> brokenSessions = ConcurrentHashMap.newKeySet();
     private static final WebsocketHeartbeatService HEARTBEAT_SERVICE = GlobalInstanceHolder.WEBSOCKET_SESSION_MANAGER;
 
+    // updates published within this delay are pushed together
+    private static final long COALESCING_DELAY_MILLIS = 500;
+    private static final ScheduledExecutorService SCHEDULED_EXECUTOR_SERVICE = Executors.newScheduledThreadPool(1);
+    private static final NotificationFanout FANOUT = new NotificationFanout(SCHEDULED_EXECUTOR_SERVICE,
+            COALESCING_DELAY_MILLIS, Notification::pushUpdates);
+    // highest user notification id seen by the check for notifications created by other processes
+    private static Long lastUserNotificationId;
+
     /**
      * Callback executed when the WebSocket is opened.
      * @param session the WebSocket session
@@ -127,7 +140,7 @@ public class Notification {
                                 watched.addAll(request);
 
                                 // Send the data
-                                sendData(session, user, request);
+                                sendData(session, user, request, new HashMap<>());
                             }
                             catch (JsonSyntaxException e) {
                                 LOG.error(String.format("Received invalid request: [message:%s]", messageBody));
@@ -192,25 +205,75 @@ public class Notification {
     }
 
     /**
-     * A static method to notify all {@link Session}s attached to WebSocket from the outside
+     * A static method to notify the {@link Session}s of the given users from the outside.
+     *
+     * The update is published once the current transaction is committed, so that the sessions are sent the
+     * committed data, and is dropped if the transaction is rolled back. Updates of the same user are coalesced.
+     *
+     * @param property which property changed
+     * @param userIds the IDs of the users affected by the change
+     */
+    public static void spreadUpdate(String property, Collection<Long> userIds) {
+        Set<Long> ids = new HashSet<>(userIds);
+        Optional<Transaction> transaction = HibernateFactory.getSessionIfPresent()
+                .map(s -> s.getTransaction())
+                .filter(Transaction::isActive);
+        if (transaction.isPresent()) {
+            transaction.get().registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // nothing to do
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        FANOUT.publish(property, ids);
+                    }
+                }
+            });
+        }
+        else {
+            FANOUT.publish(property, ids);
+        }
+    }
+
+    /**
+     * Pushes the changed properties to the sessions of the given users, computing each value once per user.
      *
-     * @param property which property to spread to all sessions
+     * @param updates the changed properties by user ID
      */
-    public static void spreadUpdate(String property) {
+    private static void pushUpdates(Map<Long, Set<String>> updates) {
         // Check for closed sessions before notifying them
         clearBrokenSessions();
 
-        // if there are unread messages, notify it to all attached WebSocket sessions
-        wsSessions.forEach((session, watched) -> {
-            if (watched.contains(property)) {
-                Optional.ofNullable(session.getUserProperties().get(WEB_USER_ID))
-                        .map(webUserID -> UserFactory.lookupById((Long) webUserID))
-                        .ifPresent(user -> sendData(session, user, Set.of(property)));
-            }
-        });
+        Map<Long, List<Session>> sessionsByUser = wsSessions.keySet().stream()
+                .filter(session -> updates.containsKey(getUserId(session)))
+                .collect(Collectors.groupingBy(Notification::getUserId));
+        try {
+            sessionsByUser.forEach((userId, sessions) -> {
+                User user = UserFactory.lookupById(userId);
+                if (user == null) {
+                    return;
+                }
+                Map<String, Object> values = new HashMap<>();
+                sessions.forEach(session -> {
+                    Set<String> properties = new HashSet<>(updates.get(userId));
+                    properties.retainAll(wsSessions.getOrDefault(session, Set.of()));
+                    sendData(session, user, properties, values);
+                });
+            });
+        }
+        finally {
+            HibernateFactory.closeSession();
+        }
     }
 
-    private static void sendData(Session session, User user, Set<String> properties) {
+    private static Long getUserId(Session session) {
+        return (Long) session.getUserProperties().get(WEB_USER_ID);
+    }
+
+    private static void sendData(Session session, User user, Set<String> properties, Map<String, Object> values) {
         Map<String, BiFunction<Session, User, Object>> preparers = Map.of(
                 USER_NOTIFICATIONS, Notification::prepareUserNotifications,
                 SSM_COUNT, Notification::prepareSsmCount
@@ -218,7 +281,7 @@ public class Notification {
         Map<String, Object> data = properties.stream()
                 .filter(preparers::containsKey)
                 .collect(Collectors.toMap(Function.identity(),
-                        property -> preparers.get(property).apply(session, user)));
+                        property -> values.computeIfAbsent(property, p -> preparers.get(p).apply(session, user))));
         if (!data.isEmpty()) {
             sendMessage(session, GSON.toJson(data));
         }
@@ -284,12 +347,27 @@ public class Notification {
         brokenSessions.add(session);
     }
 
-    private static ScheduledExecutorService scheduledExecutorService;
+    /**
+     * Notifications can also be created by other processes, like Taskomatic. Check for new ones with a single
+     * query and publish them for the users they were created for.
+     */
+    private static void publishNewUserNotifications() {
+        if (wsSessions.isEmpty()) {
+            lastUserNotificationId = null;
+            return;
+        }
+        long latest = UserNotificationFactory.latestUserNotificationId();
+        if (lastUserNotificationId != null && latest > lastUserNotificationId) {
+            FANOUT.publish(USER_NOTIFICATIONS,
+                    UserNotificationFactory.listUserIdsNotifiedAfter(lastUserNotificationId));
+        }
+        lastUserNotificationId = latest;
+    }
+
     static {
-        scheduledExecutorService = Executors.newScheduledThreadPool(1);
-        scheduledExecutorService.scheduleWithFixedDelay(() -> {
+        SCHEDULED_EXECUTOR_SERVICE.scheduleWithFixedDelay(() -> {
             try {
-                spreadUpdate(USER_NOTIFICATIONS);
+                publishNewUserNotifications();
             }
             catch (Exception e) {
                 LOG.error("Notification scheduledExecutorService exception", e);
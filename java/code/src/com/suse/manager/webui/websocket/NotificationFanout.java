@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.webui.websocket;
+
+import com.suse.manager.metrics.WebsocketMetrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process topic for the changes shown by the {@link Notification} websocket.
+ *
+ * Producers publish which property changed for which users. Updates for the same user are coalesced during a
+ * short delay and then handed to the consumer in one batch, so a burst of changes results in a single push per
+ * user instead of one per change.
+ */
+public class NotificationFanout {
+
+    private static final Logger LOG = LogManager.getLogger(NotificationFanout.class);
+
+    private final ScheduledExecutorService executor;
+    private final long delayMillis;
+    private final Consumer<Map<Long, Set<String>>> consumer;
+
+    // pending properties by user id, guarded by this
+    private Map<Long, Set<String>> pending = new HashMap<>();
+    // System.nanoTime() of the oldest pending publication, guarded by this
+    private long oldestPending;
+
+    /**
+     * Standard constructor.
+     * @param executorIn the executor running the consumer
+     * @param delayMillisIn how long updates are coalesced before they are handed to the consumer
+     * @param consumerIn the consumer of the changed properties by user id
+     */
+    public NotificationFanout(ScheduledExecutorService executorIn, long delayMillisIn,
+            Consumer<Map<Long, Set<String>>> consumerIn) {
+        this.executor = executorIn;
+        this.delayMillis = delayMillisIn;
+        this.consumer = consumerIn;
+    }
+
+    /**
+     * Publishes a change of a property for the given users.
+     * @param property the changed property
+     * @param userIds the IDs of the affected users
+     */
+    public void publish(String property, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending.isEmpty();
+            if (schedule) {
+                oldestPending = System.nanoTime();
+            }
+            userIds.forEach(userId -> pending.computeIfAbsent(userId, id -> new HashSet<>()).add(property));
+        }
+        if (schedule) {
+            executor.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        Map<Long, Set<String>> updates;
+        long publishedAt;
+        synchronized (this) {
+            updates = pending;
+            publishedAt = oldestPending;
+            pending = new HashMap<>();
+        }
+        try {
+            consumer.accept(updates);
+            WebsocketMetrics.observeFanout(updates.size(), publishedAt);
+        }
+        catch (Exception e) {
+            LOG.error("Unable to push the notification updates", e);
+        }
+    }
+}
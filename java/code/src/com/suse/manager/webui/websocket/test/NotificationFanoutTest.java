@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.webui.websocket.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.suse.manager.webui.websocket.Notification;
+import com.suse.manager.webui.websocket.NotificationFanout;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link NotificationFanout}
+ */
+public class NotificationFanoutTest {
+
+    private ScheduledExecutorService executor;
+    private BlockingQueue<Map<Long, Set<String>>> pushed;
+    private NotificationFanout fanout;
+
+    /**
+     * {@inheritDoc}
+     */
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        pushed = new LinkedBlockingQueue<>();
+        fanout = new NotificationFanout(executor, 200, pushed::add);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tests the updates published during the delay are pushed together, once per user
+     */
+    @Test
+    public void testCoalescing() throws Exception {
+        fanout.publish(Notification.USER_NOTIFICATIONS, List.of(1L, 2L));
+        fanout.publish(Notification.USER_NOTIFICATIONS, List.of(1L));
+        fanout.publish(Notification.SSM_COUNT, List.of(2L));
+
+        Map<Long, Set<String>> updates = pushed.poll(5, TimeUnit.SECONDS);
+        assertEquals(Map.of(
+                1L, Set.of(Notification.USER_NOTIFICATIONS),
+                2L, Set.of(Notification.USER_NOTIFICATIONS, Notification.SSM_COUNT)), updates);
+        assertNull(pushed.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Tests updates published after a push are pushed again
+     */
+    @Test
+    public void testPublishAfterPush() throws Exception {
+        fanout.publish(Notification.SSM_COUNT, List.of(1L));
+        assertEquals(Map.of(1L, Set.of(Notification.SSM_COUNT)), pushed.poll(5, TimeUnit.SECONDS));
+
+        fanout.publish(Notification.USER_NOTIFICATIONS, List.of(3L));
+        assertEquals(Map.of(3L, Set.of(Notification.USER_NOTIFICATIONS)), pushed.poll(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests publishing for no user does not push anything
+     */
+    @Test
+    public void testNoUsers() throws Exception {
+        fanout.publish(Notification.SSM_COUNT, List.of());
+        assertNull(pushed.poll(500, TimeUnit.MILLISECONDS));
+    }
+}
@@ -80,6 +80,16 @@ public interface SCCClient {
      */
     List<ProductTreeEntry> productTree() throws SCCClientException;
 
+    /**
+     * Tells if the data returned by the last list call is the same as in the previous refresh,
+     * because SCC answered every page with 304 Not Modified.
+     *
+     * @return true if the last list call returned unmodified data
+     */
+    default boolean isLastListNotModified() {
+        return false;
+    }
+
 
     /**
      * Create/Update multiple Systems in SCC
@@ -42,6 +42,9 @@ public class SCCConfig {
     /** Default directory where to save logging files. */
     public static final String DEFAULT_LOGGING_DIR = "/var/lib/spacewalk/scc/scc-data/";
 
+    /** Default directory where to keep the responses for conditional requests. */
+    public static final String DEFAULT_CACHE_DIR = "/var/lib/spacewalk/scc/scc-cache/";
+
     /** The url. */
     private URI url;
 
@@ -65,6 +68,9 @@ public class SCCConfig {
     /** True to skip owner setting in tests */
     private boolean skipOwner = false;
 
+    /** Path to the response cache directory, no caching if null. */
+    private String cacheDir;
+
     /**
      * Instantiates a new SCC config to read from a local file and default
      * logging directory.
@@ -198,4 +204,20 @@ public class SCCConfig {
     public Map<String, String> getAdditionalHeaders() {
         return Optional.ofNullable(additionalHeaders).orElse(new HashMap<>());
     }
+
+    /**
+     * Gets the response cache dir.
+     * @return the response cache dir, empty if responses are not cached
+     */
+    public Optional<String> getCacheDir() {
+        return Optional.ofNullable(cacheDir);
+    }
+
+    /**
+     * Sets the directory where responses are kept to send conditional requests.
+     * @param cacheDirIn the response cache dir, null to disable caching
+     */
+    public void setCacheDir(String cacheDirIn) {
+        cacheDir = cacheDirIn;
+    }
 }
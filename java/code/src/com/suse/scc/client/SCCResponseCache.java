@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.scc.client;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Local store of the pages received from SCC together with their validators.
+ *
+ * Every entry is made of the response body and of the response headers needed to process the page again.
+ * The validators (ETag and Last-Modified) are sent back with the next request, so that SCC can answer
+ * with 304 Not Modified and the stored body is used instead.
+ */
+class SCCResponseCache {
+
+    private static final Logger LOG = LogManager.getLogger(SCCResponseCache.class);
+
+    static final String ETAG = "ETag";
+    static final String LAST_MODIFIED = "Last-Modified";
+
+    /** Response headers stored with the body. */
+    private static final List<String> STORED_HEADERS = List.of(ETAG, LAST_MODIFIED, "Per-Page", "Total", "Link");
+
+    private final Path dir;
+    private final String user;
+
+    /**
+     * A cached response.
+     */
+    static class Entry {
+
+        private final Properties headers;
+        private final Path body;
+
+        Entry(Properties headersIn, Path bodyIn) {
+            headers = headersIn;
+            body = bodyIn;
+        }
+
+        /**
+         * @param name the header name
+         * @return the value of the header at the time the response was stored
+         */
+        Optional<String> getHeader(String name) {
+            return Optional.ofNullable(headers.getProperty(name));
+        }
+
+        /**
+         * @return a reader on the stored body
+         * @throws IOException if the body cannot be read
+         */
+        Reader openBody() throws IOException {
+            return Files.newBufferedReader(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Constructor
+     * @param dirIn the directory storing the responses
+     * @param userIn the user the responses belong to, as the same URL returns different data per user
+     */
+    SCCResponseCache(Path dirIn, String userIn) {
+        dir = dirIn;
+        user = userIn;
+    }
+
+    /**
+     * @param headers the response headers
+     * @return true if the response can be validated again by SCC
+     */
+    static boolean hasValidators(Function<String, Optional<String>> headers) {
+        return headers.apply(ETAG).isPresent() || headers.apply(LAST_MODIFIED).isPresent();
+    }
+
+    /**
+     * Get the stored response for an URL.
+     * @param uri the request URI
+     * @return the stored response if any
+     */
+    Optional<Entry> get(URI uri) {
+        Path headersFile = file(uri, ".headers");
+        Path bodyFile = file(uri, ".json");
+        if (!Files.isRegularFile(headersFile) || !Files.isRegularFile(bodyFile)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(headersFile, StandardCharsets.UTF_8)) {
+            Properties headers = new Properties();
+            headers.load(reader);
+            return Optional.of(new Entry(headers, bodyFile));
+        }
+        catch (IOException e) {
+            LOG.warn("Unable to read the cached SCC response for {}", uri, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store a response. Failures are only logged, as the next refresh will download the data again.
+     * @param uri the request URI
+     * @param headers the response headers
+     * @param body the response body
+     */
+    void put(URI uri, Function<String, Optional<String>> headers, String body) {
+        Properties stored = new Properties();
+        STORED_HEADERS.forEach(name -> headers.apply(name).ifPresent(value -> stored.setProperty(name, value)));
+        try {
+            Files.createDirectories(dir);
+            // the body goes first: stale validators next to a new body only cause a full download
+            Path bodyTmp = Files.createTempFile(dir, ".body", ".tmp");
+            Files.writeString(bodyTmp, body, StandardCharsets.UTF_8);
+            Files.move(bodyTmp, file(uri, ".json"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            Path headersTmp = Files.createTempFile(dir, ".headers", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(headersTmp, StandardCharsets.UTF_8)) {
+                stored.store(writer, uri.toString());
+            }
+            Files.move(headersTmp, file(uri, ".headers"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            LOG.warn("Unable to cache the SCC response for {}", uri, e);
+        }
+    }
+
+    private Path file(URI uri, String suffix) {
+        return dir.resolve(DigestUtils.sha256Hex(user + "\n" + uri) + suffix);
+    }
+}
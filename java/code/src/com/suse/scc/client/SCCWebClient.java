@@ -32,6 +32,7 @@ import com.suse.scc.model.SCCVirtualizationHostJson;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
@@ -48,8 +49,10 @@ import org.apache.logging.log4j.Logger;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.net.NoRouteToHostException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -57,7 +60,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -68,8 +75,11 @@ import java.util.stream.Stream;
  */
 public class SCCWebClient implements SCCClient {
 
-    private final ExecutorService executor = Executors.newCachedThreadPool();
     private static final Logger LOG = LogManager.getLogger(SCCWebClient.class);
+
+    /** Maximum number of pages fetched in parallel, shared by all the clients. */
+    private static final int PAGE_FETCH_THREADS = 4;
+    private static final ExecutorService PAGE_EXECUTOR = createPageExecutor();
     private final Gson gson = new GsonBuilder()
             .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSX")
             .registerTypeAdapterFactory(new OptionalTypeAdapterFactory())
@@ -81,6 +91,12 @@ public class SCCWebClient implements SCCClient {
     /** Adapter object for handling HTTP requests. */
     private final HttpClientAdapter httpClient;
 
+    /** Responses kept to send conditional requests, if enabled in the config. */
+    private final Optional<SCCResponseCache> responseCache;
+
+    /** True if all the pages of the last list call were not modified. */
+    private volatile boolean lastListNotModified = false;
+
     /**
      *  Represents a partial result with a pointer to the next one.
      *
@@ -96,16 +112,21 @@ public class SCCWebClient implements SCCClient {
 
         private final int numPages;
 
+        /** True if the page was taken from the response cache. */
+        private final boolean notModified;
+
         /**
          * Instantiates a new paginated result.
          *  @param resultIn the result in
          * @param nextUrlIn the next url in
          * @param numPagesIn number of pages
+         * @param notModifiedIn true if the page was not modified since it was cached
          */
-        PaginatedResult(T resultIn, String nextUrlIn, int numPagesIn) {
+        PaginatedResult(T resultIn, String nextUrlIn, int numPagesIn, boolean notModifiedIn) {
             result = resultIn;
             nextUrl = nextUrlIn;
             this.numPages = numPagesIn;
+            notModified = notModifiedIn;
         }
     }
 
@@ -116,6 +137,20 @@ public class SCCWebClient implements SCCClient {
     public SCCWebClient(SCCConfig configIn) {
         config = configIn;
         httpClient = new HttpClientAdapter();
+        responseCache = config.getCacheDir()
+                .map(dir -> new SCCResponseCache(Path.of(dir), String.valueOf(config.getUsername())));
+    }
+
+    private static ExecutorService createPageExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(PAGE_FETCH_THREADS, PAGE_FETCH_THREADS,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "scc-page-fetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
     }
 
     /**
@@ -188,20 +223,34 @@ public class SCCWebClient implements SCCClient {
                 catch (SCCClientException e1) {
                     throw new RuntimeException(e1);
                 }
-            }, executor);
+            }, PAGE_EXECUTOR);
         }).collect(Collectors.toList());
 
         CompletableFuture<Void> voidCompletableFuture = CompletableFuture.allOf(
                 futures.toArray(new CompletableFuture[0]));
         voidCompletableFuture.join();
-        return Stream.concat(
+        List<PaginatedResult<List<T>>> pages = Stream.concat(
                 Stream.of(firstPage),
                 futures.stream().map(CompletableFuture::join)
                 )
+                .collect(Collectors.toList());
+        lastListNotModified = pages.stream().allMatch(p -> p.notModified);
+        if (lastListNotModified) {
+            LOG.info("GET: {}{} not modified", config.getUrl(), endpoint);
+        }
+        return pages.stream()
                 .flatMap(p -> p.result.stream())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLastListNotModified() {
+        return lastListNotModified;
+    }
+
     private void addHeaders(AbstractHttpMessage request) {
         request.addHeader("Accept", "application/vnd.scc.suse.com.v4+json");
         request.addHeader("Accept-Encoding", "gzip, deflate");
@@ -401,6 +450,12 @@ public class SCCWebClient implements SCCClient {
         Reader streamReader = null;
         HttpRequestBase request = SCCRequestFactory.getInstance().initRequest(
                 method, endpoint, config);
+        Optional<SCCResponseCache.Entry> cached = responseCache.flatMap(c -> c.get(request.getURI()));
+        cached.ifPresent(entry -> {
+            entry.getHeader(SCCResponseCache.ETAG).ifPresent(v -> request.addHeader("If-None-Match", v));
+            entry.getHeader(SCCResponseCache.LAST_MODIFIED)
+                    .ifPresent(v -> request.addHeader("If-Modified-Since", v));
+        });
         try {
             // Connect and parse the response on success
             HttpResponse response = httpClient.executeRequest(request,
@@ -408,34 +463,23 @@ public class SCCWebClient implements SCCClient {
 
             int responseCode = response.getStatusLine().getStatusCode();
 
-            if (responseCode == HttpStatus.SC_OK) {
+            if (responseCode == HttpStatus.SC_NOT_MODIFIED && cached.isPresent()) {
+                LOG.debug("Not modified: {}", request.getURI());
+                streamReader = cached.get().openBody();
+                return parsePage(streamReader, resultType, cached.get()::getHeader, true);
+            }
+            else if (responseCode == HttpStatus.SC_OK) {
                 streamReader = SCCClientUtils.getLoggingReader(request.getURI(), response,
                         config.getUsername(), config.getLoggingDir(), !config.isSkipOwner());
+                Function<String, Optional<String>> headers = name ->
+                        Optional.ofNullable(response.getFirstHeader(name)).map(Header::getValue);
 
-                // Parse result type from JSON
-                T result = gson.fromJson(streamReader, resultType);
-
-                Optional<Integer> perPageOpt = Optional.ofNullable(response.getFirstHeader("Per-Page"))
-                        .map(h -> Integer.parseInt(h.getValue()));
-                Optional<Integer> totalOpt = Optional.ofNullable(response.getFirstHeader("Total"))
-                        .map(h -> Integer.parseInt(h.getValue()));
-                Optional<Integer> numPagesOpt = perPageOpt.flatMap(perPage -> totalOpt
-                        .map(total -> (int)Math.ceil(total / perPage.floatValue())));
-
-                int numPages = numPagesOpt.orElse(1);
-
-                String nextUrl = null;
-                Header linkHeader = response.getFirstHeader("Link");
-                if (linkHeader != null) {
-                    String linkHeaderValue = linkHeader.getValue();
-                    Matcher m = Pattern
-                            .compile(".*<" + config.getUrl() + "(.*?)>; rel=\"next\".*")
-                            .matcher(linkHeaderValue);
-                    if (m.matches()) {
-                        nextUrl = m.group(1);
-                    }
+                if (responseCache.isPresent() && SCCResponseCache.hasValidators(headers)) {
+                    String body = IOUtils.toString(streamReader);
+                    responseCache.get().put(request.getURI(), headers, body);
+                    return parsePage(new StringReader(body), resultType, headers, false);
                 }
-                return new PaginatedResult<>(result, nextUrl, numPages);
+                return parsePage(streamReader, resultType, headers, false);
             }
             else {
                 // Request was not successful
@@ -456,4 +500,29 @@ public class SCCWebClient implements SCCClient {
             SCCClientUtils.closeQuietly(streamReader);
         }
     }
+
+    private <T> PaginatedResult<T> parsePage(Reader reader, Type resultType,
+            Function<String, Optional<String>> headers, boolean notModified) {
+        // Parse result type from JSON
+        T result = gson.fromJson(reader, resultType);
+
+        Optional<Integer> perPageOpt = headers.apply("Per-Page").map(Integer::parseInt);
+        Optional<Integer> totalOpt = headers.apply("Total").map(Integer::parseInt);
+        Optional<Integer> numPagesOpt = perPageOpt.flatMap(perPage -> totalOpt
+                .map(total -> (int)Math.ceil(total / perPage.floatValue())));
+
+        int numPages = numPagesOpt.orElse(1);
+
+        String nextUrl = null;
+        Optional<String> linkHeader = headers.apply("Link");
+        if (linkHeader.isPresent()) {
+            Matcher m = Pattern
+                    .compile(".*<" + config.getUrl() + "(.*?)>; rel=\"next\".*")
+                    .matcher(linkHeader.get());
+            if (m.matches()) {
+                nextUrl = m.group(1);
+            }
+        }
+        return new PaginatedResult<>(result, nextUrl, numPages, notModified);
+    }
 }
@@ -27,6 +27,7 @@ import com.suse.scc.client.SCCClient;
 import com.suse.scc.client.SCCClientException;
 import com.suse.scc.client.SCCConfig;
 import com.suse.scc.client.SCCFileClient;
+import com.suse.scc.client.SCCWebClient;
 import com.suse.scc.model.SCCProductJson;
 import com.suse.scc.model.SCCRepositoryJson;
 import com.suse.scc.model.SCCSubscriptionJson;
@@ -39,9 +40,12 @@ import java.io.File;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Tests for {@link SCCClient} methods.
@@ -192,6 +196,65 @@ public class SCCClientTest  {
         assertEquals("login1", sys.getLogin());
     }
 
+    /**
+     * Test that unmodified pages are answered from the response cache.
+     * @throws Exception if things go wrong
+     */
+    @Test
+    public void testListSubscriptionsNotModified() throws Exception {
+        Path cacheDir = Files.createTempDirectory("scc-cache");
+        try {
+            HttpServerMock serverMock = new HttpServerMock();
+            URI uri = serverMock.getURI();
+            SCCServerStub stub = new SCCServerStub(uri);
+            AtomicInteger fullResponses = new AtomicInteger();
+            Responder responder = (request, response) -> {
+                String etag = "\"" + request.getURI() + "\"";
+                if (etag.equals(request.getValue("If-None-Match"))) {
+                    response.setCode(HttpURLConnection.HTTP_NOT_MODIFIED);
+                    try {
+                        response.getPrintStream().close();
+                    }
+                    catch (IOException e) {
+                        // never happens
+                    }
+                }
+                else {
+                    fullResponses.incrementAndGet();
+                    response.set("ETag", etag);
+                    stub.respond(request, response);
+                }
+            };
+
+            SCCConfig config = new SCCConfig(uri, "user", "password", null, null,
+                    System.getProperty("java.io.tmpdir"), true);
+            config.setCacheDir(cacheDir.toString());
+            SCCRequester<List<Boolean>> requester = new SCCRequester<>(config) {
+                @Override
+                public List<Boolean> request(SCCClient scc) throws SCCClientException {
+                    List<SCCSubscriptionJson> first = scc.listSubscriptions();
+                    boolean firstNotModified = scc.isLastListNotModified();
+                    // a new client only shares the cache directory with the first one
+                    SCCClient other = new SCCWebClient(config);
+                    List<SCCSubscriptionJson> second = other.listSubscriptions();
+                    assertEquals(2, first.size());
+                    assertEquals(first.size(), second.size());
+                    assertEquals(first.get(0).getId(), second.get(0).getId());
+                    assertEquals(first.get(1).getRegcode(), second.get(1).getRegcode());
+                    return List.of(firstNotModified, other.isLastListNotModified());
+                }
+            };
+
+            List<Boolean> notModified = serverMock.getResult(requester, responder);
+            assertEquals(List.of(false, true), notModified);
+            // both pages were only sent once
+            assertEquals(2, fullResponses.get());
+        }
+        finally {
+            FileUtils.deleteDirectory(cacheDir.toFile());
+        }
+    }
+
     // File-based configuration
     private File createTempDir() throws IOException {
         File tmpDir = new File(System.getProperty("java.io.tmpdir") +
@@ -43,8 +43,15 @@ public abstract class SCCRequester<T> implements Callable<T> {
      * @param uri the server URI
      */
     protected SCCRequester(URI uri) {
-        SCCConfig config = new SCCConfig(uri, "user", "password", null, null,
-            System.getProperty("java.io.tmpdir"), true);
+        this(new SCCConfig(uri, "user", "password", null, null,
+            System.getProperty("java.io.tmpdir"), true));
+    }
+
+    /**
+     * Constructor using a specific configuration
+     * @param config the client configuration
+     */
+    protected SCCRequester(SCCConfig config) {
         scc = new SCCWebClient(config);
     }
 
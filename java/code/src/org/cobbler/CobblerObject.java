@@ -25,8 +25,10 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -127,6 +129,26 @@ public abstract class CobblerObject {
      * The connection to the Cobbler server
      */
     protected CobblerConnection client;
+    /**
+     * Whether {@link #dataMapResolved} has to be fetched from the server before its next read
+     */
+    private boolean resolvedStale;
+    /**
+     * Whether the modifications are collected until {@link #save()} instead of being sent right away
+     */
+    private boolean bufferChanges;
+    /**
+     * The collected modifications that were not sent to the server yet, in the order they were made
+     */
+    private final Map<String, Object> pendingChanges = new LinkedHashMap<>();
+    /**
+     * Copy of the raw values known to the server, to leave out the modifications that do not change anything
+     */
+    private Map<String, Object> serverValues = new HashMap<>();
+    /**
+     * Whether modifications were sent to the server since the last save
+     */
+    private boolean unsavedChanges;
 
     /**
      * Helper method used by all cobbler objects to
@@ -230,6 +252,13 @@ public abstract class CobblerObject {
      */
     protected abstract boolean invokeRemove();
 
+    /**
+     * This method retrieves all the resolved values of the object from the Cobbler server in a single call
+     *
+     * @return The Map with the resolved values
+     */
+    protected abstract Map<String, Object> invokeGetResolvedDataMap();
+
     /**
      * This method retrieves the XML-RPC handle from the Cobbler server via the objects name
      *
@@ -261,9 +290,110 @@ public abstract class CobblerObject {
      * @return The resolved value or in case an attribute doesn't resolve its raw value
      */
     protected final Object getResolvedValue(String key) {
+        sendPendingChanges();
         return client.invokeMethod("get_item_resolved_value", getUid(), key);
     }
 
+    /**
+     * Helper method used by all cobbler objects to retrieve all their resolved values at once
+     *
+     * @param client    the Cobbler Connection
+     * @param name      the name of the cobbler object
+     * @param getMethod the name of the XML-RPC method to get the object: eg get_profile for profile
+     * @return the resolved values or an empty Map if the object does not exist
+     */
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Object> lookupResolvedDataMap(CobblerConnection client, String name,
+                                                               String getMethod) {
+        Object obj = client.invokeMethod(getMethod,
+                name, // object name
+                false, // flatten
+                true // resolved
+        );
+        if (obj instanceof Map) {
+            return (Map<String, Object>) obj;
+        }
+        return new HashMap<>();
+    }
+
+    /**
+     * Marks the resolved values as outdated, after {@link #dataMap} has been (re)loaded from the server. They are
+     * retrieved with a single call the next time one of them is read, so that listing many objects does not cost
+     * one more call per object.
+     */
+    protected void dataMapLoaded() {
+        dataMapResolved = new HashMap<>();
+        resolvedStale = true;
+        if (bufferChanges) {
+            serverValues = copyValues(dataMap);
+        }
+    }
+
+    /**
+     * Returns the resolved values of this object, retrieving them from the server if they are outdated.
+     *
+     * @return the Map with the resolved values
+     */
+    protected Map<String, Object> getResolvedDataMap() {
+        if (resolvedStale) {
+            // the server resolves the values from its own state, which must include the collected changes
+            sendPendingChanges();
+            dataMapResolved = invokeGetResolvedDataMap();
+            resolvedStale = false;
+        }
+        return dataMapResolved;
+    }
+
+    /**
+     * Starts collecting the modifications of this object instead of sending them right away. Each setter then only
+     * records the new value, and {@link #save()} sends the changed properties before saving. Setting a property to
+     * the value it already has on the server sends nothing, and saving an object without any change is skipped.
+     * The resolved values are retrieved again with a single call the next time one of them is read.
+     * <p>
+     * Without this, every setter costs two calls: one to modify the property and one to retrieve its resolved value.
+     */
+    public void bufferChanges() {
+        if (!bufferChanges) {
+            bufferChanges = true;
+            serverValues = copyValues(dataMap);
+        }
+    }
+
+    /**
+     * Sends the collected modifications to the server, without saving them.
+     */
+    private void sendPendingChanges() {
+        for (Map.Entry<String, Object> change : pendingChanges.entrySet()) {
+            invokeModify(change.getKey(), change.getValue());
+            serverValues.put(change.getKey(), copyValue(change.getValue()));
+            unsavedChanges = true;
+        }
+        pendingChanges.clear();
+    }
+
+    private static Map<String, Object> copyValues(Map<String, Object> values) {
+        Map<String, Object> copy = new HashMap<>();
+        if (values != null) {
+            values.forEach((key, value) -> copy.put(key, copyValue(value)));
+        }
+        return copy;
+    }
+
+    // setters may be handed the very Map or List of dataMap after it was changed in place: keep a deep copy
+    private static Object copyValue(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new HashMap<>();
+            ((Map<?, ?>) value).forEach((key, item) -> copy.put(key, copyValue(item)));
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            ((List<?>) value).forEach(item -> copy.add(copyValue(item)));
+            return copy;
+        }
+        return value;
+    }
+
     /**
      * This helper function checks if the Optional we pass is empty or not. The mechanism in Java works that an Empty
      * means that the object does not have a dedicated value and thus inherits from the parent or the settings.
@@ -336,6 +466,19 @@ public abstract class CobblerObject {
                     "CobblerObject.modify cannot be null or emtpy! Must be a non-emtpy string!"
             );
         }
+        // every modification of the network interfaces is for another interface: they cannot be merged
+        if (bufferChanges && !key.equals(SystemRecord.SET_INTERFACES)) {
+            dataMap.put(key, value);
+            if (serverValues.containsKey(key) && Objects.equals(serverValues.get(key), value)) {
+                pendingChanges.remove(key);
+            }
+            else {
+                pendingChanges.put(key, value);
+                resolvedStale |= updateResolved;
+            }
+            return;
+        }
+        sendPendingChanges();
         invokeModify(key, value);
         dataMap.put(key, value);
         if (updateResolved) {
@@ -359,7 +502,7 @@ public abstract class CobblerObject {
             key = "interfaces";
         }
         Object resolvedValue = client.invokeMethod("get_item_resolved_value", getUid(), key);
-        dataMapResolved.put(key, resolvedValue);
+        getResolvedDataMap().put(key, resolvedValue);
     }
 
     /**
@@ -374,15 +517,24 @@ public abstract class CobblerObject {
      *              value or a resolved one.
      */
     protected void modifyResolved(String key, Object value) {
+        // keep the order of the modifications on the server
+        sendPendingChanges();
         invokeModifyResolved(key, value);
-        dataMapResolved.put(key, value);
+        unsavedChanges = true;
+        getResolvedDataMap().put(key, value);
     }
 
     /**
-     * Calls save object to complete the commit
+     * Calls save object to complete the commit. When the changes are buffered, the collected modifications are sent
+     * first.
      */
     public void save() {
+        if (bufferChanges && pendingChanges.isEmpty() && !unsavedChanges) {
+            return;
+        }
+        sendPendingChanges();
         invokeSave();
+        unsavedChanges = false;
     }
 
     /**
@@ -432,7 +584,7 @@ public abstract class CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public List<String> getResolvedManagementClasses() {
-        return (List<String>) dataMapResolved.get(MGMT_CLASSES);
+        return (List<String>) getResolvedDataMap().get(MGMT_CLASSES);
     }
 
     /**
@@ -541,7 +693,7 @@ public abstract class CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public List<String> getResolvedOwners() {
-        return (List<String>) dataMapResolved.get(OWNERS);
+        return (List<String>) getResolvedDataMap().get(OWNERS);
     }
 
     /**
@@ -800,7 +952,7 @@ public abstract class CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getResolvedAutoinstallMeta() {
-        return (Map<String, Object>) dataMapResolved.get(KS_META);
+        return (Map<String, Object>) getResolvedDataMap().get(KS_META);
     }
 
     /**
@@ -837,7 +989,12 @@ public abstract class CobblerObject {
      * @param nameIn sets the new name
      */
     public void setName(String nameIn) {
+        if (bufferChanges && Objects.equals(nameIn, getName())) {
+            return;
+        }
+        sendPendingChanges();
         invokeRename(nameIn);
+        unsavedChanges = true;
         dataMap.put(NAME, nameIn);
         dataMapResolved.put(NAME, nameIn);
         handle = null;
@@ -918,7 +1075,7 @@ public abstract class CobblerObject {
      * @see #getRedHatManagementKey()
      */
     public String getResolvedRedHatManagementKey() {
-        return (String) dataMapResolved.get(REDHAT_KEY);
+        return (String) getResolvedDataMap().get(REDHAT_KEY);
     }
 
     /**
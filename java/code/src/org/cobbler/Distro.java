@@ -93,17 +93,11 @@ public class Distro extends CobblerObject {
      * @param distroMap The Key-Value Map with the content of the distribution
      * @return Either null or the distribution that has been build by the Map
      */
-    @SuppressWarnings("unchecked")
     private static Distro handleLookup(CobblerConnection client, Map<String, Object> distroMap) {
         if (distroMap != null) {
             Distro distro = new Distro(client);
             distro.dataMap = distroMap;
-            distro.dataMapResolved = (Map<String, Object>) client.invokeMethod(
-                    "get_distro",
-                    distro.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            distro.dataMapLoaded();
             return distro;
         }
         return null;
@@ -124,12 +118,7 @@ public class Distro extends CobblerObject {
         for (Map<String, Object> distroMap : cDistros) {
             Distro distro = new Distro(connection);
             distro.dataMap = distroMap;
-            distro.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_distro",
-                    distro.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            distro.dataMapLoaded();
             distros.add(distro);
         }
         return distros;
@@ -143,6 +132,14 @@ public class Distro extends CobblerObject {
         return (String) client.invokeTokenMethod("get_distro_handle", this.getName());
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected Map<String, Object> invokeGetResolvedDataMap() {
+        return lookupResolvedDataMap(client, getName(), "get_distro");
+    }
+
     /**
      * @inheritDoc
      */
@@ -190,7 +187,7 @@ public class Distro extends CobblerObject {
     public void reload() {
         Distro newDistro = lookupById(client, getId());
         dataMap = newDistro.dataMap;
-        dataMapResolved = newDistro.dataMapResolved;
+        dataMapLoaded();
     }
 
     /**
@@ -467,6 +464,7 @@ public class Distro extends CobblerObject {
             distro.modify(ARCH, arch, false);
             distro.save();
             distro = lookupByName(connection, name);
+            distro.bufferChanges();
 
             if (breed != null) {
                 distro.setBreed(breed);
@@ -113,12 +113,7 @@ public class Image extends CobblerObject {
         for (Map<String, Object> imageMap : imageMaps) {
             Image image = new Image(client);
             image.dataMap = imageMap;
-            image.dataMapResolved = (Map<String, Object>) client.invokeMethod(
-                    "get_image",
-                    image.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            image.dataMapLoaded();
             result.add(image);
         }
         return result;
@@ -131,18 +126,12 @@ public class Image extends CobblerObject {
      * @param imageMap the image map
      * @return the image
      */
-    @SuppressWarnings("unchecked")
     private static Image handleLookup(CobblerConnection client,
         Map<String, Object> imageMap) {
         if (imageMap != null) {
             Image image = new Image(client);
             image.dataMap = imageMap;
-            image.dataMapResolved = (Map<String, Object>) client.invokeMethod(
-                    "get_image",
-                    image.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            image.dataMapLoaded();
             return image;
         }
         return null;
@@ -221,6 +210,14 @@ public class Image extends CobblerObject {
         return (String) client.invokeTokenMethod("get_image_handle", this.getName());
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected Map<String, Object> invokeGetResolvedDataMap() {
+        return lookupResolvedDataMap(client, getName(), "get_image");
+    }
+
     /**
      * @inheritDoc
      */
@@ -228,7 +225,7 @@ public class Image extends CobblerObject {
     protected void reload() {
         Image newImage = lookupById(client, getId());
         dataMap = newImage.dataMap;
-        dataMapResolved = newImage.dataMapResolved;
+        dataMapLoaded();
     }
 
     /**
@@ -161,17 +161,11 @@ public class Profile extends CobblerObject {
      * @param profileMap The Key-Value Map with the content of the profile
      * @return Either null or the profile that has been build by the Map
      */
-    @SuppressWarnings("unchecked")
     private static Profile handleLookup(CobblerConnection client, Map<String, Object> profileMap) {
         if (profileMap != null) {
             Profile profile = new Profile(client);
             profile.dataMap = profileMap;
-            profile.dataMapResolved = (Map<String, Object>) client.invokeMethod(
-                    "get_profile",
-                    profile.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            profile.dataMapLoaded();
             return profile;
         }
         return null;
@@ -192,12 +186,7 @@ public class Profile extends CobblerObject {
         for (Map<String, Object> profMap : cProfiles) {
             Profile profile = new Profile(connection);
             profile.dataMap = profMap;
-            profile.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_profile",
-                    profile.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            profile.dataMapLoaded();
             profiles.add(profile);
         }
         return profiles;
@@ -221,12 +210,7 @@ public class Profile extends CobblerObject {
         for (Map<String, Object> profMap : cProfiles) {
             Profile profile = new Profile(connection);
             profile.dataMap = profMap;
-            profile.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_profile",
-                    profile.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            profile.dataMapLoaded();
             if (!excludes.contains(profile.getId())) {
                 profiles.add(profile);
             }
@@ -244,6 +228,14 @@ public class Profile extends CobblerObject {
         return (String) client.invokeTokenMethod("get_profile_handle", this.getName());
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected Map<String, Object> invokeGetResolvedDataMap() {
+        return lookupResolvedDataMap(client, getName(), "get_profile");
+    }
+
     /**
      * @inheritDoc
      */
@@ -283,7 +275,7 @@ public class Profile extends CobblerObject {
     protected void reload() {
         Profile newProfile = lookupById(client, getId());
         dataMap = newProfile.dataMap;
-        dataMapResolved = newProfile.dataMapResolved;
+        dataMapLoaded();
     }
 
     /**
@@ -328,7 +320,7 @@ public class Profile extends CobblerObject {
      * @return The virtual bridge name
      */
     public String getResolvedVirtBridge() {
-        return (String) dataMapResolved.get(VIRT_BRIDGE);
+        return (String) getResolvedDataMap().get(VIRT_BRIDGE);
     }
 
     /**
@@ -348,7 +340,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtCpus()
      */
     public Integer getResolvedVirtCpus() {
-        return (Integer) dataMapResolved.get(VIRT_CPUS);
+        return (Integer) getResolvedDataMap().get(VIRT_CPUS);
     }
 
     /**
@@ -368,7 +360,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtType()
      */
     public String getResolvedVirtType() {
-        return (String) dataMapResolved.get(VIRT_TYPE);
+        return (String) getResolvedDataMap().get(VIRT_TYPE);
     }
 
     /**
@@ -398,7 +390,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtPath()
      */
     public String getResolvedVirtPath() {
-        return (String) dataMapResolved.get(VIRT_PATH);
+        return (String) getResolvedDataMap().get(VIRT_PATH);
     }
 
     /**
@@ -418,7 +410,7 @@ public class Profile extends CobblerObject {
      * @see #getServer()
      */
     public String getResolvedServer() {
-        return (String) dataMapResolved.get(SERVER);
+        return (String) getResolvedDataMap().get(SERVER);
     }
 
     /**
@@ -439,7 +431,7 @@ public class Profile extends CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public List<String> getResolvedNameServer() {
-        return (List<String>) dataMapResolved.get(NAME_SERVERS);
+        return (List<String>) getResolvedDataMap().get(NAME_SERVERS);
     }
 
     /**
@@ -488,7 +480,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtFileSize()
      */
     public Double getResolvedVirtFileSize() {
-        return (Double) dataMapResolved.get(VIRT_FILE_SIZE);
+        return (Double) getResolvedDataMap().get(VIRT_FILE_SIZE);
     }
 
     /**
@@ -508,7 +500,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtRam()
      */
     public Integer getResolvedVirtRam() {
-        return (Integer) dataMapResolved.get(VIRT_RAM);
+        return (Integer) getResolvedDataMap().get(VIRT_RAM);
     }
 
     /**
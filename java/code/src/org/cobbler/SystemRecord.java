@@ -217,17 +217,11 @@ public class SystemRecord extends CobblerObject {
      * @param sysMap The Java Map with the already retrieved raw values of a system
      * @return The system object or {@code null}
      */
-    @SuppressWarnings("unchecked")
     private static SystemRecord handleLookup(CobblerConnection client, Map<String, Object> sysMap) {
         if (sysMap != null) {
             SystemRecord sys = new SystemRecord(client);
             sys.dataMap = sysMap;
-            sys.dataMapResolved = (Map<String, Object>) client.invokeMethod(
-                    "get_system",
-                    sys.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            sys.dataMapLoaded();
             return sys;
         }
         return null;
@@ -248,12 +242,7 @@ public class SystemRecord extends CobblerObject {
         for (Map<String, Object> sysMap : cSystems) {
             SystemRecord sys = new SystemRecord(connection);
             sys.dataMap = sysMap;
-            sys.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_system",
-                    sys.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            sys.dataMapLoaded();
             systems.add(sys);
         }
         return systems;
@@ -277,12 +266,7 @@ public class SystemRecord extends CobblerObject {
         for (Map<String, Object> sysMap : cSystems) {
             SystemRecord sys = new SystemRecord(connection);
             sys.dataMap = sysMap;
-            sys.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_system",
-                    sys.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
+            sys.dataMapLoaded();
             if (!excludes.contains(sys.getId())) {
                 systems.add(sys);
             }
@@ -298,6 +282,14 @@ public class SystemRecord extends CobblerObject {
         return (String) client.invokeTokenMethod("get_system_handle", this.getName());
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected Map<String, Object> invokeGetResolvedDataMap() {
+        return lookupResolvedDataMap(client, getName(), "get_system");
+    }
+
     /**
      * @inheritDoc
      */
@@ -337,7 +329,7 @@ public class SystemRecord extends CobblerObject {
     protected void reload() {
         SystemRecord newSystem = lookupById(client, getId());
         dataMap = newSystem.dataMap;
-        dataMapResolved = newSystem.dataMapResolved;
+        dataMapLoaded();
     }
 
     /**
@@ -427,7 +419,7 @@ public class SystemRecord extends CobblerObject {
      * @return The virtual bridge name
      */
     public String getResolvedVirtBridge() {
-        return (String) dataMapResolved.get(VIRT_BRIDGE);
+        return (String) getResolvedDataMap().get(VIRT_BRIDGE);
     }
 
     /**
@@ -447,7 +439,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtCpus()
      */
     public Integer getResolvedVirtCpus() {
-        return (Integer) dataMapResolved.get(VIRT_CPUS);
+        return (Integer) getResolvedDataMap().get(VIRT_CPUS);
     }
 
     /**
@@ -467,7 +459,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtType()
      */
     public String getResolvedVirtType() {
-        return (String) dataMapResolved.get(VIRT_TYPE);
+        return (String) getResolvedDataMap().get(VIRT_TYPE);
     }
 
     /**
@@ -487,7 +479,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtPath()
      */
     public String getResolvedVirtPath() {
-        return (String) dataMapResolved.get(VIRT_PATH);
+        return (String) getResolvedDataMap().get(VIRT_PATH);
     }
 
     /**
@@ -507,7 +499,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtFileSize()
      */
     public Double getResolvedVirtFileSize() {
-        return (Double) dataMapResolved.get(VIRT_FILE_SIZE);
+        return (Double) getResolvedDataMap().get(VIRT_FILE_SIZE);
     }
 
     /**
@@ -527,7 +519,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtRam()
      */
     public Integer getResolvedVirtRam() {
-        return (Integer) dataMapResolved.get(VIRT_RAM);
+        return (Integer) getResolvedDataMap().get(VIRT_RAM);
     }
 
     /**
@@ -772,7 +764,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getServer()
      */
     public String getResolvedServer() {
-        return (String) dataMapResolved.get(SERVER);
+        return (String) getResolvedDataMap().get(SERVER);
     }
 
     /**
@@ -82,6 +82,8 @@ public class MockConnection extends CobblerConnection {
 
     private static final List<String> POWER_COMMANDS = new ArrayList<>();
 
+    private static final Map<String, Integer> INVOCATIONS = new HashMap<>();
+
     private static final Map<String, String> REMAP_KEYS = new HashMap<>();
 
     static {
@@ -134,6 +136,7 @@ public class MockConnection extends CobblerConnection {
         if (name == null) {
             throw new RuntimeException("name for invokeMethod cannot be null!");
         }
+        INVOCATIONS.merge(name, 1, Integer::sum);
         for (Object object : args) {
             if (object == null) {
                 throw new RuntimeException("No Argument for invokeMethod can be null!");
@@ -530,11 +533,30 @@ public class MockConnection extends CobblerConnection {
         return POWER_COMMANDS.get(POWER_COMMANDS.size() - 1);
     }
 
+    /**
+     * Returns how many times an XML-RPC method was called since the last {@link #clear()} or
+     * {@link #resetInvocations()}, to check how chatty the code talking to Cobbler is.
+     *
+     * @param name the name of the XML-RPC method
+     * @return the number of calls
+     */
+    public static int getInvocationCount(String name) {
+        return INVOCATIONS.getOrDefault(name, 0);
+    }
+
+    /**
+     * Forgets the XML-RPC calls made so far.
+     */
+    public static void resetInvocations() {
+        INVOCATIONS.clear();
+    }
+
     public static void clear() {
         profiles = new ArrayList<>();
         distros = new ArrayList<>();
         systems = new ArrayList<>();
         images = new ArrayList<>();
+        INVOCATIONS.clear();
     }
 
 }
@@ -72,6 +72,55 @@ public class ProfileTest {
         Assertions.assertEquals(testDistro.getUid(), result.getUid());
     }
 
+    @Test
+    public void testBufferedChanges() {
+        // Arrange
+        Profile testProfile = Profile.create(connectionMock, "buffered", testDistro);
+        testProfile.bufferChanges();
+        MockConnection.resetInvocations();
+
+        // Act
+        testProfile.setDhcpTag("first tag");
+        testProfile.setDhcpTag("dhcp tag");
+        testProfile.setVirtBridge(Optional.of("my_bridge"));
+        testProfile.setVirtBridge(Optional.of("xenb0"));
+
+        // Assert
+        Assertions.assertEquals(0, MockConnection.getInvocationCount("modify_profile"));
+        Assertions.assertEquals("dhcp tag", testProfile.getDhcpTag());
+
+        testProfile.save();
+        // the virtual bridge was set back to the value it has on the server
+        Assertions.assertEquals(1, MockConnection.getInvocationCount("modify_profile"));
+        Assertions.assertEquals(1, MockConnection.getInvocationCount("save_profile"));
+        Assertions.assertEquals(0, MockConnection.getInvocationCount("get_item_resolved_value"));
+        Assertions.assertEquals("dhcp tag", Profile.lookupByName(connectionMock, "buffered").getDhcpTag());
+
+        testProfile.setDhcpTag("dhcp tag");
+        testProfile.save();
+        Assertions.assertEquals(1, MockConnection.getInvocationCount("modify_profile"));
+        Assertions.assertEquals(1, MockConnection.getInvocationCount("save_profile"));
+    }
+
+    @Test
+    public void testResolvedValuesFetchedOnce() {
+        // Arrange
+        Profile.create(connectionMock, "resolved", testDistro);
+        MockConnection.resetInvocations();
+
+        // Act
+        Profile testProfile = Profile.lookupById(connectionMock,
+                Profile.lookupByName(connectionMock, "resolved").getId());
+        MockConnection.resetInvocations();
+        testProfile.getVirtBridge();
+
+        // Assert
+        Assertions.assertEquals(0, MockConnection.getInvocationCount("get_profile"));
+        testProfile.getResolvedVirtBridge();
+        testProfile.getResolvedVirtRam();
+        Assertions.assertEquals(1, MockConnection.getInvocationCount("get_profile"));
+    }
+
     @Test
     public void testDhcpTag() {
         // Arrange